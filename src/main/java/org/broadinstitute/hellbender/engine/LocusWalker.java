@@ -1,25 +1,38 @@
 package org.broadinstitute.hellbender.engine;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import htsjdk.samtools.SAMFileHeader;
-import htsjdk.samtools.SAMReadGroupRecord;
+import htsjdk.samtools.SAMSequenceDictionary;
 import org.broadinstitute.barclay.argparser.Argument;
 import org.broadinstitute.barclay.argparser.CommandLineException;
+import org.broadinstitute.hellbender.cmdline.StandardArgumentDefinitions;
 import org.broadinstitute.hellbender.engine.filters.CountingReadFilter;
 import org.broadinstitute.hellbender.engine.filters.ReadFilter;
 import org.broadinstitute.hellbender.engine.filters.ReadFilterLibrary;
 import org.broadinstitute.hellbender.engine.filters.WellformedReadFilter;
+import org.broadinstitute.hellbender.exceptions.GATKException;
 import org.broadinstitute.hellbender.exceptions.UserException;
+import org.broadinstitute.hellbender.transformers.ReadTransformer;
+import org.broadinstitute.hellbender.utils.IntervalUtils;
 import org.broadinstitute.hellbender.utils.SimpleInterval;
+import org.broadinstitute.hellbender.utils.Utils;
 import org.broadinstitute.hellbender.utils.locusiterator.AlignmentContextIteratorBuilder;
+import org.broadinstitute.hellbender.utils.locusiterator.KnownSitesBaseCounter;
 import org.broadinstitute.hellbender.utils.locusiterator.LIBSDownsamplingInfo;
 import org.broadinstitute.hellbender.utils.locusiterator.LocusIteratorByState;
 import org.broadinstitute.hellbender.utils.read.GATKRead;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A LocusWalker is a tool that processes reads that overlap a single position in a reference at a time from
@@ -35,14 +48,51 @@ import java.util.stream.Collectors;
  * LocusWalker authors must implement the apply() method to process each position, and may optionally implement
  * onTraversalStart(), onTraversalSuccess() and/or closeTool().
  *
+ * Tools may also opt in to multi-threaded traversal by implementing {@link #makeShardProcessor()}. When run with
+ * {@value #LOCUS_WALKER_THREADS_LONG_NAME} greater than 1, the traversal intervals are cut into shards of at most
+ * {@value #LOCUS_WALKER_SHARD_SIZE_LONG_NAME} bases, each shard is traversed by a {@link ShardProcessor} on a worker
+ * thread with its own reads, reference and feature sources, and the shard results are reduced in genomic order.
+ *
+ * Tools that only need per-base counts at their intervals may instead support a count-only traversal, by overriding
+ * {@link #countKnownSitesOnly()}, {@link #makeKnownSitesBaseCounter} and {@link #applyKnownSite}: the reads are
+ * counted at the intervals in a single pass with a {@link KnownSitesBaseCounter}, without building pileups.
+ *
  * @author Daniel Gomez-Sanchez (magicDGS)
  */
 public abstract class LocusWalker extends WalkerBase {
     public static final String MAX_DEPTH_PER_SAMPLE_NAME = "max-depth-per-sample";
+    public static final String LOCUS_WALKER_THREADS_LONG_NAME = "locus-walker-threads";
+    public static final String LOCUS_WALKER_SHARD_SIZE_LONG_NAME = "locus-walker-shard-size";
+    public static final String COUNT_KNOWN_SITES_ONLY_LONG_NAME = "count-known-sites-only";
+
+    public static final int DEFAULT_LOCUS_WALKER_SHARD_SIZE = 1_000_000;
 
     @Argument(fullName = MAX_DEPTH_PER_SAMPLE_NAME, shortName = MAX_DEPTH_PER_SAMPLE_NAME, doc = "Maximum number of reads to retain per sample per locus. Reads above this threshold will be downsampled. Set to 0 to disable.", optional = true)
     protected int maxDepthPerSample = defaultMaxDepthPerSample();
 
+    @Argument(fullName = LOCUS_WALKER_THREADS_LONG_NAME, doc = "Number of threads used to traverse loci. Values greater than 1 are only supported by some tools, and require indexed reads.", optional = true, minValue = 1)
+    protected int locusWalkerThreads = 1;
+
+    @Argument(fullName = LOCUS_WALKER_SHARD_SIZE_LONG_NAME, doc = "Maximum number of reference bases in each shard of a multi-threaded locus traversal.", optional = true, minValue = 1)
+    protected int locusWalkerShardSize = DEFAULT_LOCUS_WALKER_SHARD_SIZE;
+
+    /**
+     * Processes the loci of one shard in a multi-threaded traversal (see {@link #makeShardProcessor()}).
+     */
+    public interface ShardProcessor {
+        /**
+         * Process an individual AlignmentContext, as {@link LocusWalker#apply} would. Called on a worker thread, so
+         * implementations must only modify their own state.
+         */
+        void apply(AlignmentContext alignmentContext, ReferenceContext referenceContext, FeatureContext featureContext);
+
+        /**
+         * Merge the results of this shard into the tool. Called on the traversal thread once the shard is complete,
+         * with shards reduced in the order of the traversal intervals.
+         */
+        void reduce();
+    }
+
     /**
      * Should the LIBS keep unique reads? Tools that do should override to return {@code true}.
      */
@@ -59,7 +109,7 @@ public abstract class LocusWalker extends WalkerBase {
     }
 
     @Override
-    public String getProgressMeterRecordLabel() { return "loci"; }
+    public String getProgressMeterRecordLabel() { return countKnownSitesOnly() ? "reads" : "loci"; }
 
     /**
      * Does this tool require deletions in the AlignmentContext? Tools that don't should override to return {@code false}.
@@ -79,6 +129,68 @@ public abstract class LocusWalker extends WalkerBase {
         return false;
     }
 
+    /**
+     * Can the engine recycle pileup elements between loci? Tools that only use each {@link AlignmentContext} within
+     * {@link #apply}, and never keep references to it, its pileup or its pileup elements afterwards, should override
+     * to return {@code true} to avoid allocating new pileup elements at every locus.
+     *
+     * @return {@code true} if this tool allows pileups to be reused, {@code false} otherwise
+     */
+    public boolean reusePileups() {
+        return false;
+    }
+
+    /**
+     * Returns a new processor for a single shard of a multi-threaded traversal, or {@code null} if this tool does
+     * not support multi-threaded traversal (the default). Tools that do should override this to return a fresh
+     * processor on every call; processors of different shards run concurrently, so they must not share mutable state.
+     *
+     * Each shard gets its own locus iterator, so per-locus downsampling with {@link #maxDepthPerSample} may select
+     * different reads than a single-threaded traversal.
+     */
+    protected ShardProcessor makeShardProcessor() {
+        return null;
+    }
+
+    /**
+     * Should this tool replace the pileup traversal by a count-only traversal? Tools that only need the counts of
+     * each base at each locus of their intervals can support it (typically behind {@value #COUNT_KNOWN_SITES_ONLY_LONG_NAME})
+     * by overriding this to return {@code true}, together with {@link #makeKnownSitesBaseCounter} and {@link #applyKnownSite}.
+     *
+     * The reads are then counted in a single pass at the loci of the intervals, and {@link #applyKnownSite} is called
+     * in place of {@link #apply} at every locus that would have had a pileup (or at every locus, if
+     * {@link #emitEmptyLoci()} returns {@code true}). This is much faster when the intervals are a sparse set of
+     * sites, but uses memory proportional to the total size of the intervals, so intervals are required.
+     * Downsampling and multi-threaded traversal are not supported in this mode.
+     *
+     * @return {@code true} if this tool should use the count-only traversal, {@code false} otherwise
+     */
+    public boolean countKnownSitesOnly() {
+        return false;
+    }
+
+    /**
+     * Returns the counter used by the count-only traversal (see {@link #countKnownSitesOnly()}). Tools should create it
+     * with their own base and mapping quality thresholds.
+     *
+     * @param sites the traversal intervals, sorted and merged
+     */
+    protected KnownSitesBaseCounter makeKnownSitesBaseCounter(final List<SimpleInterval> sites) {
+        throw new GATKException.ShouldNeverReachHereException(getClass().getSimpleName() + " does not support count-only traversal");
+    }
+
+    /**
+     * Process the base counts at an individual locus in the count-only traversal (see {@link #countKnownSitesOnly()}).
+     *
+     * @param locus current locus
+     * @param baseCounts counts of A, C, G and T at the locus, indexed as in {@link org.broadinstitute.hellbender.utils.BaseUtils#simpleBaseToBaseIndex}
+     * @param referenceContext Reference bases spanning the current locus, as in {@link #apply}
+     * @param featureContext Features spanning the current locus, as in {@link #apply}
+     */
+    protected void applyKnownSite(final SimpleInterval locus, final int[] baseCounts, final ReferenceContext referenceContext, final FeatureContext featureContext) {
+        throw new GATKException.ShouldNeverReachHereException(getClass().getSimpleName() + " does not support count-only traversal");
+    }
+
     /**
      * Does this tool emit information for uncovered loci? Tools that do should override to return {@code true}.
      *
@@ -154,23 +266,20 @@ public abstract class LocusWalker extends WalkerBase {
      */
     @Override
     public void traverse() {
+        if (countKnownSitesOnly()) {
+            traverseKnownSites();
+            return;
+        }
+        if (locusWalkerThreads > 1) {
+            traverseInParallel();
+            return;
+        }
         final SAMFileHeader header = getHeaderForReads();
-        // get the samples from the read groups
-        final Set<String> samples = header.getReadGroups().stream()
-                                          .map(SAMReadGroupRecord::getSample)
-                                          .collect(Collectors.toSet());
         final CountingReadFilter countedFilter = makeReadFilter();
         // get the filter and transformed iterator
         final Iterator<GATKRead> readIterator = getTransformedReadStream(countedFilter).iterator();
 
-        final AlignmentContextIteratorBuilder alignmentContextIteratorBuilder = new AlignmentContextIteratorBuilder();
-        alignmentContextIteratorBuilder.setDownsamplingInfo(getDownsamplingInfo());
-        alignmentContextIteratorBuilder.setEmitEmptyLoci(emitEmptyLoci());
-        alignmentContextIteratorBuilder.setIncludeDeletions(includeDeletions());
-        alignmentContextIteratorBuilder.setKeepUniqueReadListInLibs(keepUniqueReadListInLibs());
-        alignmentContextIteratorBuilder.setIncludeNs(includeNs());
-
-        final Iterator<AlignmentContext> iterator = alignmentContextIteratorBuilder.build(
+        final Iterator<AlignmentContext> iterator = makeAlignmentContextIteratorBuilder().build(
                 readIterator, header, userIntervals, getBestAvailableSequenceDictionary(),
                 hasReference());
 
@@ -184,6 +293,201 @@ public abstract class LocusWalker extends WalkerBase {
         logger.info(countedFilter.getSummaryLine());
     }
 
+    /**
+     * Count-only traversal: a single pass over the reads fills a {@link KnownSitesBaseCounter}, then the loci of the
+     * intervals are visited in order.
+     */
+    private void traverseKnownSites() {
+        if (!hasUserSuppliedIntervals()) {
+            throw new CommandLineException.MissingArgument(StandardArgumentDefinitions.INTERVALS_LONG_NAME,
+                    "Intervals are required for count-only traversal");
+        }
+        if (locusWalkerThreads > 1 || maxDepthPerSample > 0) {
+            logger.warn(String.format("--%s and --%s are ignored by count-only traversal", LOCUS_WALKER_THREADS_LONG_NAME, MAX_DEPTH_PER_SAMPLE_NAME));
+        }
+        final KnownSitesBaseCounter counter = makeKnownSitesBaseCounter(userIntervals);
+        final CountingReadFilter countedFilter = makeReadFilter();
+        getTransformedReadStream(countedFilter).forEach(read -> {
+            counter.addRead(read);
+            progressMeter.update(read);
+        });
+        logger.info(countedFilter.getSummaryLine());
+
+        int locusIndex = 0;
+        for (final SimpleInterval site : userIntervals) {
+            for (int position = site.getStart(); position <= site.getEnd(); position++, locusIndex++) {
+                if (emitEmptyLoci() || counter.getDepth(locusIndex, includeDeletions()) > 0) {
+                    final SimpleInterval locus = new SimpleInterval(site.getContig(), position, position);
+                    applyKnownSite(locus, counter.getBaseCounts(locusIndex), new ReferenceContext(reference, locus), new FeatureContext(features, locus));
+                }
+            }
+        }
+    }
+
+    private AlignmentContextIteratorBuilder makeAlignmentContextIteratorBuilder() {
+        final AlignmentContextIteratorBuilder alignmentContextIteratorBuilder = new AlignmentContextIteratorBuilder();
+        alignmentContextIteratorBuilder.setDownsamplingInfo(getDownsamplingInfo());
+        alignmentContextIteratorBuilder.setEmitEmptyLoci(emitEmptyLoci());
+        alignmentContextIteratorBuilder.setIncludeDeletions(includeDeletions());
+        alignmentContextIteratorBuilder.setKeepUniqueReadListInLibs(keepUniqueReadListInLibs());
+        alignmentContextIteratorBuilder.setIncludeNs(includeNs());
+        alignmentContextIteratorBuilder.setReusePileups(reusePileups());
+        return alignmentContextIteratorBuilder;
+    }
+
+    /**
+     * Multi-threaded traversal: shards are processed by a fixed pool of worker threads, with at most a few shards
+     * per thread in flight, and reduced on this thread in the order of the traversal intervals so that the output does
+     * not depend on the number of threads.
+     */
+    private void traverseInParallel() {
+        if (makeShardProcessor() == null) {
+            throw new CommandLineException.BadArgumentValue(LOCUS_WALKER_THREADS_LONG_NAME, String.valueOf(locusWalkerThreads),
+                    getClass().getSimpleName() + " does not support multi-threaded traversal");
+        }
+        final SAMSequenceDictionary dictionary = getBestAvailableSequenceDictionary();
+        final List<SimpleInterval> traversalIntervals = hasUserSuppliedIntervals() ? userIntervals : IntervalUtils.getAllIntervalsForReference(dictionary);
+        final List<List<SimpleInterval>> shards = makeTraversalShards(traversalIntervals, locusWalkerShardSize, dictionary);
+        logger.info(String.format("Traversing %d shards with %d threads", shards.size(), locusWalkerThreads));
+
+        final List<LocusShardWorker> workers = Collections.synchronizedList(new ArrayList<>());
+        final ThreadLocal<LocusShardWorker> threadWorker = ThreadLocal.withInitial(() -> {
+            final LocusShardWorker worker = new LocusShardWorker();
+            workers.add(worker);
+            return worker;
+        });
+        final ExecutorService executor = Executors.newFixedThreadPool(locusWalkerThreads, new ThreadFactoryBuilder()
+                .setNameFormat("locusWalker-thread-%d")
+                .setDaemon(true)
+                .build());
+        try {
+            final Deque<Future<ShardResult>> pending = new ArrayDeque<>();
+            final Iterator<List<SimpleInterval>> shardIterator = shards.iterator();
+            while (shardIterator.hasNext() || !pending.isEmpty()) {
+                while (shardIterator.hasNext() && pending.size() < 2 * locusWalkerThreads) {
+                    final List<SimpleInterval> shard = shardIterator.next();
+                    final ShardProcessor processor = makeShardProcessor();
+                    pending.add(executor.submit(() -> threadWorker.get().traverseShard(shard, processor)));
+                }
+                final ShardResult result = getShardResult(pending.poll());
+                result.processor.reduce();
+                if (result.numLoci > 0) {
+                    progressMeter.update(result.lastLocus, result.numLoci);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            workers.forEach(LocusShardWorker::close);
+        }
+        workers.forEach(worker -> logger.info(worker.readFilter.getSummaryLine()));
+    }
+
+    private static ShardResult getShardResult(final Future<ShardResult> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GATKException("Interrupted during multi-threaded locus traversal", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new GATKException("Failure during multi-threaded locus traversal", e.getCause());
+        }
+    }
+
+    /**
+     * Cuts the traversal intervals into shards of at most <code>shardSize</code> bases of a single contig. Intervals
+     * larger than the shard size are split, and consecutive small intervals on the same contig are grouped together.
+     *
+     * @return the shards, in the order of the traversal intervals
+     */
+    static List<List<SimpleInterval>> makeTraversalShards(final List<SimpleInterval> intervals, final int shardSize, final SAMSequenceDictionary dictionary) {
+        Utils.nonNull(intervals);
+        Utils.validateArg(shardSize > 0, "shardSize must be positive");
+        final List<List<SimpleInterval>> shards = new ArrayList<>();
+        List<SimpleInterval> currentShard = new ArrayList<>();
+        for (final SimpleInterval interval : intervals) {
+            for (final ShardBoundary piece : Shard.divideIntervalIntoShards(interval, shardSize, 0, dictionary)) {
+                final SimpleInterval pieceInterval = piece.getInterval();
+                if (!currentShard.isEmpty()) {
+                    final SimpleInterval first = currentShard.get(0);
+                    if (!first.getContig().equals(pieceInterval.getContig()) || pieceInterval.getEnd() - first.getStart() + 1 > shardSize) {
+                        shards.add(currentShard);
+                        currentShard = new ArrayList<>();
+                    }
+                }
+                currentShard.add(pieceInterval);
+            }
+        }
+        if (!currentShard.isEmpty()) {
+            shards.add(currentShard);
+        }
+        return shards;
+    }
+
+    private static final class ShardResult {
+        private final ShardProcessor processor;
+        private final SimpleInterval lastLocus;
+        private final long numLoci;
+
+        private ShardResult(final ShardProcessor processor, final SimpleInterval lastLocus, final long numLoci) {
+            this.processor = processor;
+            this.lastLocus = lastLocus;
+            this.numLoci = numLoci;
+        }
+    }
+
+    /**
+     * The data sources and read filter of one worker thread; reused for every shard that thread traverses.
+     */
+    private final class LocusShardWorker implements AutoCloseable {
+        private final ReadsDataSource workerReads = createReadsDataSource();
+        private final ReferenceDataSource workerReference = hasReference() ? ReferenceDataSource.of(referenceArguments.getReferencePath()) : null;
+        private final FeatureManager workerFeatures = features == null ? null : new FeatureManager(LocusWalker.this,
+                FeatureDataSource.DEFAULT_QUERY_LOOKAHEAD_BASES, cloudPrefetchBuffer, cloudIndexPrefetchBuffer, getGenomicsDBOptions());
+        private final CountingReadFilter readFilter = makeReadFilter();
+        private final ReadTransformer preTransformer = makePreReadFilterTransformer();
+        private final ReadTransformer postTransformer = makePostReadFilterTransformer();
+
+        private ShardResult traverseShard(final List<SimpleInterval> shard, final ShardProcessor processor) {
+            workerReads.setTraversalBounds(shard);
+            final Iterator<GATKRead> readIterator = Utils.stream(workerReads)
+                    .map(preTransformer)
+                    .filter(readFilter)
+                    .map(postTransformer)
+                    .iterator();
+            final Iterator<AlignmentContext> iterator = makeAlignmentContextIteratorBuilder().build(
+                    readIterator, getHeaderForReads(), shard, getBestAvailableSequenceDictionary(), hasReference());
+
+            SimpleInterval lastLocus = null;
+            long numLoci = 0;
+            while (iterator.hasNext()) {
+                final AlignmentContext alignmentContext = iterator.next();
+                lastLocus = new SimpleInterval(alignmentContext);
+                processor.apply(alignmentContext, new ReferenceContext(workerReference, lastLocus), new FeatureContext(workerFeatures, lastLocus));
+                numLoci++;
+            }
+            return new ShardResult(processor, lastLocus, numLoci);
+        }
+
+        @Override
+        public void close() {
+            workerReads.close();
+            if (workerReference != null) {
+                workerReference.close();
+            }
+            if (workerFeatures != null) {
+                workerFeatures.close();
+            }
+        }
+    }
+
     /**
      * Process an individual AlignmentContext (with optional contextual information). Must be implemented by tool authors.
      * In general, tool authors should simply stream their output from apply(), and maintain as little internal state
@@ -208,10 +208,25 @@ public final class ProgressMeter {
      * @throws IllegalStateException if the meter has not been started yet or has been stopped already
      */
     public void update( final Locatable currentLocus ) {
+        update(currentLocus, 1L);
+    }
+
+    /**
+     * Signal to the progress meter that a batch of records has been processed, for example when records are
+     * processed in parallel and reported once per shard. Will output statistics to the logger roughly every
+     * {@link #secondsBetweenUpdates} seconds.
+     *
+     * @param currentLocus the genomic location of the last record in the batch or null if it had no location.
+     * @param numRecords number of records in the batch; must be non-negative
+     * @throws IllegalStateException if the meter has not been started yet or has been stopped already
+     */
+    public void update( final Locatable currentLocus, final long numRecords ) {
         Utils.validate(started, "the progress meter has not been started yet");
         Utils.validate( !stopped, "the progress meter has been stopped already");
-        ++numRecordsProcessed;
-        if ( numRecordsProcessed % recordsBetweenTimeChecks == 0 ) {
+        Utils.validateArg(numRecords >= 0, "numRecords must be non-negative");
+        final long previousTimeChecks = numRecordsProcessed / recordsBetweenTimeChecks;
+        numRecordsProcessed += numRecords;
+        if ( numRecordsProcessed / recordsBetweenTimeChecks > previousTimeChecks ) {
             currentTimeMs = timeFunction.getAsLong();
             this.currentLocus = currentLocus;
 
@@ -15,4 +15,12 @@ public class AssemblyRegionReadShardArgumentCollection implements Serializable {
 
     @Argument(fullName="read-shard-padding", shortName="read-shard-padding", doc = "Each read shard has this many bases of extra context on each side. Read shards must have as much or more padding than assembly regions.", optional = true)
     public int readShardPadding = DEFAULT_READSHARD_PADDING_SIZE;
+
+    @Argument(fullName=GATKSparkTool.MAX_READS_PER_SHARD_LONG_NAME, doc = "If greater than zero, read shards that are expected to contain more than this many reads " +
+            "(estimated from a sample of the reads) are split into smaller shards, no smaller than the maximum assembly region size. " +
+            "Defaults to 0, which uses fixed-size shards.", optional = true)
+    public int maxReadsPerShard = 0;
+
+    @Argument(fullName=GATKSparkTool.SHARDING_SAMPLE_FRACTION_LONG_NAME, doc = "Fraction of reads to sample when estimating read shard depth for " + GATKSparkTool.MAX_READS_PER_SHARD_LONG_NAME + ".", optional = true)
+    public double shardingSampleFraction = 0.01;
 }
@@ -67,12 +67,31 @@ public class FindAssemblyRegionsSpark {
             final AssemblyRegionArgumentCollection assemblyRegionArgs,
             final boolean includeReadsWithDeletionsInIsActivePileups,
             final boolean shuffle) {
-        JavaRDD<Shard<GATKRead>> shardedReads = SparkSharder.shard(ctx, reads, GATKRead.class, sequenceDictionary, intervalShards, shardingArgs.readShardSize, shuffle);
+        final List<ShardBoundary> shards = adaptShardsToReadDepth(ctx, reads, sequenceDictionary, intervalShards, shardingArgs, assemblyRegionArgs);
+        JavaRDD<Shard<GATKRead>> shardedReads = SparkSharder.shard(ctx, reads, GATKRead.class, sequenceDictionary, shards, shardingArgs.readShardSize, shuffle);
         Broadcast<FeatureManager> bFeatureManager = features == null ? null : ctx.broadcast(features);
         return shardedReads.mapPartitions(getAssemblyRegionsFunctionFast(referenceFileName, bFeatureManager, header,
                 assemblyRegionEvaluatorSupplierBroadcast, assemblyRegionArgs, includeReadsWithDeletionsInIsActivePileups));
     }
 
+    /**
+     * If {@link AssemblyRegionReadShardArgumentCollection#maxReadsPerShard} is set, split the read shards that are
+     * expected to contain too many reads, but never below the maximum assembly region size.
+     */
+    private static List<ShardBoundary> adaptShardsToReadDepth(
+            final JavaSparkContext ctx,
+            final JavaRDD<GATKRead> reads,
+            final SAMSequenceDictionary sequenceDictionary,
+            final List<ShardBoundary> intervalShards,
+            final AssemblyRegionReadShardArgumentCollection shardingArgs,
+            final AssemblyRegionArgumentCollection assemblyRegionArgs) {
+        if (shardingArgs.maxReadsPerShard <= 0) {
+            return intervalShards;
+        }
+        return SparkSharder.adaptiveShardBoundaries(ctx, reads, intervalShards, sequenceDictionary,
+                shardingArgs.maxReadsPerShard, shardingArgs.shardingSampleFraction, assemblyRegionArgs.maxAssemblyRegionSize);
+    }
+
     private static FlatMapFunction<Iterator<Shard<GATKRead>>, AssemblyRegionWalkerContext> getAssemblyRegionsFunctionFast(
             final String referenceFileName,
             final Broadcast<FeatureManager> bFeatureManager,
@@ -137,7 +156,8 @@ public class FindAssemblyRegionsSpark {
             final AssemblyRegionArgumentCollection assemblyRegionArgs,
             final boolean includeReadsWithDeletionsInIsActivePileups,
             final boolean shuffle) {
-        JavaRDD<Shard<GATKRead>> shardedReads = SparkSharder.shard(ctx, reads, GATKRead.class, sequenceDictionary, intervalShards, shardingArgs.readShardSize, shuffle);
+        final List<ShardBoundary> shards = adaptShardsToReadDepth(ctx, reads, sequenceDictionary, intervalShards, shardingArgs, assemblyRegionArgs);
+        JavaRDD<Shard<GATKRead>> shardedReads = SparkSharder.shard(ctx, reads, GATKRead.class, sequenceDictionary, shards, shardingArgs.readShardSize, shuffle);
         Broadcast<FeatureManager> bFeatureManager = features == null ? null : ctx.broadcast(features);
 
         // 1. Calculate activity for each locus in the desired intervals, in parallel.
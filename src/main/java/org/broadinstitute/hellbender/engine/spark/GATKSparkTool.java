@@ -80,6 +80,9 @@ public abstract class GATKSparkTool extends SparkCommandLineProgram {
     public static final String OUTPUT_SHARD_DIR_LONG_NAME = "output-shard-tmp-dir";
     public static final String CREATE_OUTPUT_BAM_SPLITTING_INDEX_LONG_NAME = "create-output-bam-splitting-index";
     public static final String USE_NIO = "use-nio";
+    public static final String MAX_READS_PER_SHARD_LONG_NAME = "max-reads-per-shard";
+    public static final String SHARDING_SAMPLE_FRACTION_LONG_NAME = "sharding-sample-fraction";
+    public static final String SHARED_TWO_BIT_REFERENCE_LONG_NAME = "shared-two-bit-reference";
 
     @ArgumentCollection
     public final ReferenceInputArgumentCollection referenceArguments = requiresReference() ? new RequiredReferenceInputArgumentCollection() :  new OptionalReferenceInputArgumentCollection();
@@ -103,6 +106,12 @@ public abstract class GATKSparkTool extends SparkCommandLineProgram {
             optional = true)
     protected boolean useNio = false;
 
+    @Argument(doc = "For .2bit references, load the reference once per executor JVM into a shared off-heap buffer (memory-mapped " +
+            "for local files) rather than shipping a copy of it to the executors. The reference must be readable from every executor.",
+            fullName = SHARED_TWO_BIT_REFERENCE_LONG_NAME,
+            optional = true)
+    protected boolean sharedTwoBitReference = false;
+
     @ArgumentCollection
     protected SequenceDictionaryValidationArgumentCollection sequenceDictionaryValidationArguments = getSequenceDictionaryValidationArgumentCollection();
 
@@ -588,7 +597,7 @@ public abstract class GATKSparkTool extends SparkCommandLineProgram {
     private void initializeReference() {
         final String referenceURL = referenceArguments.getReferenceFileName();
         if ( referenceURL != null ) {
-            referenceSource = new ReferenceMultiSparkSource(referenceURL, getReferenceWindowFunction());
+            referenceSource = new ReferenceMultiSparkSource(referenceURL, getReferenceWindowFunction(), sharedTwoBitReference);
             referenceDictionary = referenceSource.getReferenceSequenceDictionary(readsHeader != null ? readsHeader.getSequenceDictionary() : null);
             if (referenceDictionary == null) {
                 throw new UserException.MissingReferenceDictFile(referenceURL);
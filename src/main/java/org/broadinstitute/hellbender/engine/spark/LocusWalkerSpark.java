@@ -44,9 +44,22 @@ public abstract class LocusWalkerSpark extends GATKSparkTool {
     @Argument(fullName="read-shard-size", shortName="read-shard-size", doc = "Maximum size of each read shard, in bases.", optional = true)
     public int readShardSize = 10000;
 
+    @Argument(fullName = GATKSparkTool.MAX_READS_PER_SHARD_LONG_NAME, doc = "If greater than zero, read shards that are expected to contain more than this many reads " +
+            "(estimated from a sample of the reads) are split into smaller shards, to avoid straggler tasks in high-depth regions. " +
+            "Defaults to 0, which uses fixed-size shards.", optional = true)
+    public int maxReadsPerShard = 0;
+
+    @Argument(fullName = GATKSparkTool.SHARDING_SAMPLE_FRACTION_LONG_NAME, doc = "Fraction of reads to sample when estimating read shard depth for " + GATKSparkTool.MAX_READS_PER_SHARD_LONG_NAME + ".", optional = true)
+    public double shardingSampleFraction = 0.01;
+
     @Argument(doc = "whether to use the shuffle implementation or overlaps partitioning (the default)", shortName = "shuffle", fullName = "shuffle", optional = true)
     public boolean shuffle = false;
 
+    /**
+     * Smallest shard produced when splitting high-depth shards, since each read is copied into every shard it overlaps.
+     */
+    private static final int MIN_ADAPTIVE_SHARD_SIZE = 100;
+
     private String referenceFileName;
 
     @Override
@@ -90,7 +103,11 @@ public abstract class LocusWalkerSpark extends GATKSparkTool {
         final List<ShardBoundary> intervalShards = intervals.stream()
                 .flatMap(interval -> Shard.divideIntervalIntoShards(interval, readShardSize, 0, sequenceDictionary).stream())
                 .collect(Collectors.toList());
-        JavaRDD<Shard<GATKRead>> shardedReads = SparkSharder.shard(ctx, getReads(), GATKRead.class, sequenceDictionary, intervalShards, readShardSize, shuffle);
+        final JavaRDD<GATKRead> reads = getReads();
+        final List<ShardBoundary> shards = maxReadsPerShard > 0 ?
+                SparkSharder.adaptiveShardBoundaries(ctx, reads, intervalShards, sequenceDictionary, maxReadsPerShard, shardingSampleFraction, MIN_ADAPTIVE_SHARD_SIZE) :
+                intervalShards;
+        JavaRDD<Shard<GATKRead>> shardedReads = SparkSharder.shard(ctx, reads, GATKRead.class, sequenceDictionary, shards, readShardSize, shuffle);
         Broadcast<FeatureManager> bFeatureManager = features == null ? null : ctx.broadcast(features);
         return shardedReads.flatMap(getAlignmentsFunction(referenceFileName, bFeatureManager, sequenceDictionary, getHeaderForReads(), getDownsamplingInfo(), emitEmptyLoci()));
     }
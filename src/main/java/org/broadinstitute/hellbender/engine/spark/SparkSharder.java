@@ -37,6 +37,8 @@ import static org.broadinstitute.hellbender.utils.IntervalUtils.overlaps;
  * Utility methods for sharding {@link Locatable} objects (such as reads) for given intervals, without using a shuffle.
  */
 public class SparkSharder {
+    private static final long ADAPTIVE_SHARDING_SEED = 47382911L;
+
     /**
      * Create an RDD of {@link Shard} from an RDD of coordinate sorted {@link Locatable} <i>without using a shuffle</i>.
      * Each shard contains the {@link Locatable} objects that overlap it (including overlapping only padding).
@@ -133,6 +135,111 @@ public class SparkSharder {
                 });
     }
 
+    /**
+     * Re-divide a list of coordinate sorted, non-overlapping {@link ShardBoundary} objects so that no shard is expected
+     * to hold more than <code>maxLocatablesPerShard</code> locatables. The load of each shard is estimated from a random
+     * sample of the locatables (counted by start position), which requires one pass over the locatables RDD. Shards
+     * whose estimated load exceeds the cap are split into equal sized sub-shards with the same padding as the original,
+     * down to a minimum of <code>minShardSize</code> bases; all other shards are returned unchanged.
+     * @param ctx the Spark Context
+     * @param locatables the RDD of {@link Locatable} to sample
+     * @param shardBoundaries the {@link ShardBoundary} objects to re-divide, must be coordinate sorted and non-overlapping
+     * @param sequenceDictionary the sequence dictionary to use to find contig lengths
+     * @param maxLocatablesPerShard the maximum (estimated) number of locatables starting in any one shard
+     * @param sampleFraction the fraction of locatables to sample when estimating the load of each shard
+     * @param minShardSize the minimum size, in bases, of any sub-shard produced by splitting a shard
+     * @param <L> the {@link Locatable} type
+     * @return a coordinate sorted list of {@link ShardBoundary} objects covering the same territory as <code>shardBoundaries</code>
+     */
+    public static <L extends Locatable> List<ShardBoundary> adaptiveShardBoundaries(final JavaSparkContext ctx, final JavaRDD<L> locatables,
+                                                                                    final List<? extends ShardBoundary> shardBoundaries,
+                                                                                    final SAMSequenceDictionary sequenceDictionary,
+                                                                                    final int maxLocatablesPerShard, final double sampleFraction,
+                                                                                    final int minShardSize) {
+        Utils.validateArg(maxLocatablesPerShard > 0, "maxLocatablesPerShard must be > 0");
+        Utils.validateArg(sampleFraction > 0.0 && sampleFraction <= 1.0, "sampleFraction must be in (0, 1]");
+        Utils.validateArg(minShardSize >= 1, "minShardSize must be >= 1");
+
+        final Broadcast<ShardStartIndex> shardStartIndexBroadcast = ctx.broadcast(new ShardStartIndex(shardBoundaries));
+        final Map<Integer, Long> sampledCounts = locatables
+                .sample(false, sampleFraction, ADAPTIVE_SHARDING_SEED)
+                .filter(locatable -> locatable.getContig() != null)
+                .map(locatable -> shardStartIndexBroadcast.getValue().indexOf(locatable.getContig(), locatable.getStart()))
+                .filter(shardIndex -> shardIndex >= 0)
+                .countByValue();
+        shardStartIndexBroadcast.unpersist();
+
+        final long[] estimatedCounts = new long[shardBoundaries.size()];
+        sampledCounts.forEach((shardIndex, count) -> estimatedCounts[shardIndex] = Math.round(count / sampleFraction));
+        return splitShardBoundariesByLoad(shardBoundaries, estimatedCounts, maxLocatablesPerShard, minShardSize, sequenceDictionary);
+    }
+
+    /**
+     * Split each shard whose estimated number of locatables exceeds <code>maxLocatablesPerShard</code> into
+     * equal sized sub-shards, each at least <code>minShardSize</code> bases long (unless the shard itself is smaller).
+     * Sub-shards keep the padding of the shard they were split from.
+     */
+    static List<ShardBoundary> splitShardBoundariesByLoad(final List<? extends ShardBoundary> shardBoundaries, final long[] estimatedCounts,
+                                                          final int maxLocatablesPerShard, final int minShardSize,
+                                                          final SAMSequenceDictionary sequenceDictionary) {
+        Utils.validateArg(shardBoundaries.size() == estimatedCounts.length, "There must be one estimated count per shard");
+        final List<ShardBoundary> result = new ArrayList<>(shardBoundaries.size());
+        for (int i = 0; i < shardBoundaries.size(); i++) {
+            final ShardBoundary shardBoundary = shardBoundaries.get(i);
+            final SimpleInterval interval = shardBoundary.getInterval();
+            final SimpleInterval paddedInterval = shardBoundary.getPaddedInterval();
+            final long numPieces = Math.min((estimatedCounts[i] + maxLocatablesPerShard - 1) / maxLocatablesPerShard,
+                    interval.size() / minShardSize);
+            if (numPieces <= 1) {
+                result.add(shardBoundary);
+                continue;
+            }
+            final int padding = Math.max(interval.getStart() - paddedInterval.getStart(), paddedInterval.getEnd() - interval.getEnd());
+            final int pieceSize = (int) ((interval.size() + numPieces - 1) / numPieces);
+            result.addAll(Shard.divideIntervalIntoShards(interval, pieceSize, padding, sequenceDictionary));
+        }
+        return result;
+    }
+
+    /**
+     * Finds the index of the (unpadded) shard containing a position using a binary search over the shard starts for
+     * each contig. Shards must be coordinate sorted and non-overlapping.
+     */
+    private static final class ShardStartIndex implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, int[]> starts = new HashMap<>();
+        private final Map<String, int[]> ends = new HashMap<>();
+        private final Map<String, int[]> shardIndexes = new HashMap<>();
+
+        ShardStartIndex(final List<? extends ShardBoundary> shardBoundaries) {
+            final Map<String, List<Integer>> shardIndexesByContig = new LinkedHashMap<>();
+            for (int i = 0; i < shardBoundaries.size(); i++) {
+                shardIndexesByContig.computeIfAbsent(shardBoundaries.get(i).getInterval().getContig(), contig -> new ArrayList<>()).add(i);
+            }
+            shardIndexesByContig.forEach((contig, indexes) -> {
+                starts.put(contig, indexes.stream().mapToInt(i -> shardBoundaries.get(i).getInterval().getStart()).toArray());
+                ends.put(contig, indexes.stream().mapToInt(i -> shardBoundaries.get(i).getInterval().getEnd()).toArray());
+                shardIndexes.put(contig, indexes.stream().mapToInt(Integer::intValue).toArray());
+            });
+        }
+
+        /**
+         * @return the index of the shard containing the given position, or -1 if no shard contains it
+         */
+        int indexOf(final String contig, final int position) {
+            final int[] contigStarts = starts.get(contig);
+            if (contigStarts == null) {
+                return -1;
+            }
+            int i = Arrays.binarySearch(contigStarts, position);
+            if (i < 0) {
+                i = -i - 2; // the last shard starting before the position
+            }
+            return i >= 0 && position <= ends.get(contig)[i] ? shardIndexes.get(contig)[i] : -1;
+        }
+    }
+
     /**
      * Join an RDD of locatables with a set of intervals, and apply a function to process the locatables that overlap each interval.
      * @param ctx the Spark Context
@@ -35,8 +35,22 @@ public class ReferenceMultiSparkSource implements ReferenceSparkSource, Serializ
      */
     public ReferenceMultiSparkSource( final String referenceURL,
                                       final SerializableFunction<GATKRead, SimpleInterval> referenceWindowFunction) {
+        this(referenceURL, referenceWindowFunction, false);
+    }
+
+    /**
+     * @param referenceURL the name of the reference (if using the Google Genomics API), or a path to the reference file
+     * @param referenceWindowFunction the custom reference window function used to map reads to desired reference bases
+     * @param shareTwoBitReference if true and the reference is a .2bit file, use a {@link ReferenceSharedTwoBitSparkSource},
+     *                             which loads the reference once per executor JVM instead of serializing it with this object
+     */
+    public ReferenceMultiSparkSource( final String referenceURL,
+                                      final SerializableFunction<GATKRead, SimpleInterval> referenceWindowFunction,
+                                      final boolean shareTwoBitReference) {
         Utils.nonNull(referenceWindowFunction);
-        if ( ReferenceTwoBitSparkSource.isTwoBit(referenceURL)) {
+        if ( ReferenceTwoBitSparkSource.isTwoBit(referenceURL) && shareTwoBitReference ) {
+            referenceSource = new ReferenceSharedTwoBitSparkSource(referenceURL);
+        } else if ( ReferenceTwoBitSparkSource.isTwoBit(referenceURL)) {
             try {
                 referenceSource = new ReferenceTwoBitSparkSource(referenceURL);
             } catch (IOException e) {
@@ -0,0 +1,238 @@
+package org.broadinstitute.hellbender.engine.spark.datasources;
+
+import htsjdk.samtools.SAMSequenceDictionary;
+import htsjdk.samtools.SAMSequenceRecord;
+import org.broadinstitute.hellbender.exceptions.UserException;
+import org.broadinstitute.hellbender.utils.SimpleInterval;
+import org.broadinstitute.hellbender.utils.Utils;
+import org.broadinstitute.hellbender.utils.gcs.BucketUtils;
+import org.broadinstitute.hellbender.utils.io.IOUtils;
+import org.broadinstitute.hellbender.utils.reference.ReferenceBases;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * A ReferenceSource impl that is backed by a .2bit representation of a reference genome, like
+ * {@link ReferenceTwoBitSparkSource}, except that the .2bit image is loaded at most once per JVM and shared by every
+ * task (and every instance of this class) in that JVM. Only the reference URL is serialized, so broadcasting this
+ * source or capturing it in a closure is cheap, and the image is loaded lazily on first use on each executor.
+ *
+ * Local files are memory-mapped, so the image lives in the OS page cache and is shared by all executors on a node;
+ * remote files are copied once into a direct (off-heap) buffer. Bases are decoded straight from the packed 2-bit data:
+ * {@link #getReferenceBases} allocates only the returned array, and {@link #copyBases} decodes into a caller-supplied
+ * buffer without allocating at all.
+ *
+ * The reference URL must be readable from every executor.
+ */
+public final class ReferenceSharedTwoBitSparkSource implements ReferenceSparkSource, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * One image per reference URL for the whole JVM.
+     */
+    private static final Map<String, TwoBitImage> IMAGES = new ConcurrentHashMap<>();
+
+    private final String referenceURL;
+    private transient TwoBitImage image;
+
+    public ReferenceSharedTwoBitSparkSource(final String referenceURL) {
+        Utils.nonNull(referenceURL);
+        Utils.validateArg(ReferenceTwoBitSparkSource.isTwoBit(referenceURL), "ReferenceSharedTwoBitSparkSource can only take .2bit files");
+        this.referenceURL = referenceURL;
+    }
+
+    /**
+     * Gets the reference bases spanning the requested interval. If the interval ends beyond the end of its
+     * contig according to our reference source's dictionary, it will be truncated at the contig end.
+     *
+     * @param interval query interval
+     * @return A ReferenceBases containing the reference bases spanning the requested interval, cropped at the
+     *         contig end if necessary
+     */
+    @Override
+    public ReferenceBases getReferenceBases(final SimpleInterval interval) {
+        final TwoBitSequence sequence = getImage().getSequence(interval.getContig());
+        final SimpleInterval queryInterval = new SimpleInterval(interval.getContig(), interval.getStart(), Math.min(interval.getEnd(), sequence.length));
+        final byte[] bases = new byte[queryInterval.size()];
+        sequence.decode(queryInterval.getStart() - 1, bases, 0, bases.length);
+        return new ReferenceBases(bases, queryInterval);
+    }
+
+    /**
+     * Decodes the reference bases spanning the requested interval into the given buffer, without allocating.
+     * If the interval ends beyond the end of its contig it will be truncated at the contig end.
+     *
+     * @param interval query interval
+     * @param destination buffer to write the bases into
+     * @param destinationOffset position in the buffer of the first base
+     * @return the number of bases written
+     */
+    public int copyBases(final SimpleInterval interval, final byte[] destination, final int destinationOffset) {
+        Utils.nonNull(destination);
+        final TwoBitSequence sequence = getImage().getSequence(interval.getContig());
+        final int count = Math.min(interval.getEnd(), sequence.length) - interval.getStart() + 1;
+        Utils.validateArg(destinationOffset >= 0 && destinationOffset + count <= destination.length, "destination buffer is too small");
+        sequence.decode(interval.getStart() - 1, destination, destinationOffset, count);
+        return count;
+    }
+
+    @Override
+    public SAMSequenceDictionary getReferenceSequenceDictionary(final SAMSequenceDictionary optReadSequenceDictionaryToMatch) {
+        final List<SAMSequenceRecord> records = getImage().sequences.entrySet().stream()
+                .map(entry -> new SAMSequenceRecord(entry.getKey(), entry.getValue().length))
+                .collect(Collectors.toList());
+        return new SAMSequenceDictionary(records);
+    }
+
+    @Override
+    public boolean isCompatibleWithSparkBroadcast() {
+        return true;
+    }
+
+    private TwoBitImage getImage() {
+        if (image == null) {
+            image = IMAGES.computeIfAbsent(referenceURL, TwoBitImage::load);
+        }
+        return image;
+    }
+
+    /**
+     * A parsed .2bit file: the sequence index and N-block tables are on the heap, while the packed bases stay in
+     * the (mapped or direct) buffer. See https://genome.ucsc.edu/FAQ/FAQformat.html#format7 for the format.
+     */
+    private static final class TwoBitImage {
+        private static final int SIGNATURE = 0x1A412743;
+
+        private final Map<String, TwoBitSequence> sequences = new LinkedHashMap<>();
+
+        private TwoBitImage(final String referenceURL, final ByteBuffer image) {
+            image.order(ByteOrder.LITTLE_ENDIAN);
+            if (image.getInt(0) != SIGNATURE) {
+                image.order(ByteOrder.BIG_ENDIAN);
+                if (image.getInt(0) != SIGNATURE) {
+                    throw new UserException.MalformedFile("Not a valid .2bit file: " + referenceURL);
+                }
+            }
+            if (image.getInt(4) != 0) {
+                throw new UserException.MalformedFile("Unsupported .2bit version " + image.getInt(4) + " in " + referenceURL);
+            }
+            final int sequenceCount = image.getInt(8);
+            int position = 16;
+            for (int i = 0; i < sequenceCount; i++) {
+                final byte[] name = new byte[image.get(position++) & 0xFF];
+                for (int j = 0; j < name.length; j++) {
+                    name[j] = image.get(position++);
+                }
+                final long offset = image.getInt(position) & 0xFFFFFFFFL;
+                position += 4;
+                sequences.put(new String(name, StandardCharsets.US_ASCII), new TwoBitSequence(image, (int) offset));
+            }
+        }
+
+        private static TwoBitImage load(final String referenceURL) {
+            try {
+                return new TwoBitImage(referenceURL, readImage(referenceURL));
+            } catch (final IOException e) {
+                throw new UserException.CouldNotReadInputFile("Failed to load .2bit reference " + referenceURL, e);
+            }
+        }
+
+        private static ByteBuffer readImage(final String referenceURL) throws IOException {
+            final long size = BucketUtils.fileSize(referenceURL);
+            if (size > Integer.MAX_VALUE) {
+                throw new UserException.CouldNotReadInputFile(referenceURL, ".2bit files larger than 2GB are not supported");
+            }
+            if (!BucketUtils.isRemoteStorageUrl(referenceURL)) {
+                try (final FileChannel channel = FileChannel.open(IOUtils.getPath(referenceURL), StandardOpenOption.READ)) {
+                    return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                }
+            }
+            final ByteBuffer buffer = ByteBuffer.allocateDirect((int) size);
+            try (final ReadableByteChannel channel = Channels.newChannel(BucketUtils.openFile(referenceURL))) {
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // keep reading until the buffer is full or the stream ends
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+
+        private TwoBitSequence getSequence(final String contig) {
+            final TwoBitSequence sequence = sequences.get(contig);
+            Utils.nonNull(sequence, () -> "Contig " + contig + " not found in reference dictionary");
+            return sequence;
+        }
+    }
+
+    /**
+     * A single sequence record in a .2bit image. Only absolute reads are made on the shared buffer, so
+     * a sequence can be decoded concurrently from several threads.
+     */
+    private static final class TwoBitSequence {
+        private static final byte[] BASES = {'T', 'C', 'A', 'G'};
+
+        private final ByteBuffer image;
+        private final int length;
+        private final int[] nBlockStarts; // 0-based, inclusive
+        private final int[] nBlockEnds;   // 0-based, exclusive
+        private final int packedBasesOffset;
+
+        private TwoBitSequence(final ByteBuffer image, final int recordOffset) {
+            this.image = image;
+            int position = recordOffset;
+            length = image.getInt(position);
+            position += 4;
+            final int nBlockCount = image.getInt(position);
+            position += 4;
+            nBlockStarts = new int[nBlockCount];
+            nBlockEnds = new int[nBlockCount];
+            for (int i = 0; i < nBlockCount; i++) {
+                nBlockStarts[i] = image.getInt(position + 4 * i);
+                nBlockEnds[i] = nBlockStarts[i] + image.getInt(position + 4 * (nBlockCount + i));
+            }
+            position += 8 * nBlockCount;
+            final int maskBlockCount = image.getInt(position);
+            position += 4 + 8 * maskBlockCount; // soft-masking is not reported, so skip the mask blocks
+            position += 4; // reserved
+            packedBasesOffset = position;
+        }
+
+        /**
+         * Decode <code>count</code> upper-case bases starting at the 0-based position <code>start</code>.
+         */
+        private void decode(final int start, final byte[] destination, final int destinationOffset, final int count) {
+            Utils.validateArg(start >= 0 && count >= 0 && start + count <= length, "Query is outside the bounds of the contig");
+            for (int i = 0; i < count; i++) {
+                final int position = start + i;
+                final int packed = image.get(packedBasesOffset + (position >>> 2));
+                destination[destinationOffset + i] = BASES[(packed >>> (6 - 2 * (position & 3))) & 3];
+            }
+
+            int block = Arrays.binarySearch(nBlockStarts, start);
+            if (block < 0) {
+                block = Math.max(-block - 2, 0); // the last N block starting before the query may overlap it
+            }
+            for (; block < nBlockStarts.length && nBlockStarts[block] < start + count; block++) {
+                final int from = Math.max(start, nBlockStarts[block]);
+                final int to = Math.min(start + count, nBlockEnds[block]);
+                for (int position = from; position < to; position++) {
+                    destination[destinationOffset + position - start] = 'N';
+                }
+            }
+        }
+    }
+}
@@ -15,7 +15,8 @@ public interface ReferenceSparkSource {
 
     /**
      * Returns whether this reference source can be used with Spark broadcast.
-     * Currently, only {@link ReferenceTwoBitSparkSource} is compatible with the Spark broadcast implementation.
+     * Currently, only {@link ReferenceTwoBitSparkSource} and {@link ReferenceSharedTwoBitSparkSource} are compatible
+     * with the Spark broadcast implementation.
      */
     default public boolean isCompatibleWithSparkBroadcast(){
         return this instanceof ReferenceTwoBitSparkSource;
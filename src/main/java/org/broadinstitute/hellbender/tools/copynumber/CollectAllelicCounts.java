@@ -21,6 +21,8 @@ import org.broadinstitute.hellbender.tools.copynumber.formats.metadata.Metadata;
 import org.broadinstitute.hellbender.tools.copynumber.formats.metadata.MetadataUtils;
 import org.broadinstitute.hellbender.tools.copynumber.formats.metadata.SampleLocatableMetadata;
 import org.broadinstitute.hellbender.utils.Nucleotide;
+import org.broadinstitute.hellbender.utils.SimpleInterval;
+import org.broadinstitute.hellbender.utils.locusiterator.KnownSitesBaseCounter;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -104,6 +106,15 @@ public final class CollectAllelicCounts extends LocusWalker {
     )
     private int minimumBaseQuality = DEFAULT_MINIMUM_BASE_QUALITY;
 
+    @Argument(
+            doc = "Count bases at the sites in a single pass over the reads instead of building pileups at every locus.  " +
+                    "Much faster when the intervals are a sparse set of sites; memory use is proportional to the total size of the intervals.",
+            fullName = LocusWalker.COUNT_KNOWN_SITES_ONLY_LONG_NAME,
+            optional = true
+    )
+    private boolean countKnownSitesOnly = false;
+
+    private SampleLocatableMetadata metadata;
     private AllelicCountCollector allelicCountCollector;
 
     @Override
@@ -111,6 +122,16 @@ public final class CollectAllelicCounts extends LocusWalker {
         return true;
     }
 
+    @Override
+    public boolean reusePileups() {
+        return true;
+    }
+
+    @Override
+    public boolean countKnownSitesOnly() {
+        return countKnownSitesOnly;
+    }
+
     @Override
     public boolean requiresReference() {
         return true;
@@ -132,7 +153,7 @@ public final class CollectAllelicCounts extends LocusWalker {
     public void onTraversalStart() {
         validateArguments();
 
-        final SampleLocatableMetadata metadata = MetadataUtils.fromHeader(getHeaderForReads(), Metadata.Type.SAMPLE_LOCATABLE);
+        metadata = MetadataUtils.fromHeader(getHeaderForReads(), Metadata.Type.SAMPLE_LOCATABLE);
         final SAMSequenceDictionary sequenceDictionary = getBestAvailableSequenceDictionary();
         //this check is currently redundant, since the master dictionary is taken from the reads;
         //however, if any other dictionary is added in the future, such a check should be performed
@@ -159,7 +180,42 @@ public final class CollectAllelicCounts extends LocusWalker {
 
     @Override
     public void apply(AlignmentContext alignmentContext, ReferenceContext referenceContext, FeatureContext featureContext) {
+        collectAtLocus(allelicCountCollector, alignmentContext, referenceContext);
+    }
+
+    /**
+     * Each shard collects into its own {@link AllelicCountCollector}, which is appended to the output collector
+     * when the shard is reduced.
+     */
+    @Override
+    protected ShardProcessor makeShardProcessor() {
+        final AllelicCountCollector shardCollector = new AllelicCountCollector(metadata);
+        return new ShardProcessor() {
+            @Override
+            public void apply(final AlignmentContext alignmentContext, final ReferenceContext referenceContext, final FeatureContext featureContext) {
+                collectAtLocus(shardCollector, alignmentContext, referenceContext);
+            }
+
+            @Override
+            public void reduce() {
+                allelicCountCollector.collectFromCollector(shardCollector);
+            }
+        };
+    }
+
+    @Override
+    protected KnownSitesBaseCounter makeKnownSitesBaseCounter(final List<SimpleInterval> sites) {
+        //mapping quality is already enforced by the read filters
+        return new KnownSitesBaseCounter(sites, minimumBaseQuality, 0);
+    }
+
+    @Override
+    protected void applyKnownSite(final SimpleInterval locus, final int[] baseCounts, final ReferenceContext referenceContext, final FeatureContext featureContext) {
+        allelicCountCollector.collectAtLocus(Nucleotide.decode(referenceContext.getBase()), baseCounts, locus);
+    }
+
+    private void collectAtLocus(final AllelicCountCollector collector, final AlignmentContext alignmentContext, final ReferenceContext referenceContext) {
         final byte refAsByte = referenceContext.getBase();
-        allelicCountCollector.collectAtLocus(Nucleotide.decode(refAsByte), alignmentContext.getBasePileup(), alignmentContext.getLocation(), minimumBaseQuality);
+        collector.collectAtLocus(Nucleotide.decode(refAsByte), alignmentContext.getBasePileup(), alignmentContext.getLocation(), minimumBaseQuality);
     }
 }
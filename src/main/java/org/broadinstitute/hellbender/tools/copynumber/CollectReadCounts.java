@@ -1,11 +1,9 @@
 package org.broadinstitute.hellbender.tools.copynumber;
 
-import com.google.common.collect.HashMultiset;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Multiset;
 import htsjdk.samtools.SAMSequenceDictionary;
-import htsjdk.samtools.util.Locatable;
-import htsjdk.samtools.util.OverlapDetector;
+import org.broadinstitute.barclay.argparser.Advanced;
 import org.broadinstitute.barclay.argparser.Argument;
 import org.broadinstitute.barclay.argparser.CommandLineProgramProperties;
 import org.broadinstitute.barclay.help.DocumentedFeature;
@@ -17,7 +15,6 @@ import org.broadinstitute.hellbender.engine.ReferenceContext;
 import org.broadinstitute.hellbender.engine.filters.MappingQualityReadFilter;
 import org.broadinstitute.hellbender.engine.filters.ReadFilter;
 import org.broadinstitute.hellbender.engine.filters.ReadFilterLibrary;
-import org.broadinstitute.hellbender.exceptions.GATKException;
 import org.broadinstitute.hellbender.tools.copynumber.arguments.CopyNumberArgumentValidationUtils;
 import org.broadinstitute.hellbender.tools.copynumber.formats.collections.HDF5SimpleCountCollection;
 import org.broadinstitute.hellbender.tools.copynumber.formats.collections.SimpleCountCollection;
@@ -26,16 +23,14 @@ import org.broadinstitute.hellbender.tools.copynumber.formats.metadata.MetadataU
 import org.broadinstitute.hellbender.tools.copynumber.formats.metadata.SampleLocatableMetadata;
 import org.broadinstitute.hellbender.tools.copynumber.formats.records.SimpleCount;
 import org.broadinstitute.hellbender.utils.IntervalMergingRule;
-import org.broadinstitute.hellbender.utils.IntervalUtils;
 import org.broadinstitute.hellbender.utils.SimpleInterval;
 import org.broadinstitute.hellbender.utils.Utils;
 import org.broadinstitute.hellbender.utils.read.GATKRead;
 
 import java.io.File;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Collects read counts at specified intervals.  The count for each interval is calculated by counting
@@ -100,6 +95,7 @@ public final class CollectReadCounts extends ReadWalker {
     private static final int DEFAULT_MINIMUM_MAPPING_QUALITY = 30;
 
     public static final String FORMAT_LONG_NAME = "format";
+    public static final String BLOCKED_HDF5_COUNTS_LONG_NAME = "blocked-hdf5-counts";
 
     @Argument(
             doc = "Output file for read counts.",
@@ -115,6 +111,19 @@ public final class CollectReadCounts extends ReadWalker {
     )
     private Format format = Format.HDF5;
 
+    /**
+     * Write HDF5 counts in blocks of {@link HDF5SimpleCountCollection#COUNTS_BLOCK_SIZE} intervals, omitting blocks of
+     * zero counts, so that CreateReadCountPanelOfNormals can read ranges of intervals without reading all counts.
+     * Files written with this option can only be read by tools that support the blocked layout.
+     */
+    @Advanced
+    @Argument(
+            doc = "Write HDF5 counts in blocks that can be read by range.",
+            fullName = BLOCKED_HDF5_COUNTS_LONG_NAME,
+            optional = true
+    )
+    private boolean writeBlockedHDF5Counts = false;
+
     /**
      * Metadata contained in the BAM file.
      */
@@ -122,14 +131,19 @@ public final class CollectReadCounts extends ReadWalker {
 
     private List<SimpleInterval> intervals;
 
+    /**
+     * Bins used to determine when read starts overlap with input intervals, for each contig.
+     */
+    private Map<String, SortedBins> binsPerContig;
+
     private String currentContig = null;
 
+    private SortedBins currentContigBins = null;
+
     /**
-     * Overlap detector used to determine when read starts overlap with input intervals.
+     * Counts for each of the input intervals, in the same order.
      */
-    private CachedOverlapDetector<SimpleInterval> intervalCachedOverlapDetector;
-
-    private Multiset<SimpleInterval> intervalMultiset;
+    private int[] counts;
 
     @Override
     public boolean requiresIntervals() {
@@ -159,7 +173,11 @@ public final class CollectReadCounts extends ReadWalker {
         }
 
         intervals = intervalArgumentCollection.getIntervals(sequenceDictionary);
-        intervalMultiset = HashMultiset.create(intervals.size());
+        binsPerContig = IntStream.range(0, intervals.size()).boxed()
+                .collect(Collectors.groupingBy(i -> intervals.get(i).getContig(), LinkedHashMap::new, Collectors.toList()))
+                .entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> new SortedBins(intervals, e.getValue())));
+        counts = new int[intervals.size()];
 
         logger.info("Collecting read counts...");
     }
@@ -172,21 +190,20 @@ public final class CollectReadCounts extends ReadWalker {
     @Override
     public void apply(GATKRead read, ReferenceContext referenceContext, FeatureContext featureContext) {
         if (currentContig == null || !read.getContig().equals(currentContig)) {
-            //if we are on a new contig, create an OverlapDetector covering the contig
+            //if we are on a new contig, switch to the bins covering the contig
             currentContig = read.getContig();
-            final List<SimpleInterval> intervalsOnCurrentContig = intervals.stream()
-                    .filter(i -> i.getContig().equals(currentContig))
-                    .collect(Collectors.toList());
-            intervalCachedOverlapDetector = new CachedOverlapDetector<>(intervalsOnCurrentContig);
+            currentContigBins = binsPerContig.get(currentContig);
         }
-        final SimpleInterval overlappingInterval = intervalCachedOverlapDetector.getOverlap(
-                new SimpleInterval(read.getContig(), read.getStart(), read.getStart()));
+        if (currentContigBins == null) {
+            return;
+        }
+        final int intervalIndex = currentContigBins.getIntervalIndex(read.getStart());
 
         //if read doesn't overlap any of the provided intervals, do nothing
-        if (overlappingInterval == null) {
+        if (intervalIndex < 0) {
             return;
         }
-        intervalMultiset.add(overlappingInterval);
+        counts[intervalIndex]++;
     }
 
     @Override
@@ -194,12 +211,12 @@ public final class CollectReadCounts extends ReadWalker {
         logger.info(String.format("Writing read counts to %s...", outputCountsFile.getAbsolutePath()));
         final SimpleCountCollection readCounts = new SimpleCountCollection(
                 metadata,
-                ImmutableList.copyOf(intervals.stream()     //making this an ImmutableList avoids a defensive copy in SimpleCountCollection
-                        .map(i -> new SimpleCount(i, intervalMultiset.count(i)))
+                ImmutableList.copyOf(IntStream.range(0, intervals.size()).boxed()     //making this an ImmutableList avoids a defensive copy in SimpleCountCollection
+                        .map(i -> new SimpleCount(intervals.get(i), counts[i]))
                         .iterator()));
 
         if (format == Format.HDF5) {
-            readCounts.writeHDF5(outputCountsFile);
+            readCounts.writeHDF5(outputCountsFile, writeBlockedHDF5Counts);
         } else {
             readCounts.write(outputCountsFile);
         }
@@ -210,43 +227,47 @@ public final class CollectReadCounts extends ReadWalker {
     }
 
     /**
-     * A simple wrapper around {@link OverlapDetector} to provide naive caching and ensure that overlap sets
-     * only contain a single interval.
+     * The non-overlapping intervals on a single contig, with their starts and ends held in sorted primitive arrays.
+     * Positions are assigned to intervals by moving a cursor over the arrays; for coordinate-sorted reads, the cursor
+     * only moves forward, so that the bins on a contig are traversed once in total.  Positions before the current
+     * interval (which only occur if the reads are not sorted) are looked up by binary search.
      */
-    private final class CachedOverlapDetector<T extends Locatable> {
-        private final OverlapDetector<T> overlapDetector;
-        private T cachedResult;
-
-        CachedOverlapDetector(final List<T> intervals) {
-            Utils.nonEmpty(intervals);
-            this.overlapDetector = OverlapDetector.create(intervals);
-            //double check that intervals do not overlap
-            Utils.validateArg(intervals.stream().noneMatch(i -> overlapDetector.getOverlaps(i).size() > 1),
+    @VisibleForTesting
+    static final class SortedBins {
+        private final int[] starts;
+        private final int[] ends;
+        private final int[] intervalIndices;
+        private int cursor = 0;
+
+        /**
+         * @param intervalIndices   indices in {@code intervals} of the intervals on the contig
+         */
+        SortedBins(final List<SimpleInterval> intervals,
+                   final List<Integer> intervalIndices) {
+            Utils.nonEmpty(intervalIndices);
+            this.intervalIndices = intervalIndices.stream()
+                    .sorted(Comparator.comparingInt(i -> intervals.get(i).getStart()))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            starts = Arrays.stream(this.intervalIndices).map(i -> intervals.get(i).getStart()).toArray();
+            ends = Arrays.stream(this.intervalIndices).map(i -> intervals.get(i).getEnd()).toArray();
+            Utils.validateArg(IntStream.range(1, starts.length).allMatch(i -> starts[i] > ends[i - 1]),
                     "Input intervals may not be overlapping.");
-            cachedResult = intervals.get(0);
         }
 
         /**
-         * We check the previously cached result first.  Assuming that queries will be made in sorted order,
-         * this may slightly save on lookup time.
-         * @return {@code null} if no interval overlaps {@code locatable}
+         * @return index in the list of intervals of the interval containing {@code position}, or -1 if there is none
          */
-        T getOverlap(final Locatable locatable) {
-            if (IntervalUtils.overlaps(cachedResult, locatable)) {
-                return cachedResult;
-            }
-            final Set<T> overlaps = overlapDetector.getOverlaps(locatable);
-            if (overlaps.size() > 1) {
-                //should not reach here since intervals are checked for overlaps;
-                //performing a redundant check to protect against future code changes
-                throw new GATKException.ShouldNeverReachHereException("Intervals should be non-overlapping, " +
-                        "so at most one interval should intersect with the start of a read.");
-            }
-            final T firstOverlap = overlaps.stream().findFirst().orElse(null);
-            if (firstOverlap != null) {
-                cachedResult = firstOverlap;
+        int getIntervalIndex(final int position) {
+            if (position < starts[cursor]) {
+                final int searchIndex = Arrays.binarySearch(starts, position);
+                cursor = searchIndex >= 0 ? searchIndex : Math.max(0, -searchIndex - 2);   //last interval starting before position
+            } else {
+                while (cursor + 1 < starts.length && starts[cursor + 1] <= position) {
+                    cursor++;
+                }
             }
-            return firstOverlap;
+            return starts[cursor] <= position && position <= ends[cursor] ? intervalIndices[cursor] : -1;
         }
     }
-}
\ No newline at end of file
+}
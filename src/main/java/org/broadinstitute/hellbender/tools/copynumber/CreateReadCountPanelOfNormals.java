@@ -9,6 +9,7 @@ import org.broadinstitute.barclay.argparser.Advanced;
 import org.broadinstitute.barclay.argparser.Argument;
 import org.broadinstitute.barclay.argparser.CommandLineProgramProperties;
 import org.broadinstitute.barclay.help.DocumentedFeature;
+import org.broadinstitute.hdf5.HDF5File;
 import org.broadinstitute.hdf5.HDF5Library;
 import org.broadinstitute.hellbender.cmdline.StandardArgumentDefinitions;
 import org.broadinstitute.hellbender.cmdline.programgroups.CopyNumberProgramGroup;
@@ -19,11 +20,14 @@ import org.broadinstitute.hellbender.tools.copynumber.arguments.CopyNumberStanda
 import org.broadinstitute.hellbender.tools.copynumber.denoising.GCBiasCorrector;
 import org.broadinstitute.hellbender.tools.copynumber.denoising.HDF5SVDReadCountPanelOfNormals;
 import org.broadinstitute.hellbender.tools.copynumber.formats.collections.AnnotatedIntervalCollection;
+import org.broadinstitute.hellbender.tools.copynumber.formats.collections.HDF5SimpleCountCollection;
 import org.broadinstitute.hellbender.tools.copynumber.formats.collections.SimpleCountCollection;
+import org.broadinstitute.hellbender.tools.copynumber.formats.metadata.SampleLocatableMetadata;
 import org.broadinstitute.hellbender.tools.copynumber.formats.records.annotation.CopyNumberAnnotations;
 import org.broadinstitute.hellbender.tools.copynumber.utils.HDF5Utils;
 import org.broadinstitute.hellbender.utils.SimpleInterval;
 import org.broadinstitute.hellbender.utils.Utils;
+import org.broadinstitute.hellbender.utils.io.IOUtils;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -139,6 +143,7 @@ public final class CreateReadCountPanelOfNormals extends SparkCommandLineProgram
     public static final String IMPUTE_ZEROS_LONG_NAME = "do-impute-zeros";
     public static final String EXTREME_OUTLIER_TRUNCATION_PERCENTILE_LONG_NAME = "extreme-outlier-truncation-percentile";
     public static final String MAXIMUM_CHUNK_SIZE = "maximum-chunk-size";
+    public static final String USE_RANDOMIZED_SVD_LONG_NAME = "use-randomized-svd";
 
     @Argument(
             doc = "Input TSV or HDF5 files containing integer read counts in genomic intervals for all samples in the panel of normals (output of CollectReadCounts).  " +
@@ -249,6 +254,18 @@ public final class CreateReadCountPanelOfNormals extends SparkCommandLineProgram
     )
     private int maximumChunkSize = DEFAULT_MAXIMUM_CHUNK_SIZE;
 
+    @Advanced
+    @Argument(
+            doc = "If true, compute the truncated SVD locally with a randomized algorithm that reads the standardized " +
+                    "read counts in blocks of intervals, rather than with Spark.  This avoids the transposed and " +
+                    "distributed copies of the read counts made for Spark, which dominate heap usage for large panels " +
+                    "(e.g., many samples at small bin sizes).  Singular values and eigensamples agree with those from " +
+                    "Spark up to numerical accuracy and the signs of the eigensamples.",
+            fullName = USE_RANDOMIZED_SVD_LONG_NAME,
+            optional = true
+    )
+    private boolean useRandomizedSVD = false;
+
     @Override
     protected void runPipeline(final JavaSparkContext ctx) {
         if (!new HDF5Library().load(null)) {  //Note: passing null means using the default temp dir.
@@ -291,7 +308,7 @@ public final class CreateReadCountPanelOfNormals extends SparkCommandLineProgram
                 sequenceDictionary, readCountMatrix, sampleFilenames, intervals, intervalGCContent,
                 minimumIntervalMedianPercentile, maximumZerosInSamplePercentage, maximumZerosInIntervalPercentage,
                 extremeSampleMedianPercentile, doImputeZeros, extremeOutlierTruncationPercentile, numEigensamplesRequested,
-                maximumChunkSize, ctx);
+                maximumChunkSize, useRandomizedSVD, ctx);
 
         logger.info(String.format("%s complete.", getClass().getSimpleName()));
     }
@@ -324,14 +341,32 @@ public final class CreateReadCountPanelOfNormals extends SparkCommandLineProgram
             final int sampleIndex = inputReadCountFilesIterator.nextIndex();
             final File inputReadCountFile = inputReadCountFilesIterator.next();
             logger.info(String.format("Aggregating read-counts file %s (%d / %d)", inputReadCountFile, sampleIndex + 1, numSamples));
-            final SimpleCountCollection readCounts = SimpleCountCollection.read(inputReadCountFile);
-            if (!CopyNumberArgumentValidationUtils.isSameDictionary(readCounts.getMetadata().getSequenceDictionary(), sequenceDictionary)) {
-                logger.warn(String.format("Sequence dictionary for read-counts file %s does not match those in other read-counts files.", inputReadCountFile));
+            if (IOUtils.isHDF5File(inputReadCountFile.toPath())) {
+                //read the counts directly into the matrix, without constructing a SimpleCount for each interval
+                try (final HDF5File hdf5ReadCountFile = new HDF5File(inputReadCountFile)) {   //HDF5File implements AutoCloseable
+                    final HDF5SimpleCountCollection readCounts = new HDF5SimpleCountCollection(hdf5ReadCountFile);
+                    validateReadCounts(logger, inputReadCountFile, readCounts.getMetadata(), readCounts.getIntervals(), sequenceDictionary, intervals);
+                    readCountMatrix.setRow(sampleIndex, readCounts.getCounts(0, numIntervals));
+                }
+            } else {
+                final SimpleCountCollection readCounts = SimpleCountCollection.read(inputReadCountFile);
+                validateReadCounts(logger, inputReadCountFile, readCounts.getMetadata(), readCounts.getIntervals(), sequenceDictionary, intervals);
+                readCountMatrix.setRow(sampleIndex, readCounts.getCounts());
             }
-            Utils.validateArg(readCounts.getIntervals().equals(intervals),
-                    String.format("Intervals for read-counts file %s do not match those in other read-counts files.", inputReadCountFile));
-            readCountMatrix.setRow(sampleIndex, readCounts.getCounts());
         }
         return readCountMatrix;
     }
+
+    private static void validateReadCounts(final Logger logger,
+                                           final File inputReadCountFile,
+                                           final SampleLocatableMetadata metadata,
+                                           final List<SimpleInterval> readCountIntervals,
+                                           final SAMSequenceDictionary sequenceDictionary,
+                                           final List<SimpleInterval> intervals) {
+        if (!CopyNumberArgumentValidationUtils.isSameDictionary(metadata.getSequenceDictionary(), sequenceDictionary)) {
+            logger.warn(String.format("Sequence dictionary for read-counts file %s does not match those in other read-counts files.", inputReadCountFile));
+        }
+        Utils.validateArg(readCountIntervals.equals(intervals),
+                String.format("Intervals for read-counts file %s do not match those in other read-counts files.", inputReadCountFile));
+    }
 }
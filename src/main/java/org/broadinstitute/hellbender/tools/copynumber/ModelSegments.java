@@ -241,6 +241,7 @@ public final class ModelSegments extends CommandLineProgram {
     public static final String KERNEL_APPROXIMATION_DIMENSION_LONG_NAME = "kernel-approximation-dimension";
     public static final String WINDOW_SIZE_LONG_NAME = "window-size";
     public static final String NUMBER_OF_CHANGEPOINTS_PENALTY_FACTOR_LONG_NAME = "number-of-changepoints-penalty-factor";
+    public static final String NUMBER_OF_SEGMENTATION_THREADS_LONG_NAME = "number-of-segmentation-threads";
 
     //MCMC argument names
     public static final String MINOR_ALLELE_FRACTION_PRIOR_ALPHA_LONG_NAME = "minor-allele-fraction-prior-alpha";
@@ -248,6 +249,8 @@ public final class ModelSegments extends CommandLineProgram {
     public static final String NUMBER_OF_BURN_IN_SAMPLES_COPY_RATIO_LONG_NAME = "number-of-burn-in-samples-copy-ratio";
     public static final String NUMBER_OF_SAMPLES_ALLELE_FRACTION_LONG_NAME = "number-of-samples-allele-fraction";
     public static final String NUMBER_OF_BURN_IN_SAMPLES_ALLELE_FRACTION_LONG_NAME = "number-of-burn-in-samples-allele-fraction";
+    public static final String NUMBER_OF_CHAINS_LONG_NAME = "number-of-chains";
+    public static final String NUMBER_OF_MCMC_THREADS_LONG_NAME = "number-of-mcmc-threads";
 
     //smoothing argument names
     public static final String SMOOTHING_CREDIBLE_INTERVAL_THRESHOLD_COPY_RATIO_LONG_NAME = "smoothing-credible-interval-threshold-copy-ratio";
@@ -396,6 +399,15 @@ public final class ModelSegments extends CommandLineProgram {
     )
     private double numChangepointsPenaltyFactor = 1.;
 
+    @Argument(
+            doc = "Number of threads to use for segmentation.  Chromosomes (and window sizes within each chromosome) " +
+                    "are segmented in parallel; the result does not depend on the number of threads.",
+            fullName = NUMBER_OF_SEGMENTATION_THREADS_LONG_NAME,
+            minValue = 1,
+            optional = true
+    )
+    private int numSegmentationThreads = 1;
+
     @Argument(
             doc = "Alpha hyperparameter for the 4-parameter beta-distribution prior on segment minor-allele fraction. " +
                     "The prior for the minor-allele fraction f in each segment is assumed to be Beta(alpha, 1, 0, 1/2). " +
@@ -438,6 +450,27 @@ public final class ModelSegments extends CommandLineProgram {
     )
     private int numBurnInAlleleFraction = 50;
 
+    @Argument(
+            doc = "Number of independent MCMC chains for the copy-ratio and allele-fraction models.  " +
+                    "Each chain generates the specified numbers of total and burn-in samples, " +
+                    "and the samples remaining after burn-in are pooled across chains.  " +
+                    "If more than one chain is run, the Gelman-Rubin statistic for each global parameter is logged.",
+            fullName = NUMBER_OF_CHAINS_LONG_NAME,
+            optional = true,
+            minValue = 1
+    )
+    private int numChains = 1;
+
+    @Argument(
+            doc = "Number of threads to use for MCMC.  Chains, and segments within each chain, are sampled in parallel.  " +
+                    "Results do not depend on the number of threads, but differ between a single thread and multiple threads, " +
+                    "as segments are then sampled using separate random-number generators.",
+            fullName = NUMBER_OF_MCMC_THREADS_LONG_NAME,
+            optional = true,
+            minValue = 1
+    )
+    private int numMCMCThreads = 1;
+
     @Argument(
             doc = "Number of 10% equal-tailed credible-interval widths to use for copy-ratio segmentation smoothing.",
             fullName = SMOOTHING_CREDIBLE_INTERVAL_THRESHOLD_COPY_RATIO_LONG_NAME,
@@ -513,7 +546,7 @@ public final class ModelSegments extends CommandLineProgram {
                     .findSegmentation(maxNumSegmentsPerChromosome,
                             kernelVarianceCopyRatio, kernelVarianceAlleleFraction, kernelScalingAlleleFraction, kernelApproximationDimension,
                             ImmutableSet.copyOf(windowSizes).asList(),
-                            numChangepointsPenaltyFactor, numChangepointsPenaltyFactor);
+                            numChangepointsPenaltyFactor, numChangepointsPenaltyFactor, numSegmentationThreads);
         }
 
         logger.info("Modeling available denoised copy ratios and heterozygous allelic counts...");
@@ -522,7 +555,8 @@ public final class ModelSegments extends CommandLineProgram {
         final MultidimensionalModeller modeller = new MultidimensionalModeller(
                 multidimensionalSegments, denoisedCopyRatios, hetAllelicCounts, alleleFractionPrior,
                 numSamplesCopyRatio, numBurnInCopyRatio,
-                numSamplesAlleleFraction, numBurnInAlleleFraction);
+                numSamplesAlleleFraction, numBurnInAlleleFraction,
+                numChains, numMCMCThreads);
 
         //write initial segments and parameters to file
         writeModeledSegmentsAndParameterFiles(modeller, BEGIN_FIT_FILE_TAG);
@@ -615,7 +649,7 @@ public final class ModelSegments extends CommandLineProgram {
         return new CopyRatioKernelSegmenter(denoisedCopyRatios)
                 .findSegmentation(maxNumChangepointsPerChromosome, kernelVarianceCopyRatio, kernelApproximationDimension,
                         ImmutableSet.copyOf(windowSizes).asList(),
-                        numChangepointsPenaltyFactor, numChangepointsPenaltyFactor);
+                        numChangepointsPenaltyFactor, numChangepointsPenaltyFactor, numSegmentationThreads);
     }
 
     private AllelicCountCollection genotypeHets(final SampleLocatableMetadata metadata,
@@ -749,7 +783,7 @@ public final class ModelSegments extends CommandLineProgram {
         return new AlleleFractionKernelSegmenter(hetAllelicCounts)
                 .findSegmentation(maxNumChangepointsPerChromosome, kernelVarianceAlleleFraction, kernelApproximationDimension,
                         ImmutableSet.copyOf(windowSizes).asList(),
-                        numChangepointsPenaltyFactor, numChangepointsPenaltyFactor);
+                        numChangepointsPenaltyFactor, numChangepointsPenaltyFactor, numSegmentationThreads);
     }
 
     private void writeModeledSegmentsAndParameterFiles(final MultidimensionalModeller modeller,
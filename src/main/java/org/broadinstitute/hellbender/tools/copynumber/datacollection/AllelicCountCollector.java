@@ -64,10 +64,36 @@ public final class AllelicCountCollector {
                 .filter(r -> r.getQual() >= minBaseQuality)
                 .forEach(r -> nucleotideCounter.add(r.getBase()));
 
-        final int totalBaseCount = BASES.stream().mapToInt(b -> (int) nucleotideCounter.get(b)).sum();  //only include total ACGT counts (exclude N, etc.)
-        final int refReadCount = (int) nucleotideCounter.get(refBase);
+        final int[] baseCounts = BASES.stream().mapToInt(b -> (int) nucleotideCounter.get(b)).toArray();  //only include total ACGT counts (exclude N, etc.)
+        addAllelicCount(refBase, baseCounts, locus);
+    }
+
+    /**
+     * Add counts to this class for a specific locus, from counts of bases that already pass the base-quality threshold.
+     *
+     * @param refBase single nucleotide of the reference.  Not {@code null}
+     * @param baseCounts counts of each of {@link AllelicCountCollector#BASES} at the locus.  Not {@code null}
+     * @param locus position in genome to collect alellic counts.  Not {@code null}
+     */
+    public void collectAtLocus(final Nucleotide refBase, final int[] baseCounts, final Locatable locus) {
+        Utils.nonNull(refBase);
+        Utils.nonNull(baseCounts);
+        Utils.nonNull(locus);
+        Utils.validateArg(baseCounts.length == BASES.size(), "There must be one count for each of A, C, G and T.");
+
+        if (!BASES.contains(refBase)) {
+            logger.warn(String.format("The reference position at %s has an unknown base call (value: %s). Skipping...",
+                    locus, refBase.toString()));
+            return;
+        }
+        addAllelicCount(refBase, baseCounts, locus);
+    }
+
+    private void addAllelicCount(final Nucleotide refBase, final int[] baseCounts, final Locatable locus) {
+        final int totalBaseCount = Arrays.stream(baseCounts).sum();
+        final int refReadCount = baseCounts[BASES.indexOf(refBase)];
         final int altReadCount = totalBaseCount - refReadCount;                                         //we take alt = total - ref instead of the actual alt count
-        final Nucleotide altBase = altReadCount == 0 ? Nucleotide.N : inferAltFromPileupBaseCounts(nucleotideCounter, refBase);
+        final Nucleotide altBase = altReadCount == 0 ? Nucleotide.N : inferAltFromPileupBaseCounts(baseCounts, refBase);
 
         allelicCounts.add(new AllelicCount(
                 new SimpleInterval(locus.getContig(), locus.getStart(), locus.getEnd()),
@@ -87,11 +113,11 @@ public final class AllelicCountCollector {
      * Returns the non-ref base with highest count (if there is a tie, the first base in the order given in
      * {@link AllelicCountCollector#BASES} will be returned).
      */
-    private static Nucleotide inferAltFromPileupBaseCounts(final Nucleotide.Counter baseCounts,
+    private static Nucleotide inferAltFromPileupBaseCounts(final int[] baseCounts,
                                                            final Nucleotide refNucleotide) {
         return BASES.stream()
                 .filter(b -> b != refNucleotide)
-                .sorted((b1, b2) -> Long.compare(baseCounts.get(b2), baseCounts.get(b1)))
+                .sorted((b1, b2) -> Integer.compare(baseCounts[BASES.indexOf(b2)], baseCounts[BASES.indexOf(b1)]))
                 .findFirst().get();
     }
 
@@ -22,6 +22,8 @@ import org.broadinstitute.hellbender.tools.copynumber.utils.HDF5Utils;
 import org.broadinstitute.hellbender.utils.SimpleInterval;
 import org.broadinstitute.hellbender.utils.io.IOUtils;
 import org.broadinstitute.hellbender.utils.spark.SparkConverter;
+import org.broadinstitute.hellbender.utils.svd.SVD;
+import org.broadinstitute.hellbender.utils.svd.SVDFactory;
 
 import java.io.File;
 import java.io.StringWriter;
@@ -91,6 +93,7 @@ public final class HDF5SVDReadCountPanelOfNormals implements SVDReadCountPanelOf
     private static final int CHUNK_DIVISOR = 16;    //limits number of intervals to 16777215
     private static final int NUM_SLICES_FOR_SPARK_MATRIX_CONVERSION = 100;
     private static final double EPSILON = 1E-9;
+    private static final long RANDOMIZED_SVD_SEED = 1L;
 
     /**
      * The version number is a double where the integer part is the
@@ -236,6 +239,9 @@ public final class HDF5SVDReadCountPanelOfNormals implements SVDReadCountPanelOf
      * The dimensions of {@code originalReadCounts} should be samples x intervals.
      * To reduce memory footprint, {@code originalReadCounts} is modified in place.
      * If {@code intervalGCContent} is null, GC-bias correction will not be performed.
+     * If {@code useRandomizedSVD} is true, the truncated SVD is computed locally by
+     * {@link SVDFactory#createTruncatedSVD} (which neither copies nor transposes the standardized counts)
+     * rather than with Spark.
      */
     public static void create(final File outFile,
                               final String commandLine,
@@ -252,6 +258,7 @@ public final class HDF5SVDReadCountPanelOfNormals implements SVDReadCountPanelOf
                               final double extremeOutlierTruncationPercentile,
                               final int numEigensamplesRequested,
                               final int maximumChunkSize,
+                              final boolean useRandomizedSVD,
                               final JavaSparkContext ctx) {
         try (final HDF5File file = new HDF5File(outFile, HDF5File.OpenMode.CREATE)) {
             logger.info(String.format("Creating read-count panel of normals at %s...", outFile.getAbsolutePath()));
@@ -321,10 +328,21 @@ public final class HDF5SVDReadCountPanelOfNormals implements SVDReadCountPanelOf
             logger.info(String.format("Performing SVD (truncated at %d eigensamples) of standardized counts (transposed to %d x %d)...",
                     numEigensamples, numPanelIntervals, numPanelSamples));
             if (numPanelSamples > 1 && numEigensamples > 0) {
-                final SingularValueDecomposition<RowMatrix, Matrix> svd = SparkConverter.convertRealMatrixToSparkRowMatrix(
-                        ctx, preprocessedStandardizedResult.preprocessedStandardizedValues.transpose(), NUM_SLICES_FOR_SPARK_MATRIX_CONVERSION)
-                        .computeSVD(numEigensamples, true, EPSILON);
-                final double[] singularValues = svd.s().toArray();    //should be in decreasing order (with corresponding matrices below)
+                final double[] singularValues;      //should be in decreasing order (with corresponding eigensample vectors below)
+                final double[][] eigensampleVectors;
+                if (useRandomizedSVD) {
+                    //the right singular vectors of the samples x intervals matrix are the eigensample vectors
+                    final SVD svd = SVDFactory.createTruncatedSVD(
+                            preprocessedStandardizedResult.preprocessedStandardizedValues, numEigensamples, RANDOMIZED_SVD_SEED);
+                    singularValues = svd.getSingularValues();
+                    eigensampleVectors = svd.getV().getData();
+                } else {
+                    final SingularValueDecomposition<RowMatrix, Matrix> svd = SparkConverter.convertRealMatrixToSparkRowMatrix(
+                            ctx, preprocessedStandardizedResult.preprocessedStandardizedValues.transpose(), NUM_SLICES_FOR_SPARK_MATRIX_CONVERSION)
+                            .computeSVD(numEigensamples, true, EPSILON);
+                    singularValues = svd.s().toArray();
+                    eigensampleVectors = SparkConverter.convertSparkRowMatrixToRealMatrix(svd.U(), numPanelIntervals).getData();
+                }
                 if (singularValues.length == 0 || Arrays.stream(singularValues).noneMatch(s -> s > EPSILON)) {
                     //if the panel contains more than one sample, we require that at least one non-negligible singular value is found
                     throw new UserException(String.format("No non-zero singular values were found.  It may be necessary to use stricter parameters for filtering.  " +
@@ -334,7 +352,6 @@ public final class HDF5SVDReadCountPanelOfNormals implements SVDReadCountPanelOf
                     logger.warn(String.format("Attempted to truncate at %d eigensamples, but only %d non-zero singular values were found...",
                             numEigensamples, singularValues.length));
                 }
-                final double[][] eigensampleVectors = SparkConverter.convertSparkRowMatrixToRealMatrix(svd.U(), numPanelIntervals).getData();
 
                 logger.info(String.format("Writing singular values (%d)...", singularValues.length));
                 pon.writeSingularValues(singularValues);
@@ -376,7 +393,11 @@ public final class HDF5SVDReadCountPanelOfNormals implements SVDReadCountPanelOf
 
     private void writeOriginalReadCountsPath(final RealMatrix originalReadCounts,
                                              final int maximumChunkSize) {
-        HDF5Utils.writeChunkedDoubleMatrix(file, ORIGINAL_READ_COUNTS_PATH, originalReadCounts.getData(), maximumChunkSize);
+        //avoid copying the (potentially very large) matrix if we can get a reference to its rows
+        final double[][] originalReadCountsData = originalReadCounts instanceof Array2DRowRealMatrix
+                ? ((Array2DRowRealMatrix) originalReadCounts).getDataRef()
+                : originalReadCounts.getData();
+        HDF5Utils.writeChunkedDoubleMatrix(file, ORIGINAL_READ_COUNTS_PATH, originalReadCountsData, maximumChunkSize);
     }
 
     private void writeOriginalSampleFilenames(final List<String> originalSampleFilenames) {
@@ -334,7 +334,10 @@ public final class SVDDenoisingUtils {
         } else if ((long) preprocessedReadCounts.getRowDimension() * preprocessedReadCounts.getColumnDimension() > Integer.MAX_VALUE) {
             logger.warn("The number of matrix elements exceeds Integer.MAX_VALUE, so outlier truncation will be skipped...");
         } else {
-            final double[] values = Doubles.concat(preprocessedReadCounts.getData());
+            //flatten the values with a single copy (getData would make an additional copy for a row-major matrix)
+            final double[] values = preprocessedReadCounts instanceof Array2DRowRealMatrix
+                    ? Doubles.concat(((Array2DRowRealMatrix) preprocessedReadCounts).getDataRef())
+                    : Doubles.concat(preprocessedReadCounts.getData());
             final double minimumOutlierTruncationThreshold = new Percentile(extremeOutlierTruncationPercentile).evaluate(values);
             final double maximumOutlierTruncationThreshold = new Percentile(100. - extremeOutlierTruncationPercentile).evaluate(values);
             final int[] numTruncated = {0};  //needs to be effectively final to be used inside visitor
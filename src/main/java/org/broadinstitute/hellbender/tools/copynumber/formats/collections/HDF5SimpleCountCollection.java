@@ -8,6 +8,7 @@ import htsjdk.samtools.util.Lazy;
 import org.apache.commons.math3.linear.Array2DRowRealMatrix;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.broadinstitute.hdf5.HDF5File;
+import org.broadinstitute.hellbender.exceptions.UserException;
 import org.broadinstitute.hellbender.tools.copynumber.formats.metadata.SampleLocatableMetadata;
 import org.broadinstitute.hellbender.tools.copynumber.formats.metadata.SimpleSampleLocatableMetadata;
 import org.broadinstitute.hellbender.tools.copynumber.utils.HDF5Utils;
@@ -21,7 +22,8 @@ import java.util.List;
 
 /**
  * Helper class for {@link SimpleCountCollection} used to read/write HDF5.
- * Class is only visible so that it can be referenced in documentation.
+ * Class is also visible so that tools that only need the counts (e.g., {@link org.broadinstitute.hellbender.tools.copynumber.CreateReadCountPanelOfNormals})
+ * can read them lazily, and by range, without constructing a {@link SimpleCountCollection}.
  *
  * <p>
  *     Data is stored in the following HDF5 paths:
@@ -37,11 +39,19 @@ import java.util.List;
  *         intervals: /intervals
  *     </li>
  *     <li>
- *         counts: /counts/values
+ *         counts: /counts/values (default) or /counts/blocked_values
+ *     </li>
+ *     <li>
+ *         version of the blocked counts layout (only with /counts/blocked_values): /counts/blocked_values_version
  *     </li>
  * </ul>
  * <p>
  *     See {@link HDF5Utils#writeIntervals} for details on the representation of intervals.
+ *     By default, counts are written as a single-row matrix in /counts/values, which is the layout that other
+ *     consumers of these files (e.g., gCNV) expect.  Optionally, counts are instead written in blocks of
+ *     {@link #COUNTS_BLOCK_SIZE} values in /counts/blocked_values, so that ranges of intervals can be read
+ *     independently; blocks containing only zero counts are not written.
+ *     See {@link HDF5Utils#writeBlockedDoubleArray} for details.  Both layouts can be read.
  * </p>
  *
  * @author Samuel Lee &lt;slee@broadinstitute.org&gt;
@@ -51,19 +61,26 @@ public final class HDF5SimpleCountCollection {
     private static final String SEQUENCE_DICTIONARY_PATH = "/locatable_metadata/sequence_dictionary";
     private static final String INTERVALS_GROUP_NAME = "/intervals";
     private static final String COUNTS_PATH = "/counts/values";
+    private static final String BLOCKED_COUNTS_PATH = "/counts/blocked_values";
+    private static final String BLOCKED_COUNTS_VERSION_PATH = "/counts/blocked_values_version";
+
+    private static final double CURRENT_BLOCKED_COUNTS_VERSION = 1.0;
+
+    public static final int COUNTS_BLOCK_SIZE = 10000;
 
     private final HDF5File file;
     private final Lazy<String> sampleName;
     private final Lazy<SAMSequenceDictionary> sequenceDictionary;
     private final Lazy<List<SimpleInterval>> intervals;
     private final Lazy<RealMatrix> counts;
+    private final Lazy<Boolean> isBlocked;
 
     /**
      * DEV NOTE: If you are adding attributes that are neither RealMatrix nor a primitive,
      * you must follow the pattern in the constructor (i.e. the Lazy loading pattern).
      * Otherwise, some operations will hang.
      */
-    HDF5SimpleCountCollection(final HDF5File file) {
+    public HDF5SimpleCountCollection(final HDF5File file) {
         Utils.nonNull(file);
         this.file = file;
         sampleName = new Lazy<>(() -> file.readStringArray(SAMPLE_NAME_PATH)[0]);
@@ -74,24 +91,51 @@ public final class HDF5SimpleCountCollection {
                     .getSequenceDictionary();
         });
         intervals = new Lazy<>(() -> HDF5Utils.readIntervals(file, INTERVALS_GROUP_NAME));
-        counts = new Lazy<>(() -> new Array2DRowRealMatrix(file.readDoubleMatrix(COUNTS_PATH)));
+        isBlocked = new Lazy<>(() -> {
+            if (file.isPresent(COUNTS_PATH)) {
+                return false;
+            }
+            if (!file.isPresent(BLOCKED_COUNTS_VERSION_PATH) || file.readDouble(BLOCKED_COUNTS_VERSION_PATH) > CURRENT_BLOCKED_COUNTS_VERSION) {
+                throw new UserException.BadInput(String.format("The counts in %s are not in a supported layout (expected %s or %s version %.1f).",
+                        file.getFile().getAbsolutePath(), COUNTS_PATH, BLOCKED_COUNTS_PATH, CURRENT_BLOCKED_COUNTS_VERSION));
+            }
+            return true;
+        });
+        counts = new Lazy<>(() -> isBlocked.get()
+                ? new Array2DRowRealMatrix(new double[][]{HDF5Utils.readBlockedDoubleArray(file, BLOCKED_COUNTS_PATH)}, false)
+                : new Array2DRowRealMatrix(file.readDoubleMatrix(COUNTS_PATH)));
     }
 
-    SampleLocatableMetadata getMetadata() {
+    public SampleLocatableMetadata getMetadata() {
         return new SimpleSampleLocatableMetadata(sampleName.get(), sequenceDictionary.get());
     }
 
-    List<SimpleInterval> getIntervals() {
+    public List<SimpleInterval> getIntervals() {
         return intervals.get();
     }
 
     /**
      * @return single-row matrix containing the counts
      */
-    RealMatrix getCounts() {
+    public RealMatrix getCounts() {
         return counts.get();
     }
 
+    /**
+     * Returns the counts for the intervals with indices in [{@code startIndex}, {@code endIndex}).
+     * Only the blocks containing these counts are read if the counts are blocked; otherwise, all counts are read.
+     */
+    public double[] getCounts(final int startIndex,
+                              final int endIndex) {
+        if (!isBlocked.get()) {
+            final double[] allCounts = counts.get().getRow(0);
+            Utils.validateArg(0 <= startIndex && startIndex <= endIndex && endIndex <= allCounts.length,
+                    String.format("Invalid range [%d, %d) for %d counts.", startIndex, endIndex, allCounts.length));
+            return Arrays.copyOfRange(allCounts, startIndex, endIndex);
+        }
+        return HDF5Utils.readBlockedDoubleArray(file, BLOCKED_COUNTS_PATH, startIndex, endIndex);
+    }
+
     /**
      * @param intervals note that no particular sort order is assumed or checked for here,
      *                  but this package-protected method should only be called by {@link SimpleCountCollection#writeHDF5},
@@ -101,6 +145,18 @@ public final class HDF5SimpleCountCollection {
                       final SampleLocatableMetadata metadata,
                       final List<SimpleInterval> intervals,
                       final double[] counts) {
+        write(outFile, metadata, intervals, counts, false);
+    }
+
+    /**
+     * @param writeBlockedCounts    if true, write the counts in blocks to /counts/blocked_values,
+     *                              rather than as a single-row matrix to /counts/values
+     */
+    static void write(final File outFile,
+                      final SampleLocatableMetadata metadata,
+                      final List<SimpleInterval> intervals,
+                      final double[] counts,
+                      final boolean writeBlockedCounts) {
         Utils.nonNull(outFile);
         Utils.nonNull(metadata);
         Utils.nonEmpty(intervals);
@@ -115,7 +171,11 @@ public final class HDF5SimpleCountCollection {
             hdf5CountCollection.writeSampleName(SAMPLE_NAME_PATH, metadata.getSampleName());
             hdf5CountCollection.writeSequenceDictionary(SEQUENCE_DICTIONARY_PATH, metadata.getSequenceDictionary());
             hdf5CountCollection.writeIntervals(intervals);
-            hdf5CountCollection.writeCounts(counts);
+            if (writeBlockedCounts) {
+                hdf5CountCollection.writeBlockedCounts(counts);
+            } else {
+                hdf5CountCollection.writeCounts(counts);
+            }
         }
     }
 
@@ -136,4 +196,9 @@ public final class HDF5SimpleCountCollection {
     private void writeCounts(final double[] counts) {
         file.makeDoubleMatrix(COUNTS_PATH, new double[][]{counts});
     }
+
+    private void writeBlockedCounts(final double[] counts) {
+        file.makeDouble(BLOCKED_COUNTS_VERSION_PATH, CURRENT_BLOCKED_COUNTS_VERSION);
+        HDF5Utils.writeBlockedDoubleArray(file, BLOCKED_COUNTS_PATH, counts, COUNTS_BLOCK_SIZE);
+    }
 }
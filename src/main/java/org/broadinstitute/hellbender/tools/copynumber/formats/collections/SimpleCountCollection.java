@@ -63,7 +63,9 @@ public final class SimpleCountCollection extends AbstractSampleLocatableCollecti
     public static SimpleCountCollection read(final File file) {
         IOUtils.canReadFile(file);
         if (IOUtils.isHDF5File(file.toPath())) {
-            return readHDF5(new HDF5File(file));
+            try (final HDF5File hdf5File = new HDF5File(file)) {    //HDF5File implements AutoCloseable
+                return readHDF5(hdf5File);
+            }
         } else {
             return readTSV(file);
         }
@@ -87,8 +89,16 @@ public final class SimpleCountCollection extends AbstractSampleLocatableCollecti
     }
 
     public void writeHDF5(final File file) {
+        writeHDF5(file, false);
+    }
+
+    /**
+     * @param writeBlockedCounts    see {@link HDF5SimpleCountCollection}
+     */
+    public void writeHDF5(final File file,
+                          final boolean writeBlockedCounts) {
         Utils.nonNull(file);
-        HDF5SimpleCountCollection.write(file, getMetadata(), getIntervals(), getCounts());
+        HDF5SimpleCountCollection.write(file, getMetadata(), getIntervals(), getCounts(), writeBlockedCounts);
     }
 
     public double[] getCounts() {
@@ -1,5 +1,7 @@
 package org.broadinstitute.hellbender.tools.copynumber.models;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.broadinstitute.hellbender.tools.copynumber.formats.collections.AllelicCountCollection;
 import org.broadinstitute.hellbender.tools.copynumber.formats.collections.ParameterDecileCollection;
 import org.broadinstitute.hellbender.tools.copynumber.formats.collections.SimpleIntervalCollection;
@@ -11,6 +13,7 @@ import org.broadinstitute.hellbender.utils.mcmc.DecileCollection;
 import org.broadinstitute.hellbender.utils.mcmc.GibbsSampler;
 import org.broadinstitute.hellbender.utils.mcmc.ParameterSampler;
 import org.broadinstitute.hellbender.utils.mcmc.ParameterizedModel;
+import org.broadinstitute.hellbender.utils.mcmc.PosteriorSummaryUtils;
 
 import java.util.*;
 import java.util.function.Function;
@@ -54,6 +57,8 @@ import java.util.stream.IntStream;
  * @author Samuel Lee &lt;slee@broadinstitute.org&gt;
  */
 public final class AlleleFractionModeller {
+    private static final Logger logger = LogManager.getLogger(AlleleFractionModeller.class);
+
     private static final double MAX_REASONABLE_MEAN_BIAS = AlleleFractionInitializer.MAX_REASONABLE_MEAN_BIAS;
     private static final double MAX_REASONABLE_BIAS_VARIANCE = AlleleFractionInitializer.MAX_REASONABLE_BIAS_VARIANCE;
     private static final double MAX_REASONABLE_OUTLIER_PROBABILITY = AlleleFractionInitializer.MAX_REASONABLE_OUTLIER_PROBABILITY;
@@ -127,15 +132,39 @@ public final class AlleleFractionModeller {
      * @param numBurnIn     number of burn-in samples to discard
      */
     void fitMCMC(final int numSamples, final int numBurnIn) {
+        fitMCMC(numSamples, numBurnIn, 1, 1);
+    }
+
+    /**
+     * Adds {@code numChains * (numSamples - numBurnIn)} Markov-Chain Monte-Carlo samples of the parameter posteriors
+     * (generated using Gibbs sampling of independent chains, see {@link GibbsSampler#runChains}) to the collections
+     * held internally.  The current {@link AlleleFractionState} held internally is used to initialize all chains.
+     * @param numSamples    total number of samples per posterior per chain
+     * @param numBurnIn     number of burn-in samples to discard from each chain
+     * @param numChains     number of chains, whose samples are pooled
+     * @param numThreads    number of threads used to run the chains and to sample segments
+     */
+    void fitMCMC(final int numSamples, final int numBurnIn, final int numChains, final int numThreads) {
         //run MCMC
-        final GibbsSampler<AlleleFractionParameter, AlleleFractionState, AlleleFractionSegmentedData> gibbsSampler = new GibbsSampler<>(numSamples, model);
-        gibbsSampler.runMCMC();
-
-        //update posterior samples
-        meanBiasSamples.addAll(gibbsSampler.getSamples(AlleleFractionParameter.MEAN_BIAS, Double.class, numBurnIn));
-        biasVarianceSamples.addAll(gibbsSampler.getSamples(AlleleFractionParameter.BIAS_VARIANCE, Double.class, numBurnIn));
-        outlierProbabilitySamples.addAll(gibbsSampler.getSamples(AlleleFractionParameter.OUTLIER_PROBABILITY, Double.class, numBurnIn));
-        minorFractionsSamples.addAll(gibbsSampler.getSamples(AlleleFractionParameter.MINOR_ALLELE_FRACTIONS, AlleleFractionState.MinorFractions.class, numBurnIn));
+        final List<GibbsSampler<AlleleFractionParameter, AlleleFractionState, AlleleFractionSegmentedData>> gibbsSamplers =
+                GibbsSampler.runChains(numSamples, model, numChains, numThreads);
+
+        //update posterior samples, pooling the chains in order
+        for (final GibbsSampler<AlleleFractionParameter, AlleleFractionState, AlleleFractionSegmentedData> gibbsSampler : gibbsSamplers) {
+            meanBiasSamples.addAll(gibbsSampler.getSamples(AlleleFractionParameter.MEAN_BIAS, Double.class, numBurnIn));
+            biasVarianceSamples.addAll(gibbsSampler.getSamples(AlleleFractionParameter.BIAS_VARIANCE, Double.class, numBurnIn));
+            outlierProbabilitySamples.addAll(gibbsSampler.getSamples(AlleleFractionParameter.OUTLIER_PROBABILITY, Double.class, numBurnIn));
+            minorFractionsSamples.addAll(gibbsSampler.getSamples(AlleleFractionParameter.MINOR_ALLELE_FRACTIONS, AlleleFractionState.MinorFractions.class, numBurnIn));
+        }
+        if (numChains > 1 && numSamples - numBurnIn > 1) {
+            for (final AlleleFractionParameter parameter : Arrays.asList(
+                    AlleleFractionParameter.MEAN_BIAS, AlleleFractionParameter.BIAS_VARIANCE, AlleleFractionParameter.OUTLIER_PROBABILITY)) {
+                logger.info(String.format("Gelman-Rubin statistic for %s across %d chains: %.4f", parameter.name, numChains,
+                        PosteriorSummaryUtils.calculateGelmanRubinStatistic(gibbsSamplers.stream()
+                                .map(s -> s.getSamples(parameter, Double.class, numBurnIn))
+                                .collect(Collectors.toList()))));
+            }
+        }
     }
 
     List<Double> getMeanBiasSamples() {
@@ -66,4 +66,13 @@ final class AlleleFractionState extends ParameterizedState<AlleleFractionParamet
     MinorFractions minorFractions() {
         return get(AlleleFractionParameter.MINOR_ALLELE_FRACTIONS, MinorFractions.class);
     }
+
+    /**
+     * Returns an {@link AlleleFractionState} holding the same parameter values, which the samplers replace rather than modify.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <S extends ParameterizedState<AlleleFractionParameter>> S copy() {
+        return (S) new AlleleFractionState(meanBias(), biasVariance(), outlierProbability(), minorFractions());
+    }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package org.broadinstitute.hellbender.tools.copynumber.models;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.broadinstitute.hellbender.tools.copynumber.formats.collections.CopyRatioCollection;
 import org.broadinstitute.hellbender.tools.copynumber.formats.collections.ParameterDecileCollection;
 import org.broadinstitute.hellbender.tools.copynumber.formats.collections.SimpleIntervalCollection;
@@ -11,6 +13,7 @@ import org.broadinstitute.hellbender.utils.mcmc.DecileCollection;
 import org.broadinstitute.hellbender.utils.mcmc.GibbsSampler;
 import org.broadinstitute.hellbender.utils.mcmc.ParameterSampler;
 import org.broadinstitute.hellbender.utils.mcmc.ParameterizedModel;
+import org.broadinstitute.hellbender.utils.mcmc.PosteriorSummaryUtils;
 import org.broadinstitute.hellbender.utils.param.ParamUtils;
 
 import java.util.*;
@@ -28,6 +31,8 @@ import java.util.stream.Collectors;
  * @author Samuel Lee &lt;slee@broadinstitute.org&gt;
  */
 public final class CopyRatioModeller {
+    private static final Logger logger = LogManager.getLogger(CopyRatioModeller.class);
+
     private static final double EPSILON = 1E-6;
     static final double LOG2_COPY_RATIO_MIN = -50.;
     static final double LOG2_COPY_RATIO_MAX = 10.;
@@ -110,17 +115,43 @@ public final class CopyRatioModeller {
      */
     void fitMCMC(final int numSamples,
                         final int numBurnIn) {
+        fitMCMC(numSamples, numBurnIn, 1, 1);
+    }
+
+    /**
+     * Adds {@code numChains * (numSamples - numBurnIn)} Markov-Chain Monte-Carlo samples of the parameter posteriors
+     * (generated using Gibbs sampling of independent chains, see {@link GibbsSampler#runChains}) to the collections
+     * held internally.  The current {@link CopyRatioState} held internally is used to initialize all chains.
+     * @param numSamples    total number of samples per posterior per chain
+     * @param numBurnIn     number of burn-in samples to discard from each chain
+     * @param numChains     number of chains, whose samples are pooled
+     * @param numThreads    number of threads used to run the chains and to sample segments
+     */
+    void fitMCMC(final int numSamples,
+                 final int numBurnIn,
+                 final int numChains,
+                 final int numThreads) {
         ParamUtils.isPositiveOrZero(numBurnIn, "Number of burn-in samples must be non-negative.");
         Utils.validateArg(numBurnIn < numSamples, "Number of samples must be greater than number of burn-in samples.");
 
         //run MCMC
-        final GibbsSampler<CopyRatioParameter, CopyRatioState, CopyRatioSegmentedData> gibbsSampler = new GibbsSampler<>(numSamples, model);
-        gibbsSampler.runMCMC();
-
-        //update posterior samples
-        varianceSamples.addAll(gibbsSampler.getSamples(CopyRatioParameter.VARIANCE, Double.class, numBurnIn));
-        outlierProbabilitySamples.addAll(gibbsSampler.getSamples(CopyRatioParameter.OUTLIER_PROBABILITY, Double.class, numBurnIn));
-        segmentMeansSamples.addAll(gibbsSampler.getSamples(CopyRatioParameter.SEGMENT_MEANS, CopyRatioState.SegmentMeans.class, numBurnIn));
+        final List<GibbsSampler<CopyRatioParameter, CopyRatioState, CopyRatioSegmentedData>> gibbsSamplers =
+                GibbsSampler.runChains(numSamples, model, numChains, numThreads);
+
+        //update posterior samples, pooling the chains in order
+        for (final GibbsSampler<CopyRatioParameter, CopyRatioState, CopyRatioSegmentedData> gibbsSampler : gibbsSamplers) {
+            varianceSamples.addAll(gibbsSampler.getSamples(CopyRatioParameter.VARIANCE, Double.class, numBurnIn));
+            outlierProbabilitySamples.addAll(gibbsSampler.getSamples(CopyRatioParameter.OUTLIER_PROBABILITY, Double.class, numBurnIn));
+            segmentMeansSamples.addAll(gibbsSampler.getSamples(CopyRatioParameter.SEGMENT_MEANS, CopyRatioState.SegmentMeans.class, numBurnIn));
+        }
+        if (numChains > 1 && numSamples - numBurnIn > 1) {
+            for (final CopyRatioParameter parameter : Arrays.asList(CopyRatioParameter.VARIANCE, CopyRatioParameter.OUTLIER_PROBABILITY)) {
+                logger.info(String.format("Gelman-Rubin statistic for %s across %d chains: %.4f", parameter.name, numChains,
+                        PosteriorSummaryUtils.calculateGelmanRubinStatistic(gibbsSamplers.stream()
+                                .map(s -> s.getSamples(parameter, Double.class, numBurnIn))
+                                .collect(Collectors.toList()))));
+            }
+        }
     }
 
     List<Double> getVarianceSamples() {
@@ -119,24 +119,22 @@ final class CopyRatioSamplers {
         public CopyRatioState.SegmentMeans sample(final RandomGenerator rng,
                                                   final CopyRatioState state,
                                                   final CopyRatioSegmentedData data) {
-            final List<Double> means = new ArrayList<>(data.getNumSegments());
             final BiFunction<CopyRatioSegmentedData.IndexedCopyRatio, Double, Double> logConditionalPDF = (icr, newMean) ->
                     state.outlierIndicator(icr.getIndex())
                             ? 0.
                             : -normalTerm(icr.getLog2CopyRatioValue(), newMean, state.variance());
-            for (int segmentIndex = 0; segmentIndex < data.getNumSegments(); segmentIndex++) {
+            final List<Double> means = SegmentSamplingUtils.sampleSegments(rng, data.getNumSegments(), (segmentRng, segmentIndex) -> {
                 final List<CopyRatioSegmentedData.IndexedCopyRatio> indexedCopyRatiosInSegment = data.getIndexedCopyRatiosInSegment(segmentIndex);
                 if (indexedCopyRatiosInSegment.isEmpty()) {
-                    means.add(Double.NaN);
-                } else {
-                    logger.debug(String.format("Sampling mean for segment %d...", segmentIndex));
-                    final MinibatchSliceSampler<CopyRatioSegmentedData.IndexedCopyRatio> sampler = new MinibatchSliceSampler<>(
-                            rng, indexedCopyRatiosInSegment, UNIFORM_LOG_PRIOR, logConditionalPDF,
-                            meanMin, meanMax, meanSliceSamplingWidth,
-                            SEGMENT_MINIBATCH_SIZE, APPROX_THRESHOLD);
-                    means.add(sampler.sample(state.segmentMean(segmentIndex)));
+                    return Double.NaN;
                 }
-            }
+                logger.debug(String.format("Sampling mean for segment %d...", segmentIndex));
+                final MinibatchSliceSampler<CopyRatioSegmentedData.IndexedCopyRatio> sampler = new MinibatchSliceSampler<>(
+                        segmentRng, indexedCopyRatiosInSegment, UNIFORM_LOG_PRIOR, logConditionalPDF,
+                        meanMin, meanMax, meanSliceSamplingWidth,
+                        SEGMENT_MINIBATCH_SIZE, APPROX_THRESHOLD);
+                return sampler.sample(state.segmentMean(segmentIndex));
+            });
             return new CopyRatioState.SegmentMeans(means);
         }
     }
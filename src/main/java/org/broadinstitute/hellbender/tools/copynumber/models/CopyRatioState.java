@@ -64,4 +64,17 @@ final class CopyRatioState extends ParameterizedState<CopyRatioParameter> {
     boolean outlierIndicator(final int copyRatioIndex) {
         return get(CopyRatioParameter.OUTLIER_INDICATORS, CopyRatioState.OutlierIndicators.class).get(copyRatioIndex);
     }
+
+    /**
+     * Returns a {@link CopyRatioState} holding the same parameter values, which the samplers replace rather than modify.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <S extends ParameterizedState<CopyRatioParameter>> S copy() {
+        return (S) new CopyRatioState(
+                variance(),
+                outlierProbability(),
+                get(CopyRatioParameter.SEGMENT_MEANS, CopyRatioState.SegmentMeans.class),
+                get(CopyRatioParameter.OUTLIER_INDICATORS, CopyRatioState.OutlierIndicators.class));
+    }
 }
@@ -5,24 +5,31 @@ import java.util.Map;
 import java.util.function.Function;
 
 /**
+ * Bounded cache of the values of a function.  Each thread has its own cache, as the caches are shared by MCMC chains
+ * and segments sampled in parallel, so lookups neither lock nor contend.
+ *
  * @author Samuel Lee &lt;slee@broadinstitute.org&gt;
  */
-final class FunctionCache<DATA> extends LinkedHashMap<DATA, Double> {
-    private static final long serialVersionUID = 19841647L;
+final class FunctionCache<DATA> {
     private static final int MAX_SIZE = 100_000;
 
     private final Function<DATA, Double> mappingFunction;
+    private final ThreadLocal<Map<DATA, Double>> threadCache = ThreadLocal.withInitial(BoundedCache::new);
 
     FunctionCache(final Function<DATA, Double> mappingFunction) {
         this.mappingFunction = mappingFunction;
     }
 
     Double computeIfAbsent(final DATA key) {
-        return super.computeIfAbsent(key, mappingFunction);
+        return threadCache.get().computeIfAbsent(key, mappingFunction);
     }
 
-    @Override
-    protected boolean removeEldestEntry(final Map.Entry<DATA, Double> eldest) {
-        return size() >= MAX_SIZE;
+    private static final class BoundedCache<KEY> extends LinkedHashMap<KEY, Double> {
+        private static final long serialVersionUID = 19841647L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<KEY, Double> eldest) {
+            return size() >= MAX_SIZE;
+        }
     }
 }
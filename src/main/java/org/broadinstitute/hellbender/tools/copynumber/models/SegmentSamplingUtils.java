@@ -0,0 +1,38 @@
+package org.broadinstitute.hellbender.tools.copynumber.models;
+
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.RandomGeneratorFactory;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Samples segment-level parameters, which are conditionally independent given the global parameters.
+ *
+ * @author Samuel Lee &lt;slee@broadinstitute.org&gt;
+ */
+final class SegmentSamplingUtils {
+    private SegmentSamplingUtils() {}
+
+    /**
+     * Samples a parameter for each segment, each with its own random number generator seeded from {@code rng}, so that
+     * the samples do not depend on the number of threads.  If called from a fork-join pool (i.e., when chains are run
+     * in parallel by {@link org.broadinstitute.hellbender.utils.mcmc.GibbsSampler#runChains}), the segments are sampled
+     * in parallel; otherwise, they are sampled in turn.
+     * @param segmentSampler    returns a sample for the segment with the given index, using the given generator
+     */
+    static List<Double> sampleSegments(final RandomGenerator rng,
+                                       final int numSegments,
+                                       final BiFunction<RandomGenerator, Integer, Double> segmentSampler) {
+        final long[] seeds = IntStream.range(0, numSegments).mapToLong(i -> rng.nextLong()).toArray();
+        final IntStream segmentIndices = IntStream.range(0, numSegments);
+        return (ForkJoinTask.inForkJoinPool() ? segmentIndices.parallel() : segmentIndices).boxed()
+                .map(segmentIndex -> segmentSampler.apply(
+                        RandomGeneratorFactory.createRandomGenerator(new Random(seeds[segmentIndex])), segmentIndex))
+                .collect(Collectors.toList());
+    }
+}
@@ -46,16 +46,31 @@ public final class AlleleFractionKernelSegmenter {
                         Collectors.mapping(Function.identity(), Collectors.toList())));
     }
 
+    /**
+     * Equivalent to {@link #findSegmentation} with a single thread.
+     */
+    public AlleleFractionSegmentCollection findSegmentation(final int maxNumChangepointsPerChromosome,
+                                                            final double kernelVariance,
+                                                            final int kernelApproximationDimension,
+                                                            final List<Integer> windowSizes,
+                                                            final double numChangepointsPenaltyLinearFactor,
+                                                            final double numChangepointsPenaltyLogLinearFactor) {
+        return findSegmentation(maxNumChangepointsPerChromosome, kernelVariance, kernelApproximationDimension, windowSizes,
+                numChangepointsPenaltyLinearFactor, numChangepointsPenaltyLogLinearFactor, 1);
+    }
+
     /**
      * Segments the internally held {@link AllelicCountCollection} using a separate {@link KernelSegmenter} for each chromosome.
      * @param kernelVariance    variance of the Gaussian kernel; if zero, a linear kernel is used instead
+     * @param numThreads    number of threads used to segment chromosomes in parallel
      */
     public AlleleFractionSegmentCollection findSegmentation(final int maxNumChangepointsPerChromosome,
                                                             final double kernelVariance,
                                                             final int kernelApproximationDimension,
                                                             final List<Integer> windowSizes,
                                                             final double numChangepointsPenaltyLinearFactor,
-                                                            final double numChangepointsPenaltyLogLinearFactor) {
+                                                            final double numChangepointsPenaltyLogLinearFactor,
+                                                            final int numThreads) {
         ParamUtils.isPositiveOrZero(maxNumChangepointsPerChromosome, "Maximum number of changepoints must be non-negative.");
         ParamUtils.isPositiveOrZero(kernelVariance, "Variance of Gaussian kernel must be non-negative (if zero, a linear kernel will be used).");
         ParamUtils.isPositive(kernelApproximationDimension, "Dimension of kernel approximation must be positive.");
@@ -69,9 +84,10 @@ public final class AlleleFractionKernelSegmenter {
         logger.info(String.format("Finding changepoints in %d data points and %d chromosomes...",
                 allelicCounts.size(), allelicCountsPerChromosome.size()));
 
-        //loop over chromosomes, find changepoints, and create allele-fraction segments
-        final List<AlleleFractionSegment> segments = new ArrayList<>();
-        for (final String chromosome : allelicCountsPerChromosome.keySet()) {
+        //find changepoints and create segments for each chromosome (in parallel, if requested),
+        //then concatenate the segments in the original order of the chromosomes
+        final Function<String, List<AlleleFractionSegment>> findSegmentsInChromosome = chromosome -> {
+            final List<AlleleFractionSegment> segmentsInChromosome = new ArrayList<>();
             final List<AllelicCount> allelicCountsInChromosome = allelicCountsPerChromosome.get(chromosome);
             final int numAllelicCountsInChromosome = allelicCountsInChromosome.size();
             logger.info(String.format("Finding changepoints in %d data points in chromosome %s...",
@@ -82,9 +98,9 @@ public final class AlleleFractionKernelSegmenter {
                         chromosome, numAllelicCountsInChromosome, MIN_NUM_POINTS_REQUIRED_PER_CHROMOSOME));
                 final int start = allelicCountsInChromosome.get(0).getStart();
                 final int end = allelicCountsInChromosome.get(numAllelicCountsInChromosome - 1).getEnd();
-                segments.add(new AlleleFractionSegment(
+                segmentsInChromosome.add(new AlleleFractionSegment(
                         new SimpleInterval(chromosome, start, end), numAllelicCountsInChromosome));
-                continue;
+                return segmentsInChromosome;
             }
 
             final List<Double> alternateAlleleFractionsInChromosome = allelicCountsPerChromosome.get(chromosome).stream()
@@ -103,11 +119,16 @@ public final class AlleleFractionKernelSegmenter {
                 final int end = allelicCountsPerChromosome.get(chromosome).get(changepoint).getEnd();
                 final List<AllelicCount> allelicCountsInSegment = allelicCountsInChromosome.subList(
                         previousChangepoint + 1, changepoint + 1);
-                segments.add(new AlleleFractionSegment(
+                segmentsInChromosome.add(new AlleleFractionSegment(
                         new SimpleInterval(chromosome, start, end), allelicCountsInSegment));
                 previousChangepoint = changepoint;
             }
-        }
+            return segmentsInChromosome;
+        };
+        final List<AlleleFractionSegment> segments = KernelSegmenter.mapInParallel(
+                new ArrayList<>(allelicCountsPerChromosome.keySet()), findSegmentsInChromosome, numThreads).stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
         logger.info(String.format("Found %d segments in %d chromosomes.", segments.size(), allelicCountsPerChromosome.keySet().size()));
         return new AlleleFractionSegmentCollection(allelicCounts.getMetadata(), segments);
     }
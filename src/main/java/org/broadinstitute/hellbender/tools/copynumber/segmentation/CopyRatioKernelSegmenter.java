@@ -49,16 +49,31 @@ public final class CopyRatioKernelSegmenter {
                         Collectors.mapping(Function.identity(), Collectors.toList())));
     }
 
+    /**
+     * Equivalent to {@link #findSegmentation} with a single thread.
+     */
+    public CopyRatioSegmentCollection findSegmentation(final int maxNumChangepointsPerChromosome,
+                                                       final double kernelVariance,
+                                                       final int kernelApproximationDimension,
+                                                       final List<Integer> windowSizes,
+                                                       final double numChangepointsPenaltyLinearFactor,
+                                                       final double numChangepointsPenaltyLogLinearFactor) {
+        return findSegmentation(maxNumChangepointsPerChromosome, kernelVariance, kernelApproximationDimension, windowSizes,
+                numChangepointsPenaltyLinearFactor, numChangepointsPenaltyLogLinearFactor, 1);
+    }
+
     /**
      * Segments the internally held {@link CopyRatioCollection} using a separate {@link KernelSegmenter} for each chromosome.
      * @param kernelVariance    variance of the Gaussian kernel; if zero, a linear kernel is used instead
+     * @param numThreads    number of threads used to segment chromosomes in parallel
      */
     public CopyRatioSegmentCollection findSegmentation(final int maxNumChangepointsPerChromosome,
                                                        final double kernelVariance,
                                                        final int kernelApproximationDimension,
                                                        final List<Integer> windowSizes,
                                                        final double numChangepointsPenaltyLinearFactor,
-                                                       final double numChangepointsPenaltyLogLinearFactor) {
+                                                       final double numChangepointsPenaltyLogLinearFactor,
+                                                       final int numThreads) {
         ParamUtils.isPositiveOrZero(maxNumChangepointsPerChromosome, "Maximum number of changepoints must be non-negative.");
         ParamUtils.isPositiveOrZero(kernelVariance, "Variance of Gaussian kernel must be non-negative (if zero, a linear kernel will be used).");
         ParamUtils.isPositive(kernelApproximationDimension, "Dimension of kernel approximation must be positive.");
@@ -72,9 +87,10 @@ public final class CopyRatioKernelSegmenter {
         logger.info(String.format("Finding changepoints in %d data points and %d chromosomes...",
                 denoisedCopyRatios.size(), denoisedCopyRatiosPerChromosome.size()));
 
-        //loop over chromosomes, find changepoints, and create copy-ratio segments
-        final List<CopyRatioSegment> segments = new ArrayList<>();
-        for (final String chromosome : denoisedCopyRatiosPerChromosome.keySet()) {
+        //find changepoints and create segments for each chromosome (in parallel, if requested),
+        //then concatenate the segments in the original order of the chromosomes
+        final Function<String, List<CopyRatioSegment>> findSegmentsInChromosome = chromosome -> {
+            final List<CopyRatioSegment> segmentsInChromosome = new ArrayList<>();
             final List<CopyRatio> denoisedCopyRatiosInChromosome = denoisedCopyRatiosPerChromosome.get(chromosome);
             final int numDenoisedCopyRatiosInChromosome = denoisedCopyRatiosInChromosome.size();
             logger.info(String.format("Finding changepoints in %d data points in chromosome %s...",
@@ -85,9 +101,9 @@ public final class CopyRatioKernelSegmenter {
                         chromosome, numDenoisedCopyRatiosInChromosome, MIN_NUM_POINTS_REQUIRED_PER_CHROMOSOME));
                 final int start = denoisedCopyRatiosPerChromosome.get(chromosome).get(0).getStart();
                 final int end = denoisedCopyRatiosPerChromosome.get(chromosome).get(numDenoisedCopyRatiosInChromosome - 1).getEnd();
-                segments.add(new CopyRatioSegment(
+                segmentsInChromosome.add(new CopyRatioSegment(
                         new SimpleInterval(chromosome, start, end), denoisedCopyRatiosInChromosome));
-                continue;
+                return segmentsInChromosome;
             }
 
             final List<Double> denoisedLog2CopyRatioValuesInChromosome = denoisedCopyRatiosInChromosome.stream()
@@ -106,12 +122,17 @@ public final class CopyRatioKernelSegmenter {
                 final int end = denoisedCopyRatiosPerChromosome.get(chromosome).get(changepoint).getEnd();
                 final List<CopyRatio> denoisedCopyRatiosInSegment = denoisedCopyRatiosInChromosome.subList(
                         previousChangepoint + 1, changepoint + 1);
-                segments.add(new CopyRatioSegment(
+                segmentsInChromosome.add(new CopyRatioSegment(
                         new SimpleInterval(chromosome, start, end),
                         denoisedCopyRatiosInSegment));
                 previousChangepoint = changepoint;
             }
-        }
+            return segmentsInChromosome;
+        };
+        final List<CopyRatioSegment> segments = KernelSegmenter.mapInParallel(
+                new ArrayList<>(denoisedCopyRatiosPerChromosome.keySet()), findSegmentsInChromosome, numThreads).stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
         logger.info(String.format("Found %d segments in %d chromosomes.", segments.size(), denoisedCopyRatiosPerChromosome.keySet().size()));
         return new CopyRatioSegmentCollection(denoisedCopyRatios.getMetadata(), segments);
     }
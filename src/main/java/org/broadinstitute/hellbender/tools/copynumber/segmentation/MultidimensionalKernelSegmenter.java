@@ -108,6 +108,21 @@ public final class MultidimensionalKernelSegmenter {
                         Collectors.toList()));
     }
 
+    /**
+     * Equivalent to {@link #findSegmentation} with a single thread.
+     */
+    public MultidimensionalSegmentCollection findSegmentation(final int maxNumChangepointsPerChromosome,
+                                                              final double kernelVarianceCopyRatio,
+                                                              final double kernelVarianceAlleleFraction,
+                                                              final double kernelScalingAlleleFraction,
+                                                              final int kernelApproximationDimension,
+                                                              final List<Integer> windowSizes,
+                                                              final double numChangepointsPenaltyLinearFactor,
+                                                              final double numChangepointsPenaltyLogLinearFactor) {
+        return findSegmentation(maxNumChangepointsPerChromosome, kernelVarianceCopyRatio, kernelVarianceAlleleFraction, kernelScalingAlleleFraction, kernelApproximationDimension, windowSizes,
+                numChangepointsPenaltyLinearFactor, numChangepointsPenaltyLogLinearFactor, 1);
+    }
+
     /**
      * Segments the internally held {@link CopyRatioCollection} and {@link AllelicCountCollection}
      * using a separate {@link KernelSegmenter} for each chromosome.
@@ -118,6 +133,7 @@ public final class MultidimensionalKernelSegmenter {
      * @param kernelScalingAlleleFraction   relative scaling S of the kernel K_AF for allele-fraction data
      *                                      to the kernel K_CR for copy-ratio data;
      *                                      the total kernel is K_CR + S * K_AF
+     * @param numThreads                    number of threads used to segment chromosomes in parallel
      */
     public MultidimensionalSegmentCollection findSegmentation(final int maxNumChangepointsPerChromosome,
                                                               final double kernelVarianceCopyRatio,
@@ -126,7 +142,8 @@ public final class MultidimensionalKernelSegmenter {
                                                               final int kernelApproximationDimension,
                                                               final List<Integer> windowSizes,
                                                               final double numChangepointsPenaltyLinearFactor,
-                                                              final double numChangepointsPenaltyLogLinearFactor) {
+                                                              final double numChangepointsPenaltyLogLinearFactor,
+                                                              final int numThreads) {
         ParamUtils.isPositiveOrZero(maxNumChangepointsPerChromosome, "Maximum number of changepoints must be non-negative.");
         ParamUtils.isPositiveOrZero(kernelVarianceCopyRatio, "Variance of copy-ratio Gaussian kernel must be non-negative (if zero, a linear kernel will be used).");
         ParamUtils.isPositiveOrZero(kernelVarianceAlleleFraction, "Variance of allele-fraction Gaussian kernel must be non-negative (if zero, a linear kernel will be used).");
@@ -145,9 +162,10 @@ public final class MultidimensionalKernelSegmenter {
         logger.info(String.format("Finding changepoints in (%d, %d) data points and %d chromosomes...",
                 denoisedCopyRatios.size(), allelicCounts.size(), multidimensionalPointsPerChromosome.size()));
 
-        //loop over chromosomes, find changepoints, and create allele-fraction segments
-        final List<MultidimensionalSegment> segments = new ArrayList<>();
-        for (final String chromosome : multidimensionalPointsPerChromosome.keySet()) {
+        //find changepoints and create segments for each chromosome (in parallel, if requested),
+        //then concatenate the segments in the original order of the chromosomes
+        final Function<String, List<MultidimensionalSegment>> findSegmentsInChromosome = chromosome -> {
+            final List<MultidimensionalSegment> segmentsInChromosome = new ArrayList<>();
             final List<MultidimensionalPoint> multidimensionalPointsInChromosome = multidimensionalPointsPerChromosome.get(chromosome);
             final int numMultidimensionalPointsInChromosome = multidimensionalPointsInChromosome.size();
             logger.info(String.format("Finding changepoints in %d data points in chromosome %s...",
@@ -158,12 +176,12 @@ public final class MultidimensionalKernelSegmenter {
                         chromosome, numMultidimensionalPointsInChromosome, MIN_NUM_POINTS_REQUIRED_PER_CHROMOSOME));
                 final int start = multidimensionalPointsInChromosome.get(0).getStart();
                 final int end = multidimensionalPointsInChromosome.get(numMultidimensionalPointsInChromosome - 1).getEnd();
-                segments.add(new MultidimensionalSegment(
+                segmentsInChromosome.add(new MultidimensionalSegment(
                         new SimpleInterval(chromosome, start, end),
                         comparator,
                         copyRatioMidpointOverlapDetector,
                         allelicCountOverlapDetector));
-                continue;
+                return segmentsInChromosome;
             }
 
             final List<Integer> changepoints = new ArrayList<>(new KernelSegmenter<>(multidimensionalPointsInChromosome)
@@ -177,14 +195,19 @@ public final class MultidimensionalKernelSegmenter {
             for (final int changepoint : changepoints) {
                 final int start = multidimensionalPointsPerChromosome.get(chromosome).get(previousChangepoint + 1).getStart();
                 final int end = multidimensionalPointsPerChromosome.get(chromosome).get(changepoint).getEnd();
-                segments.add(new MultidimensionalSegment(
+                segmentsInChromosome.add(new MultidimensionalSegment(
                         new SimpleInterval(chromosome, start, end),
                         comparator,
                         copyRatioMidpointOverlapDetector,
                         allelicCountOverlapDetector));
                 previousChangepoint = changepoint;
             }
-        }
+            return segmentsInChromosome;
+        };
+        final List<MultidimensionalSegment> segments = KernelSegmenter.mapInParallel(
+                new ArrayList<>(multidimensionalPointsPerChromosome.keySet()), findSegmentsInChromosome, numThreads).stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
         logger.info(String.format("Found %d segments in %d chromosomes.", segments.size(), multidimensionalPointsPerChromosome.keySet().size()));
         return new MultidimensionalSegmentCollection(allelicCounts.getMetadata(), segments);
     }
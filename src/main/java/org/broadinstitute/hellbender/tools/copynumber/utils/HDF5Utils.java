@@ -9,6 +9,7 @@ import org.broadinstitute.hellbender.utils.Utils;
 import org.broadinstitute.hellbender.utils.io.IOUtils;
 import org.broadinstitute.hellbender.utils.param.ParamUtils;
 
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +39,11 @@ public final class HDF5Utils {
     public static final String NUMBER_OF_COLUMNS_SUB_PATH = "/num_columns";
     public static final String NUMBER_OF_CHUNKS_SUB_PATH = "/num_chunks";
     public static final String CHUNK_INDEX_PATH_SUFFIX = "/chunk_";
+    //long arrays (e.g., read counts) may instead be written as a set of fixed-size blocks that can be read independently;
+    //blocks containing only zeros are not written, which keeps sparse arrays small
+    public static final String NUMBER_OF_VALUES_SUB_PATH = "/num_values";
+    public static final String BLOCK_SIZE_SUB_PATH = "/block_size";
+    public static final String BLOCK_INDEX_PATH_SUFFIX = "/block_";
 
     private enum IntervalField {
         CONTIG_INDEX (0),
@@ -194,4 +200,91 @@ public final class HDF5Utils {
             file.makeDoubleMatrix(path + CHUNK_INDEX_PATH_SUFFIX + numFilledChunks, matrixChunk);    //write final partially filled chunk
         }
     }
+
+    /**
+     * Given an array, splits it into blocks of {@code blockSize} values (the last block may be shorter) and writes
+     * these blocks to indexed sub-paths, so that a range of values can later be read by {@link #readBlockedDoubleArray}
+     * without reading the entire array.  Blocks containing only zeros are not written.
+     *
+     * @param blockSize     The number of values in each block.  Smaller blocks allow smaller ranges to be read
+     *                      and more zeros to be skipped, at the cost of more HDF5 datasets.
+     */
+    public static void writeBlockedDoubleArray(final HDF5File file,
+                                               final String path,
+                                               final double[] values,
+                                               final int blockSize) {
+        Utils.nonNull(file);
+        IOUtils.canReadFile(file.getFile());
+        Utils.nonNull(path);
+        Utils.nonNull(values);
+        ParamUtils.inRange(blockSize, 1, MAX_NUMBER_OF_VALUES_PER_HDF5_MATRIX,
+                String.format("Block size must be in [1, %d].", MAX_NUMBER_OF_VALUES_PER_HDF5_MATRIX));
+
+        file.makeDouble(path + NUMBER_OF_VALUES_SUB_PATH, values.length);
+        file.makeDouble(path + BLOCK_SIZE_SUB_PATH, blockSize);
+        int numBlocksWritten = 0;
+        for (int start = 0, blockIndex = 0; start < values.length; start += blockSize, blockIndex++) {
+            final int end = Math.min(start + blockSize, values.length);
+            final boolean isZeroBlock = Arrays.stream(values, start, end).allMatch(v -> v == 0.);
+            if (!isZeroBlock) {
+                file.makeDoubleArray(path + BLOCK_INDEX_PATH_SUFFIX + blockIndex, Arrays.copyOfRange(values, start, end));
+                numBlocksWritten++;
+            }
+        }
+        logger.debug(String.format("Wrote %d non-zero blocks of %d values to %s.", numBlocksWritten, blockSize, path));
+    }
+
+    /**
+     * Reads the values with indices in [{@code start}, {@code end}) from an array stored using the sub-paths and
+     * conventions used by {@link #writeBlockedDoubleArray}.  Only the blocks overlapping this range are read.
+     */
+    public static double[] readBlockedDoubleArray(final HDF5File file,
+                                                  final String path,
+                                                  final int start,
+                                                  final int end) {
+        Utils.nonNull(file);
+        Utils.nonNull(path);
+
+        final String numValuesPath = path + NUMBER_OF_VALUES_SUB_PATH;
+        final String blockSizePath = path + BLOCK_SIZE_SUB_PATH;
+        Utils.validateArg(file.isPresent(numValuesPath) && file.isPresent(blockSizePath),
+                String.format("HDF5 file %s does not contain a blocked array in path %s.", file.getFile().getAbsolutePath(), path));
+        final int numValues = (int) file.readDouble(numValuesPath);
+        final int blockSize = (int) file.readDouble(blockSizePath);
+        Utils.validateArg(0 <= start && start <= end && end <= numValues,
+                String.format("Invalid range [%d, %d) for blocked array of length %d.", start, end, numValues));
+
+        final double[] result = new double[end - start];
+        if (start == end) {
+            return result;
+        }
+        for (int blockIndex = start / blockSize; blockIndex <= (end - 1) / blockSize; blockIndex++) {
+            final String blockPath = path + BLOCK_INDEX_PATH_SUFFIX + blockIndex;
+            if (!file.isPresent(blockPath)) {
+                continue;   //block contains only zeros
+            }
+            final int blockStart = blockIndex * blockSize;
+            final double[] block = file.readDoubleArray(blockPath);
+            if (block.length != Math.min(blockSize, numValues - blockStart)) {
+                throw new UserException.BadInput("Array block does not contain expected number of values.");
+            }
+            final int copyStart = Math.max(start, blockStart);
+            final int copyEnd = Math.min(end, blockStart + block.length);
+            System.arraycopy(block, copyStart - blockStart, result, copyStart - start, copyEnd - copyStart);
+        }
+        return result;
+    }
+
+    /**
+     * Reads an entire array stored using the sub-paths and conventions used by {@link #writeBlockedDoubleArray}.
+     */
+    public static double[] readBlockedDoubleArray(final HDF5File file,
+                                                  final String path) {
+        Utils.nonNull(file);
+        Utils.nonNull(path);
+        final String numValuesPath = path + NUMBER_OF_VALUES_SUB_PATH;
+        Utils.validateArg(file.isPresent(numValuesPath),
+                String.format("HDF5 file %s does not contain a blocked array in path %s.", file.getFile().getAbsolutePath(), path));
+        return readBlockedDoubleArray(file, path, 0, (int) file.readDouble(numValuesPath));
+    }
 }
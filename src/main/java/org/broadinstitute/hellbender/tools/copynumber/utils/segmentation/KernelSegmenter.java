@@ -8,6 +8,7 @@ import org.apache.commons.math3.random.RandomGenerator;
 import org.apache.commons.math3.random.RandomGeneratorFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.broadinstitute.hellbender.exceptions.GATKException;
 import org.broadinstitute.hellbender.tools.copynumber.utils.optimization.PersistenceOptimizer;
 import org.broadinstitute.hellbender.utils.IndexRange;
 import org.broadinstitute.hellbender.utils.MathUtils;
@@ -15,9 +16,14 @@ import org.broadinstitute.hellbender.utils.Utils;
 import org.broadinstitute.hellbender.utils.param.ParamUtils;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * <p>
@@ -147,6 +153,40 @@ public final class KernelSegmenter<DATA> {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Applies a function (typically, the segmentation of a single chromosome) to each of the given inputs
+     * using a fork-join pool with the given number of threads.  Calls to {@link #findChangepoints} made by the function
+     * will also calculate the local changepoint costs for the different window sizes in parallel.
+     * Results are returned in the order of the inputs, so that they do not depend on the number of threads.
+     * @param numThreads    number of threads to use; if one, the function is simply applied to each input in turn
+     *                      in the calling thread
+     */
+    public static <INPUT, RESULT> List<RESULT> mapInParallel(final List<INPUT> inputs,
+                                                             final Function<INPUT, RESULT> function,
+                                                             final int numThreads) {
+        Utils.nonNull(inputs);
+        Utils.nonNull(function);
+        ParamUtils.isPositive(numThreads, "Number of threads must be positive.");
+        if (numThreads == 1) {
+            return inputs.stream().map(function).collect(Collectors.toList());
+        }
+        final ForkJoinPool pool = new ForkJoinPool(numThreads);
+        try {
+            //parallel streams started from a task in the pool (including those in findChangepointCandidates) run in the pool
+            return pool.submit(() -> inputs.parallelStream().map(function).collect(Collectors.toList())).get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GATKException("Interrupted while finding changepoints.", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new GATKException("Failure while finding changepoints.", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
     private static final class Segment {
         private final int start;    //inclusive index of start point
         private final int end;      //inclusive index of end point
@@ -252,27 +292,16 @@ public final class KernelSegmenter<DATA> {
                                                                   final double[] kernelApproximationDiagonal,
                                                                   final int maxNumChangepoints,
                                                                   final List<Integer> windowSizes) {
-        final List<Integer> changepointCandidates = new ArrayList<>(windowSizes.size() * maxNumChangepoints);
-
         //for each window size, calculate local changepoint costs at each point and add maxNumChangepoints candidates
         //(this is overkill, but we cannot guarantee that the most significant maxNumChangepoints changepoints
-        //do not all appear at only a single window size)
-        for (final int windowSize : windowSizes) {
-            logger.debug(String.format("Calculating local changepoints costs for window size %d...", windowSize));
-            if (windowSize > data.size()) {
-                logger.warn(String.format("Number of points needed to calculate local changepoint costs (2 * window size = %d) " +
-                        "exceeds number of data points (%d).  Local changepoint costs will not be calculated for this window size.",
-                        2 * windowSize, data.size()));
-                continue;
-            }
-            final double[] windowCosts = calculateWindowCosts(reducedObservationMatrix, kernelApproximationDiagonal, windowSize);
-
-            logger.debug(String.format("Finding local minima of local changepoint costs for window size %d...", windowSize));
-            final List<Integer> windowCostLocalMinima = new ArrayList<>(new PersistenceOptimizer(windowCosts).getMinimaIndices());
-            windowCostLocalMinima.remove(Integer.valueOf(0));                //remove first data point if present
-            windowCostLocalMinima.remove(Integer.valueOf(data.size() - 1));  //remove last data point if present
-            changepointCandidates.addAll(windowCostLocalMinima.subList(0, Math.min(maxNumChangepoints, windowCostLocalMinima.size())));
-        }
+        //do not all appear at only a single window size); window sizes are handled in parallel when running
+        //in a fork-join pool (see mapInParallel), but candidates are always collected in the order of the window sizes
+        final Stream<Integer> windowSizeStream = ForkJoinTask.inForkJoinPool() ? windowSizes.parallelStream() : windowSizes.stream();
+        final List<Integer> changepointCandidates = windowSizeStream
+                .map(windowSize -> findChangepointCandidatesForWindowSize(
+                        data, reducedObservationMatrix, kernelApproximationDiagonal, maxNumChangepoints, windowSize))
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
 
         if (changepointCandidates.isEmpty()) {
             logger.warn("No changepoint candidates were found.  The specified window sizes may be inappropriate, or there may be insufficient data points.");
@@ -281,6 +310,28 @@ public final class KernelSegmenter<DATA> {
         return changepointCandidates;
     }
 
+    //finds indices of up to maxNumChangepoints changepoint candidates for a single window size
+    private static <DATA> List<Integer> findChangepointCandidatesForWindowSize(final List<DATA> data,
+                                                                               final RealMatrix reducedObservationMatrix,
+                                                                               final double[] kernelApproximationDiagonal,
+                                                                               final int maxNumChangepoints,
+                                                                               final int windowSize) {
+        logger.debug(String.format("Calculating local changepoints costs for window size %d...", windowSize));
+        if (windowSize > data.size()) {
+            logger.warn(String.format("Number of points needed to calculate local changepoint costs (2 * window size = %d) " +
+                    "exceeds number of data points (%d).  Local changepoint costs will not be calculated for this window size.",
+                    2 * windowSize, data.size()));
+            return Collections.emptyList();
+        }
+        final double[] windowCosts = calculateWindowCosts(reducedObservationMatrix, kernelApproximationDiagonal, windowSize);
+
+        logger.debug(String.format("Finding local minima of local changepoint costs for window size %d...", windowSize));
+        final List<Integer> windowCostLocalMinima = new ArrayList<>(new PersistenceOptimizer(windowCosts).getMinimaIndices());
+        windowCostLocalMinima.remove(Integer.valueOf(0));                //remove first data point if present
+        windowCostLocalMinima.remove(Integer.valueOf(data.size() - 1));  //remove last data point if present
+        return windowCostLocalMinima.subList(0, Math.min(maxNumChangepoints, windowCostLocalMinima.size()));
+    }
+
     //performs backward model selection to order changepoints by increasing change to the global segmentation cost
     //and returns the requested number
     private static List<Integer> selectChangepoints(final List<Integer> changepointCandidates,
@@ -0,0 +1,76 @@
+package org.broadinstitute.hellbender.tools.funcotator;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.broadinstitute.barclay.argparser.Argument;
+import org.broadinstitute.barclay.argparser.CommandLineProgramProperties;
+import org.broadinstitute.barclay.help.DocumentedFeature;
+import org.broadinstitute.hellbender.cmdline.CommandLineProgram;
+import org.broadinstitute.hellbender.cmdline.StandardArgumentDefinitions;
+import org.broadinstitute.hellbender.engine.ReferenceDataSource;
+import org.broadinstitute.hellbender.tools.funcotator.dataSources.gencode.GencodeTranscriptFastaIndex;
+import org.broadinstitute.hellbender.utils.io.IOUtils;
+import picard.cmdline.programgroups.VariantEvaluationProgramGroup;
+
+import java.nio.file.Path;
+
+/**
+ * {@link CompileGencodeTranscriptIndex} compiles the transcript FASTA file of a GENCODE data source for <b><i>{@link Funcotator}</i></b>
+ * into a binary index that loads much faster than the FASTA file itself.
+ *
+ * <h3>General Information</h3>
+ * <p>
+ * On start-up, {@link Funcotator} reads the sequence dictionary of the GENCODE transcript FASTA file and parses the
+ * name of every transcript in it.  For short jobs (e.g. single-sample or panel VCFs) this dominates the run time.
+ * The index produced by this tool holds the parsed transcript information and the transcript sequences, and is
+ * memory-mapped by {@link Funcotator}, so that only the transcripts that are actually used are ever read.
+ * </p>
+ *
+ * <p>
+ * By default the index is written next to the transcript FASTA file, where {@link Funcotator} will find and use it
+ * automatically:
+ *     <pre>{@code ./gatk CompileGencodeTranscriptIndex -I dataSourcesFolder/gencode/hg38/gencode.v28.pc_transcripts.fa}</pre>
+ * </p>
+ *
+ * <h3>Notes</h3>
+ * <ul>
+ *     <li>The transcript FASTA file must have an index (.fai) and a sequence dictionary (.dict).</li>
+ *     <li>The index must be recompiled if the transcript FASTA file changes.  {@link Funcotator} ignores an index (with a
+ *     warning) if the size or modification time of the transcript FASTA file differs from when the index was compiled.</li>
+ * </ul>
+ */
+@CommandLineProgramProperties(
+        summary = "Compile the transcript FASTA file of a GENCODE data source into a binary index that Funcotator loads quickly.",
+        oneLineSummary = "Compile a GENCODE transcript index for Funcotator.",
+        programGroup = VariantEvaluationProgramGroup.class
+)
+@DocumentedFeature
+public class CompileGencodeTranscriptIndex extends CommandLineProgram {
+
+    private static final Logger logger = LogManager.getLogger(CompileGencodeTranscriptIndex.class);
+
+    @Argument(
+            shortName = StandardArgumentDefinitions.INPUT_SHORT_NAME,
+            fullName  = StandardArgumentDefinitions.INPUT_LONG_NAME,
+            doc = "GENCODE transcript FASTA file to compile.")
+    private String transcriptFasta;
+
+    @Argument(
+            shortName = StandardArgumentDefinitions.OUTPUT_SHORT_NAME,
+            fullName  = StandardArgumentDefinitions.OUTPUT_LONG_NAME,
+            doc = "Output location for the index.  Defaults to the transcript FASTA file name with the extension " + GencodeTranscriptFastaIndex.INDEX_EXTENSION + " appended, which is where Funcotator looks for it.",
+            optional = true)
+    private String outputIndex;
+
+    @Override
+    protected Object doWork() {
+        final Path transcriptFastaPath = IOUtils.getPath(transcriptFasta);
+        final Path indexPath = outputIndex == null ? GencodeTranscriptFastaIndex.getIndexPath(transcriptFastaPath) : IOUtils.getPath(outputIndex);
+
+        logger.info("Compiling Gencode transcript index " + indexPath.toUri() + " from " + transcriptFastaPath.toUri());
+        try ( final ReferenceDataSource transcriptFastaDataSource = ReferenceDataSource.of(transcriptFastaPath) ) {
+            GencodeTranscriptFastaIndex.write(transcriptFastaDataSource, transcriptFastaPath, indexPath);
+        }
+        return null;
+    }
+}
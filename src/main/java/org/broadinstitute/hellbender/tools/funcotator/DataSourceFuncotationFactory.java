@@ -189,13 +189,35 @@ public abstract class DataSourceFuncotationFactory implements Closeable {
         Utils.nonNull(referenceContext);
         Utils.nonNull(featureContext);
 
-        final List<Funcotation> outputFuncotations;
-
         // Query this funcotation factory to get the list of overlapping features.
         // NOTE: This will only get features that are LOCATABLE!
         //       This corresponds to requiresFeatures() returning `True`.
         final List<Feature> featureList = getFeaturesFromFeatureContext(featureContext);
 
+        return createFuncotationsFromFeatures(variant, referenceContext, featureList, gencodeFuncotations);
+    }
+
+    /**
+     * Creates a {@link List} of {@link Funcotation} for the given {@code variant}, {@code referenceContext}, and
+     * {@code featureList} as previously queried by {@link #getFeaturesFromFeatureContext(FeatureContext)}.
+     * Unlike {@link #createFuncotations(VariantContext, ReferenceContext, FeatureContext, List)}, this method does not
+     * touch the (non-thread-safe) feature data sources, so it may be called from threads other than the traversal thread.
+     * Accounts for override values passed into the constructor as well.
+     * @param variant {@link VariantContext} to annotate.  Never {@code null}.
+     * @param referenceContext {@link ReferenceContext} corresponding to the given {@code variant}.  Never {@code null}.
+     * @param featureList {@link List} of {@link Feature} overlapping the given {@code variant} for this data source.  Never {@code null}.
+     * @param gencodeFuncotations {@link List} of {@link GencodeFuncotation} that have already been created for the given {@code variant}.
+     *   {@code null} is acceptable if there are no corresponding gencode funcotations.
+     * @return {@link List} of {@link Funcotation} given the {@code variant}, {@code referenceContext}, and {@code featureList}.  This should never be empty.
+     */
+    public List<Funcotation> createFuncotationsFromFeatures(final VariantContext variant, final ReferenceContext referenceContext, final List<Feature> featureList, final List<GencodeFuncotation> gencodeFuncotations) {
+
+        Utils.nonNull(variant);
+        Utils.nonNull(referenceContext);
+        Utils.nonNull(featureList);
+
+        final List<Funcotation> outputFuncotations;
+
         // If our featureList is compatible with this DataSourceFuncotationFactory, then we make our funcotations:
         if ( isFeatureListCompatible(featureList) ) {
             outputFuncotations = determineFuncotations(variant, referenceContext, featureList, gencodeFuncotations);
@@ -214,7 +236,13 @@ public abstract class DataSourceFuncotationFactory implements Closeable {
         }
     }
 
-    private List<Feature> getFeaturesFromFeatureContext(final FeatureContext featureContext) {
+    /**
+     * Queries the given {@link FeatureContext} for the features this data source annotates with.
+     * @param featureContext {@link FeatureContext} corresponding to the variant.  Never {@code null}.
+     * @return The {@link Feature}s from {@link #mainSourceFileAsFeatureInput} overlapping the {@code featureContext}, or
+     *   an empty {@link List} if this data source does not require features.
+     */
+    public List<Feature> getFeaturesFromFeatureContext(final FeatureContext featureContext) {
         return requiresFeatures() ?
                     queryFeaturesFromFeatureContext(featureContext) :
                     Collections.emptyList();
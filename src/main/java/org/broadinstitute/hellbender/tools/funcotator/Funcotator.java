@@ -1,6 +1,8 @@
 package org.broadinstitute.hellbender.tools.funcotator;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import htsjdk.samtools.SAMSequenceDictionary;
+import htsjdk.tribble.Feature;
 import htsjdk.variant.variantcontext.VariantContext;
 import htsjdk.variant.vcf.VCFHeader;
 import org.apache.logging.log4j.LogManager;
@@ -11,16 +13,23 @@ import org.broadinstitute.barclay.help.DocumentedFeature;
 import org.broadinstitute.hellbender.cmdline.StandardArgumentDefinitions;
 import org.broadinstitute.hellbender.engine.*;
 import org.broadinstitute.hellbender.engine.filters.CountingVariantFilter;
+import org.broadinstitute.hellbender.exceptions.GATKException;
 import org.broadinstitute.hellbender.exceptions.UserException;
 import org.broadinstitute.hellbender.tools.funcotator.dataSources.DataSourceUtils;
 import org.broadinstitute.hellbender.tools.funcotator.metadata.VcfFuncotationMetadata;
 import org.broadinstitute.hellbender.transformers.VariantTransformer;
 import org.broadinstitute.hellbender.utils.SequenceDictionaryUtils;
+import org.broadinstitute.hellbender.utils.SimpleInterval;
 import org.broadinstitute.hellbender.utils.Utils;
 import picard.cmdline.programgroups.VariantEvaluationProgramGroup;
 
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Funcotator (FUNCtional annOTATOR) analyzes given variants for their function (as retrieved from a set of data sources) and produces the analysis in a specified output file.
@@ -728,6 +737,30 @@ public class Funcotator extends VariantWalker {
 
     private FuncotatorEngine funcotatorEngine;
 
+    /**
+     * Thread pool used to annotate variants when more than one thread is requested ({@code null} otherwise).
+     */
+    private ExecutorService annotationExecutor;
+
+    /**
+     * Each annotation thread gets its own view of the reference, since {@link ReferenceDataSource}s are not thread-safe.
+     */
+    private ThreadLocal<ReferenceDataSource> threadReferenceDataSource;
+
+    private final List<ReferenceDataSource> threadReferenceDataSources = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Variants waiting to be submitted to {@link #annotationExecutor} as one batch.
+     */
+    private List<PendingVariant> currentBatch = new ArrayList<>();
+
+    /**
+     * Batches being annotated, in input order.
+     */
+    private final Deque<Future<List<FuncotationMap>>> pendingBatches = new ArrayDeque<>();
+
+    private final Deque<List<PendingVariant>> pendingBatchVariants = new ArrayDeque<>();
+
     //==================================================================================================================
 
     /**
@@ -807,6 +840,20 @@ public class Funcotator extends VariantWalker {
                 getDefaultToolVCFHeaderLines(),
                 this
         );
+
+        if ( funcotatorArgs.funcotatorThreads > 1 ) {
+            logger.info("Annotating variants with " + funcotatorArgs.funcotatorThreads + " threads in batches of " + funcotatorArgs.funcotatorBatchSize + " variants.");
+            final Path referencePath = referenceArguments.getReferencePath();
+            threadReferenceDataSource = ThreadLocal.withInitial(() -> {
+                final ReferenceDataSource referenceDataSource = ReferenceDataSource.of(referencePath);
+                threadReferenceDataSources.add(referenceDataSource);
+                return referenceDataSource;
+            });
+            annotationExecutor = Executors.newFixedThreadPool(funcotatorArgs.funcotatorThreads, new ThreadFactoryBuilder()
+                    .setNameFormat("funcotator-thread-%d")
+                    .setDaemon(true)
+                    .build());
+        }
     }
 
     /**
@@ -860,6 +907,14 @@ public class Funcotator extends VariantWalker {
     @Override
     public Object onTraversalSuccess() {
 
+        // Write out any variants that are still being annotated:
+        if ( annotationExecutor != null ) {
+            submitCurrentBatch();
+            while ( !pendingBatches.isEmpty() ) {
+                writeOldestBatch();
+            }
+        }
+
         // If we only saw IGRs, we most likely have a configuration issue.
         // Make sure the user knows this by making a HUGE stink about it.
         if ( funcotatorEngine.onlyProducedIGRs() ) {
@@ -881,6 +936,16 @@ public class Funcotator extends VariantWalker {
 
     @Override
     public void closeTool() {
+        if ( annotationExecutor != null ) {
+            annotationExecutor.shutdownNow();
+            try {
+                annotationExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            threadReferenceDataSources.forEach(ReferenceDataSource::close);
+        }
+
         if ( funcotatorEngine != null) {
             funcotatorEngine.close();
         }
@@ -900,9 +965,89 @@ public class Funcotator extends VariantWalker {
      */
     private void enqueueAndHandleVariant(final VariantContext variant, final ReferenceContext referenceContext, final FeatureContext featureContext) {
 
+        if ( annotationExecutor != null ) {
+            // The features must be queried here, since the feature data sources can only be used from this thread:
+            currentBatch.add(new PendingVariant(variant, referenceContext.getInterval(), referenceContext.getWindow(),
+                    funcotatorEngine.queryFeaturesForVariant(featureContext)));
+            if ( currentBatch.size() >= funcotatorArgs.funcotatorBatchSize ) {
+                submitCurrentBatch();
+            }
+            // Keep a bounded number of batches in flight, so that memory use does not depend on the input size:
+            while ( pendingBatches.size() > 2 * funcotatorArgs.funcotatorThreads ) {
+                writeOldestBatch();
+            }
+            return;
+        }
+
         final FuncotationMap funcotationMap = funcotatorEngine.createFuncotationMapForVariant(variant, referenceContext, featureContext);
 
         // At this point there is only one transcript ID in the funcotation map if canonical or best effect are selected
         outputRenderer.write(variant, funcotationMap);
     }
+
+    /**
+     * Submits the variants collected so far to be annotated on {@link #annotationExecutor}.
+     */
+    private void submitCurrentBatch() {
+        if ( currentBatch.isEmpty() ) {
+            return;
+        }
+        final List<PendingVariant> batch = currentBatch;
+        pendingBatches.add(annotationExecutor.submit(() -> annotateBatch(batch)));
+        pendingBatchVariants.add(batch);
+        currentBatch = new ArrayList<>();
+    }
+
+    /**
+     * Annotates a batch of variants.  Runs on an annotation thread, using that thread's own view of the reference.
+     */
+    private List<FuncotationMap> annotateBatch(final List<PendingVariant> batch) {
+        final ReferenceDataSource referenceDataSource = threadReferenceDataSource.get();
+        final List<FuncotationMap> funcotationMaps = new ArrayList<>(batch.size());
+        for ( final PendingVariant pendingVariant : batch ) {
+            final ReferenceContext referenceContext = new ReferenceContext(referenceDataSource, pendingVariant.interval, pendingVariant.window);
+            funcotationMaps.add(funcotatorEngine.createFuncotationMapForVariant(pendingVariant.variant, referenceContext, pendingVariant.featuresByDataSource));
+        }
+        return funcotationMaps;
+    }
+
+    /**
+     * Waits for the oldest batch being annotated and writes its variants, so that the output is in input order.
+     */
+    private void writeOldestBatch() {
+        final List<PendingVariant> batch = pendingBatchVariants.poll();
+        final List<FuncotationMap> funcotationMaps;
+        try {
+            funcotationMaps = pendingBatches.poll().get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GATKException("Interrupted while annotating variants", e);
+        } catch (final ExecutionException e) {
+            if ( e.getCause() instanceof RuntimeException ) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new GATKException("Failure while annotating variants", e.getCause());
+        }
+        for ( int i = 0; i < batch.size(); i++ ) {
+            outputRenderer.write(batch.get(i).variant, funcotationMaps.get(i));
+        }
+    }
+
+    /**
+     * A variant waiting to be annotated, with everything needed to annotate it away from the traversal thread.
+     */
+    private static final class PendingVariant {
+        private final VariantContext variant;
+        private final SimpleInterval interval;
+        private final SimpleInterval window;
+        private final Map<DataSourceFuncotationFactory, List<Feature>> featuresByDataSource;
+
+        private PendingVariant(final VariantContext variant, final SimpleInterval interval, final SimpleInterval window,
+                               final Map<DataSourceFuncotationFactory, List<Feature>> featuresByDataSource) {
+            this.variant = variant;
+            this.interval = interval;
+            this.window = window;
+            this.featuresByDataSource = featuresByDataSource;
+        }
+    }
 }
@@ -65,6 +65,10 @@ public class FuncotatorArgumentDefinitions {
 
     public static final String FORCE_B37_TO_HG19_REFERENCE_CONTIG_CONVERSION = "force-b37-to-hg19-reference-contig-conversion";
 
+    public static final String FUNCOTATOR_THREADS_LONG_NAME = "funcotator-threads";
+    public static final String FUNCOTATOR_BATCH_SIZE_LONG_NAME = "funcotator-batch-size";
+    public static final int FUNCOTATOR_BATCH_SIZE_DEFAULT_VALUE = 100;
+
     // ------------------------------------------------------------
     // Helper Types:
 
@@ -2,6 +2,7 @@ package org.broadinstitute.hellbender.tools.funcotator;
 
 import com.google.common.annotations.VisibleForTesting;
 import htsjdk.samtools.SAMSequenceDictionary;
+import htsjdk.tribble.Feature;
 import htsjdk.tribble.util.ParsingUtils;
 import htsjdk.variant.variantcontext.VariantContext;
 import htsjdk.variant.variantcontext.VariantContextBuilder;
@@ -83,7 +84,7 @@ public final class FuncotatorEngine implements AutoCloseable {
      * Whether this {@link FuncotatorEngine} has only produced annotations on variants that have been labeled by the
      * {@link org.broadinstitute.hellbender.tools.funcotator.dataSources.gencode.GencodeFuncotationFactory} as {@link org.broadinstitute.hellbender.tools.funcotator.dataSources.gencode.GencodeFuncotation.VariantClassification#IGR}.
      */
-    private boolean onlyProducedIGRs = true;
+    private volatile boolean onlyProducedIGRs = true;
 
     /**
      * Create a {@link FuncotatorEngine} using the given {@code metadata} and {@code funcotationFactories} representing
@@ -136,6 +137,46 @@ public final class FuncotatorEngine implements AutoCloseable {
         Utils.nonNull(referenceContext);
         Utils.nonNull(featureContext);
 
+        return createFuncotationMapForVariant(variantContext, referenceContext, queryFeaturesForVariant(featureContext));
+    }
+
+    /**
+     * Queries the features that each data source needs to annotate a variant.
+     * This must be done on the traversal thread, because the feature data sources behind the {@code featureContext}
+     * are not thread-safe.
+     *
+     * @param featureContext {@link FeatureContext} corresponding to the variant.  Never {@code null}.
+     * @return a map from each of the data sources of this engine to the features it will annotate the variant with.
+     */
+    public Map<DataSourceFuncotationFactory, List<Feature>> queryFeaturesForVariant(final FeatureContext featureContext) {
+        Utils.nonNull(featureContext);
+
+        final Map<DataSourceFuncotationFactory, List<Feature>> featuresByDataSource = new IdentityHashMap<>(dataSourceFactories.size());
+        for (final DataSourceFuncotationFactory funcotationFactory : dataSourceFactories) {
+            featuresByDataSource.put(funcotationFactory, funcotationFactory.getFeaturesFromFeatureContext(featureContext));
+        }
+        return featuresByDataSource;
+    }
+
+    /**
+     * Creates a {@link FuncotationMap} for the given {@code variantContext} from features previously queried by
+     * {@link #queryFeaturesForVariant(FeatureContext)}.
+     * This method may be called concurrently from several threads, as long as each of them uses its own
+     * {@code referenceContext}.
+     *
+     * @param variantContext   {@link VariantContext} to annotate.  Never {@code null}.
+     * @param referenceContext {@link ReferenceContext} corresponding to the given {@code variantContext}.  Never {@code null}.
+     * @param featuresByDataSource the features overlapping the given {@code variantContext} for each data source.  Never {@code null}.
+     * @return an instance of FuncotationMap that maps transcript IDs to lists of funcotations for the given variantContext context.
+     */
+    public FuncotationMap createFuncotationMapForVariant(final VariantContext variantContext,
+                                                         final ReferenceContext referenceContext,
+                                                         final Map<DataSourceFuncotationFactory, List<Feature>> featuresByDataSource) {
+
+        Utils.nonNull(variantContext);
+        Utils.nonNull(referenceContext);
+        Utils.nonNull(featuresByDataSource);
+
         //==============================================================================================================
         // First create only the transcript (Gencode) funcotations:
 
@@ -144,7 +185,7 @@ public final class FuncotatorEngine implements AutoCloseable {
         }
 
         final List<GencodeFuncotation> transcriptFuncotations = retrieveGencodeFuncotationFactoryStream()
-                .map(gf -> gf.createFuncotations(variantContext, referenceContext, featureContext))
+                .map(gf -> gf.createFuncotationsFromFeatures(variantContext, referenceContext, featuresByDataSource.get(gf), null))
                 .flatMap(List::stream)
                 .map(f -> {
                         final GencodeFuncotation gf = (GencodeFuncotation) f;
@@ -170,8 +211,8 @@ public final class FuncotatorEngine implements AutoCloseable {
                 final List<String> txIds = funcotationMap.getTranscriptList();
 
                 for (final String txId: txIds) {
-                    funcotationMap.add(txId, funcotationFactory.createFuncotations(variantContext, referenceContext,
-                            featureContext, funcotationMap.getGencodeFuncotations(txId)));
+                    funcotationMap.add(txId, funcotationFactory.createFuncotationsFromFeatures(variantContext, referenceContext,
+                            featuresByDataSource.get(funcotationFactory), funcotationMap.getGencodeFuncotations(txId)));
                 }
             }
         }
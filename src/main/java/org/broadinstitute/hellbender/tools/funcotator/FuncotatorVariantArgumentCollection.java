@@ -40,4 +40,20 @@ public class FuncotatorVariantArgumentCollection extends BaseFuncotatorArgumentC
     )
     public int threePrimeFlankSize = FuncotatorArgumentDefinitions.THREE_PRIME_FLANK_SIZE_DEFAULT_VALUE;
 
+    @Argument(
+            fullName = FuncotatorArgumentDefinitions.FUNCOTATOR_THREADS_LONG_NAME,
+            optional = true,
+            minValue = 1,
+            doc = "Number of threads used to annotate variants.  Features are still read on a single thread, and the output is written in input order regardless of this value."
+    )
+    public int funcotatorThreads = 1;
+
+    @Argument(
+            fullName = FuncotatorArgumentDefinitions.FUNCOTATOR_BATCH_SIZE_LONG_NAME,
+            optional = true,
+            minValue = 1,
+            doc = "Number of consecutive variants annotated together by one thread when using more than one thread."
+    )
+    public int funcotatorBatchSize = FuncotatorArgumentDefinitions.FUNCOTATOR_BATCH_SIZE_DEFAULT_VALUE;
+
 }
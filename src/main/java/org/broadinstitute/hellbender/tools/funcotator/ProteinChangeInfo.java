@@ -43,13 +43,15 @@ public final class ProteinChangeInfo {
                                final int alignedCodingSequenceAlleleStart,
                                final String codingSequence,
                                final Strand strand,
-                               final boolean isMitochondria) {
+                               final boolean isMitochondria,
+                               final String referenceCodingSequence,
+                               final String referenceProteinSequence) {
 
         // Cache whether it's a frameshift variant:
         final boolean isFrameshift =  GATKVariantContextUtils.isFrameshift( refAllele, altAllele );
 
         // Get our protein sequences:
-        final Pair<String, String> proteinSequences = createProteinSequences(refAllele, altAllele, codingSequenceAlleleStart, codingSequence, isFrameshift, isMitochondria);
+        final Pair<String, String> proteinSequences = createProteinSequences(refAllele, altAllele, codingSequenceAlleleStart, codingSequence, isFrameshift, isMitochondria, referenceCodingSequence, referenceProteinSequence);
         final String referenceProteinSequence = proteinSequences.getLeft();
         final String alternateProteinSequence = proteinSequences.getRight();
 
@@ -105,37 +107,45 @@ public final class ProteinChangeInfo {
                                                         final int codingSequenceAlleleStart,
                                                         final String codingSequence,
                                                         final boolean isFrameshift,
-                                                        final boolean isMitochondria) {
-        final String referenceProteinSequence;
-        final String alternateProteinSequence;
-        if ( isMitochondria ) {
-            // Mitochondrial protein sequences differ from the Standard Code, so we must treat them separately:
-            referenceProteinSequence = FuncotatorUtils.createMitochondrialAminoAcidSequence(codingSequence, false, "(size=" + codingSequence.length() + ", ref allele: " + refAllele.getBaseString() + ")");
-            alternateProteinSequence = FuncotatorUtils.createMitochondrialAminoAcidSequence(
-                    // Subtract 1 to account for 1-based genomic positions:
-                    codingSequence.substring(0, codingSequenceAlleleStart - 1) +
-                            altAllele.getBaseString() +
-                            codingSequence.substring(codingSequenceAlleleStart + refAllele.length() -1),
-                    isFrameshift,
-                    "(size=" + codingSequence.length() + ", alt allele: " + altAllele.getBaseString() + ")"
-            );
-        }
-        else {
-            // Create a protein sequence using the Standard Code:
-            referenceProteinSequence = FuncotatorUtils.createAminoAcidSequence(codingSequence, false, "(size=" + codingSequence.length() + ", ref allele: " + refAllele.getBaseString() + ")");
-            alternateProteinSequence = FuncotatorUtils.createAminoAcidSequence(
-                    // Subtract 1 to account for 1-based genomic positions:
-                    codingSequence.substring(0, codingSequenceAlleleStart - 1) +
-                            altAllele.getBaseString() +
-                            codingSequence.substring(codingSequenceAlleleStart + refAllele.length() -1),
-                    isFrameshift,
-                    "(size=" + codingSequence.length() + ", alt allele: " + altAllele.getBaseString() + ")"
-            );
+                                                        final boolean isMitochondria,
+                                                        final String cachedCodingSequence,
+                                                        final String cachedProteinSequence) {
+
+        // Subtract 1 to account for 1-based genomic positions:
+        final String alternateCodingSequence = codingSequence.substring(0, codingSequenceAlleleStart - 1) +
+                altAllele.getBaseString() +
+                codingSequence.substring(codingSequenceAlleleStart + refAllele.length() -1);
+
+        // The amino acids of the codons that are the same as in the cached coding sequence do not need to be
+        // translated again.  All of the codons before the variant are shared by the reference and alternate sequences,
+        // and usually the whole cached sequence starts the reference sequence (unless the reference allele was given
+        // with bases that differ from the reference genome):
+        int numSharedReferenceAminoAcids = 0;
+        int numSharedAlternateAminoAcids = 0;
+        if ( cachedProteinSequence != null ) {
+            numSharedAlternateAminoAcids = Math.min((codingSequenceAlleleStart - 1) / AminoAcid.CODON_LENGTH, cachedProteinSequence.length());
+            numSharedReferenceAminoAcids = codingSequence.startsWith(cachedCodingSequence) ? cachedProteinSequence.length() : numSharedAlternateAminoAcids;
         }
 
+        // Mitochondrial protein sequences differ from the Standard Code, so we must treat them separately.
+        // Only whole codons are dropped from the front of each sequence, so any warning about the sequence length is the
+        // same as for the whole sequence:
+        final String referenceProteinSequence = (numSharedReferenceAminoAcids == 0 ? "" : cachedProteinSequence.substring(0, numSharedReferenceAminoAcids)) +
+                createAminoAcidSequence(codingSequence.substring(numSharedReferenceAminoAcids * AminoAcid.CODON_LENGTH), false, isMitochondria,
+                        "(size=" + codingSequence.length() + ", ref allele: " + refAllele.getBaseString() + ")");
+        final String alternateProteinSequence = (numSharedAlternateAminoAcids == 0 ? "" : cachedProteinSequence.substring(0, numSharedAlternateAminoAcids)) +
+                createAminoAcidSequence(alternateCodingSequence.substring(numSharedAlternateAminoAcids * AminoAcid.CODON_LENGTH), isFrameshift, isMitochondria,
+                        "(size=" + codingSequence.length() + ", alt allele: " + altAllele.getBaseString() + ")");
+
         return Pair.of(referenceProteinSequence, alternateProteinSequence);
     }
 
+    private static String createAminoAcidSequence(final String codingSequence, final boolean isFrameshift, final boolean isMitochondria, final String extraLoggingInfo) {
+        return isMitochondria ?
+                FuncotatorUtils.createMitochondrialAminoAcidSequence(codingSequence, isFrameshift, extraLoggingInfo) :
+                FuncotatorUtils.createAminoAcidSequence(codingSequence, isFrameshift, extraLoggingInfo);
+    }
+
     private void initializeForOnp(final String referenceProteinSequence, final String alternateProteinSequence, final int proteinChangeStartIndex) {
         // ONP - get the length of the change and render the changed bases:
         int i = proteinChangeStartIndex;
@@ -363,12 +373,40 @@ public final class ProteinChangeInfo {
                                             final String codingSequence,
                                             final Strand strand,
                                             final boolean isMitochondria) {
+        return create(refAllele, altAllele, codingSequenceAlleleStart, alignedCodingSequenceAlleleStart, codingSequence, strand, isMitochondria, null, null);
+    }
+
+    /**
+     * Create a {@link ProteinChangeInfo} object which will represent the change in the protein sequence
+     * which would be caused by a variant, reusing the translation of a reference coding sequence for the same transcript
+     * (e.g. one cached for previous variants) instead of translating the whole {@code codingSequence} again.
+     * @param refAllele The strand-corrected (i.e. if on the - strand, it has been reverse-complemented) reference {@link Allele} for the variant.  Must not be {@code null}.
+     * @param altAllele The strand-corrected (i.e. if on the - strand, it has been reverse-complemented) alternate {@link Allele} for the variant.  Must not be {@code null}.
+     * @param codingSequenceAlleleStart The position (1-based, inclusive) in the _coding sequence_ at which the variant begins.
+     * @param alignedCodingSequenceAlleleStart The codon-aligned position (1-based, inclusive) in the _coding sequence_ at which the variant begins.
+     * @param codingSequence The strand-corrected sequence of bases containing the _coding sequence_ for a particular transcript of a gene, from which we should render a protein change.  Must not be {@code null}.
+     * @param strand The {@link Strand} on which the transcript for this protein change occurs.  Must not be {@link Strand#NONE}.  Must not be {@code null}.
+     * @param isMitochondria If {@code true}, will use Mitochondrial protein decoding, rather than the standard eukaryotic amino acid decoding.
+     * @param referenceCodingSequence The coding sequence of the transcript in the reference.  Must be the same as {@code codingSequence} before {@code codingSequenceAlleleStart}.  May be {@code null} if {@code referenceProteinSequence} is {@code null}.
+     * @param referenceProteinSequence The amino acids of the whole codons of {@code referenceCodingSequence}, or {@code null} to translate the whole {@code codingSequence}.
+     * @return A new {@link ProteinChangeInfo} object representing the change in the protein sequence for the given input data.
+     */
+    public static ProteinChangeInfo create( final Allele refAllele,
+                                            final Allele altAllele,
+                                            final int codingSequenceAlleleStart,
+                                            final int alignedCodingSequenceAlleleStart,
+                                            final String codingSequence,
+                                            final Strand strand,
+                                            final boolean isMitochondria,
+                                            final String referenceCodingSequence,
+                                            final String referenceProteinSequence) {
         Utils.nonNull(refAllele);
         Utils.nonNull(altAllele);
         Utils.nonNull(codingSequence);
         Utils.nonNull(strand);
+        Utils.validateArg(referenceProteinSequence == null || referenceCodingSequence != null, "The reference coding sequence is required with its protein sequence.");
 
-        return new ProteinChangeInfo(refAllele, altAllele, codingSequenceAlleleStart, alignedCodingSequenceAlleleStart, codingSequence, strand, isMitochondria);
+        return new ProteinChangeInfo(refAllele, altAllele, codingSequenceAlleleStart, alignedCodingSequenceAlleleStart, codingSequence, strand, isMitochondria, referenceCodingSequence, referenceProteinSequence);
     }
 
     /**
@@ -96,6 +96,10 @@ final public class DataSourceUtils {
     // Optional config options:
     public static final String CONFIG_FILE_FIELD_NAME_IS_B37_DATA_SOURCE   = "isB37DataSource";
     public static final String CONFIG_FILE_FIELD_NAME_LOOKAHEAD_CACHE_BP   = "lookAheadCacheBp";
+    public static final String CONFIG_FILE_FIELD_NAME_PRELOAD_DATABASE     = "preloadDatabase";
+    public static final String CONFIG_FILE_FIELD_NAME_GENE_CACHE_SIZE      = "geneCacheSize";
+    public static final String CONFIG_FILE_FIELD_NAME_XSV_ON_DISK_INDEX    = "xsvOnDiskIndex";
+    public static final String CONFIG_FILE_FIELD_NAME_XSV_KEY_CACHE_SIZE   = "xsvKeyCacheSize";
 
     //==================================================================================================================
     // Public Static Methods:
@@ -418,6 +422,8 @@ final public class DataSourceUtils {
 
     /**
      * Create a {@link SimpleKeyXsvFuncotationFactory} from filesystem resources and field overrides.
+     * The optional {@link #CONFIG_FILE_FIELD_NAME_XSV_ON_DISK_INDEX} and {@link #CONFIG_FILE_FIELD_NAME_XSV_KEY_CACHE_SIZE}
+     * config fields control whether the table is held in memory or served from an on-disk index.
      * @param dataSourceFile {@link Path} to the data source file.  Must not be {@code null}.
      * @param dataSourceProperties {@link Properties} consisting of the contents of the config file for the data source.  Must not be {@code null}.
      * @param annotationOverridesMap {@link LinkedHashMap}{@code <String->String>} containing any annotation overrides to be included in the resulting data source.  Must not be {@code null}.
@@ -432,6 +438,10 @@ final public class DataSourceUtils {
         Utils.nonNull(annotationOverridesMap);
 
         final boolean isB37 = getIsB37PropertyValue(dataSourceProperties);
+        final boolean useOnDiskIndex = Boolean.valueOf(dataSourceProperties.getProperty(CONFIG_FILE_FIELD_NAME_XSV_ON_DISK_INDEX, "false").replace(" ", ""));
+        final int keyCacheSize = dataSourceProperties.containsKey(CONFIG_FILE_FIELD_NAME_XSV_KEY_CACHE_SIZE)
+                ? Integer.valueOf(dataSourceProperties.getProperty(CONFIG_FILE_FIELD_NAME_XSV_KEY_CACHE_SIZE).replace(" ", ""))
+                : SimpleKeyXsvFuncotationFactory.DEFAULT_KEY_CACHE_SIZE;
 
         // Create our SimpleKeyXsvFuncotationFactory:
         return new SimpleKeyXsvFuncotationFactory(
@@ -444,12 +454,16 @@ final public class DataSourceUtils {
                         annotationOverridesMap,
                         0,
                         Boolean.valueOf(dataSourceProperties.getProperty(CONFIG_FILE_FIELD_NAME_XSV_PERMISSIVE_COLS)),
-                        isB37
+                        isB37,
+                        useOnDiskIndex,
+                        keyCacheSize
                 );
     }
 
     /**
      * Create a {@link CosmicFuncotationFactory} from filesystem resources and field overrides.
+     * The optional {@link #CONFIG_FILE_FIELD_NAME_PRELOAD_DATABASE} and {@link #CONFIG_FILE_FIELD_NAME_GENE_CACHE_SIZE}
+     * config fields control whether the COSMIC records are all loaded into memory or cached per gene.
      * @param dataSourceFile {@link Path} to the data source file.  Must not be {@code null}.
      * @param dataSourceProperties {@link Properties} consisting of the contents of the config file for the data source.  Must not be {@code null}.
      * @param annotationOverridesMap {@link LinkedHashMap}{@code <String->String>} containing any annotation overrides to be included in the resulting data source.  Must not be {@code null}.
@@ -464,12 +478,18 @@ final public class DataSourceUtils {
 
         final String version   = dataSourceProperties.getProperty(CONFIG_FILE_FIELD_NAME_VERSION);
         final boolean isB37    = getIsB37PropertyValue(dataSourceProperties);
+        final boolean preload  = Boolean.valueOf(dataSourceProperties.getProperty(CONFIG_FILE_FIELD_NAME_PRELOAD_DATABASE, "false").replace(" ", ""));
+        final int geneCacheSize = dataSourceProperties.containsKey(CONFIG_FILE_FIELD_NAME_GENE_CACHE_SIZE)
+                ? Integer.valueOf(dataSourceProperties.getProperty(CONFIG_FILE_FIELD_NAME_GENE_CACHE_SIZE).replace(" ", ""))
+                : CosmicFuncotationFactory.DEFAULT_GENE_CACHE_SIZE;
 
         return new CosmicFuncotationFactory(
                         resolveFilePathStringFromKnownPath(dataSourceProperties.getProperty(CONFIG_FILE_FIELD_NAME_SRC_FILE), dataSourceFile),
                         annotationOverridesMap,
                         version,
-                        isB37
+                        isB37,
+                        preload,
+                        geneCacheSize
                 );
     }
 
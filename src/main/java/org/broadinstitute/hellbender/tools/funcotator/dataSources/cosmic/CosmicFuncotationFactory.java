@@ -44,6 +44,11 @@ public class CosmicFuncotationFactory extends DataSourceFuncotationFactory {
     //==================================================================================================================
     // Public Static Members:
 
+    /**
+     * Default maximum number of genes whose COSMIC records are kept in memory when the database is not preloaded.
+     */
+    public static final int DEFAULT_GENE_CACHE_SIZE = 1000;
+
     //==================================================================================================================
     // Private Static Members:
 
@@ -95,10 +100,15 @@ public class CosmicFuncotationFactory extends DataSourceFuncotationFactory {
     private static final String FIELD_NAME_QUERY = "SELECT * FROM " + TABLE_NAME + " LIMIT 1;";
 
     /**
-     * Template for results query for matching genes in the database.
+     * Query for the columns needed to match variants to all records in the database.
+     */
+    private static final String RECORDS_QUERY = "SELECT \"" + GENE_NAME_COLUMN + "\", \"" + PROTEIN_POSITION_COLUMN_NAME
+            + "\", \"" + GENOME_POSITION_COLUMN_NAME + "\" FROM " + TABLE_NAME;
+
+    /**
+     * Prefix of the prepared query for the records of a batch of genes; one parameter per gene follows.
      */
-    private static final String RESULT_QUERY_TEMPLATE = "SELECT * FROM " + TABLE_NAME + " WHERE \""
-            + GENE_NAME_COLUMN + "\" == ";
+    private static final String GENE_RECORDS_QUERY_PREFIX = RECORDS_QUERY + " WHERE \"" + GENE_NAME_COLUMN + "\" IN (";
 
     //==================================================================================================================
     // Private Members:
@@ -126,6 +136,22 @@ public class CosmicFuncotationFactory extends DataSourceFuncotationFactory {
      */
     private final LinkedHashSet<String> supportedFields;
 
+    /**
+     * Whether all records were loaded into {@link #geneRecords} up front.
+     */
+    private final boolean preloadDatabase;
+
+    /**
+     * COSMIC records by gene name.  Holds every gene if {@link #preloadDatabase} is set; otherwise a least-recently-used
+     * cache of the genes queried so far.
+     */
+    private final Map<String, List<CosmicRecord>> geneRecords;
+
+    /**
+     * Prepared queries for batches of genes, by number of genes in the batch.
+     */
+    private final Map<Integer, PreparedStatement> geneRecordsStatements = new HashMap<>();
+
     //==================================================================================================================
     // Constructors:
 
@@ -143,10 +169,26 @@ public class CosmicFuncotationFactory extends DataSourceFuncotationFactory {
                                     final LinkedHashMap<String, String> annotationOverridesMap,
                                     final String version,
                                     final boolean isDataSourceB37) {
+        this(pathToCosmicDb, annotationOverridesMap, version, isDataSourceB37, false, DEFAULT_GENE_CACHE_SIZE);
+    }
+
+    /**
+     * @param preloadDatabase If {@code true}, read all records from the database into memory up front.  Otherwise, query
+     *                        the records of each gene when first needed and keep them in an LRU cache.
+     * @param geneCacheSize Maximum number of genes to keep in the cache when {@code preloadDatabase} is {@code false}.  Must be positive.
+     */
+    public CosmicFuncotationFactory(final Path pathToCosmicDb,
+                                    final LinkedHashMap<String, String> annotationOverridesMap,
+                                    final String version,
+                                    final boolean isDataSourceB37,
+                                    final boolean preloadDatabase,
+                                    final int geneCacheSize) {
+        Utils.validateArg(geneCacheSize > 0, "Gene cache size must be positive: " + geneCacheSize);
 
         this.pathToCosmicDb = localizeCosmicDbFileIfRemote(pathToCosmicDb);
         this.version = version;
         this.dataSourceIsB37 = isDataSourceB37;
+        this.preloadDatabase = preloadDatabase;
 
         // Connect to the DB:
         try {
@@ -168,6 +210,21 @@ public class CosmicFuncotationFactory extends DataSourceFuncotationFactory {
             throw new UserException("Cannot load SQLite Java Package!", ex);
         }
 
+        // Set up our in-memory index:
+        if ( preloadDatabase ) {
+            geneRecords = loadAllRecords();
+        }
+        else {
+            geneRecords = new LinkedHashMap<String, List<CosmicRecord>>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, List<CosmicRecord>> eldest) {
+                    return size() > geneCacheSize;
+                }
+            };
+        }
+
         // Get the supported fields:
         supportedFields = new LinkedHashSet<>(1);
         supportedFields.add(name + "_overlapping_mutations");
@@ -189,6 +246,9 @@ public class CosmicFuncotationFactory extends DataSourceFuncotationFactory {
     public void close() {
         if (dbConnection != null) {
             try {
+                for ( final PreparedStatement statement : geneRecordsStatements.values() ) {
+                    statement.close();
+                }
                 dbConnection.close();
             }
             catch (final SQLException ex) {
@@ -255,8 +315,13 @@ public class CosmicFuncotationFactory extends DataSourceFuncotationFactory {
         // Keep count of each overlapping mutation here:
         final Map<String, Integer> proteinChangeCounts = new LinkedHashMap<>();
 
+        // Get the records for all genes of this variant at once:
+        final Map<String, List<CosmicRecord>> recordsByGene = getRecordsForGenes(
+                gencodeFuncotations.stream().map(GencodeFuncotation::getHugoSymbol).collect(Collectors.toCollection(LinkedHashSet::new))
+        );
+
         // If we have gencodeFuncotations we go through them and get the gene name
-        // Then query our DB for matches on the gene name.
+        // Then get the records for that gene.
         // Then grab Genome position / Protein position and see if we overlap.
         // If any do, we create our CosmicFuncotation
         for ( final GencodeFuncotation gencodeFuncotation : gencodeFuncotations ) {
@@ -272,41 +337,25 @@ public class CosmicFuncotationFactory extends DataSourceFuncotationFactory {
                 proteinPosition = null;
             }
 
-            try {
-                try ( final Statement statement = dbConnection.createStatement() ) {
-                    try ( final ResultSet resultSet = statement.executeQuery(RESULT_QUERY_TEMPLATE + "\"" + geneName + "\";") ) {
-                        // iterate through our results:
-                        while ( resultSet.next() ) {
-
-                            // Get the genome position:
-                            final SimpleInterval cosmicGenomePosition = getGenomePositionFromResults(resultSet);
-
-                            // Try to match on genome position first:
-                            if ( cosmicGenomePosition != null ) {
-                                if ( genomePosition.overlaps(cosmicGenomePosition) ) {
-                                    // If we overlap the records, we get the protein change and add it to the map:
-                                    updateProteinChangeCountMap(proteinChangeCounts, resultSet);
-                                    continue;
-                                }
-                            }
-
-                            // Get the protein position:
-                            final SimpleInterval cosmicProteinPosition = getProteinPositionFromResults(resultSet);
-
-                            // Now try to match on protein position:
-                            if ( proteinPosition != null ) {
-                                // If we overlap the records, we update the counter:
-                                if ( proteinPosition.overlaps(cosmicProteinPosition) ) {
-                                    updateProteinChangeCountMap(proteinChangeCounts, resultSet);
-                                }
-                            }
-                            // NOTE: We can't annotate if the protein position is null.
-                        }
+            for ( final CosmicRecord record : recordsByGene.getOrDefault(geneName, Collections.emptyList()) ) {
+
+                // Try to match on genome position first:
+                if ( record.genomePosition != null ) {
+                    if ( genomePosition.overlaps(record.genomePosition) ) {
+                        // If we overlap the records, we get the protein change and add it to the map:
+                        updateProteinChangeCountMap(proteinChangeCounts, record.proteinChange);
+                        continue;
                     }
                 }
-            }
-            catch (final SQLException ex) {
-                throw new GATKException("Unable to query the database for geneName: " + geneName, ex);
+
+                // Now try to match on protein position:
+                if ( proteinPosition != null ) {
+                    // If we overlap the records, we update the counter:
+                    if ( proteinPosition.overlaps(record.proteinPosition) ) {
+                        updateProteinChangeCountMap(proteinChangeCounts, record.proteinChange);
+                    }
+                }
+                // NOTE: We can't annotate if the protein position is null.
             }
         }
 
@@ -327,8 +376,7 @@ public class CosmicFuncotationFactory extends DataSourceFuncotationFactory {
         return outputFuncotations;
     }
 
-    private void updateProteinChangeCountMap(final Map<String, Integer> proteinChangeCounts, final ResultSet resultSet) {
-        final String proteinChange = getProteinChangeStringFromResults(resultSet);
+    private void updateProteinChangeCountMap(final Map<String, Integer> proteinChangeCounts, final String proteinChange) {
         if ( !proteinChange.isEmpty() ) {
             final int count = proteinChangeCounts.getOrDefault(proteinChange, 0);
             proteinChangeCounts.put(proteinChange, count + 1);
@@ -346,6 +394,97 @@ public class CosmicFuncotationFactory extends DataSourceFuncotationFactory {
     //==================================================================================================================
     // Instance Methods:
 
+    /**
+     * Get the COSMIC records for the given genes, querying the database in a single batch for any genes that are not
+     * already in memory.
+     * @param geneNames The names of the genes to look up (must not be {@code null}).  {@code null} names are ignored.
+     * @return A {@link Map} from gene name to the records for that gene.  Genes without records may be absent.
+     */
+    private synchronized Map<String, List<CosmicRecord>> getRecordsForGenes(final Collection<String> geneNames) {
+        final Map<String, List<CosmicRecord>> recordsByGene = new HashMap<>(geneNames.size());
+        final List<String> genesToQuery = new ArrayList<>();
+        for ( final String geneName : geneNames ) {
+            if ( geneName == null ) {
+                continue;
+            }
+            final List<CosmicRecord> records = geneRecords.get(geneName);
+            if ( records != null ) {
+                recordsByGene.put(geneName, records);
+            }
+            else if ( !preloadDatabase ) {
+                genesToQuery.add(geneName);
+            }
+        }
+
+        if ( !genesToQuery.isEmpty() ) {
+            final Map<String, List<CosmicRecord>> queriedRecords = new HashMap<>(genesToQuery.size());
+            genesToQuery.forEach(geneName -> queriedRecords.put(geneName, new ArrayList<>()));
+            try {
+                final PreparedStatement statement = getGeneRecordsStatement(genesToQuery.size());
+                for ( int i = 0; i < genesToQuery.size(); ++i ) {
+                    statement.setString(i + 1, genesToQuery.get(i));
+                }
+                try ( final ResultSet resultSet = statement.executeQuery() ) {
+                    readRecords(resultSet, queriedRecords);
+                }
+            }
+            catch (final SQLException ex) {
+                throw new GATKException("Unable to query the database for genes: " + String.join(", ", genesToQuery), ex);
+            }
+            recordsByGene.putAll(queriedRecords);
+            geneRecords.putAll(queriedRecords);
+        }
+
+        return recordsByGene;
+    }
+
+    /**
+     * Get the prepared query for a batch of {@code numGenes} genes, preparing it on first use.
+     */
+    private PreparedStatement getGeneRecordsStatement(final int numGenes) throws SQLException {
+        PreparedStatement statement = geneRecordsStatements.get(numGenes);
+        if ( statement == null ) {
+            statement = dbConnection.prepareStatement(GENE_RECORDS_QUERY_PREFIX + String.join(",", Collections.nCopies(numGenes, "?")) + ");");
+            geneRecordsStatements.put(numGenes, statement);
+        }
+        return statement;
+    }
+
+    /**
+     * Read every record in the database into memory.
+     * @return A {@link Map} from gene name to all records for that gene.
+     */
+    private Map<String, List<CosmicRecord>> loadAllRecords() {
+        logger.info("Loading COSMIC records into memory...");
+        final Map<String, List<CosmicRecord>> recordsByGene = new HashMap<>();
+        try ( final Statement statement = dbConnection.createStatement();
+              final ResultSet resultSet = statement.executeQuery(RECORDS_QUERY + ";") ) {
+            readRecords(resultSet, recordsByGene);
+        }
+        catch (final SQLException ex) {
+            throw new GATKException("Unable to read records from the database: " + pathToCosmicDb.toUri().toString(), ex);
+        }
+        logger.info("Loaded COSMIC records for " + recordsByGene.size() + " genes.");
+        return recordsByGene;
+    }
+
+    /**
+     * Parse all rows of the given {@link ResultSet} into {@link CosmicRecord}s, grouped by gene name.
+     * @param resultSet The results of a query selecting the gene name, protein change, and genome position columns (must not be {@code null}).
+     * @param recordsByGene The {@link Map} to add the records to (must not be {@code null}).
+     */
+    private void readRecords(final ResultSet resultSet, final Map<String, List<CosmicRecord>> recordsByGene) throws SQLException {
+        // Many records share a protein change, so share their strings too:
+        final Map<String, String> proteinChanges = new HashMap<>();
+        while ( resultSet.next() ) {
+            final String geneName = resultSet.getString(GENE_NAME_COLUMN);
+            final String proteinChange = proteinChanges.computeIfAbsent(getProteinChangeStringFromResults(resultSet), k -> k);
+            recordsByGene.computeIfAbsent(geneName, k -> new ArrayList<>()).add(
+                    new CosmicRecord(getGenomePositionFromResults(resultSet), parseProteinString(proteinChange), proteinChange)
+            );
+        }
+    }
+
     private Path localizeCosmicDbFileIfRemote(final Path cosmicDbPathMaybeRemote ) {
 
         // Is the path local or in the cloud:
@@ -384,6 +523,9 @@ public class CosmicFuncotationFactory extends DataSourceFuncotationFactory {
 
         try {
             final String rawPosition = resultSet.getString(GENOME_POSITION_COLUMN_NAME);
+            if ( rawPosition == null ) {
+                return null;
+            }
             final Matcher matcher = GENOME_POSITION_REGEX.matcher(rawPosition);
             if ( matcher.matches() ) {
                 // We have a position, so we should parse it:
@@ -416,15 +558,6 @@ public class CosmicFuncotationFactory extends DataSourceFuncotationFactory {
         return null;
     }
 
-    /**
-     * Pulls a protein change / protein position out of the current record in the given {@link ResultSet}.
-     * @param resultSet The results of a query on the database with a current row (must not be {@code null}).
-     * @return A {@link SimpleInterval} representing the extents of the protein position in the current record in the given {@link ResultSet} or {@code null}.
-     */
-    private SimpleInterval getProteinPositionFromResults(final ResultSet resultSet) {
-        return parseProteinString( getProteinChangeStringFromResults(resultSet) );
-    }
-
     /**
      * Pulls a protein change string out of the current record in the given {@link ResultSet}.
      * @param resultSet The results of a query on the database with a current row (must not be {@code null}).
@@ -500,4 +633,22 @@ public class CosmicFuncotationFactory extends DataSourceFuncotationFactory {
     //==================================================================================================================
     // Helper Data Types:
 
+    /**
+     * The parts of a row of the COSMIC database needed to match it to a variant.
+     */
+    private static final class CosmicRecord {
+        /** Genome position of the mutation, or {@code null} if absent or unparseable. */
+        private final SimpleInterval genomePosition;
+        /** Protein position of the mutation, or {@code null} if absent or unparseable. */
+        private final SimpleInterval proteinPosition;
+        /** Protein change of the mutation.  Never {@code null}. */
+        private final String proteinChange;
+
+        private CosmicRecord(final SimpleInterval genomePosition, final SimpleInterval proteinPosition, final String proteinChange) {
+            this.genomePosition = genomePosition;
+            this.proteinPosition = proteinPosition;
+            this.proteinChange = proteinChange;
+        }
+    }
+
 }
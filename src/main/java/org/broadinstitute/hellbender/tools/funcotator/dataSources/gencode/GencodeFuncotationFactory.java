@@ -41,6 +41,7 @@ import org.sqlite.util.StringUtils;
 
 import java.io.File;
 import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.regex.Matcher;
@@ -192,6 +193,23 @@ public class GencodeFuncotationFactory extends DataSourceFuncotationFactory {
      */
     private final ReferenceDataSource transcriptFastaReferenceDataSource;
 
+    /**
+     * {@link ReferenceDataSource}s are not thread-safe, so every thread that creates funcotations gets its own view of the
+     * transcript reference file.  The thread that created this factory uses {@link #transcriptFastaReferenceDataSource}.
+     */
+    private final ThreadLocal<ReferenceDataSource> threadTranscriptFastaReferenceDataSource;
+
+    /**
+     * The transcript reference file views opened by threads other than the one that created this factory, to be closed
+     * in {@link #close()}.
+     */
+    private final List<ReferenceDataSource> otherThreadTranscriptFastaReferenceDataSources = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * The coding sequences and proteins of the most recently annotated transcripts.
+     */
+    private final TranscriptCodingSequenceCache codingSequenceCache = new TranscriptCodingSequenceCache(TranscriptCodingSequenceCache.DEFAULT_MAX_TRANSCRIPTS);
+
     /**
      * Map between transcript IDs and the IDs from the FASTA file to look up the transcript.
      * This is necessary because of the way the FASTA file contigs are named.
@@ -215,7 +233,8 @@ public class GencodeFuncotationFactory extends DataSourceFuncotationFactory {
     private final Set<String> userRequestedTranscripts;
 
     /**
-     * The {@link Path} from which we will read the sequences for the coding regions in given transcripts.
+     * The {@link Path} from which we will read the sequences for the coding regions in given transcripts, or {@code null}
+     * if they are read from a precompiled {@link GencodeTranscriptFastaIndex}.
      */
     private final Path gencodeTranscriptFastaFile;
 
@@ -323,14 +342,43 @@ public class GencodeFuncotationFactory extends DataSourceFuncotationFactory {
 
         super(mainFeatureInput);
 
-        // Set up our local transcript fasta file.
-        // We must localize it (if not on disk) to make read times fast enough to be manageable:
-        gencodeTranscriptFastaFile = localizeGencodeTranscriptFastaFile( gencodeTranscriptFastaFilePath );
         this.flankSettings = flankSettings;
 
-        // Initialize our transcript data source and ID map:
-        transcriptFastaReferenceDataSource = ReferenceDataSource.of(gencodeTranscriptFastaFile);
-        transcriptIdMap = createTranscriptIdMap(transcriptFastaReferenceDataSource);
+        // Initialize our transcript data source and ID map.
+        // A precompiled transcript index loads much faster than the transcript FASTA file, so we use it if there is one
+        // and it is up to date:
+        final Path gencodeTranscriptFastaIndexPath = GencodeTranscriptFastaIndex.getIndexPath(gencodeTranscriptFastaFilePath);
+        GencodeTranscriptFastaIndex gencodeTranscriptFastaIndex = null;
+        if ( Files.exists(gencodeTranscriptFastaIndexPath) ) {
+            logger.info("Loading precompiled Gencode transcript index: " + gencodeTranscriptFastaIndexPath.toUri());
+            gencodeTranscriptFastaIndex = GencodeTranscriptFastaIndex.load(gencodeTranscriptFastaIndexPath, gencodeTranscriptFastaFilePath);
+            if ( gencodeTranscriptFastaIndex == null ) {
+                logger.warn("Ignoring Gencode transcript index " + gencodeTranscriptFastaIndexPath.toUri() + " because it is out of date with "
+                        + gencodeTranscriptFastaFilePath.toUri() + ".  Recompile it with CompileGencodeTranscriptIndex to speed up loading.");
+            }
+        }
+        if ( gencodeTranscriptFastaIndex != null ) {
+            gencodeTranscriptFastaFile = null;
+            transcriptFastaReferenceDataSource = gencodeTranscriptFastaIndex;
+            transcriptIdMap = gencodeTranscriptFastaIndex.getTranscriptIdMap();
+        }
+        else {
+            // Set up our local transcript fasta file.
+            // We must localize it (if not on disk) to make read times fast enough to be manageable:
+            gencodeTranscriptFastaFile = localizeGencodeTranscriptFastaFile( gencodeTranscriptFastaFilePath );
+            transcriptFastaReferenceDataSource = ReferenceDataSource.of(gencodeTranscriptFastaFile);
+            transcriptIdMap = createTranscriptIdMap(transcriptFastaReferenceDataSource);
+        }
+        threadTranscriptFastaReferenceDataSource = ThreadLocal.withInitial(() -> {
+            // The transcript index can be shared by all threads:
+            if ( gencodeTranscriptFastaFile == null ) {
+                return transcriptFastaReferenceDataSource;
+            }
+            final ReferenceDataSource dataSource = ReferenceDataSource.of(gencodeTranscriptFastaFile);
+            otherThreadTranscriptFastaReferenceDataSources.add(dataSource);
+            return dataSource;
+        });
+        threadTranscriptFastaReferenceDataSource.set(transcriptFastaReferenceDataSource);
 
         this.transcriptSelectionMode = transcriptSelectionMode;
 
@@ -419,6 +467,7 @@ public class GencodeFuncotationFactory extends DataSourceFuncotationFactory {
     @Override
     public void close() {
         transcriptFastaReferenceDataSource.close();
+        otherThreadTranscriptFastaReferenceDataSources.forEach(ReferenceDataSource::close);
     }
 
     @Override
@@ -635,7 +684,7 @@ public class GencodeFuncotationFactory extends DataSourceFuncotationFactory {
      * @param sequence The {@link SAMSequenceRecord} from which to create the {@link MappedTranscriptIdInfo}.
      * @return A populated {@link MappedTranscriptIdInfo} object based on the given {@link SAMSequenceRecord}.
      */
-    private static MappedTranscriptIdInfo createMappedTranscriptIdInfo( final SAMSequenceRecord sequence ) {
+    static MappedTranscriptIdInfo createMappedTranscriptIdInfo( final SAMSequenceRecord sequence ) {
 
         final MappedTranscriptIdInfo transcriptIdInfo = new MappedTranscriptIdInfo();
 
@@ -1190,7 +1239,7 @@ public class GencodeFuncotationFactory extends DataSourceFuncotationFactory {
 
         // Set up our SequenceComparison object so we can calculate some useful fields more easily
         // These fields can all be set without knowing the alternate allele:
-        final SequenceComparison sequenceComparison = createSequenceComparison(variant, altAllele, reference, transcript, exonPositionList, transcriptIdMap, transcriptFastaReferenceDataSource, true);
+        final SequenceComparison sequenceComparison = createSequenceComparison(variant, altAllele, reference, transcript, exonPositionList, transcriptIdMap, threadTranscriptFastaReferenceDataSource.get(), codingSequenceCache, true);
 
         // Set our transcript positions:
         setTranscriptPosition(variant, altAllele, sequenceComparison.getTranscriptAlleleStart(), gencodeFuncotationBuilder);
@@ -1565,7 +1614,7 @@ public class GencodeFuncotationFactory extends DataSourceFuncotationFactory {
                 //       even if the variant occurs in the last base of the UTR.
                 final int numExtraTrailingBases = variant.getReference().length() < defaultNumTrailingBasesForUtrAnnotationSequenceConstruction ? defaultNumTrailingBasesForUtrAnnotationSequenceConstruction : variant.getReference().length() + 1;
                 final String fivePrimeUtrCodingSequence =
-                        getFivePrimeUtrSequenceFromTranscriptFasta( transcript.getTranscriptId(), transcriptIdMap, transcriptFastaReferenceDataSource, numExtraTrailingBases);
+                        getFivePrimeUtrSequenceFromTranscriptFasta( transcript.getTranscriptId(), transcriptIdMap, threadTranscriptFastaReferenceDataSource.get(), numExtraTrailingBases);
 
                 // Get our start position in our coding sequence:
                 final int codingStartPos = FuncotatorUtils.getStartPositionInTranscript(variant, transcript.getExons(), strand);
@@ -1847,6 +1896,32 @@ public class GencodeFuncotationFactory extends DataSourceFuncotationFactory {
                                                        final Map<String, MappedTranscriptIdInfo> transcriptIdMap,
                                                        final ReferenceDataSource transcriptFastaReferenceDataSource,
                                                        final boolean processSequenceInformation) {
+        return createSequenceComparison(variant, alternateAllele, reference, transcript, exonPositionList, transcriptIdMap,
+                transcriptFastaReferenceDataSource, null, processSequenceInformation);
+    }
+
+    /**
+     * Creates a {@link org.broadinstitute.hellbender.tools.funcotator.SequenceComparison} object with the fields populated.
+     * @param variant The {@link VariantContext} for the current variant.
+     * @param alternateAllele The current alternate {@link Allele} for the variant.
+     * @param reference The {@link ReferenceContext} for the current sample set.
+     * @param transcript The {@link GencodeGtfTranscriptFeature} for the current gene feature / alt allele.
+     * @param exonPositionList A {@link List} of {@link htsjdk.samtools.util.Locatable} objects representing exon positions in the transcript.
+     * @param transcriptIdMap The {@link Map} of TranscriptID to {@link MappedTranscriptIdInfo} for all transcripts in the current Gencode data source.
+     * @param transcriptFastaReferenceDataSource The {@link ReferenceDataSource} of the transcript FASTA file containing the sequence information for all Transcripts in the current Gencode data source.
+     * @param codingSequenceCache The {@link TranscriptCodingSequenceCache} from which to get the coding sequence of the transcript and its translation.  If {@code null}, they are computed again.
+     * @param processSequenceInformation If {@code true} will attempt to process and create sequence information for the given {@code variant}.
+     * @return A populated {@link org.broadinstitute.hellbender.tools.funcotator.SequenceComparison} object.
+     */
+    static SequenceComparison createSequenceComparison(final VariantContext variant,
+                                                       final Allele alternateAllele,
+                                                       final ReferenceContext reference,
+                                                       final GencodeGtfTranscriptFeature transcript,
+                                                       final List<? extends htsjdk.samtools.util.Locatable> exonPositionList,
+                                                       final Map<String, MappedTranscriptIdInfo> transcriptIdMap,
+                                                       final ReferenceDataSource transcriptFastaReferenceDataSource,
+                                                       final TranscriptCodingSequenceCache codingSequenceCache,
+                                                       final boolean processSequenceInformation) {
 
         // TODO: Somewhere down the line we should adjust the positions at creation-time to account for the leading bases in VCF input files.  (issue 5349 - https://github.com/broadinstitute/gatk/issues/5349)
         // This will have ramifications down the line for all fields that get rendered.
@@ -1953,12 +2028,17 @@ public class GencodeFuncotationFactory extends DataSourceFuncotationFactory {
                 final String transcriptTailPaddingBaseString = getTranscriptEndPaddingBases(variant, altAllele, exonPositionList, reference);
 
                 // NOTE: This can't be null because of the Funcotator input args.
-                final String rawCodingSequence = getCodingSequenceFromTranscriptFasta(
-                        transcript.getTranscriptId(),
-                        transcriptIdMap,
-                        transcriptFastaReferenceDataSource,
-                        transcriptTailPaddingBaseString
-                );
+                final TranscriptCodingSequenceCache.CodingSequence cachedCodingSequence = (codingSequenceCache == null) ? null :
+                        codingSequenceCache.get(transcript.getTranscriptId(),
+                                () -> getCodingSequenceFromTranscriptFasta(transcript.getTranscriptId(), transcriptIdMap, transcriptFastaReferenceDataSource, ""));
+                final String rawCodingSequence = (cachedCodingSequence == null) ?
+                        getCodingSequenceFromTranscriptFasta(
+                            transcript.getTranscriptId(),
+                            transcriptIdMap,
+                            transcriptFastaReferenceDataSource,
+                            transcriptTailPaddingBaseString
+                        ) :
+                        cachedCodingSequence.getBases() + transcriptTailPaddingBaseString;
 
                 // Now that we have our transcript sequence, we must make sure that our reference allele is in it
                 // correctly.
@@ -2000,6 +2080,10 @@ public class GencodeFuncotationFactory extends DataSourceFuncotationFactory {
                                 sequenceComparison.getStrand())
                 );
 
+                // Figure out if we are in a mitochondrial contig:
+                // TODO: Make this more robust by detecting the mito contig based on the reference used.  (issue https://github.com/broadinstitute/gatk/issues/5364).
+                final boolean isMitochondria = FuncotatorConstants.MITOCHONDRIAL_CONTIG_NAMES.contains(variant.getContig());
+
                 final ProteinChangeInfo proteinChangeInfo = ProteinChangeInfo.create(
                         refAllele,
                         altAllele,
@@ -2007,9 +2091,9 @@ public class GencodeFuncotationFactory extends DataSourceFuncotationFactory {
                         sequenceComparison.getAlignedCodingSequenceAlleleStart(),
                         correctedCodingSequence,
                         sequenceComparison.getStrand(),
-                        // Figure out if we are in a mitochondrial contig:
-                        // TODO: Make this more robust by detecting the mito contig based on the reference used.  (issue https://github.com/broadinstitute/gatk/issues/5364).
-                        FuncotatorConstants.MITOCHONDRIAL_CONTIG_NAMES.contains(variant.getContig())
+                        isMitochondria,
+                        (cachedCodingSequence == null) ? null : cachedCodingSequence.getBases(),
+                        (cachedCodingSequence == null) ? null : cachedCodingSequence.getProteinSequence(isMitochondria)
                 );
 
                 // Set our protein change:
@@ -0,0 +1,291 @@
+package org.broadinstitute.hellbender.tools.funcotator.dataSources.gencode;
+
+import htsjdk.samtools.SAMSequenceDictionary;
+import htsjdk.samtools.SAMSequenceRecord;
+import htsjdk.samtools.reference.ReferenceSequence;
+import org.broadinstitute.hellbender.engine.ReferenceDataSource;
+import org.broadinstitute.hellbender.exceptions.UserException;
+import org.broadinstitute.hellbender.utils.Utils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A precompiled, memory-mappable form of a GENCODE transcript FASTA file (with its dictionary) for the
+ * {@link GencodeFuncotationFactory}.
+ *
+ * The index holds the parsed {@link GencodeFuncotationFactory.MappedTranscriptIdInfo} of every transcript, followed by
+ * the transcript sequences packed one after another, so loading it only requires reading the (small) transcript table:
+ * the sequences stay in the mapped file and are copied out on each query.  Sequences are stored as returned by
+ * {@link ReferenceDataSource#of(Path)} on the original FASTA, so queries give exactly the same bases.
+ *
+ * Queries only make absolute reads on the shared buffer, so one instance can be used by several threads at once.
+ *
+ * The index is created with {@link #write} (see {@link org.broadinstitute.hellbender.tools.funcotator.CompileGencodeTranscriptIndex})
+ * and is used by the {@link GencodeFuncotationFactory} in place of the FASTA file when it is found next to it
+ * (see {@link #getIndexPath}).
+ *
+ * The index records the size and modification time of the FASTA file from which it was built, and is ignored
+ * (see {@link #load}) if either has changed.
+ */
+public final class GencodeTranscriptFastaIndex implements ReferenceDataSource {
+
+    /**
+     * Extension appended to the name of the transcript FASTA file to get the name of its index.
+     */
+    public static final String INDEX_EXTENSION = ".gtidx";
+
+    private static final int MAGIC = 0x47544958; // "GTIX"
+    private static final int VERSION = 2;
+
+    // Offsets of the fixed-size fields at the start of the index:
+    private static final int SOURCE_SIZE_OFFSET          = 8;
+    private static final int SOURCE_LAST_MODIFIED_OFFSET = 16;
+    private static final int NUM_SEQUENCES_OFFSET        = 24;
+    private static final int BASES_START_OFFSET          = 28;
+    private static final int FIXED_HEADER_SIZE           = 36;
+
+    private final Path indexPath;
+    private final ByteBuffer buffer;
+    private final Map<String, Integer> sequenceIndexes;
+    private final List<Sequence> sequences;
+    private final Map<String, GencodeFuncotationFactory.MappedTranscriptIdInfo> transcriptIdMap;
+    private SAMSequenceDictionary sequenceDictionary = null;
+
+    private GencodeTranscriptFastaIndex(final Path indexPath, final ByteBuffer buffer) {
+        this.indexPath = indexPath;
+        this.buffer = buffer;
+
+        final int numSequences = buffer.getInt(NUM_SEQUENCES_OFFSET);
+        final long basesStart = buffer.getLong(BASES_START_OFFSET);
+
+        sequenceIndexes = new HashMap<>(numSequences * 2);
+        sequences = new ArrayList<>(numSequences);
+        transcriptIdMap = new HashMap<>(numSequences * 4);
+
+        int position = FIXED_HEADER_SIZE;
+        for ( int i = 0; i < numSequences; i++ ) {
+            final byte[] nameBytes = new byte[buffer.getInt(position)];
+            position += 4;
+            for ( int j = 0; j < nameBytes.length; j++ ) {
+                nameBytes[j] = buffer.get(position++);
+            }
+            final String name = new String(nameBytes, StandardCharsets.US_ASCII);
+            final int length = buffer.getInt(position);
+            final long basesOffset = basesStart + buffer.getLong(position + 4);
+            position += 12;
+
+            final GencodeFuncotationFactory.MappedTranscriptIdInfo transcriptInfo = new GencodeFuncotationFactory.MappedTranscriptIdInfo();
+            transcriptInfo.mapKey = name;
+            transcriptInfo.codingSequenceStart = buffer.getInt(position);
+            transcriptInfo.codingSequenceEnd = buffer.getInt(position + 4);
+            transcriptInfo.has5pUtr = buffer.get(position + 8) != 0;
+            transcriptInfo.fivePrimeUtrStart = buffer.getInt(position + 9);
+            transcriptInfo.fivePrimeUtrEnd = buffer.getInt(position + 13);
+            transcriptInfo.has3pUtr = buffer.get(position + 17) != 0;
+            transcriptInfo.threePrimeUtrStart = buffer.getInt(position + 18);
+            transcriptInfo.threePrimeUtrEnd = buffer.getInt(position + 22);
+            position += 26;
+
+            sequenceIndexes.put(name, i);
+            sequences.add(new Sequence(name, length, basesOffset));
+            for ( final String transcriptId : Utils.split(name, "|") ) {
+                transcriptIdMap.put(transcriptId, transcriptInfo);
+            }
+        }
+    }
+
+    /**
+     * @param transcriptFastaPath {@link Path} to a GENCODE transcript FASTA file.  Must not be {@code null}.
+     * @return The {@link Path} at which the index for the given transcript FASTA file is expected.
+     */
+    public static Path getIndexPath(final Path transcriptFastaPath) {
+        Utils.nonNull(transcriptFastaPath);
+        return transcriptFastaPath.resolveSibling(transcriptFastaPath.getFileName().toString() + INDEX_EXTENSION);
+    }
+
+    /**
+     * Loads an index created by {@link #write}.  Local files are memory-mapped; remote files are read once into memory.
+     * @param indexPath {@link Path} to the index.  Must not be {@code null}.
+     * @param transcriptFastaPath {@link Path} to the GENCODE transcript FASTA file from which the index was built.  Must not be {@code null}.
+     * @return The loaded {@link GencodeTranscriptFastaIndex}, or {@code null} if the index was written by an older
+     * version of this class or for a different version of the transcript FASTA file.
+     */
+    public static GencodeTranscriptFastaIndex load(final Path indexPath, final Path transcriptFastaPath) {
+        Utils.nonNull(indexPath);
+        Utils.nonNull(transcriptFastaPath);
+        try {
+            final long size = Files.size(indexPath);
+            if ( size > Integer.MAX_VALUE ) {
+                throw new UserException.CouldNotReadInputFile(indexPath, "Gencode transcript indices larger than 2GB are not supported");
+            }
+            if ( size < FIXED_HEADER_SIZE ) {
+                throw new UserException.MalformedFile(indexPath, "Not a Gencode transcript index");
+            }
+            final ByteBuffer buffer;
+            if ( indexPath.getFileSystem().equals(FileSystems.getDefault()) ) {
+                try ( final FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ) ) {
+                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                }
+            }
+            else {
+                buffer = ByteBuffer.allocateDirect((int) size);
+                try ( final ReadableByteChannel channel = Channels.newChannel(Files.newInputStream(indexPath)) ) {
+                    while ( buffer.hasRemaining() && channel.read(buffer) >= 0 ) {
+                        // keep reading until the buffer is full or the stream ends
+                    }
+                }
+                buffer.flip();
+            }
+
+            if ( buffer.getInt(0) != MAGIC ) {
+                throw new UserException.MalformedFile(indexPath, "Not a Gencode transcript index");
+            }
+            if ( buffer.getInt(4) != VERSION
+                    || buffer.getLong(SOURCE_SIZE_OFFSET) != Files.size(transcriptFastaPath)
+                    || buffer.getLong(SOURCE_LAST_MODIFIED_OFFSET) != Files.getLastModifiedTime(transcriptFastaPath).toMillis() ) {
+                return null;
+            }
+            return new GencodeTranscriptFastaIndex(indexPath, buffer);
+        }
+        catch ( final IOException ex ) {
+            throw new UserException.CouldNotReadInputFile(indexPath, ex);
+        }
+    }
+
+    /**
+     * Writes the index for the given GENCODE transcript FASTA file.
+     * @param transcriptFasta {@link ReferenceDataSource} for the GENCODE transcript FASTA file.  Must not be {@code null}.
+     * @param transcriptFastaPath {@link Path} to the GENCODE transcript FASTA file, whose size and modification time
+     *                            are recorded in the index.  Must not be {@code null}.
+     * @param indexPath {@link Path} to which to write the index.  Must not be {@code null}.
+     */
+    public static void write(final ReferenceDataSource transcriptFasta, final Path transcriptFastaPath, final Path indexPath) {
+        Utils.nonNull(transcriptFasta);
+        Utils.nonNull(transcriptFastaPath);
+        Utils.nonNull(indexPath);
+
+        final List<SAMSequenceRecord> records = transcriptFasta.getSequenceDictionary().getSequences();
+        try ( final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexPath))) ) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(Files.size(transcriptFastaPath));
+            out.writeLong(Files.getLastModifiedTime(transcriptFastaPath).toMillis());
+            out.writeInt(records.size());
+
+            // The bases start right after the transcript table:
+            long basesStart = FIXED_HEADER_SIZE;
+            for ( final SAMSequenceRecord record : records ) {
+                basesStart += 4 + record.getSequenceName().getBytes(StandardCharsets.US_ASCII).length + 12 + 26;
+            }
+            out.writeLong(basesStart);
+
+            long basesOffset = 0;
+            for ( final SAMSequenceRecord record : records ) {
+                final byte[] nameBytes = record.getSequenceName().getBytes(StandardCharsets.US_ASCII);
+                out.writeInt(nameBytes.length);
+                out.write(nameBytes);
+                out.writeInt(record.getSequenceLength());
+                out.writeLong(basesOffset);
+                basesOffset += record.getSequenceLength();
+
+                final GencodeFuncotationFactory.MappedTranscriptIdInfo transcriptInfo = GencodeFuncotationFactory.createMappedTranscriptIdInfo(record);
+                out.writeInt(transcriptInfo.codingSequenceStart);
+                out.writeInt(transcriptInfo.codingSequenceEnd);
+                out.writeBoolean(transcriptInfo.has5pUtr);
+                out.writeInt(transcriptInfo.fivePrimeUtrStart);
+                out.writeInt(transcriptInfo.fivePrimeUtrEnd);
+                out.writeBoolean(transcriptInfo.has3pUtr);
+                out.writeInt(transcriptInfo.threePrimeUtrStart);
+                out.writeInt(transcriptInfo.threePrimeUtrEnd);
+            }
+
+            for ( final SAMSequenceRecord record : records ) {
+                if ( record.getSequenceLength() > 0 ) {
+                    out.write(transcriptFasta.queryAndPrefetch(record.getSequenceName(), 1, record.getSequenceLength()).getBases());
+                }
+            }
+        }
+        catch ( final IOException ex ) {
+            throw new UserException.CouldNotCreateOutputFile(indexPath.toUri().toString(), "Could not write Gencode transcript index", ex);
+        }
+    }
+
+    /**
+     * @return A map from every transcript ID in the index to the information about its transcript.  Equivalent to
+     * {@link GencodeFuncotationFactory#createTranscriptIdMap} on the original FASTA file.
+     */
+    Map<String, GencodeFuncotationFactory.MappedTranscriptIdInfo> getTranscriptIdMap() {
+        return Collections.unmodifiableMap(transcriptIdMap);
+    }
+
+    @Override
+    public ReferenceSequence queryAndPrefetch(final String contig, final long start, final long stop) {
+        final Integer sequenceIndex = sequenceIndexes.get(contig);
+        if ( sequenceIndex == null ) {
+            throw new UserException.MalformedFile(indexPath, "Sequence not found in Gencode transcript index: " + contig);
+        }
+        final Sequence sequence = sequences.get(sequenceIndex);
+        Utils.validateArg(start >= 1 && stop <= sequence.length && stop >= start - 1,
+                () -> String.format("Query %s:%d-%d is outside the bounds of the sequence (length %d)", contig, start, stop, sequence.length));
+
+        final byte[] bases = new byte[(int) (stop - start + 1)];
+        final int offset = (int) (sequence.basesOffset + start - 1);
+        for ( int i = 0; i < bases.length; i++ ) {
+            bases[i] = buffer.get(offset + i);
+        }
+        return new ReferenceSequence(contig, sequenceIndex, bases);
+    }
+
+    @Override
+    public synchronized SAMSequenceDictionary getSequenceDictionary() {
+        // Only built on demand, since the factory does not need it:
+        if ( sequenceDictionary == null ) {
+            final List<SAMSequenceRecord> records = new ArrayList<>(sequences.size());
+            for ( final Sequence sequence : sequences ) {
+                records.add(new SAMSequenceRecord(sequence.name, sequence.length));
+            }
+            sequenceDictionary = new SAMSequenceDictionary(records);
+        }
+        return sequenceDictionary;
+    }
+
+    /**
+     * Iteration over all of the transcript sequences is not supported.
+     */
+    @Override
+    public Iterator<Byte> iterator() {
+        throw new UnsupportedOperationException("Iteration over an entire Gencode transcript index is not supported");
+    }
+
+    /**
+     * A transcript sequence in the index.
+     */
+    private static final class Sequence {
+        private final String name;
+        private final int length;
+        private final long basesOffset;
+
+        private Sequence(final String name, final int length, final long basesOffset) {
+            this.name = name;
+            this.length = length;
+            this.basesOffset = basesOffset;
+        }
+    }
+}
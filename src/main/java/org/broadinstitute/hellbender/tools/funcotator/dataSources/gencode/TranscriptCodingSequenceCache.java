@@ -0,0 +1,107 @@
+package org.broadinstitute.hellbender.tools.funcotator.dataSources.gencode;
+
+import org.broadinstitute.hellbender.tools.funcotator.AminoAcid;
+import org.broadinstitute.hellbender.tools.funcotator.FuncotatorUtils;
+import org.broadinstitute.hellbender.utils.Utils;
+import org.broadinstitute.hellbender.utils.param.ParamUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache of the coding sequences of recently annotated transcripts and of their translations, so that
+ * consecutive variants in the same transcript do not fetch and translate its whole coding sequence again.
+ *
+ * The least recently used transcript is evicted first, so with sorted input the transcripts are dropped as the
+ * traversal moves past them.  The cache is safe to use from several threads at once.
+ */
+final class TranscriptCodingSequenceCache {
+
+    /**
+     * Default maximum number of transcripts in the cache.  Large enough to hold every transcript of the genes overlapping
+     * a locus.
+     */
+    static final int DEFAULT_MAX_TRANSCRIPTS = 200;
+
+    private final Map<String, CodingSequence> codingSequences;
+
+    /**
+     * @param maxTranscripts maximum number of transcripts to keep in the cache.  Must be positive.
+     */
+    TranscriptCodingSequenceCache(final int maxTranscripts) {
+        ParamUtils.isPositive(maxTranscripts, "The maximum number of transcripts must be positive.");
+        codingSequences = new LinkedHashMap<String, CodingSequence>(maxTranscripts * 4 / 3 + 1, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CodingSequence> eldest) {
+                return size() > maxTranscripts;
+            }
+        };
+    }
+
+    /**
+     * @param transcriptId ID of the transcript.  Must not be {@code null}.
+     * @param codingSequenceLoader Gets the coding sequence of the transcript if it is not in the cache.  Must not be {@code null}.
+     * @return The {@link CodingSequence} of the given transcript.
+     */
+    CodingSequence get(final String transcriptId, final Supplier<String> codingSequenceLoader) {
+        Utils.nonNull(transcriptId);
+        Utils.nonNull(codingSequenceLoader);
+        synchronized (codingSequences) {
+            final CodingSequence cached = codingSequences.get(transcriptId);
+            if ( cached != null ) {
+                return cached;
+            }
+        }
+        // Loaded outside of the lock, so that other threads are not held up by the transcript FASTA:
+        final CodingSequence codingSequence = new CodingSequence(codingSequenceLoader.get());
+        synchronized (codingSequences) {
+            codingSequences.put(transcriptId, codingSequence);
+        }
+        return codingSequence;
+    }
+
+    /**
+     * The coding sequence of a transcript, with its translation computed on first use.
+     */
+    static final class CodingSequence {
+        private final String bases;
+        private volatile String proteinSequence = null;
+        private volatile String mitochondrialProteinSequence = null;
+
+        private CodingSequence(final String bases) {
+            this.bases = Utils.nonNull(bases);
+        }
+
+        /**
+         * @return The bases of the coding sequence.
+         */
+        String getBases() {
+            return bases;
+        }
+
+        /**
+         * @param isMitochondria If {@code true}, translates using the mitochondrial code rather than the standard code.
+         * @return The amino acids of all of the whole codons of the coding sequence.
+         */
+        String getProteinSequence(final boolean isMitochondria) {
+            // Races only cause the same translation to be computed more than once:
+            if ( isMitochondria ) {
+                if ( mitochondrialProteinSequence == null ) {
+                    mitochondrialProteinSequence = FuncotatorUtils.createMitochondrialAminoAcidSequence(getWholeCodons(), false, "");
+                }
+                return mitochondrialProteinSequence;
+            }
+            if ( proteinSequence == null ) {
+                proteinSequence = FuncotatorUtils.createAminoAcidSequence(getWholeCodons(), false, "");
+            }
+            return proteinSequence;
+        }
+
+        private String getWholeCodons() {
+            return bases.substring(0, bases.length() - bases.length() % AminoAcid.CODON_LENGTH);
+        }
+    }
+}
@@ -18,12 +18,17 @@ import org.broadinstitute.hellbender.utils.nio.PathLineIterator;
 
 import java.nio.file.Path;
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 /**
  * Factory for creating {@link TableFuncotation}s by handling `Separated Value` files with arbitrary delimiters
  * (e.g. CSV/TSV files) which contain data that use a simple key (i.e. {@link XsvDataKeyType}).
  *
+ * By default the whole table is read into memory.  For large tables, the factory can instead serve the rows from an
+ * on-disk {@link SimpleKeyXsvIndex}, which is built next to the XSV file the first time it is needed (or in a temporary
+ * location if that is not possible) and reused by later runs.
+ *
  * This is a high-level object that interfaces with the internals of {@link org.broadinstitute.hellbender.tools.funcotator.Funcotator}.
  * Created by jonn on 11/28/17.
  */
@@ -32,6 +37,11 @@ public class SimpleKeyXsvFuncotationFactory extends DataSourceFuncotationFactory
     //==================================================================================================================
     // Public Static Members:
 
+    /**
+     * Default number of keys for which to cache the annotations when they are served from an on-disk index.
+     */
+    public static final int DEFAULT_KEY_CACHE_SIZE = 1000;
+
     //==================================================================================================================
     // Private Static Members:
 
@@ -82,9 +92,16 @@ public class SimpleKeyXsvFuncotationFactory extends DataSourceFuncotationFactory
 
     /**
      * Map containing the annotations that we have to
+     * (or {@code null} if the annotations are served by {@link SimpleKeyXsvFuncotationFactory#annotationIndex}).
      */
     private final Map<String, List<String>> annotationMap;
 
+    /**
+     * On-disk index containing the annotations, used in place of {@link SimpleKeyXsvFuncotationFactory#annotationMap}
+     * for large tables.  {@code null} if the annotations are held in memory.
+     */
+    private final SimpleKeyXsvIndex annotationIndex;
+
     //==================================================================================================================
     // Constructors:
 
@@ -122,6 +139,26 @@ public class SimpleKeyXsvFuncotationFactory extends DataSourceFuncotationFactory
                                           final int numHeaderLinesToIgnore,
                                           final boolean permissiveColumns,
                                           final boolean isDataSourceB37) {
+        this(name, filePath, version, delim, keyColumn, keyType, annotationOverrides, numHeaderLinesToIgnore, permissiveColumns, isDataSourceB37, false, DEFAULT_KEY_CACHE_SIZE);
+    }
+
+    /**
+     * @param useOnDiskIndex If {@code true}, serves the annotations from an on-disk index of the XSV file (built if it does
+     *                       not exist yet) rather than holding the whole table in memory.
+     * @param keyCacheSize The number of keys for which to cache the annotations when {@code useOnDiskIndex} is {@code true}.
+     */
+    public SimpleKeyXsvFuncotationFactory(final String name,
+                                          final Path filePath,
+                                          final String version,
+                                          final String delim,
+                                          final int keyColumn,
+                                          final XsvDataKeyType keyType,
+                                          final LinkedHashMap<String, String> annotationOverrides,
+                                          final int numHeaderLinesToIgnore,
+                                          final boolean permissiveColumns,
+                                          final boolean isDataSourceB37,
+                                          final boolean useOnDiskIndex,
+                                          final int keyCacheSize) {
 
         this.name = name;
 
@@ -138,26 +175,34 @@ public class SimpleKeyXsvFuncotationFactory extends DataSourceFuncotationFactory
 
         this.dataSourceIsB37 = isDataSourceB37;
 
-        // Initialize our annotations map:
-        annotationMap = new HashMap<>();
+        if ( useOnDiskIndex ) {
+            annotationMap = null;
+            annotationIndex = openOrBuildAnnotationIndex(permissiveColumns, keyCacheSize);
+            annotationColumnNames = annotationIndex.getColumnNames();
+        }
+        else {
+            // Initialize our annotations map:
+            annotationMap = new HashMap<>();
+            annotationIndex = null;
 
-        // Create our iterator:
-        try ( final PathLineIterator pathLineIterator = new PathLineIterator(xsvInputPath) ) {
+            // Create our iterator:
+            try ( final PathLineIterator pathLineIterator = new PathLineIterator(xsvInputPath) ) {
 
-            // Get a line iterator for our lines:
-            final Iterator<String> it = pathLineIterator.iterator();
+                // Get a line iterator for our lines:
+                final Iterator<String> it = pathLineIterator.iterator();
 
-            // Get our column names:
-            annotationColumnNames = createColumnNames(it, numHeaderLinesToIgnore);
+                // Get our column names:
+                annotationColumnNames = createColumnNames(it, numHeaderLinesToIgnore);
 
-            // Populate our empty annotation list:
-            emptyAnnotationList = new ArrayList<>(annotationColumnNames.size());
-            for ( final String s : annotationColumnNames ) {
-                emptyAnnotationList.add("");
+                // Populate our annotation map:
+                populateAnnotations(it, annotationColumnNames, permissiveColumns, annotationMap::put);
             }
+        }
 
-            // Populate our annotation map:
-            populateAnnotationMap(it, permissiveColumns);
+        // Populate our empty annotation list:
+        emptyAnnotationList = new ArrayList<>(annotationColumnNames.size());
+        for ( final String s : annotationColumnNames ) {
+            emptyAnnotationList.add("");
         }
 
         // Initialize overrides / defaults:
@@ -211,7 +256,8 @@ public class SimpleKeyXsvFuncotationFactory extends DataSourceFuncotationFactory
     /**
      * {@inheritDoc}
      * For each {@link org.broadinstitute.hellbender.tools.funcotator.dataSources.gencode.GencodeFuncotation}, the Transcript ID or Gene Name (Hugo Symbol)
-     * is checked for a match against the key of any annotation in {@link SimpleKeyXsvFuncotationFactory#annotationMap}.
+     * is checked for a match against the key of any annotation in {@link SimpleKeyXsvFuncotationFactory#annotationMap}
+     * (or {@link SimpleKeyXsvFuncotationFactory#annotationIndex}).
      * If a match is found, an {@link TableFuncotation} is added to the list to be returned.
      */
     protected List<Funcotation> createFuncotationsOnVariant(final VariantContext variant,
@@ -242,7 +288,7 @@ public class SimpleKeyXsvFuncotationFactory extends DataSourceFuncotationFactory
             }
 
             // Get our annotations:
-            final List<String> annotations = annotationMap.get( key );
+            final List<String> annotations = (annotationIndex == null) ? annotationMap.get( key ) : annotationIndex.get( key );
             if ( annotations != null ) {
                 // Create 1 annotation for each alt allele and add our annotations to the list:
                 for ( final Allele altAllele : variant.getAlternateAlleles() ) {
@@ -272,6 +318,38 @@ public class SimpleKeyXsvFuncotationFactory extends DataSourceFuncotationFactory
     //==================================================================================================================
     // Instance Methods:
 
+    /**
+     * Opens the on-disk index of the XSV file, building it first if there is no index for the current version of the
+     * XSV file parsed with the current settings.
+     * @param permissiveColumnNumbers See {@link SimpleKeyXsvFuncotationFactory#populateAnnotations}.
+     * @param keyCacheSize The number of keys for which to cache the annotations.
+     * @return The opened {@link SimpleKeyXsvIndex}.
+     */
+    private SimpleKeyXsvIndex openOrBuildAnnotationIndex(final boolean permissiveColumnNumbers, final int keyCacheSize) {
+        // Everything that affects the parsed rows, so that an index built with other settings is not reused:
+        final String description = String.join("\t",
+                "name=" + name, "delimiter=" + delimiter, "keyColumn=" + keyColumn, "keyType=" + keyType,
+                "numHeaderLinesToIgnore=" + numHeaderLinesToIgnore, "permissiveColumns=" + permissiveColumnNumbers);
+
+        final Path indexPath = SimpleKeyXsvIndex.resolveIndexPath(xsvInputPath);
+        final SimpleKeyXsvIndex existingIndex = SimpleKeyXsvIndex.open(indexPath, xsvInputPath, description, keyCacheSize);
+        if ( existingIndex != null ) {
+            logger.info("Using on-disk index " + indexPath.toUri() + " for data source " + name);
+            return existingIndex;
+        }
+
+        logger.info("Building on-disk index " + indexPath.toUri() + " for data source " + name + " ...");
+        try ( final PathLineIterator pathLineIterator = new PathLineIterator(xsvInputPath) ) {
+            final Iterator<String> it = pathLineIterator.iterator();
+            final List<String> columnNames = createColumnNames(it, numHeaderLinesToIgnore);
+            try ( final SimpleKeyXsvIndex.Writer writer = new SimpleKeyXsvIndex.Writer(indexPath, xsvInputPath, description, columnNames) ) {
+                populateAnnotations(it, columnNames, permissiveColumnNumbers, writer::add);
+                writer.finish();
+            }
+        }
+        return SimpleKeyXsvIndex.open(indexPath, xsvInputPath, description, keyCacheSize);
+    }
+
     private List<Funcotation> createDefaultFuncotationsOnVariantHelper( final VariantContext variant, final ReferenceContext referenceContext, final Set<Allele> annotatedAltAlleles  ) {
 
         final List<Funcotation> funcotationList = new ArrayList<>();
@@ -320,15 +398,18 @@ public class SimpleKeyXsvFuncotationFactory extends DataSourceFuncotationFactory
     }
 
     /**
-     * Populates {@link SimpleKeyXsvFuncotationFactory#annotationMap} with data from the given iterator.
-     * Assumes that {@link SimpleKeyXsvFuncotationFactory#annotationColumnNames} is populated.
+     * Parses the data rows from the given iterator and gives each one, keyed, to the given consumer.
      * @param it An {@link Iterator} of {@link String} starting at the first data line in the file to parse.
+     * @param annotationColumnNames The names of the columns, as returned by {@link SimpleKeyXsvFuncotationFactory#createColumnNames}.
      * @param permissiveColumnNumbers A flag which if true indicates to allow mismatches between the number of columns in the header row and data rows.
      *                                In the event of a mismatch, the data row with either be padded to the number of columns in the header
      *                                or it will be truncated to match the number of columns in the header.
+     * @param rowConsumer Receives the key and the data of each row (e.g. {@link SimpleKeyXsvFuncotationFactory#annotationMap}{@code ::put}).
      */
-    private void populateAnnotationMap(final Iterator<String> it,
-                                       final boolean permissiveColumnNumbers) {
+    private void populateAnnotations(final Iterator<String> it,
+                                     final List<String> annotationColumnNames,
+                                     final boolean permissiveColumnNumbers,
+                                     final BiConsumer<String, List<String>> rowConsumer) {
 
         boolean emptyLineFlag = false;
 
@@ -379,7 +460,7 @@ public class SimpleKeyXsvFuncotationFactory extends DataSourceFuncotationFactory
             }
 
             // Store this in our map:
-            annotationMap.put(rowKey, dataRow);
+            rowConsumer.accept(rowKey, dataRow);
 
             // Increment our row counter:
             ++dataRowNum;
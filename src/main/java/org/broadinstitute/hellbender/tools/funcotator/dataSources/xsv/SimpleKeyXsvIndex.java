@@ -0,0 +1,439 @@
+package org.broadinstitute.hellbender.tools.funcotator.dataSources.xsv;
+
+import org.broadinstitute.hellbender.exceptions.GATKException;
+import org.broadinstitute.hellbender.exceptions.UserException;
+import org.broadinstitute.hellbender.utils.Utils;
+import org.broadinstitute.hellbender.utils.io.IOUtils;
+import org.broadinstitute.hellbender.utils.param.ParamUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * An on-disk hash index over the rows of a simple-key XSV file, so that a {@link SimpleKeyXsvFuncotationFactory} can
+ * serve its annotations without holding the whole table in memory.
+ *
+ * The index holds the column names of the table, the (already split) rows one after another, and an open-addressing
+ * hash table from each key to its row.  It is memory-mapped, so only the rows that are actually looked up are ever
+ * read, and the most recently used rows are kept in a small LRU cache.  The rows are mapped in segments (a single
+ * mapping is limited to 2GB), and no row crosses a segment boundary.
+ *
+ * Lookups only make absolute reads on the mapped buffers, so one instance can be used by several threads at once.
+ *
+ * The index records the size and modification time of the XSV file, and a description of how it was parsed, and is
+ * ignored (see {@link #open}) if either has changed.
+ */
+final class SimpleKeyXsvIndex {
+
+    /**
+     * Extension appended to the name of the XSV file to get the name of its index.
+     */
+    static final String INDEX_EXTENSION = ".skidx";
+
+    /**
+     * Default size of the segments in which the rows are mapped.
+     */
+    static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+    private static final int MAGIC = 0x534B5849; // "SKXI"
+    private static final int VERSION = 1;
+
+    // Offsets of the fixed-size fields at the start of the index:
+    private static final int SOURCE_SIZE_OFFSET          = 8;
+    private static final int SOURCE_LAST_MODIFIED_OFFSET = 16;
+    private static final int SEGMENT_SIZE_OFFSET         = 24;
+    private static final int NUM_BUCKETS_OFFSET          = 28;
+    private static final int BUCKETS_START_OFFSET        = 32;
+    private static final int ROWS_START_OFFSET           = 40;
+    private static final int FIXED_HEADER_SIZE           = 48;
+
+    /**
+     * Marks keys that are not in the index in {@link #rowCache}.
+     */
+    private static final List<String> NOT_IN_INDEX = Collections.unmodifiableList(new ArrayList<>());
+
+    private final List<String> columnNames;
+    private final int segmentSize;
+    private final int numBuckets;
+    private final ByteBuffer buckets;
+    private final ByteBuffer[] rowSegments;
+    private final Map<String, List<String>> rowCache;
+
+    private SimpleKeyXsvIndex(final List<String> columnNames,
+                              final int segmentSize,
+                              final int numBuckets,
+                              final ByteBuffer buckets,
+                              final ByteBuffer[] rowSegments,
+                              final int keyCacheSize) {
+        this.columnNames = Collections.unmodifiableList(columnNames);
+        this.segmentSize = segmentSize;
+        this.numBuckets = numBuckets;
+        this.buckets = buckets;
+        this.rowSegments = rowSegments;
+        rowCache = new LinkedHashMap<String, List<String>>(keyCacheSize * 4 / 3 + 1, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, List<String>> eldest) {
+                return size() > keyCacheSize;
+            }
+        };
+    }
+
+    /**
+     * Gets the {@link Path} at which to keep the index for the given XSV file.  This is next to the XSV file if it is
+     * a local file in a directory that we can write to (or if the index is already there), and otherwise a temporary
+     * file that is deleted on exit.
+     * @param xsvPath {@link Path} to an XSV file.  Must not be {@code null}.
+     * @return The {@link Path} at which to keep the index for the given XSV file.
+     */
+    static Path resolveIndexPath(final Path xsvPath) {
+        Utils.nonNull(xsvPath);
+        if ( xsvPath.getFileSystem().equals(FileSystems.getDefault()) ) {
+            final Path indexPath = xsvPath.resolveSibling(xsvPath.getFileName().toString() + INDEX_EXTENSION);
+            final Path directory = indexPath.toAbsolutePath().getParent();
+            if ( Files.exists(indexPath) || (directory != null && Files.isWritable(directory)) ) {
+                return indexPath;
+            }
+        }
+        return IOUtils.createTempPath(xsvPath.getFileName().toString(), INDEX_EXTENSION);
+    }
+
+    /**
+     * Opens an index written by a {@link Writer}.
+     * @param indexPath {@link Path} to the index.  Must be a local file.  Must not be {@code null}.
+     * @param xsvPath {@link Path} to the XSV file from which the index was built.  Must not be {@code null}.
+     * @param description Description of how the XSV file was parsed, as given to the {@link Writer}.  Must not be {@code null}.
+     * @param keyCacheSize Number of keys for which to cache the rows.  Must not be negative.
+     * @return The opened {@link SimpleKeyXsvIndex}, or {@code null} if there is no complete index at {@code indexPath}
+     * for the current version of the XSV file parsed as given by {@code description}.
+     */
+    static SimpleKeyXsvIndex open(final Path indexPath, final Path xsvPath, final String description, final int keyCacheSize) {
+        Utils.nonNull(indexPath);
+        Utils.nonNull(xsvPath);
+        Utils.nonNull(description);
+        ParamUtils.isPositiveOrZero(keyCacheSize, "The key cache size must not be negative.");
+
+        if ( !Files.exists(indexPath) ) {
+            return null;
+        }
+        try ( final FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ) ) {
+            final long size = channel.size();
+            if ( size < FIXED_HEADER_SIZE ) {
+                return null;
+            }
+            final ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, FIXED_HEADER_SIZE);
+            if ( header.getInt(0) != MAGIC ) {
+                throw new UserException.MalformedFile(indexPath, "Not a simple-key XSV index");
+            }
+            if ( header.getInt(4) != VERSION
+                    || header.getLong(SOURCE_SIZE_OFFSET) != Files.size(xsvPath)
+                    || header.getLong(SOURCE_LAST_MODIFIED_OFFSET) != Files.getLastModifiedTime(xsvPath).toMillis() ) {
+                return null;
+            }
+
+            final int segmentSize = header.getInt(SEGMENT_SIZE_OFFSET);
+            final int numBuckets = header.getInt(NUM_BUCKETS_OFFSET);
+            final long bucketsStart = header.getLong(BUCKETS_START_OFFSET);
+            final long rowsStart = header.getLong(ROWS_START_OFFSET);
+
+            final ByteBuffer headerStrings = channel.map(FileChannel.MapMode.READ_ONLY, FIXED_HEADER_SIZE, rowsStart - FIXED_HEADER_SIZE);
+            int position = 0;
+            final byte[] descriptionBytes = new byte[headerStrings.getInt(position)];
+            position = readBytes(headerStrings, position + 4, descriptionBytes);
+            if ( !description.equals(new String(descriptionBytes, StandardCharsets.UTF_8)) ) {
+                return null;
+            }
+            final int numColumns = headerStrings.getInt(position);
+            position += 4;
+            final List<String> columnNames = new ArrayList<>(numColumns);
+            for ( int i = 0; i < numColumns; i++ ) {
+                final byte[] nameBytes = new byte[headerStrings.getInt(position)];
+                position = readBytes(headerStrings, position + 4, nameBytes);
+                columnNames.add(new String(nameBytes, StandardCharsets.UTF_8));
+            }
+
+            final ByteBuffer buckets = channel.map(FileChannel.MapMode.READ_ONLY, bucketsStart, (long) numBuckets * Long.BYTES);
+            final long rowsLength = bucketsStart - rowsStart;
+            final ByteBuffer[] rowSegments = new ByteBuffer[(int) ((rowsLength + segmentSize - 1) / segmentSize)];
+            for ( int i = 0; i < rowSegments.length; i++ ) {
+                final long segmentStart = (long) i * segmentSize;
+                rowSegments[i] = channel.map(FileChannel.MapMode.READ_ONLY, rowsStart + segmentStart, Math.min(segmentSize, rowsLength - segmentStart));
+            }
+
+            // The mappings stay valid after the channel is closed:
+            return new SimpleKeyXsvIndex(columnNames, segmentSize, numBuckets, buckets, rowSegments, keyCacheSize);
+        }
+        catch ( final IOException ex ) {
+            throw new UserException.CouldNotReadInputFile(indexPath, ex);
+        }
+    }
+
+    /**
+     * @return The names of the columns of the rows in this index.
+     */
+    List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    /**
+     * @param key The key to look up.  Must not be {@code null}.
+     * @return The (unmodifiable) row for the given key, or {@code null} if the key is not in the index.
+     */
+    List<String> get(final String key) {
+        Utils.nonNull(key);
+        synchronized (rowCache) {
+            final List<String> cached = rowCache.get(key);
+            if ( cached != null ) {
+                return cached == NOT_IN_INDEX ? null : cached;
+            }
+        }
+        final List<String> row = lookUp(key);
+        synchronized (rowCache) {
+            rowCache.put(key, row == null ? NOT_IN_INDEX : row);
+        }
+        return row;
+    }
+
+    private List<String> lookUp(final String key) {
+        final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        for ( int bucket = hash(key) & (numBuckets - 1); ; bucket = (bucket + 1) & (numBuckets - 1) ) {
+            final long entry = buckets.getLong(bucket * Long.BYTES);
+            if ( entry == 0 ) {
+                return null;
+            }
+            final long rowOffset = entry - 1;
+            final ByteBuffer segment = rowSegments[(int) (rowOffset / segmentSize)];
+            int position = (int) (rowOffset % segmentSize);
+            if ( keyMatches(segment, position, keyBytes) ) {
+                position += 4 + keyBytes.length;
+                final String[] values = new String[segment.getInt(position)];
+                position += 4;
+                for ( int i = 0; i < values.length; i++ ) {
+                    final byte[] valueBytes = new byte[segment.getInt(position)];
+                    position = readBytes(segment, position + 4, valueBytes);
+                    values[i] = new String(valueBytes, StandardCharsets.UTF_8);
+                }
+                return Collections.unmodifiableList(Arrays.asList(values));
+            }
+        }
+    }
+
+    private static boolean keyMatches(final ByteBuffer segment, final int position, final byte[] keyBytes) {
+        if ( segment.getInt(position) != keyBytes.length ) {
+            return false;
+        }
+        for ( int i = 0; i < keyBytes.length; i++ ) {
+            if ( segment.get(position + 4 + i) != keyBytes[i] ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int readBytes(final ByteBuffer buffer, final int position, final byte[] bytes) {
+        for ( int i = 0; i < bytes.length; i++ ) {
+            bytes[i] = buffer.get(position + i);
+        }
+        return position + bytes.length;
+    }
+
+    /**
+     * {@link String#hashCode()} is specified, so the hash is the same in every JVM that reads the index.
+     */
+    private static int hash(final String key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Writes a {@link SimpleKeyXsvIndex} one row at a time.  The index is written to a temporary file next to its
+     * final location and only moved into place by {@link #finish}, so an interrupted build never leaves a partial index
+     * behind, and concurrent builds of the same index do not interfere.
+     *
+     * Only the keys and the locations of their rows are kept in memory while writing.  If a key is added more than
+     * once, the last row added for it is kept.
+     */
+    static final class Writer implements AutoCloseable {
+        private final Path indexPath;
+        private final Path xsvPath;
+        private final Path temporaryPath;
+        private final int segmentSize;
+        private final DataOutputStream out;
+        private final Map<String, Long> rowOffsets = new HashMap<>();
+        private final long rowsStart;
+        private long rowsLength = 0;
+        private boolean finished = false;
+
+        /**
+         * @param indexPath {@link Path} to which to write the index.  Must be a local file.  Must not be {@code null}.
+         * @param xsvPath {@link Path} to the XSV file from which the index is built.  Must not be {@code null}.
+         * @param description Description of how the XSV file is parsed, which must match when the index is opened.  Must not be {@code null}.
+         * @param columnNames Names of the columns of the rows to be added.  Must not be {@code null}.
+         */
+        Writer(final Path indexPath, final Path xsvPath, final String description, final List<String> columnNames) {
+            this(indexPath, xsvPath, description, columnNames, DEFAULT_SEGMENT_SIZE);
+        }
+
+        /**
+         * @param segmentSize Size of the segments in which the rows are mapped.  Must be positive.
+         */
+        Writer(final Path indexPath, final Path xsvPath, final String description, final List<String> columnNames, final int segmentSize) {
+            this.indexPath = Utils.nonNull(indexPath);
+            this.xsvPath = Utils.nonNull(xsvPath);
+            Utils.nonNull(description);
+            Utils.nonNull(columnNames);
+            this.segmentSize = ParamUtils.isPositive(segmentSize, "The segment size must be positive.");
+
+            try {
+                final Path directory = indexPath.toAbsolutePath().getParent();
+                temporaryPath = Files.createTempFile(directory, indexPath.getFileName().toString(), ".tmp");
+                out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryPath)));
+
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(Files.size(xsvPath));
+                out.writeLong(Files.getLastModifiedTime(xsvPath).toMillis());
+                out.writeInt(segmentSize);
+                // The number of buckets and the start of the buckets are filled in by finish():
+                out.writeInt(0);
+                out.writeLong(0);
+
+                long position = FIXED_HEADER_SIZE + 4 + description.getBytes(StandardCharsets.UTF_8).length + 4;
+                for ( final String columnName : columnNames ) {
+                    position += 4 + columnName.getBytes(StandardCharsets.UTF_8).length;
+                }
+                rowsStart = position;
+                out.writeLong(rowsStart);
+
+                writeString(description);
+                out.writeInt(columnNames.size());
+                for ( final String columnName : columnNames ) {
+                    writeString(columnName);
+                }
+            }
+            catch ( final IOException ex ) {
+                throw new UserException.CouldNotCreateOutputFile(indexPath.toUri().toString(), "Could not write simple-key XSV index", ex);
+            }
+        }
+
+        /**
+         * @param key Key of the row.  Must not be {@code null}.
+         * @param row Values in the row.  Must not be {@code null}.
+         */
+        void add(final String key, final List<String> row) {
+            Utils.nonNull(key);
+            Utils.nonNull(row);
+
+            final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            final List<byte[]> valueBytes = new ArrayList<>(row.size());
+            long size = 4 + keyBytes.length + 4;
+            for ( final String value : row ) {
+                final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                valueBytes.add(bytes);
+                size += 4 + bytes.length;
+            }
+            if ( size > segmentSize ) {
+                throw new UserException.MalformedFile(xsvPath, "The row for key " + key + " is too large to index (" + size + " bytes)");
+            }
+
+            try {
+                // Start the row in the next segment if it would cross into it:
+                final long positionInSegment = rowsLength % segmentSize;
+                if ( positionInSegment + size > segmentSize ) {
+                    for ( long i = positionInSegment; i < segmentSize; i++ ) {
+                        out.writeByte(0);
+                    }
+                    rowsLength += segmentSize - positionInSegment;
+                }
+
+                rowOffsets.put(key, rowsLength);
+                out.writeInt(keyBytes.length);
+                out.write(keyBytes);
+                out.writeInt(valueBytes.size());
+                for ( final byte[] bytes : valueBytes ) {
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+                rowsLength += size;
+            }
+            catch ( final IOException ex ) {
+                throw new UserException.CouldNotCreateOutputFile(indexPath.toUri().toString(), "Could not write simple-key XSV index", ex);
+            }
+        }
+
+        /**
+         * Writes the hash table and moves the finished index into place.
+         */
+        void finish() {
+            Utils.validate(!finished, "The index has already been finished.");
+
+            // At most half full, so that probe sequences stay short:
+            int numBuckets = 2;
+            while ( numBuckets < 2L * rowOffsets.size() ) {
+                numBuckets <<= 1;
+                if ( numBuckets > Integer.MAX_VALUE / Long.BYTES ) {
+                    throw new GATKException("Too many keys to index: " + rowOffsets.size());
+                }
+            }
+            final long[] buckets = new long[numBuckets];
+            for ( final Map.Entry<String, Long> entry : rowOffsets.entrySet() ) {
+                int bucket = hash(entry.getKey()) & (numBuckets - 1);
+                while ( buckets[bucket] != 0 ) {
+                    bucket = (bucket + 1) & (numBuckets - 1);
+                }
+                buckets[bucket] = entry.getValue() + 1;
+            }
+
+            try {
+                for ( final long bucket : buckets ) {
+                    out.writeLong(bucket);
+                }
+                out.close();
+
+                try ( final FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.WRITE) ) {
+                    final ByteBuffer bucketInfo = ByteBuffer.allocate(Integer.BYTES + Long.BYTES);
+                    bucketInfo.putInt(numBuckets).putLong(rowsStart + rowsLength).flip();
+                    channel.write(bucketInfo, NUM_BUCKETS_OFFSET);
+                }
+                Files.move(temporaryPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                finished = true;
+            }
+            catch ( final IOException ex ) {
+                throw new UserException.CouldNotCreateOutputFile(indexPath.toUri().toString(), "Could not write simple-key XSV index", ex);
+            }
+        }
+
+        /**
+         * Discards the index if it was not finished.
+         */
+        @Override
+        public void close() {
+            if ( !finished ) {
+                try {
+                    out.close();
+                    Files.deleteIfExists(temporaryPath);
+                }
+                catch ( final IOException ex ) {
+                    throw new GATKException("Could not delete partial simple-key XSV index " + temporaryPath.toUri(), ex);
+                }
+            }
+        }
+
+        private void writeString(final String s) throws IOException {
+            final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+}
@@ -8,6 +8,7 @@ public final class GenomicsDBConstants {
     public static final String DEFAULT_VIDMAP_FILE_NAME = "vidmap.json";
     public static final String DEFAULT_CALLSETMAP_FILE_NAME = "callset.json";
     public static final String DEFAULT_VCFHEADER_FILE_NAME = "vcfheader.vcf";
+    public static final String DEFAULT_VARIANT_SITE_INDEX_FILE_NAME = "variant_sites.idx";
 
     /**
      * Don't instantiate a utility class
@@ -1,7 +1,9 @@
 package org.broadinstitute.hellbender.tools.genomicsdb;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import htsjdk.samtools.SAMSequenceDictionary;
+import htsjdk.samtools.util.CloserUtil;
 import htsjdk.samtools.util.Locatable;
 import htsjdk.samtools.util.Interval;
 import htsjdk.samtools.util.IntervalList;
@@ -152,6 +154,7 @@ import java.net.URISyntaxException;
  *     <li>The --genomicsdb-update-workspace-path must point to a existing genomicsdb workspace</li>
  *     <li>Either --genomicsdb-workspace-path or genomicsdb-update-workspace-path must be specified</li>
  *     <li>GenomicsDBImport uses temporary disk storage during import. The amount of temporary disk storage required can exceed the space available, especially when specifying a large number of intervals. The command line argument `--tmp-dir` can be used to specify an alternate temporary storage location with sufficient space..</li>
+ *     <li>If the workspace was created with --build-variant-site-index, adding samples with --genomicsdb-update-workspace-path also updates the variant site index</li>
  *     <li>It is recommended that users backup existing genomicsdb workspaces before adding new samples using --genomicsdb-update-workspace-path. If the tool fails during incremental import for any reason, the workspace may be in an inconsistent/corrupted state</li>
  * </ul>
  *
@@ -186,6 +189,8 @@ public final class GenomicsDBImport extends GATKTool {
     public static final String MERGE_INPUT_INTERVALS_LONG_NAME = "merge-input-intervals";
     public static final String VCF_INITIALIZER_THREADS_LONG_NAME = "reader-threads";
     public static final String MAX_NUM_INTERVALS_TO_IMPORT_IN_PARALLEL = "max-num-intervals-to-import-in-parallel";
+    public static final String PREFETCH_NEXT_BATCH_LONG_NAME = "prefetch-next-batch";
+    public static final String BUILD_VARIANT_SITE_INDEX_LONG_NAME = "build-variant-site-index";
     public static final int INTERVAL_LIST_SIZE_WARNING_THRESHOLD = 100;
 
     @Argument(fullName = WORKSPACE_ARG_LONG_NAME,
@@ -314,9 +319,36 @@ public final class GenomicsDBImport extends GATKTool {
             minValue = 1)
     private int maxNumIntervalsToImportInParallel = 1;
 
-    //executor service used when vcfInitializerThreads > 1
+    @Advanced
+    @Argument(fullName = PREFETCH_NEXT_BATCH_LONG_NAME,
+            doc = "Open the readers for the next batch of samples, using the " + VCF_INITIALIZER_THREADS_LONG_NAME +
+                    " threads, while the current batch is being imported, so that there is no wait between batches. " +
+                    "This doubles the number of readers (and file handles and prefetch buffers) open at once, " +
+                    "so consider halving " + BATCHSIZE_ARG_LONG_NAME + ". Not supported when running with multiple intervals.",
+            optional = true)
+    private boolean prefetchNextBatch = false;
+
+    /**
+     * Record the positions at which any sample has a variant (i.e., a record with an alternate allele other than
+     * {@code <NON_REF>}) in the workspace, so that GenotypeGVCFs can be run with --use-variant-site-index to query
+     * GenomicsDB at only those sites.  When samples are added to a workspace that has a variant site index, the
+     * index is always updated.
+     */
+    @Argument(fullName = BUILD_VARIANT_SITE_INDEX_LONG_NAME,
+            doc = "Build an index of the variant sites in the workspace, for use by GenotypeGVCFs",
+            optional = true)
+    private boolean buildVariantSiteIndex = false;
+
+    //accumulates the variant sites being imported when building or updating a variant site index
+    private GenomicsDBVariantSiteIndex.Builder variantSiteIndexBuilder;
+
+    //executor service used when vcfInitializerThreads > 1 or prefetchNextBatch is set
     private ExecutorService inputPreloadExecutorService;
 
+    //readers being opened for the next batch when prefetchNextBatch is set, and the index of its first sample
+    private Map<String, Future<FeatureReader<VariantContext>>> nextBatchReaderFutures;
+    private int nextBatchLowerSampleIndex = -1;
+
     /**
      * Get the largest interval per contig that contains the intervals specified on the command line.
      * @param getIntervals intervals to be transformed
@@ -616,11 +648,30 @@ public final class GenomicsDBImport extends GATKTool {
             logger.info("Complete VCF Header will be written to " + vcfHeaderFile);
             logger.info("Importing to array - " + workspaceDir + "/" + GenomicsDBConstants.DEFAULT_ARRAY_NAME);
         }
+        initializeVariantSiteIndexBuilder(workspaceDir);
         initializeInputPreloadExecutorService();
     }
 
+    private void initializeVariantSiteIndexBuilder(final String workspaceDir) {
+        final boolean hasVariantSiteIndex = doIncrementalImport && GenomicsDBVariantSiteIndex.exists(workspaceDir);
+        if (buildVariantSiteIndex && doIncrementalImport && !hasVariantSiteIndex) {
+            throw new UserException("Cannot build a variant site index while adding samples to a workspace that was " +
+                    "created without one: the sites of the existing samples are unknown. Re-create the workspace with --" +
+                    BUILD_VARIANT_SITE_INDEX_LONG_NAME + " instead.");
+        }
+        if (buildVariantSiteIndex || hasVariantSiteIndex) {
+            variantSiteIndexBuilder = new GenomicsDBVariantSiteIndex.Builder(intervals);
+            if (hasVariantSiteIndex) {
+                logger.info("Variant site index will be updated in " + GenomicsDBVariantSiteIndex.getIndexPath(workspaceDir));
+                variantSiteIndexBuilder.addAll(GenomicsDBVariantSiteIndex.read(workspaceDir));
+            } else {
+                logger.info("Variant site index will be written to " + GenomicsDBVariantSiteIndex.getIndexPath(workspaceDir));
+            }
+        }
+    }
+
     private void initializeInputPreloadExecutorService() {
-        if( vcfInitializerThreads > 1) {
+        if( vcfInitializerThreads > 1 || prefetchNextBatch ) {
             if( intervals.size() == 1) {
                 final ThreadFactory threadFactory = new ThreadFactoryBuilder()
                     .setNameFormat("readerInitializer-thread-%d")
@@ -629,8 +680,8 @@ public final class GenomicsDBImport extends GATKTool {
                 this.inputPreloadExecutorService = Executors.newFixedThreadPool(vcfInitializerThreads, threadFactory);
             }
             else {
-                logger.warn("GenomicsDBImport cannot use multiple VCF reader threads for initialization when the "
-                    + "number of intervals is greater than 1. Falling back to serial VCF reader initialization.");
+                logger.warn("GenomicsDBImport cannot use multiple VCF reader threads for initialization or prefetch "
+                    + "the next batch when the number of intervals is greater than 1. Falling back to serial VCF reader initialization.");
                 inputPreloadExecutorService = null;
             }
         } else {
@@ -732,6 +783,11 @@ public final class GenomicsDBImport extends GATKTool {
             // Modify importer directly from updateImportProtobufVidMapping.
             org.broadinstitute.hellbender.tools.genomicsdb.GenomicsDBUtils.updateImportProtobufVidMapping(importer);
             importer.executeImport(maxNumIntervalsToImportInParallel);
+            if (variantSiteIndexBuilder != null) {
+                final GenomicsDBVariantSiteIndex variantSiteIndex = variantSiteIndexBuilder.build();
+                variantSiteIndex.write(BucketUtils.makeFilePathAbsolute(workspace));
+                logger.info("Wrote variant site index with " + variantSiteIndex.size() + " sites");
+            }
         } catch (final IOException e) {
             throw new UserException("Error initializing GenomicsDBImporter", e);
         } catch (final IllegalArgumentException iae) {
@@ -762,22 +818,24 @@ public final class GenomicsDBImport extends GATKTool {
      * @param lowerSampleIndex  0-based Lower bound of sample index -- inclusive
      * @return  Feature readers to be imported in the current batch, sorted by sample name
      */
-    private SortedMap<String, FeatureReader<VariantContext>> getFeatureReadersInParallel(
+    private synchronized SortedMap<String, FeatureReader<VariantContext>> getFeatureReadersInParallel(
             final SortedMap<String, URI> sampleNametoPath, final int batchSize, final int lowerSampleIndex) {
         final SortedMap<String, FeatureReader<VariantContext>> sampleToReaderMap = new TreeMap<>();
-        logger.info("Starting batch input file preload");
-        final Map<String, Future<FeatureReader<VariantContext>>> futures = new LinkedHashMap<>();
-        final List<String> sampleNames = new ArrayList<>(sampleNametoPath.keySet());
-        for(int i = lowerSampleIndex; i < sampleNametoPath.size() && i < lowerSampleIndex+batchSize; ++i) {
-            final String sampleName = sampleNames.get(i);
-            futures.put(sampleName, inputPreloadExecutorService.submit(() -> {
-                final Path variantPath = IOUtils.getPath(sampleNametoPath.get(sampleName).toString());
-                try {
-                    return new InitializedQueryWrapper(getReaderFromPath(variantPath), intervals.get(0));
-                } catch (final IOException e) {
-                    throw new UserException.CouldNotReadInputFile("Couldn't read file: " + variantPath.toUri(), e);
-                }
-            }));
+        final Map<String, Future<FeatureReader<VariantContext>>> futures;
+        if ( nextBatchReaderFutures != null && nextBatchLowerSampleIndex == lowerSampleIndex ) {
+            logger.info("Using readers prefetched for batch " + this.batchCount);
+            futures = nextBatchReaderFutures;
+            nextBatchReaderFutures = null;
+        } else {
+            closeNextBatchReaders();
+            logger.info("Starting batch input file preload");
+            futures = submitReaderInitialization(sampleNametoPath, batchSize, lowerSampleIndex);
+        }
+
+        // queued behind the current batch, so that its readers are opened while the current batch is imported
+        if ( prefetchNextBatch && lowerSampleIndex + batchSize < sampleNametoPath.size() ) {
+            nextBatchLowerSampleIndex = lowerSampleIndex + batchSize;
+            nextBatchReaderFutures = submitReaderInitialization(sampleNametoPath, batchSize, nextBatchLowerSampleIndex);
         }
 
         futures.forEach((sampleName, future) -> {
@@ -794,6 +852,46 @@ public final class GenomicsDBImport extends GATKTool {
         return sampleToReaderMap;
     }
 
+    private Map<String, Future<FeatureReader<VariantContext>>> submitReaderInitialization(
+            final SortedMap<String, URI> sampleNametoPath, final int batchSize, final int lowerSampleIndex) {
+        final Map<String, Future<FeatureReader<VariantContext>>> futures = new LinkedHashMap<>();
+        final List<String> sampleNames = new ArrayList<>(sampleNametoPath.keySet());
+        for(int i = lowerSampleIndex; i < sampleNametoPath.size() && i < lowerSampleIndex+batchSize; ++i) {
+            final String sampleName = sampleNames.get(i);
+            final ReaderInitializationTask task = new ReaderInitializationTask(() -> {
+                final Path variantPath = IOUtils.getPath(sampleNametoPath.get(sampleName).toString());
+                try {
+                    return new InitializedQueryWrapper(getReaderFromPath(variantPath), intervals.get(0));
+                } catch (final IOException e) {
+                    throw new UserException.CouldNotReadInputFile("Couldn't read file: " + variantPath.toUri(), e);
+                }
+            });
+            inputPreloadExecutorService.execute(task);
+            futures.put(sampleName, task);
+        }
+        return futures;
+    }
+
+    /**
+     * Closes any readers opened for the next batch that will not be used, and cancels the initialization of the rest
+     * (a reader whose initialization was already running when cancelled is closed by its {@link ReaderInitializationTask}).
+     */
+    private synchronized void closeNextBatchReaders() {
+        if ( nextBatchReaderFutures == null ) {
+            return;
+        }
+        for ( final Future<FeatureReader<VariantContext>> future : nextBatchReaderFutures.values() ) {
+            if ( !future.cancel(true) ) {
+                try {
+                    future.get().close();
+                } catch (final InterruptedException | ExecutionException | IOException e) {
+                    logger.warn("Failure while closing a prefetched reader", e);
+                }
+            }
+        }
+        nextBatchReaderFutures = null;
+    }
+
     private SortedMap<String, FeatureReader<VariantContext>> getFeatureReadersSerially(final Map<String, URI> sampleNameToPath,
                                                                                  final int batchSize, final int lowerSampleIndex){
         final SortedMap<String, FeatureReader<VariantContext>> sampleToReaderMap = new TreeMap<>();
@@ -821,10 +919,10 @@ public final class GenomicsDBImport extends GATKTool {
             final FeatureReader<VariantContext> reader = AbstractFeatureReader.getFeatureReader(variantURI, null, new VCFCodec(), true, cloudWrapper, cloudIndexWrapper);
 
             /* Anonymous FeatureReader subclass that wraps returned iterators to ensure that the GVCFs do not
-             * contain MNPs.
+             * contain MNPs, and to record variant sites when building a variant site index.
              */
             return new FeatureReader<VariantContext>() {
-                /** Iterator that asserts that variants are not MNPs. */
+                /** Iterator that asserts that variants are not MNPs, and records variant sites. */
                 class NoMnpIterator implements CloseableTribbleIterator<VariantContext> {
                     private final CloseableTribbleIterator<VariantContext> inner;
                     NoMnpIterator(CloseableTribbleIterator<VariantContext> inner) { this.inner = inner; }
@@ -841,6 +939,9 @@ public final class GenomicsDBImport extends GATKTool {
                                     vc.getContig(), vc.getStart(), variantPath.toAbsolutePath()
                             ));
                         }
+                        if (variantSiteIndexBuilder != null) {
+                            variantSiteIndexBuilder.add(vc);
+                        }
 
                         return vc;
                     }
@@ -951,6 +1052,7 @@ public final class GenomicsDBImport extends GATKTool {
 
     @Override
     public void onShutdown(){
+        closeNextBatchReaders();
         if(inputPreloadExecutorService != null) {
             inputPreloadExecutorService.shutdownNow();
         }
@@ -973,6 +1075,27 @@ public final class GenomicsDBImport extends GATKTool {
         }
     }
 
+    /**
+     * Initialization of a reader for {@link #getFeatureReadersInParallel}.  When the initialization of a prefetched
+     * batch is cancelled while this task is already running, the reader it goes on to open is never retrieved, so it
+     * is closed here instead.
+     */
+    @VisibleForTesting
+    static final class ReaderInitializationTask extends FutureTask<FeatureReader<VariantContext>> {
+        ReaderInitializationTask(final Callable<FeatureReader<VariantContext>> initializer) {
+            super(initializer);
+        }
+
+        @Override
+        protected void set(final FeatureReader<VariantContext> reader) {
+            // has no effect if the task was cancelled first, in which case no one else will close the reader
+            super.set(reader);
+            if ( isCancelled() ) {
+                CloserUtil.close(reader);
+            }
+        }
+    }
+
     /**
      * This class is a hack to force parallel loading of the headers and indexes of remote gvcf files.
      * It initializes a feature reader and starts a query.  This causes the header and index to be read, and also causes any
@@ -0,0 +1,308 @@
+package org.broadinstitute.hellbender.tools.genomicsdb;
+
+import htsjdk.variant.variantcontext.Allele;
+import htsjdk.variant.variantcontext.VariantContext;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.broadinstitute.hellbender.exceptions.UserException;
+import org.broadinstitute.hellbender.utils.SimpleInterval;
+import org.broadinstitute.hellbender.utils.Utils;
+import org.broadinstitute.hellbender.utils.io.IOUtils;
+import org.broadinstitute.hellbender.utils.param.ParamUtils;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+
+/**
+ * The positions in a GenomicsDB workspace at which at least one sample has a record with a real (i.e., not
+ * {@code <NON_REF>}) alternate allele.
+ * <p>
+ * The index is built by {@link GenomicsDBImport} as the input GVCFs are imported, and stored in the workspace as
+ * {@link GenomicsDBConstants#DEFAULT_VARIANT_SITE_INDEX_FILE_NAME}.  GenotypeGVCFs can use it to query GenomicsDB
+ * only around the variant sites, rather than decoding the reference blocks of every sample across the whole interval.
+ * <p>
+ * On disk, the sites of each contig are delta-encoded as variable-length integers, so the index takes roughly a byte
+ * or two per site.
+ */
+public final class GenomicsDBVariantSiteIndex {
+    private static final int MAGIC = 0x47445649; // "GDVI"
+    private static final int VERSION = 1;
+
+    private final Map<String, int[]> sitesByContig;
+
+    private GenomicsDBVariantSiteIndex( final Map<String, int[]> sitesByContig ) {
+        this.sitesByContig = sitesByContig;
+    }
+
+    /**
+     * Does this GVCF record represent a candidate variant, i.e., does it have an alternate allele other than
+     * {@code <NON_REF>}?
+     */
+    public static boolean isVariantSite( final VariantContext vc ) {
+        for ( final Allele allele : vc.getAlternateAlleles() ) {
+            if ( !allele.isNonRefAllele() ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** The path of the variant site index in the specified workspace. */
+    public static String getIndexPath( final String workspace ) {
+        return IOUtils.appendPathToDir(workspace, GenomicsDBConstants.DEFAULT_VARIANT_SITE_INDEX_FILE_NAME);
+    }
+
+    /** Does the specified workspace have a variant site index? */
+    public static boolean exists( final String workspace ) {
+        return Files.exists(IOUtils.getPath(getIndexPath(workspace)));
+    }
+
+    /**
+     * Reads the variant site index of the specified workspace.
+     */
+    public static GenomicsDBVariantSiteIndex read( final String workspace ) {
+        final String indexPath = getIndexPath(workspace);
+        try ( final DataInputStream input =
+                      new DataInputStream(new BufferedInputStream(Files.newInputStream(IOUtils.getPath(indexPath)))) ) {
+            if ( input.readInt() != MAGIC || input.readInt() != VERSION ) {
+                throw new UserException.MalformedFile("Not a GenomicsDB variant site index: " + indexPath);
+            }
+            final int nContigs = input.readInt();
+            final Map<String, int[]> sitesByContig = new LinkedHashMap<>(2 * nContigs);
+            for ( int contigIdx = 0; contigIdx != nContigs; ++contigIdx ) {
+                final String contig = input.readUTF();
+                final int[] sites = new int[input.readInt()];
+                int site = 0;
+                for ( int idx = 0; idx != sites.length; ++idx ) {
+                    site += readVarInt(input);
+                    sites[idx] = site;
+                }
+                sitesByContig.put(contig, sites);
+            }
+            return new GenomicsDBVariantSiteIndex(sitesByContig);
+        } catch ( final IOException e ) {
+            throw new UserException.CouldNotReadInputFile("Unable to read the variant site index " + indexPath, e);
+        }
+    }
+
+    /**
+     * Writes the index into the specified workspace, replacing any existing index.
+     */
+    public void write( final String workspace ) {
+        final String indexPath = getIndexPath(workspace);
+        try ( final DataOutputStream output =
+                      new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(IOUtils.getPath(indexPath)))) ) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(sitesByContig.size());
+            for ( final Map.Entry<String, int[]> entry : sitesByContig.entrySet() ) {
+                output.writeUTF(entry.getKey());
+                final int[] sites = entry.getValue();
+                output.writeInt(sites.length);
+                int lastSite = 0;
+                for ( final int site : sites ) {
+                    writeVarInt(output, site - lastSite);
+                    lastSite = site;
+                }
+            }
+        } catch ( final IOException e ) {
+            throw new UserException.CouldNotCreateOutputFile(indexPath, "Unable to write the variant site index", e);
+        }
+    }
+
+    /** The total number of variant sites. */
+    public long size() {
+        long size = 0;
+        for ( final int[] sites : sitesByContig.values() ) {
+            size += sites.length;
+        }
+        return size;
+    }
+
+    /** Is the specified position a variant site? */
+    public boolean containsSite( final String contig, final int position ) {
+        final int[] sites = sitesByContig.get(contig);
+        return sites != null && Arrays.binarySearch(sites, position) >= 0;
+    }
+
+    /**
+     * Restricts a list of intervals to the variant sites within them.
+     * Sites no more than {@code mergeDistance} bases apart are covered by a single interval, so that nearby sites
+     * can be fetched by one query.
+     *
+     * @param intervals sorted, non-overlapping intervals
+     * @param mergeDistance the largest distance between neighboring sites that are covered by the same interval
+     * @return sorted, non-overlapping intervals that cover every variant site within the input intervals (and only
+     *         the bases in between sites that are no more than {@code mergeDistance} apart)
+     */
+    public List<SimpleInterval> getSiteIntervals( final List<SimpleInterval> intervals, final int mergeDistance ) {
+        Utils.nonNull(intervals, "intervals must not be null");
+        ParamUtils.isPositiveOrZero(mergeDistance, "mergeDistance must not be negative");
+        final List<SimpleInterval> siteIntervals = new ArrayList<>();
+        for ( final SimpleInterval interval : intervals ) {
+            final int[] sites = sitesByContig.get(interval.getContig());
+            if ( sites == null ) {
+                continue;
+            }
+            final int endIdx = firstSiteAfter(sites, interval.getEnd());
+            int idx = firstSiteAfter(sites, interval.getStart() - 1);
+            while ( idx < endIdx ) {
+                final int start = sites[idx];
+                int end = start;
+                while ( ++idx < endIdx && sites[idx] - end <= mergeDistance ) {
+                    end = sites[idx];
+                }
+                siteIntervals.add(new SimpleInterval(interval.getContig(), start, end));
+            }
+        }
+        return siteIntervals;
+    }
+
+    /** The index of the first site greater than the specified position. */
+    private static int firstSiteAfter( final int[] sites, final int position ) {
+        int lo = 0;
+        int hi = sites.length;
+        while ( lo < hi ) {
+            final int mid = (lo + hi) >>> 1;
+            if ( sites[mid] <= position ) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static void writeVarInt( final DataOutput output, int value ) throws IOException {
+        while ( (value & ~0x7F) != 0 ) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    private static int readVarInt( final DataInput input ) throws IOException {
+        int value = 0;
+        for ( int shift = 0; shift < 32; shift += 7 ) {
+            final int b = input.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ( (b & 0x80) == 0 ) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer in variant site index");
+    }
+
+    /**
+     * Accumulates the variant sites within a set of import intervals.  Records may be added from several threads
+     * concurrently, in any order.  Sites are kept sparsely, so the memory used is proportional to the number of
+     * distinct sites rather than to the length of the intervals.
+     */
+    public static final class Builder {
+        private final Map<String, List<SimpleInterval>> intervalsByContig = new LinkedHashMap<>();
+        private final Map<String, IntervalSites[]> sitesByContig = new HashMap<>();
+
+        /**
+         * @param intervals the import intervals, which must not overlap.  Sites outside of them are ignored.
+         */
+        public Builder( final List<SimpleInterval> intervals ) {
+            Utils.nonNull(intervals, "intervals must not be null");
+            for ( final SimpleInterval interval : intervals ) {
+                intervalsByContig.computeIfAbsent(interval.getContig(), contig -> new ArrayList<>()).add(interval);
+            }
+            intervalsByContig.forEach(( contig, contigIntervals ) -> {
+                contigIntervals.sort(Comparator.comparingInt(SimpleInterval::getStart));
+                final IntervalSites[] sites = new IntervalSites[contigIntervals.size()];
+                for ( int idx = 0; idx != sites.length; ++idx ) {
+                    sites[idx] = new IntervalSites();
+                }
+                sitesByContig.put(contig, sites);
+            });
+        }
+
+        /**
+         * Records the start of the specified GVCF record, if it is a variant site.  A variant that starts before an
+         * import interval and extends into it is recorded at the start of the interval, so that it is fetched when
+         * genotyping that interval.
+         */
+        public void add( final VariantContext vc ) {
+            if ( isVariantSite(vc) ) {
+                addSite(vc.getContig(), vc.getStart(), vc.getEnd());
+            }
+        }
+
+        /** Records all of the sites in an existing index (e.g., when adding samples to a workspace). */
+        public void addAll( final GenomicsDBVariantSiteIndex index ) {
+            Utils.nonNull(index, "index must not be null");
+            index.sitesByContig.forEach(( contig, sites ) -> {
+                for ( final int site : sites ) {
+                    addSite(contig, site, site);
+                }
+            });
+        }
+
+        private void addSite( final String contig, final int start, final int end ) {
+            final List<SimpleInterval> contigIntervals = intervalsByContig.get(contig);
+            if ( contigIntervals == null ) {
+                return;
+            }
+            // the first interval that ends at or after the start of the record
+            int lo = 0;
+            int hi = contigIntervals.size();
+            while ( lo < hi ) {
+                final int mid = (lo + hi) >>> 1;
+                if ( contigIntervals.get(mid).getEnd() < start ) lo = mid + 1;
+                else hi = mid;
+            }
+            if ( lo < contigIntervals.size() && contigIntervals.get(lo).getStart() <= end ) {
+                sitesByContig.get(contig)[lo].add(Math.max(start, contigIntervals.get(lo).getStart()));
+            }
+        }
+
+        public GenomicsDBVariantSiteIndex build() {
+            final Map<String, int[]> sites = new LinkedHashMap<>(2 * intervalsByContig.size());
+            // the intervals of each contig are sorted and do not overlap, so their sites are in order
+            intervalsByContig.keySet().forEach(contig -> sites.put(contig, Arrays.stream(sitesByContig.get(contig))
+                    .flatMapToInt(intervalSites -> Arrays.stream(intervalSites.toSortedArray()))
+                    .toArray()));
+            return new GenomicsDBVariantSiteIndex(sites);
+        }
+    }
+
+    /**
+     * The distinct sites within one import interval.  Sites are appended as they are added, and the list is sorted
+     * and de-duplicated whenever it has doubled in size, so that it holds at most about twice the distinct sites.
+     */
+    private static final class IntervalSites {
+        private static final int MIN_SIZE_TO_COMPACT = 1024;
+
+        private final IntArrayList sites = new IntArrayList();
+        private int sizeToCompact = MIN_SIZE_TO_COMPACT;
+
+        synchronized void add( final int site ) {
+            // each sample's records arrive in order, so consecutive duplicates are common and cheap to skip
+            if ( !sites.isEmpty() && sites.getInt(sites.size() - 1) == site ) {
+                return;
+            }
+            sites.add(site);
+            if ( sites.size() >= sizeToCompact ) {
+                compact();
+                sizeToCompact = Math.max(MIN_SIZE_TO_COMPACT, 2 * sites.size());
+            }
+        }
+
+        synchronized int[] toSortedArray() {
+            compact();
+            return sites.toIntArray();
+        }
+
+        private void compact() {
+            final int[] elements = sites.elements();
+            Arrays.sort(elements, 0, sites.size());
+            int nDistinct = 0;
+            for ( int idx = 0; idx != sites.size(); ++idx ) {
+                if ( nDistinct == 0 || elements[idx] != elements[nDistinct - 1] ) {
+                    elements[nDistinct++] = elements[idx];
+                }
+            }
+            sites.size(nDistinct);
+        }
+    }
+}
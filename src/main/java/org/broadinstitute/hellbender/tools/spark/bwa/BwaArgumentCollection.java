@@ -1,5 +1,6 @@
 package org.broadinstitute.hellbender.tools.spark.bwa;
 
+import org.broadinstitute.barclay.argparser.Advanced;
 import org.broadinstitute.barclay.argparser.Argument;
 import org.broadinstitute.hellbender.tools.BwaMemIndexImageCreator;
 
@@ -15,6 +16,8 @@ public class BwaArgumentCollection implements Serializable {
     public static final String SINGLE_END_ALIGNMENT_SHORT_NAME = "se";
     public static final String BWA_MEM_INDEX_IMAGE_FULL_NAME = "bwa-mem-index-image";
     public static final String BWA_MEM_INDEX_IMAGE_SHORT_NAME = "image";
+    public static final String WARM_UP_BWA_MEM_INDEX_FULL_NAME = "warm-up-bwa-mem-index";
+    public static final String BASES_PER_BATCH_FULL_NAME = "bwa-bases-per-batch";
 
     /**
      * The BWA-MEM index image file name that you've distributed to each executor. The image file can be generated using
@@ -35,4 +38,28 @@ public class BwaArgumentCollection implements Serializable {
             shortName = SINGLE_END_ALIGNMENT_SHORT_NAME,
             optional = true)
     public boolean singleEndAlignment = false;
+
+    /**
+     * Load the BWA-MEM index image on each executor, and read through it once so that its pages are resident, before
+     * any reads are aligned.  This moves the cost of loading the image out of the first alignment tasks and logs the
+     * load times, but adds a Spark job and reads the whole image from disk on every executor, so it only pays off when
+     * the image is not already in the page cache and the alignment is long enough to amortize the extra job.
+     */
+    @Advanced
+    @Argument(doc = "Load and read through the BWA-MEM index image on each executor before aligning",
+            fullName = WARM_UP_BWA_MEM_INDEX_FULL_NAME,
+            optional = true)
+    public boolean warmUpIndex = false;
+
+    /**
+     * The number of input bases that BWA-MEM aligns in each batch, like the -K option of bwa mem.  Paired-end alignment
+     * estimates the insert size distribution from each batch, so the alignments depend on this value (but not on the
+     * number of threads per task).  Larger batches use more memory.
+     */
+    @Advanced
+    @Argument(doc = "Number of input bases to align in each batch",
+            fullName = BASES_PER_BATCH_FULL_NAME,
+            minValue = 1,
+            optional = true)
+    public long basesPerBatch = BwaSparkEngine.DEFAULT_BASES_PER_BATCH;
 }
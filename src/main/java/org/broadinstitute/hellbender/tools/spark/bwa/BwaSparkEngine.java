@@ -1,5 +1,6 @@
 package org.broadinstitute.hellbender.tools.spark.bwa;
 
+import com.google.common.annotations.VisibleForTesting;
 import htsjdk.samtools.SAMFileHeader;
 import htsjdk.samtools.SAMRecord;
 import htsjdk.samtools.SAMSequenceDictionary;
@@ -12,6 +13,7 @@ import org.broadinstitute.hellbender.exceptions.UserException;
 import org.broadinstitute.hellbender.utils.Utils;
 import org.broadinstitute.hellbender.utils.bwa.*;
 import org.broadinstitute.hellbender.utils.io.IOUtils;
+import org.broadinstitute.hellbender.utils.param.ParamUtils;
 import org.broadinstitute.hellbender.utils.read.GATKRead;
 import org.broadinstitute.hellbender.utils.read.SAMRecordToGATKReadAdapter;
 
@@ -30,10 +32,12 @@ import java.util.*;
  */
 public final class BwaSparkEngine implements AutoCloseable {
     private static final String REFERENCE_INDEX_IMAGE_FILE_SUFFIX = ".img";
+    public static final long DEFAULT_BASES_PER_BATCH = 10000000L;
     private final JavaSparkContext ctx;
     private final String indexFileName;
     private final boolean resolveIndexFileName;
     private final Broadcast<SAMFileHeader> broadcastHeader;
+    private final long basesPerBatch;
 
     /**
      * @param ctx           the Spark context
@@ -48,9 +52,22 @@ public final class BwaSparkEngine implements AutoCloseable {
                           final String indexFileName,
                           SAMFileHeader inputHeader,
                           final SAMSequenceDictionary refDictionary) {
+        this(ctx, referenceFile, indexFileName, inputHeader, refDictionary, DEFAULT_BASES_PER_BATCH);
+    }
+
+    /**
+     * @param basesPerBatch the number of input bases aligned in each batch (see {@link ReadAligner})
+     */
+    public BwaSparkEngine(final JavaSparkContext ctx,
+                          final String referenceFile,
+                          final String indexFileName,
+                          SAMFileHeader inputHeader,
+                          final SAMSequenceDictionary refDictionary,
+                          final long basesPerBatch) {
         Utils.nonNull(referenceFile);
         Utils.nonNull(inputHeader);
         this.ctx = ctx;
+        this.basesPerBatch = ParamUtils.isPositive(basesPerBatch, "the number of bases per batch must be positive");
         if (indexFileName != null) {
             this.indexFileName = indexFileName;
             this.resolveIndexFileName = false;
@@ -71,6 +88,14 @@ public final class BwaSparkEngine implements AutoCloseable {
 
     public SAMFileHeader getHeader() { return broadcastHeader.getValue(); }
 
+    /**
+     * Loads the index image on the executors before any reads are aligned, so that the first alignment tasks do not
+     * wait for it.  Optional.
+     */
+    public void warmUp() {
+        BwaMemIndexCache.warmUpDistributedInstances(ctx, indexFileName, resolveIndexFileName);
+    }
+
     /**
      * Performs pair-end alignment on a RDD.
      * @param unalignedReads the read-pairs to align.
@@ -100,8 +125,10 @@ public final class BwaSparkEngine implements AutoCloseable {
         final Broadcast<SAMFileHeader> broadcastHeader = this.broadcastHeader;
         final String indexFileName = this.indexFileName;
         final boolean resolveIndexFileName = this.resolveIndexFileName;
+        final long basesPerBatch = this.basesPerBatch;
+        final int nThreads = ctx.getConf().getInt("spark.task.cpus", 1);
         return unalignedReads.mapPartitions(itr ->
-                new ReadAligner(resolveIndexFileName ? SparkFiles.get(indexFileName) : indexFileName, broadcastHeader.value(), pairedAlignment).apply(itr));
+                new ReadAligner(resolveIndexFileName ? SparkFiles.get(indexFileName) : indexFileName, broadcastHeader.value(), pairedAlignment, nThreads, basesPerBatch).apply(itr));
     }
 
     @Override
@@ -110,28 +137,88 @@ public final class BwaSparkEngine implements AutoCloseable {
         BwaMemIndexCache.closeAllDistributedInstances(ctx);
     }
 
-    private static final class ReadAligner {
+    /**
+     * Aligns the reads of a partition a batch at a time.  A batch is sized by its number of bases, rather than its
+     * number of reads, so that the time and memory it takes do not depend on read length.  As with the -K option of
+     * bwa mem, the size of a batch does not depend on the number of threads: paired-end alignment estimates the insert
+     * size distribution from each batch, so the alignments would otherwise change with spark.task.cpus.  (For the same
+     * reason, batches must not be too small.)
+     */
+    @VisibleForTesting
+    static final class ReadAligner {
+
         private final BwaMemIndex bwaMemIndex;
         private final SAMFileHeader readsHeader;
         private final boolean alignsPairs;
+        private final int nThreads;
+        private final long basesPerBatch;
 
-        // assumes 128Mb partitions, with reads needing about 100bytes each when BAM compressed
-        private static final int READS_PER_PARTITION_GUESS = 1500000;
+        ReadAligner( final String indexFileName, final SAMFileHeader readsHeader, final boolean alignsPairs,
+                     final int nThreads ) {
+            this(indexFileName, readsHeader, alignsPairs, nThreads, DEFAULT_BASES_PER_BATCH);
+        }
 
-        ReadAligner( final String indexFileName, final SAMFileHeader readsHeader, final boolean alignsPairs) {
+        @VisibleForTesting
+        ReadAligner( final String indexFileName, final SAMFileHeader readsHeader, final boolean alignsPairs,
+                     final int nThreads, final long basesPerBatch ) {
             this.bwaMemIndex = BwaMemIndexCache.getInstance(indexFileName);
             this.readsHeader = readsHeader;
             this.alignsPairs = alignsPairs;
+            this.nThreads = ParamUtils.isPositive(nThreads, "the number of threads must be positive");
+            this.basesPerBatch = ParamUtils.isPositive(basesPerBatch, "the number of bases per batch must be positive");
             if ( alignsPairs && readsHeader.getSortOrder() != SAMFileHeader.SortOrder.queryname ) {
                 throw new UserException("Input must be queryname sorted unless you use single-ended alignment mode.");
             }
         }
 
         Iterator<GATKRead> apply( final Iterator<GATKRead> readItr ) {
-            final List<GATKRead> inputReads = new ArrayList<>(READS_PER_PARTITION_GUESS);
-            while ( readItr.hasNext() ) {
-                inputReads.add(readItr.next());
+            if ( !readItr.hasNext() ) return Collections.emptyIterator();
+            final BwaMemAligner aligner = new BwaMemAligner(bwaMemIndex);
+            // we are dealing with interleaved, paired reads.  tell BWA that they're paired.
+            if ( alignsPairs ) {
+                aligner.alignPairs();
             }
+            aligner.setNThreadsOption(nThreads);
+            final List<String> refNames = bwaMemIndex.getReferenceContigNames();
+            return new Iterator<GATKRead>() {
+                private Iterator<GATKRead> batchItr = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext() {
+                    while ( !batchItr.hasNext() && readItr.hasNext() ) {
+                        batchItr = alignBatch(aligner, refNames, nextBatch(readItr)).iterator();
+                    }
+                    return batchItr.hasNext();
+                }
+
+                @Override
+                public GATKRead next() {
+                    if ( !hasNext() ) {
+                        throw new NoSuchElementException("No more aligned reads.");
+                    }
+                    return batchItr.next();
+                }
+            };
+        }
+
+        /** Takes reads until there are at least basesPerBatch bases, keeping pairs together. */
+        @VisibleForTesting
+        List<GATKRead> nextBatch( final Iterator<GATKRead> readItr ) {
+            final GATKRead firstRead = readItr.next();
+            final int readsGuess = (int)Math.min(basesPerBatch / Math.max(1, firstRead.getLength()) + 2, 10000000L);
+            final List<GATKRead> batch = new ArrayList<>(readsGuess);
+            batch.add(firstRead);
+            long nBases = firstRead.getLength();
+            while ( readItr.hasNext() && (nBases < basesPerBatch || (alignsPairs && (batch.size() & 1) != 0)) ) {
+                final GATKRead read = readItr.next();
+                batch.add(read);
+                nBases += read.getLength();
+            }
+            return batch;
+        }
+
+        private List<GATKRead> alignBatch( final BwaMemAligner aligner, final List<String> refNames,
+                                           final List<GATKRead> inputReads ) {
             final int nReads = inputReads.size();
             if ( alignsPairs ) {
                 if ( (nReads & 1) != 0 ) {
@@ -145,41 +232,36 @@ public final class BwaSparkEngine implements AutoCloseable {
                     }
                 }
             }
-            final List<List<BwaMemAlignment>> allAlignments;
-            if ( nReads == 0 ) allAlignments = Collections.emptyList();
-            else {
-                final List<byte[]> seqs = new ArrayList<>(nReads);
-                for (final GATKRead read : inputReads) {
-                    seqs.add(read.getBases());
-                }
-                final BwaMemAligner aligner = new BwaMemAligner(bwaMemIndex);
-                // we are dealing with interleaved, paired reads.  tell BWA that they're paired.
-                if (alignsPairs) {
-                    aligner.alignPairs();
-                }
-                allAlignments = aligner.alignSeqs(seqs);
+            final List<byte[]> seqs = new ArrayList<>(nReads);
+            for (final GATKRead read : inputReads) {
+                seqs.add(read.getBases());
             }
-            final List<String> refNames = bwaMemIndex.getReferenceContigNames();
-            final List<GATKRead> outputReads = new ArrayList<>(allAlignments.stream().mapToInt(List::size).sum());
+            final List<List<BwaMemAlignment>> allAlignments = aligner.alignSeqs(seqs);
+            int nOutputReads = 0;
+            for ( final List<BwaMemAlignment> alignments : allAlignments ) {
+                nOutputReads += alignments.size();
+            }
+            final List<GATKRead> outputReads = new ArrayList<>(nOutputReads);
             for ( int idx = 0; idx != nReads; ++idx ) {
                 final GATKRead originalRead = inputReads.get(idx);
                 final String readName = originalRead.getName();
-                final byte[] bases = originalRead.getBases();
+                final byte[] bases = seqs.get(idx);
                 final byte[] quals = originalRead.getBaseQualities();
                 final String readGroup = originalRead.getReadGroup();
                 final List<BwaMemAlignment> alignments = allAlignments.get(idx);
-                final Map<BwaMemAlignment,String> saTagMap = BwaMemAlignmentUtils.createSATags(alignments,refNames);
-                for ( final BwaMemAlignment alignment : alignments ) {
+                final String[] saTags = BwaMemAlignmentUtils.createSATagArray(alignments, refNames);
+                final int nAlignments = alignments.size();
+                for ( int alignmentIdx = 0; alignmentIdx != nAlignments; ++alignmentIdx ) {
                     final SAMRecord samRecord =
                             BwaMemAlignmentUtils.applyAlignment(readName, bases, quals, readGroup,
-                                                                alignment, refNames, readsHeader, false, true);
-                    final GATKRead rec = SAMRecordToGATKReadAdapter.headerlessReadAdapter(samRecord);
-                    final String saTag = saTagMap.get(alignment);
-                    if ( saTag != null ) rec.setAttribute("SA", saTag);
-                    outputReads.add(rec);
+                                                                alignments.get(alignmentIdx), refNames, readsHeader, false, true);
+                    if ( saTags.length != 0 && saTags[alignmentIdx] != null ) {
+                        BwaMemAlignmentUtils.setSATag(samRecord, saTags[alignmentIdx]);
+                    }
+                    outputReads.add(SAMRecordToGATKReadAdapter.headerlessReadAdapter(samRecord));
                 }
             }
-            return outputReads.iterator();
+            return outputReads;
         }
     }
 }
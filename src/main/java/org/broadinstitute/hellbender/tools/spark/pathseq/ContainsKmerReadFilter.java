@@ -34,16 +34,15 @@ public class ContainsKmerReadFilter extends ReadFilter {
 
     @Override
     public boolean test(final GATKRead read) {
-        final SVKmerizer kmers = new SVKmerizer(read.getBases(), kSize, 1, new SVKmerShort(kSize));
-        int numKmersFound = 0;
+        //Collect all of the read's kmers so that the library can look them up together
+        final byte[] bases = read.getBases();
+        final SVKmerizer kmers = new SVKmerizer(bases, kSize, 1, new SVKmerShort(kSize));
+        final long[] rawKmers = new long[Math.max(bases.length - kSize + 1, 0)];
+        int numKmers = 0;
         while (kmers.hasNext()) {
-            if (kmerLib.contains(((SVKmerShort)kmers.next()))) {
-                if (++numKmersFound >= kmerCountThreshold) {
-                    return false;
-                }
-            }
+            rawKmers[numKmers++] = ((SVKmerShort) kmers.next()).getLong();
         }
-        return true;
+        return !kmerLib.containsAtLeast(rawKmers, numKmers, kmerCountThreshold);
     }
 
     //Static variables can't be garbage collected until the object is unloaded
@@ -20,6 +20,14 @@ public final class PSBwaAlignerSpark implements AutoCloseable {
         this.bwaArgs = bwaArgs;
     }
 
+    /**
+     * Loads the index image on the executors before any reads are aligned, so that the first alignment tasks do not
+     * wait for it.  Optional.
+     */
+    public void warmUp() {
+        BwaMemIndexCache.warmUpDistributedInstances(ctx, bwaArgs.bwaImage, false);
+    }
+
     public JavaRDD<GATKRead> doBwaAlignment(final JavaRDD<GATKRead> reads,
                                             final boolean pairedAlignment,
                                             final Broadcast<SAMFileHeader> header) {
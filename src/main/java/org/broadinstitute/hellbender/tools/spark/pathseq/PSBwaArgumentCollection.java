@@ -1,5 +1,6 @@
 package org.broadinstitute.hellbender.tools.spark.pathseq;
 
+import org.broadinstitute.barclay.argparser.Advanced;
 import org.broadinstitute.barclay.argparser.Argument;
 
 import java.io.Serializable;
@@ -17,6 +18,7 @@ public final class PSBwaArgumentCollection implements Serializable {
     public static final String MAX_ALT_HITS_SHORT_NAME = MAX_ALT_HITS_LONG_NAME;
     public static final String SCORE_THRESHOLD_LONG_NAME = "bwa-score-threshold";
     public static final String SCORE_THRESHOLD_SHORT_NAME = SCORE_THRESHOLD_LONG_NAME;
+    public static final String WARM_UP_MICROBE_BWA_IMAGE_LONG_NAME = "warm-up-microbe-bwa-image";
 
     @Argument(doc = "Microbe reference BWA index image file generated using BwaMemIndexImageCreator. If running on a Spark cluster, this must be distributed to local disk on each node.",
             fullName = MICROBE_BWA_IMAGE_LONG_NAME,
@@ -60,6 +62,17 @@ public final class PSBwaArgumentCollection implements Serializable {
             optional = true)
     public int scoreThreshold = 30;
 
+    /**
+     * Load the microbe BWA index image on each executor, and read through it once so that its pages are resident,
+     * before any reads are aligned. This adds a Spark job and reads the whole image from disk on every executor, so it
+     * only pays off when the image is not already in the page cache.
+     */
+    @Advanced
+    @Argument(doc = "Load and read through the microbe BWA index image on each executor before aligning",
+            fullName = WARM_UP_MICROBE_BWA_IMAGE_LONG_NAME,
+            optional = true)
+    public boolean warmUpImage = false;
+
     public final int bwaThreads = 1;
 
 }
\ No newline at end of file
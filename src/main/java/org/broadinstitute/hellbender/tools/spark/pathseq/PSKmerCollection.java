@@ -12,6 +12,20 @@ public abstract class PSKmerCollection {
     abstract SVKmerShort getMask();
     abstract double getFalsePositiveProbability();
 
+    /**
+     * Returns true if at least {@code threshold} of the first {@code numKmers} kmers are in the collection.
+     * Input should not be canonicalized/masked.
+     */
+    boolean containsAtLeast(final long[] rawKmers, final int numKmers, final int threshold) {
+        int numKmersFound = 0;
+        for (int i = 0; i < numKmers && numKmersFound < threshold; i++) {
+            if (contains(new SVKmerShort(rawKmers[i]))) {
+                numKmersFound++;
+            }
+        }
+        return numKmersFound >= threshold;
+    }
+
     /**
      * Definition for the order of canonicalization and masking
      */
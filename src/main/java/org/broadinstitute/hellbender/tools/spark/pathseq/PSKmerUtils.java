@@ -11,11 +11,15 @@ import org.broadinstitute.hellbender.exceptions.UserException;
 import org.broadinstitute.hellbender.tools.spark.sv.utils.SVKmerShort;
 import org.broadinstitute.hellbender.tools.spark.sv.utils.SVKmerizer;
 import org.broadinstitute.hellbender.tools.spark.utils.LargeLongHopscotchSet;
+import org.broadinstitute.hellbender.tools.spark.utils.LongBlockedBloomFilter;
 import org.broadinstitute.hellbender.tools.spark.utils.LongBloomFilter;
 import org.broadinstitute.hellbender.utils.gcs.BucketUtils;
+import org.broadinstitute.hellbender.utils.io.IOUtils;
 import org.broadinstitute.hellbender.utils.reference.ReferenceBases;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
@@ -27,6 +31,7 @@ public class PSKmerUtils {
 
     public static final String HOPSCOTCH_SET_EXTENSION = ".hss";
     public static final String BLOOM_FILTER_EXTENSION = ".bfi";
+    public static final String BLOCKED_BLOOM_FILTER_EXTENSION = ".bbf";
     private static final Logger logger = LogManager.getLogger(PSKmerUtils.class);
 
     /**
@@ -101,6 +106,19 @@ public class PSKmerUtils {
         return bloomFilter;
     }
 
+    /**
+     * Converts a Collection of Lists of Longs's into a blocked Bloom filter
+     */
+    protected static LongBlockedBloomFilter longArrayCollectionToBlockedBloomFilter(final Collection<long[]> longs, final long numLongs, final double bloomFpp) {
+        final LongBlockedBloomFilter bloomFilter = new LongBlockedBloomFilter(numLongs, bloomFpp);
+        final ProgressCounter counter = new ProgressCounter(numLongs, 1e6, "million kmers", logger);
+        for (final long[] array : longs) {
+            bloomFilter.addAll(array);
+            counter.update(array.length);
+        }
+        return bloomFilter;
+    }
+
     /**
      * Writes an object to a URI using Kryo serialization.
      */
@@ -127,7 +145,41 @@ public class PSKmerUtils {
         writeKryoObject(bloomFilter, filePath);
     }
 
+    /**
+     * Writes a blocked Bloom filter in its memory-mappable format (see {@link #readKmerFilter}).
+     */
+    public static void writeKmerBlockedBloomFilter(final String uri, final PSKmerBlockedBloomFilter bloomFilter) {
+        String filePath = uri;
+        if (!uri.toLowerCase().endsWith(BLOCKED_BLOOM_FILTER_EXTENSION.toLowerCase())) {
+            filePath = filePath + BLOCKED_BLOOM_FILTER_EXTENSION;
+        }
+        try (final OutputStream outputStream = new BufferedOutputStream(BucketUtils.createFile(filePath))) {
+            bloomFilter.writeMappable(outputStream);
+        } catch (final IOException e) {
+            throw new UserException.CouldNotCreateOutputFile(filePath, e.getMessage());
+        }
+    }
+
+    /**
+     * Reads a kmer set or Bloom filter. Blocked Bloom filters are memory-mapped rather than read onto the heap,
+     * so executors on the same node that read the same local file share a single copy in the page cache. Files in
+     * remote storage are first copied to a temporary file by each JVM that reads them, so each of those JVMs maps
+     * its own copy.
+     */
     public static PSKmerCollection readKmerFilter(final String uri) {
+        if (uri.endsWith(BLOCKED_BLOOM_FILTER_EXTENSION)) {
+            String localPath = uri;
+            if (BucketUtils.isRemoteStorageUrl(uri)) {
+                localPath = IOUtils.createTempFile("kmers", BLOCKED_BLOOM_FILTER_EXTENSION).getAbsolutePath();
+                logger.info("Copying blocked Bloom filter " + uri + " to " + localPath + "...");
+                try {
+                    BucketUtils.copyFile(uri, localPath);
+                } catch (final IOException e) {
+                    throw new UserException.CouldNotReadInputFile("Could not copy " + uri + " to " + localPath, e);
+                }
+            }
+            return PSKmerBlockedBloomFilter.map(IOUtils.getPath(localPath));
+        }
         final Input input = new Input(BucketUtils.openFile(uri));
         final Kryo kryo = new Kryo();
         if (uri.endsWith(HOPSCOTCH_SET_EXTENSION)) {
@@ -217,6 +217,9 @@ public final class PathSeqBwaSpark extends GATKSparkTool {
         final ReadsSparkSource readsSource = new ReadsSparkSource(ctx, readArguments.getReadValidationStringency());
 
         final PSBwaAlignerSpark aligner = new PSBwaAlignerSpark(ctx, bwaArgs);
+        if (bwaArgs.warmUpImage) {
+            aligner.warmUp();
+        }
         boolean bPairedSuccess = alignBam(inputPaired, aligner, true, ctx, readsSource);
         boolean bUnpairedSuccess = alignBam(inputUnpaired, aligner, false, ctx, readsSource);
         if (!bPairedSuccess && !bUnpairedSuccess) {
@@ -258,6 +258,9 @@ public class PathSeqPipelineSpark extends GATKSparkTool {
 
         //Bwa pathogen alignment
         final PSBwaAlignerSpark aligner = new PSBwaAlignerSpark(ctx, bwaArgs);
+        if (bwaArgs.warmUpImage) {
+            aligner.warmUp();
+        }
         PSBwaUtils.addReferenceSequencesToHeader(header, bwaArgs.referencePath, getReferenceWindowFunction());
         final Broadcast<SAMFileHeader> headerBroadcast = ctx.broadcast(header);
         JavaRDD<GATKRead> alignedPairedReads = aligner.doBwaAlignment(pairedReads, true, headerBroadcast);
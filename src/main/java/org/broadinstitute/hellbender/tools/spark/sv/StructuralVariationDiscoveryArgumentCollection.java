@@ -1,6 +1,7 @@
 package org.broadinstitute.hellbender.tools.spark.sv;
 
 import htsjdk.samtools.SAMFileHeader;
+import org.apache.spark.storage.StorageLevel;
 import org.broadinstitute.barclay.argparser.Advanced;
 import org.broadinstitute.barclay.argparser.Argument;
 import org.broadinstitute.barclay.argparser.Hidden;
@@ -237,6 +238,17 @@ public class StructuralVariationDiscoveryArgumentCollection implements Serializa
                 fullName = "sv-genome-gaps-file", optional = true)
         public String svGenomeGapsFile = null;
 
+        /**
+         * Reads are otherwise re-read from the input for each of the several passes needed to gather evidence.
+         * When a storage level is given, the reads that any of these passes can use are persisted during the
+         * first pass, and later passes are driven from them; serialized levels (e.g., MEMORY_AND_DISK_SER)
+         * use the least memory.
+         */
+        @Argument(doc = "Spark storage level at which to persist the reads used to gather evidence (e.g., MEMORY_AND_DISK_SER), " +
+                "or NONE to re-read the input for each pass",
+                fullName = "reads-storage-level", optional = true)
+        public String readsStorageLevel = "NONE";
+
         /**
          * Explicit call this method.
          */
@@ -264,6 +276,11 @@ public class StructuralVariationDiscoveryArgumentCollection implements Serializa
                     assembliesSortOrder.equals(SAMFileHeader.SortOrder.queryname)) )
                 throw new UserException("We currently support only coordinate or query name sort order for assembly alignment SAM output. " +
                         "User provided sort order: " + assembliesSortOrder);
+            try {
+                StorageLevel.fromString(readsStorageLevel);
+            } catch ( final IllegalArgumentException e ) {
+                throw new UserException.BadInput("Unknown Spark storage level for reads: " + readsStorageLevel);
+            }
         }
     }
 
@@ -9,6 +9,7 @@ import org.apache.logging.log4j.Logger;
 import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.api.java.JavaSparkContext;
 import org.apache.spark.broadcast.Broadcast;
+import org.apache.spark.storage.StorageLevel;
 import org.broadinstitute.barclay.argparser.Argument;
 import org.broadinstitute.barclay.argparser.ArgumentCollection;
 import org.broadinstitute.barclay.argparser.BetaFeature;
@@ -153,6 +154,32 @@ public final class FindBreakpointEvidenceSpark extends GATKSparkTool {
             final Logger logger) {
 
         final SVReadFilter filter = new SVReadFilter(params);
+        final StorageLevel readsStorageLevel = StorageLevel.fromString(params.readsStorageLevel);
+        if ( readsStorageLevel.equals(StorageLevel.NONE()) ) {
+            return gatherEvidenceAndWriteContigSamFile(ctx, params, header, unfilteredReads, filter,
+                    outputAssemblyAlignments, logger);
+        }
+
+        // the first pass (for the metadata) persists the reads that any pass can use, and later passes read them back
+        final JavaRDD<GATKRead> informativeReads = unfilteredReads.filter(filter::isInformative);
+        informativeReads.persist(readsStorageLevel);
+        try {
+            return gatherEvidenceAndWriteContigSamFile(ctx, params, header, informativeReads, filter,
+                    outputAssemblyAlignments, logger);
+        } finally {
+            informativeReads.unpersist();
+        }
+    }
+
+    private static AssembledEvidenceResults gatherEvidenceAndWriteContigSamFile(
+            final JavaSparkContext ctx,
+            final FindBreakpointEvidenceSparkArgumentCollection params,
+            final SAMFileHeader header,
+            final JavaRDD<GATKRead> unfilteredReads,
+            final SVReadFilter filter,
+            final String outputAssemblyAlignments,
+            final Logger logger) {
+
         final ReadMetadata readMetadata = buildMetadata(params, header, unfilteredReads, filter, logger);
         log("Metadata retrieved.", logger);
 
@@ -285,10 +312,10 @@ public final class FindBreakpointEvidenceSpark extends GATKSparkTool {
                                         params.externalEvidenceWeight, params.externalEvidenceUncertainty);
         log("External evidence retrieved.", logger);
 
-        final SVIntervalTree<SVInterval> highCoverageSubintervalTree =
+        final SVIntervalIndex highCoverageSubintervalIndex =
                 findGenomewideHighCoverageIntervalsToIgnore(params, readMetadata, ctx, header, unfilteredReads, filter, logger, broadcastMetadata);
 
-        final Broadcast<SVIntervalTree<SVInterval>> broadcastHighCoverageSubIntervals = ctx.broadcast(highCoverageSubintervalTree);
+        final Broadcast<SVIntervalIndex> broadcastHighCoverageSubIntervals = ctx.broadcast(highCoverageSubintervalIndex);
 
         final Broadcast<List<List<BreakpointEvidence>>> broadcastExternalEvidence = ctx.broadcast(externalEvidence);
         final Tuple2<List<SVInterval>, List<EvidenceTargetLink>> intervalsAndEvidenceTargetLinks =
@@ -311,18 +338,7 @@ public final class FindBreakpointEvidenceSpark extends GATKSparkTool {
         final int nIntervalsAfterGapRemoval = intervals.size();
 
         // remove any intervals that happen to be completely contained in a high-depth region
-        final Iterator<SVInterval> intervalIterator = intervals.iterator();
-        while (intervalIterator.hasNext()) {
-            final SVInterval interval = intervalIterator.next();
-            final Iterator<SVIntervalTree.Entry<SVInterval>> overlappers = highCoverageSubintervalTree.overlappers(interval);
-            while (overlappers.hasNext()) {
-                final SVIntervalTree.Entry<SVInterval> next = overlappers.next();
-                if (next.getInterval().overlapLen(interval) == interval.getLength()) {
-                    intervalIterator.remove();
-                    break;
-                }
-            }
-        }
+        intervals.removeIf(highCoverageSubintervalIndex::hasContainingOverlapper);
 
         final int nIntervalsAfterDepthCleaning = intervals.size();
         log("Removed " + (nIntervalsAfterGapRemoval - nIntervalsAfterDepthCleaning) + " intervals that were entirely high-depth.", logger);
@@ -341,14 +357,14 @@ public final class FindBreakpointEvidenceSpark extends GATKSparkTool {
         return new EvidenceScanResults(readMetadata, intervals, intervalsAndEvidenceTargetLinks._2(), qNamesMultiMap);
     }
 
-    static SVIntervalTree<SVInterval> findGenomewideHighCoverageIntervalsToIgnore(final FindBreakpointEvidenceSparkArgumentCollection params,
-                                                                                  final ReadMetadata readMetadata,
-                                                                                  final JavaSparkContext ctx,
-                                                                                  final SAMFileHeader header,
-                                                                                  final JavaRDD<GATKRead> unfilteredReads,
-                                                                                  final SVReadFilter filter,
-                                                                                  final Logger logger,
-                                                                                  final Broadcast<ReadMetadata> broadcastMetadata) {
+    static SVIntervalIndex findGenomewideHighCoverageIntervalsToIgnore(final FindBreakpointEvidenceSparkArgumentCollection params,
+                                                                       final ReadMetadata readMetadata,
+                                                                       final JavaSparkContext ctx,
+                                                                       final SAMFileHeader header,
+                                                                       final JavaRDD<GATKRead> unfilteredReads,
+                                                                       final SVReadFilter filter,
+                                                                       final Logger logger,
+                                                                       final Broadcast<ReadMetadata> broadcastMetadata) {
         final int capacity = header.getSequenceDictionary().getSequences().stream()
                 .mapToInt(seqRec -> (seqRec.getSequenceLength() + DEPTH_WINDOW_SIZE - 1)/DEPTH_WINDOW_SIZE).sum();
         final List<SVInterval> depthIntervals = new ArrayList<>(capacity);
@@ -362,10 +378,7 @@ public final class FindBreakpointEvidenceSpark extends GATKSparkTool {
 
         final List<SVInterval> highCoverageSubintervals = findHighCoverageSubintervalsAndLog(
                 params, ctx, broadcastMetadata, depthIntervals, unfilteredReads, filter, logger);
-        final SVIntervalTree<SVInterval> highCoverageSubintervalTree = new SVIntervalTree<>();
-        highCoverageSubintervals.forEach(i -> highCoverageSubintervalTree.put(i, i));
-
-        return highCoverageSubintervalTree;
+        return new SVIntervalIndex(highCoverageSubintervals);
     }
 
     static final class EvidenceScanResults {
@@ -951,7 +964,7 @@ public final class FindBreakpointEvidenceSpark extends GATKSparkTool {
             final List<SVInterval> intervals,
             final JavaRDD<GATKRead> unfilteredReads,
             final SVReadFilter filter,
-            final Broadcast<SVIntervalTree<SVInterval>> broadcastHighCoverageSubIntervals) {
+            final Broadcast<SVIntervalIndex> broadcastHighCoverageSubIntervals) {
         final Broadcast<List<SVInterval>> broadcastIntervals = ctx.broadcast(intervals);
         final List<QNameAndInterval> qNameAndIntervalList =
                 unfilteredReads
@@ -981,7 +994,7 @@ public final class FindBreakpointEvidenceSpark extends GATKSparkTool {
             final SAMFileHeader header,
             final JavaRDD<GATKRead> unfilteredReads,
             final SVReadFilter filter,
-            final Logger logger, final Broadcast<SVIntervalTree<SVInterval>> highCoverageSubintervalTree) {
+            final Logger logger, final Broadcast<SVIntervalIndex> highCoverageSubintervalIndex) {
         // find all breakpoint evidence, then filter for pile-ups
         final int nContigs = header.getSequenceDictionary().getSequences().size();
         final int allowedOverhang = params.allowedShortFragmentOverhang;
@@ -995,7 +1008,7 @@ public final class FindBreakpointEvidenceSpark extends GATKSparkTool {
                 .mapPartitions(readItr -> {
                     final GATKRead sentinel = new SAMRecordToGATKReadAdapter(null);
                     return FlatMapGluer.applyMapFunc(
-                            new ReadClassifier(broadcastMetadata.value(), sentinel, allowedOverhang, filter, highCoverageSubintervalTree.getValue()),
+                            new ReadClassifier(broadcastMetadata.value(), sentinel, allowedOverhang, filter, highCoverageSubintervalIndex.getValue()),
                             readItr, sentinel);
                 }, true);
         evidenceRDD.cache();
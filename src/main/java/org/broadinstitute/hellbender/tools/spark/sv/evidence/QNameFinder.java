@@ -2,7 +2,7 @@ package org.broadinstitute.hellbender.tools.spark.sv.evidence;
 
 import org.apache.commons.collections4.iterators.SingletonIterator;
 import org.broadinstitute.hellbender.tools.spark.sv.utils.SVInterval;
-import org.broadinstitute.hellbender.tools.spark.sv.utils.SVIntervalTree;
+import org.broadinstitute.hellbender.tools.spark.sv.utils.SVIntervalIndex;
 import org.broadinstitute.hellbender.utils.read.GATKRead;
 
 import java.util.Collections;
@@ -18,13 +18,13 @@ public final class QNameFinder implements Function<GATKRead, Iterator<QNameAndIn
     private final List<SVInterval> intervals;
     private final SVReadFilter filter;
     private static final Iterator<QNameAndInterval> noName = Collections.emptyIterator();
-    private final SVIntervalTree<SVInterval> highCoverageSubIntervals;
+    private final SVIntervalIndex highCoverageSubIntervals;
     private int intervalsIndex = 0;
 
     public QNameFinder(final ReadMetadata metadata,
                        final List<SVInterval> intervals,
                        final SVReadFilter filter,
-                       final SVIntervalTree<SVInterval> highCoverageSubIntervals) {
+                       final SVIntervalIndex highCoverageSubIntervals) {
         this.metadata = metadata;
         this.intervals = intervals;
         this.filter = filter;
@@ -48,8 +48,7 @@ public final class QNameFinder implements Function<GATKRead, Iterator<QNameAndIn
         final SVInterval unclippedReadInterval = new SVInterval(readContigId,
                 Math.max(0, read.getUnclippedStart()), read.getUnclippedEnd());
         if ( indexedInterval.isDisjointFrom(unclippedReadInterval) ) return noName;
-        final SVInterval clippedReadInterval = new SVInterval(readContigId, read.getStart(), read.getEnd());
-        if (filter.containedInRegionToIgnore(clippedReadInterval, highCoverageSubIntervals)) return noName;
+        if ( highCoverageSubIntervals.hasContainingOverlapper(readContigId, read.getStart(), read.getEnd()) ) return noName;
         return new SingletonIterator<>(new QNameAndInterval(read.getName(), intervalsIndex));
     }
 
@@ -3,8 +3,7 @@ package org.broadinstitute.hellbender.tools.spark.sv.evidence;
 import com.google.common.annotations.VisibleForTesting;
 import htsjdk.samtools.CigarElement;
 import htsjdk.samtools.CigarOperator;
-import org.broadinstitute.hellbender.tools.spark.sv.utils.SVInterval;
-import org.broadinstitute.hellbender.tools.spark.sv.utils.SVIntervalTree;
+import org.broadinstitute.hellbender.tools.spark.sv.utils.SVIntervalIndex;
 import org.broadinstitute.hellbender.utils.read.GATKRead;
 
 import java.util.*;
@@ -24,13 +23,13 @@ public class ReadClassifier implements Function<GATKRead, Iterator<BreakpointEvi
     private final int allowedShortFragmentOverhang;
     private final SVReadFilter filter;
     private final KSWindowFinder smallIndelFinder;
-    private final SVIntervalTree<SVInterval> regionsToIgnore;
+    private final SVIntervalIndex regionsToIgnore;
 
     public ReadClassifier(final ReadMetadata readMetadata,
                           GATKRead sentinel,
                           final int allowedShortFragmentOverhang,
                           SVReadFilter filter,
-                          final SVIntervalTree<SVInterval> regionsToIgnore) {
+                          final SVIntervalIndex regionsToIgnore) {
         this.readMetadata = readMetadata;
         this.sentinel = sentinel;
         this.allowedShortFragmentOverhang = allowedShortFragmentOverhang;
@@ -51,8 +50,7 @@ public class ReadClassifier implements Function<GATKRead, Iterator<BreakpointEvi
         if ( !filter.isEvidence(read) ) return Collections.emptyIterator();
         if (regionsToIgnore != null) {
             final int readContigId = readMetadata.getContigID(read.getContig());
-            final SVInterval clippedReadInterval = new SVInterval(readContigId, read.getStart(), read.getEnd());
-            if (filter.containedInRegionToIgnore(clippedReadInterval, regionsToIgnore)) {
+            if (regionsToIgnore.hasContainingOverlapper(readContigId, read.getStart(), read.getEnd())) {
                 return Collections.emptyIterator();
             }
         }
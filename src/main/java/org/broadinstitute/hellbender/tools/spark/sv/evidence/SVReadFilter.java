@@ -1,7 +1,5 @@
 package org.broadinstitute.hellbender.tools.spark.sv.evidence;
 
-import org.broadinstitute.hellbender.tools.spark.sv.utils.SVInterval;
-import org.broadinstitute.hellbender.tools.spark.sv.utils.SVIntervalTree;
 import org.broadinstitute.hellbender.tools.spark.sv.StructuralVariationDiscoveryArgumentCollection.FindBreakpointEvidenceSparkArgumentCollection;
 import org.broadinstitute.hellbender.tools.spark.sv.utils.SVUtils;
 import org.broadinstitute.hellbender.utils.read.CigarUtils;
@@ -36,6 +34,14 @@ public class SVReadFilter implements Serializable {
         return !read.isSecondaryAlignment() && !read.isSupplementaryAlignment();
     }
 
+    /**
+     * Duplicate or QC-failing secondary and supplementary alignments are ignored by every pass over the reads
+     * in {@link FindBreakpointEvidenceSpark}, so they need not be retained between passes.
+     */
+    public boolean isInformative( final GATKRead read ) {
+        return notJunk(read) || isPrimaryLine(read);
+    }
+
     public boolean isMapped( final GATKRead read ) {
         return notJunk(read) && !read.isUnmapped();
     }
@@ -65,17 +71,6 @@ public class SVReadFilter implements Serializable {
                 read.getStart() - allowedShortFragmentOverhang <= read.getMateStart();
     }
 
-    public boolean containedInRegionToIgnore(final SVInterval interval, final SVIntervalTree<SVInterval> regionsToIgnore) {
-        final Iterator<SVIntervalTree.Entry<SVInterval>> overlappers = regionsToIgnore.overlappers(interval);
-        while (overlappers.hasNext()) {
-            SVIntervalTree.Entry<SVInterval> depthFilteredInterval = overlappers.next();
-            if (depthFilteredInterval.getInterval().overlapLen(interval) == interval.getLength()) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     public Iterator<GATKRead> applyFilter( final Iterator<GATKRead> readItr, final BiPredicate<SVReadFilter, GATKRead> predicate ) {
         return new SVUtils.IteratorFilter<>(readItr, read -> predicate.test(this, read));
     }
@@ -0,0 +1,209 @@
+package org.broadinstitute.hellbender.tools.spark.sv.utils;
+
+import com.esotericsoftware.kryo.DefaultSerializer;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.broadinstitute.hellbender.utils.Utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * An immutable set of intervals that can be searched for overlappers, intended as a compact replacement for an
+ * {@link SVIntervalTree} that is built once (e.g., on the driver), broadcast, and then probed for every read.
+ * <p>
+ * The intervals are held in parallel primitive arrays, sorted in the same order as an SVIntervalTree (by contig,
+ * then start, then end), along with the running maximum of the interval ends within each contig.
+ * The running maximum never decreases within a contig, so the intervals that might overlap a query are a contiguous
+ * range of indices whose bounds are found by binary search: queries are O(log n) plus the number of candidates,
+ * and allocate nothing.
+ * Intervals are identified by their index in sort order.  Duplicate intervals are retained.
+ * <p>
+ * The Kryo serialization delta-encodes the sorted intervals as variable-length integers, so that a broadcast index
+ * is much smaller than the equivalent tree of nodes.
+ */
+@DefaultSerializer(SVIntervalIndex.Serializer.class)
+public final class SVIntervalIndex {
+    private final int[] contigs;
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] maxEnds;
+
+    public SVIntervalIndex( final Collection<SVInterval> intervals ) {
+        Utils.nonNull(intervals, "intervals must not be null");
+        final SVInterval[] sortedIntervals = intervals.toArray(new SVInterval[intervals.size()]);
+        Arrays.sort(sortedIntervals);
+        final int size = sortedIntervals.length;
+        contigs = new int[size];
+        starts = new int[size];
+        ends = new int[size];
+        for ( int idx = 0; idx != size; ++idx ) {
+            final SVInterval interval = Utils.nonNull(sortedIntervals[idx], "intervals must not contain null");
+            contigs[idx] = interval.getContig();
+            starts[idx] = interval.getStart();
+            ends[idx] = interval.getEnd();
+        }
+        maxEnds = calculateMaxEnds(contigs, ends);
+    }
+
+    /** Indexes the intervals of a tree.  The tree's values are ignored. */
+    public SVIntervalIndex( final SVIntervalTree<?> tree ) {
+        this(intervalsOf(tree));
+    }
+
+    private SVIntervalIndex( final Kryo kryo, final Input input ) {
+        final int size = input.readInt();
+        contigs = new int[size];
+        starts = new int[size];
+        ends = new int[size];
+        int contig = 0;
+        int start = 0;
+        for ( int idx = 0; idx != size; ++idx ) {
+            final int contigDelta = input.readInt(true);
+            contig += contigDelta;
+            start = contigDelta == 0 ? start + input.readInt(true) : input.readInt(false);
+            contigs[idx] = contig;
+            starts[idx] = start;
+            ends[idx] = start + input.readInt(false);
+        }
+        maxEnds = calculateMaxEnds(contigs, ends);
+    }
+
+    private void serialize( final Kryo kryo, final Output output ) {
+        final int size = size();
+        output.writeInt(size);
+        int contig = 0;
+        int start = 0;
+        for ( int idx = 0; idx != size; ++idx ) {
+            final int contigDelta = contigs[idx] - contig;
+            output.writeInt(contigDelta, true);
+            if ( contigDelta == 0 ) {
+                output.writeInt(starts[idx] - start, true);
+            } else {
+                output.writeInt(starts[idx], false);
+            }
+            output.writeInt(ends[idx] - starts[idx], false);
+            contig = contigs[idx];
+            start = starts[idx];
+        }
+    }
+
+    /** The number of intervals in the index. */
+    public int size() { return contigs.length; }
+
+    public int getContig( final int idx ) { return contigs[idx]; }
+    public int getStart( final int idx ) { return starts[idx]; }
+    public int getEnd( final int idx ) { return ends[idx]; }
+
+    /** The interval with the specified index (newly allocated). */
+    public SVInterval getInterval( final int idx ) { return new SVInterval(contigs[idx], starts[idx], ends[idx]); }
+
+    /** Does any interval in the index overlap the specified interval (as judged by {@link SVInterval#overlaps})? */
+    public boolean hasOverlapper( final SVInterval interval ) {
+        return hasOverlapper(interval.getContig(), interval.getStart(), interval.getEnd());
+    }
+
+    public boolean hasOverlapper( final int contig, final int start, final int end ) {
+        final int endIdx = overlapperEndIndex(contig, end);
+        for ( int idx = overlapperStartIndex(contig, start, endIdx); idx < endIdx; ++idx ) {
+            if ( ends[idx] > start ) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Does any interval in the index that overlaps the specified interval also contain it?
+     * This is the test for reads that lie entirely within a region to be ignored.
+     */
+    public boolean hasContainingOverlapper( final SVInterval interval ) {
+        return hasContainingOverlapper(interval.getContig(), interval.getStart(), interval.getEnd());
+    }
+
+    public boolean hasContainingOverlapper( final int contig, final int start, final int end ) {
+        final int endIdx = overlapperEndIndex(contig, end);
+        for ( int idx = overlapperStartIndex(contig, start, endIdx); idx < endIdx && starts[idx] <= start; ++idx ) {
+            if ( ends[idx] > start && ends[idx] >= end ) return true;
+        }
+        return false;
+    }
+
+    /** Passes the index of each interval that overlaps the specified interval to the consumer, in sort order. */
+    public void forEachOverlapper( final SVInterval interval, final IntConsumer consumer ) {
+        forEachOverlapper(interval.getContig(), interval.getStart(), interval.getEnd(), consumer);
+    }
+
+    public void forEachOverlapper( final int contig, final int start, final int end, final IntConsumer consumer ) {
+        final int endIdx = overlapperEndIndex(contig, end);
+        for ( int idx = overlapperStartIndex(contig, start, endIdx); idx < endIdx; ++idx ) {
+            if ( ends[idx] > start ) consumer.accept(idx);
+        }
+    }
+
+    /** The first index of an interval on a later contig, or on the same contig with a start at or after end. */
+    private int overlapperEndIndex( final int contig, final int end ) {
+        int lo = 0;
+        int hi = contigs.length;
+        while ( lo < hi ) {
+            final int mid = (lo + hi) >>> 1;
+            if ( contigs[mid] < contig || (contigs[mid] == contig && starts[mid] < end) ) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** The first index before endIdx of an interval on the specified contig having a running max end after start. */
+    private int overlapperStartIndex( final int contig, final int start, final int endIdx ) {
+        int lo = 0;
+        int hi = endIdx;
+        while ( lo < hi ) {
+            final int mid = (lo + hi) >>> 1;
+            if ( contigs[mid] < contig || maxEnds[mid] <= start ) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static int[] calculateMaxEnds( final int[] contigs, final int[] ends ) {
+        final int[] maxEnds = new int[ends.length];
+        for ( int idx = 0; idx != ends.length; ++idx ) {
+            maxEnds[idx] = idx == 0 || contigs[idx] != contigs[idx - 1] ? ends[idx] : Math.max(maxEnds[idx - 1], ends[idx]);
+        }
+        return maxEnds;
+    }
+
+    private static List<SVInterval> intervalsOf( final SVIntervalTree<?> tree ) {
+        Utils.nonNull(tree, "tree must not be null");
+        final List<SVInterval> intervals = new ArrayList<>(tree.size());
+        tree.forEach(entry -> intervals.add(entry.getInterval()));
+        return intervals;
+    }
+
+    @Override
+    public boolean equals( final Object obj ) {
+        if ( this == obj ) return true;
+        if ( !(obj instanceof SVIntervalIndex) ) return false;
+        final SVIntervalIndex that = (SVIntervalIndex)obj;
+        return Arrays.equals(contigs, that.contigs) && Arrays.equals(starts, that.starts) && Arrays.equals(ends, that.ends);
+    }
+
+    @Override
+    public int hashCode() {
+        return 47*(47*Arrays.hashCode(contigs) + Arrays.hashCode(starts)) + Arrays.hashCode(ends);
+    }
+
+    public static final class Serializer extends com.esotericsoftware.kryo.Serializer<SVIntervalIndex> {
+        @Override
+        public void write( final Kryo kryo, final Output output, final SVIntervalIndex index ) {
+            index.serialize(kryo, output);
+        }
+
+        @Override
+        public SVIntervalIndex read( final Kryo kryo, final Input input, final Class<SVIntervalIndex> klass ) {
+            return new SVIntervalIndex(kryo, input);
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package org.broadinstitute.hellbender.tools.spark.utils;
+
+import com.esotericsoftware.kryo.DefaultSerializer;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.broadinstitute.hellbender.exceptions.GATKException;
+import org.broadinstitute.hellbender.exceptions.UserException;
+import org.broadinstitute.hellbender.tools.spark.sv.utils.SVUtils;
+import org.broadinstitute.hellbender.utils.Utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Blocked Bloom filter for primitive longs. Like {@link LongBloomFilter}, but all of the bits for a given long lie
+ * within a single 512-bit (64-byte) block, so that adding or querying a long touches at most two adjacent cache lines
+ * (blocks are not necessarily aligned to cache lines, e.g. on the heap) rather than one per hash function. The price
+ * is a slightly higher false positive probability for a given number of bits, which is compensated for by choosing a
+ * larger number of blocks. See reference:
+ * <p>
+ * Putze, Sanders and Singler. 2009. Cache-, hash-, and space-efficient Bloom filters. Journal of Experimental
+ * Algorithmics. 14, 4.4-4.18.
+ * <p>
+ * Besides Kryo serialization, the filter can be written in a raw format by {@link #writeMappable} and then memory-mapped
+ * by {@link #map}, in which case the bits are read lazily through the OS page cache rather than loaded onto the heap,
+ * and are shared by all processes mapping the same file. A mapped filter is read-only.
+ */
+@DefaultSerializer(LongBlockedBloomFilter.Serializer.class)
+public final class LongBlockedBloomFilter {
+
+    private final transient Logger logger = LogManager.getLogger(this.getClass());
+
+    public static final int BITS_PER_BLOCK = 512;
+    private static final int WORDS_PER_BLOCK = BITS_PER_BLOCK / Long.SIZE;
+    private static final int WORDS_PER_ARRAY = 1 << 27; //Multiple of the block size, so that blocks are not split
+    private static final int BLOCKS_PER_ARRAY = WORDS_PER_ARRAY / WORDS_PER_BLOCK;
+    private static final int KEYS_PER_BATCH = 16; //Number of keys hashed ahead of the block reads in countContained
+
+    private final static long HASH_SEED_2 = 0x6cebe6dca7f118a6L;
+
+    //The raw format is a header padded to the size of a block, followed by the words in little-endian order
+    public static final int MAPPABLE_HEADER_SIZE = BITS_PER_BLOCK / Byte.SIZE;
+    private static final long MAPPABLE_FORMAT_MAGIC = 0x4741544b42424631L; //"GATKBBF1"
+
+    private final long numBlocks; //Number of 512-bit blocks
+    private final int numHashes; //Number of bits set per long, all within one block
+    private final LongBuffer[] words; //Backed either by arrays on the heap or by a memory-mapped file
+
+    public LongBlockedBloomFilter(final long numElements, final double fpp) {
+        Utils.validateArg(numElements > 0, "Number of elements must be greater than 0");
+        Utils.validateArg(fpp > 0 && fpp < 1, "False positive probability must be between 0 and 1");
+
+        final int optimalNumberOfHashes = (int) Math.ceil(-Math.log(fpp) / Math.log(2));
+        numHashes = optimalNumberOfHashes > 0 ? optimalNumberOfHashes : 1;
+
+        //Start from the number of bits that would be optimal for an unblocked filter and grow until the
+        //uneven loading of the blocks is compensated for
+        long blocks = Math.max(1L, (LongBloomFilter.getOptimalNumberOfBits(numElements, fpp) + BITS_PER_BLOCK - 1) / BITS_PER_BLOCK);
+        while (getTheoreticalFPP(numElements, blocks, numHashes) > fpp) {
+            blocks += blocks / 20 + 1;
+        }
+        if (blocks > (long) BLOCKS_PER_ARRAY * Integer.MAX_VALUE) {
+            throw new GATKException("Could not create blocked Bloom filter with " + blocks + " blocks");
+        }
+        numBlocks = blocks;
+        words = allocateWords(numBlocks);
+    }
+
+    protected LongBlockedBloomFilter(final Kryo kryo, final Input input) {
+        numBlocks = input.readLong();
+        numHashes = input.readInt();
+        words = allocateWords(numBlocks);
+        for (final LongBuffer array : words) {
+            for (int i = 0; i < array.limit(); i++) {
+                array.put(i, input.readLong());
+            }
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Deserialized: numBlocks : " + numBlocks + ", numHashes: " + numHashes + ", bits set: " + countBits());
+        }
+    }
+
+    protected void serialize(final Kryo kryo, final Output output) {
+        output.writeLong(numBlocks);
+        output.writeInt(numHashes);
+        for (final LongBuffer array : words) {
+            for (int i = 0; i < array.limit(); i++) {
+                output.writeLong(array.get(i));
+            }
+        }
+    }
+
+    private LongBlockedBloomFilter(final long numBlocks, final int numHashes, final LongBuffer[] words) {
+        this.numBlocks = numBlocks;
+        this.numHashes = numHashes;
+        this.words = words;
+    }
+
+    /**
+     * Writes the filter in the raw format read by {@link #map}. The stream is not closed.
+     */
+    public void writeMappable(final OutputStream outputStream) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putLong(MAPPABLE_FORMAT_MAGIC);
+        buffer.putLong(numBlocks);
+        buffer.putInt(numHashes);
+        buffer.position(MAPPABLE_HEADER_SIZE);
+        for (final LongBuffer array : words) {
+            for (int i = 0; i < array.limit(); i++) {
+                if (buffer.remaining() < Long.BYTES) {
+                    outputStream.write(buffer.array(), 0, buffer.position());
+                    buffer.clear();
+                }
+                buffer.putLong(array.get(i));
+            }
+        }
+        outputStream.write(buffer.array(), 0, buffer.position());
+    }
+
+    /**
+     * Memory-maps a filter written by {@link #writeMappable}, starting at the given position of the file.
+     * The mapping remains valid after the channel is closed.
+     * @throws UserException.MalformedFile if the file does not hold a complete filter at the given position
+     */
+    public static LongBlockedBloomFilter map(final FileChannel channel, final long position) throws IOException {
+        Utils.nonNull(channel);
+        final ByteBuffer header = ByteBuffer.allocate(MAPPABLE_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (channel.read(header, position + header.position()) < 0) {
+                throw new UserException.MalformedFile("Unexpected end of file while reading blocked Bloom filter header");
+            }
+        }
+        header.flip();
+        if (header.getLong() != MAPPABLE_FORMAT_MAGIC) {
+            throw new UserException.MalformedFile("Not a blocked Bloom filter");
+        }
+        final long numBlocks = header.getLong();
+        final int numHashes = header.getInt();
+        if (numBlocks <= 0 || numBlocks > (long) BLOCKS_PER_ARRAY * Integer.MAX_VALUE || numHashes <= 0) {
+            throw new UserException.MalformedFile("Invalid blocked Bloom filter header");
+        }
+
+        final int numArrays = (int) ((numBlocks + BLOCKS_PER_ARRAY - 1) / BLOCKS_PER_ARRAY);
+        final long dataStart = position + MAPPABLE_HEADER_SIZE;
+        if (channel.size() < dataStart + numBlocks * WORDS_PER_BLOCK * Long.BYTES) {
+            throw new UserException.MalformedFile("Blocked Bloom filter file is truncated");
+        }
+        final LongBuffer[] words = new LongBuffer[numArrays];
+        for (int i = 0; i < numArrays; i++) {
+            final long firstWord = (long) i * WORDS_PER_ARRAY;
+            final long numWords = Math.min(WORDS_PER_ARRAY, numBlocks * WORDS_PER_BLOCK - firstWord);
+            words[i] = channel.map(FileChannel.MapMode.READ_ONLY, dataStart + firstWord * Long.BYTES, numWords * Long.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asLongBuffer();
+        }
+        return new LongBlockedBloomFilter(numBlocks, numHashes, words);
+    }
+
+    private static LongBuffer[] allocateWords(final long numBlocks) {
+        final int numArrays = (int) ((numBlocks + BLOCKS_PER_ARRAY - 1) / BLOCKS_PER_ARRAY);
+        final LongBuffer[] words = new LongBuffer[numArrays];
+        for (int i = 0; i < numArrays - 1; i++) {
+            words[i] = LongBuffer.wrap(new long[WORDS_PER_ARRAY]);
+        }
+        words[numArrays - 1] = LongBuffer.wrap(new long[(int) (numBlocks - (long) (numArrays - 1) * BLOCKS_PER_ARRAY) * WORDS_PER_BLOCK]);
+        return words;
+    }
+
+    public double getTheoreticalFPP(final long numElements) {
+        return getTheoreticalFPP(numElements, numBlocks, numHashes);
+    }
+
+    /**
+     * The number of longs in any one block is approximately Poisson-distributed. Within a block holding j longs,
+     * the false positive probability is that of an ordinary Bloom filter of {@link #BITS_PER_BLOCK} bits.
+     */
+    private static double getTheoreticalFPP(final long numElements, final long numBlocks, final int numHashes) {
+        final double meanLoad = (double) numElements / numBlocks;
+        final int maxLoad = (int) Math.ceil(meanLoad + 20 * Math.sqrt(meanLoad) + 20);
+        double logPoissonProbability = -meanLoad; //log of the probability of a load of 0
+        double fpp = 0;
+        for (int load = 0; load <= maxLoad; load++) {
+            if (load > 0) {
+                logPoissonProbability += Math.log(meanLoad) - Math.log(load);
+            }
+            final double blockFpp = Math.pow(1.0 - Math.pow(1.0 - (1.0 / BITS_PER_BLOCK), (double) numHashes * load), numHashes);
+            fpp += Math.exp(logPoissonProbability) * blockFpp;
+        }
+        return fpp;
+    }
+
+    private long countBits() {
+        long sum = 0;
+        for (final LongBuffer array : words) {
+            for (int i = 0; i < array.limit(); i++) {
+                sum += Long.bitCount(array.get(i));
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Index of the first word of the block for the given hash, counted over all of the word arrays
+     */
+    private long blockStart(final long hash1) {
+        return ((hash1 >>> 1) % numBlocks) * WORDS_PER_BLOCK;
+    }
+
+    public boolean add(final long entryValue) {
+        final long wordIndex = blockStart(SVUtils.fnvLong64(entryValue));
+        final LongBuffer array = words[(int) (wordIndex / WORDS_PER_ARRAY)];
+        final int offset = (int) (wordIndex % WORDS_PER_ARRAY);
+        final long hash2 = SVUtils.fnvLong64(HASH_SEED_2, entryValue);
+        final int bitHash1 = (int) hash2;
+        final int bitHash2 = (int) (hash2 >>> 32) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            final int bit = (bitHash1 + i * bitHash2) & (BITS_PER_BLOCK - 1);
+            final int index = offset + (bit >>> 6);
+            array.put(index, array.get(index) | (1L << bit));
+        }
+        return true;
+    }
+
+    public boolean contains(final long key) {
+        final long wordIndex = blockStart(SVUtils.fnvLong64(key));
+        return blockContains(words[(int) (wordIndex / WORDS_PER_ARRAY)], (int) (wordIndex % WORDS_PER_ARRAY),
+                SVUtils.fnvLong64(HASH_SEED_2, key));
+    }
+
+    private boolean blockContains(final LongBuffer array, final int offset, final long hash2) {
+        final int bitHash1 = (int) hash2;
+        final int bitHash2 = (int) (hash2 >>> 32) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            final int bit = (bitHash1 + i * bitHash2) & (BITS_PER_BLOCK - 1);
+            if ((array.get(offset + (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    public void addAll(final long[] entryValues) {
+        for (final long val : entryValues) {
+            add(val);
+        }
+    }
+
+    public boolean containsAll(final long[] vals) {
+        return countContained(vals, vals.length, vals.length) == vals.length;
+    }
+
+    /**
+     * Counts how many of the first {@code numKeys} keys are in the set, stopping as soon as {@code maxCount} have
+     * been found. The keys are processed in small batches: the hashes of a batch are computed before any of its blocks
+     * are read, so that the reads of the blocks for the different keys do not wait on one another's hashing and can be
+     * overlapped by the processor, while no more than one batch of hashing is wasted once {@code maxCount} is reached.
+     */
+    public int countContained(final long[] keys, final int numKeys, final int maxCount) {
+        Utils.nonNull(keys);
+        Utils.validateArg(numKeys >= 0 && numKeys <= keys.length, "Number of keys must be between 0 and the length of the key array");
+        final long[] wordIndices = new long[Math.min(numKeys, KEYS_PER_BATCH)];
+        final long[] bitHashes = new long[wordIndices.length];
+        int count = 0;
+        for (int batchStart = 0; batchStart < numKeys && count < maxCount; batchStart += KEYS_PER_BATCH) {
+            final int batchSize = Math.min(KEYS_PER_BATCH, numKeys - batchStart);
+            for (int i = 0; i < batchSize; i++) {
+                wordIndices[i] = blockStart(SVUtils.fnvLong64(keys[batchStart + i]));
+                bitHashes[i] = SVUtils.fnvLong64(HASH_SEED_2, keys[batchStart + i]);
+            }
+            for (int i = 0; i < batchSize && count < maxCount; i++) {
+                final long wordIndex = wordIndices[i];
+                if (blockContains(words[(int) (wordIndex / WORDS_PER_ARRAY)], (int) (wordIndex % WORDS_PER_ARRAY), bitHashes[i])) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    public void clear() {
+        for (final LongBuffer array : words) {
+            for (int i = 0; i < array.limit(); i++) {
+                array.put(i, 0L);
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        for (final LongBuffer array : words) {
+            for (int i = 0; i < array.limit(); i++) {
+                if (array.get(i) != 0) return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("SimplifiableIfStatement")
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LongBlockedBloomFilter)) return false;
+
+        final LongBlockedBloomFilter that = (LongBlockedBloomFilter) o;
+
+        if (numBlocks != that.numBlocks) return false;
+        if (numHashes != that.numHashes) return false;
+        for (int i = 0; i < words.length; i++) {
+            if (!words[i].equals(that.words[i])) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (int) (numBlocks ^ (numBlocks >>> 32));
+        result = 31 * result + numHashes;
+        for (final LongBuffer array : words) {
+            result = 31 * result + array.hashCode();
+        }
+        return result;
+    }
+
+    public static final class Serializer extends com.esotericsoftware.kryo.Serializer<LongBlockedBloomFilter> {
+        @Override
+        public void write(final Kryo kryo, final Output output, final LongBlockedBloomFilter bloomFilter) {
+            bloomFilter.serialize(kryo, output);
+        }
+
+        @Override
+        public LongBlockedBloomFilter read(final Kryo kryo, final Input input, final Class<LongBlockedBloomFilter> klass) {
+            return new LongBlockedBloomFilter(kryo, input);
+        }
+    }
+}
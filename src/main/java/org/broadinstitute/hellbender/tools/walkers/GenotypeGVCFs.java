@@ -12,15 +12,19 @@ import org.broadinstitute.hellbender.cmdline.StandardArgumentDefinitions;
 import org.broadinstitute.hellbender.cmdline.argumentcollections.DbsnpArgumentCollection;
 import org.broadinstitute.hellbender.cmdline.programgroups.ShortVariantDiscoveryProgramGroup;
 import org.broadinstitute.hellbender.engine.FeatureContext;
+import org.broadinstitute.hellbender.engine.GATKPathSpecifier;
 import org.broadinstitute.hellbender.engine.ReadsContext;
 import org.broadinstitute.hellbender.engine.ReferenceContext;
 import org.broadinstitute.hellbender.engine.VariantLocusWalker;
+import org.broadinstitute.hellbender.exceptions.UserException;
 import org.broadinstitute.hellbender.tools.genomicsdb.GenomicsDBImport;
+import org.broadinstitute.hellbender.tools.genomicsdb.GenomicsDBVariantSiteIndex;
 import org.broadinstitute.hellbender.tools.walkers.annotator.*;
 import org.broadinstitute.hellbender.tools.walkers.genotyper.GenotypeCalculationArgumentCollection;
 import org.broadinstitute.hellbender.tools.walkers.mutect.M2ArgumentCollection;
 import org.broadinstitute.hellbender.utils.IntervalUtils;
 import org.broadinstitute.hellbender.utils.SimpleInterval;
+import org.broadinstitute.hellbender.utils.io.IOUtils;
 import org.broadinstitute.hellbender.utils.variant.GATKVariantContextUtils;
 
 import java.io.File;
@@ -69,6 +73,16 @@ import java.util.Set;
  *   --tmp-dir=/path/to/large/tmp
  * </pre>
  *
+ * <h4>Perform joint genotyping only at the variant sites of a GenomicsDB workspace created with GenomicsDBImport --build-variant-site-index</h4>
+ * <pre>
+ * gatk --java-options "-Xmx4g" GenotypeGVCFs \
+ *   -R Homo_sapiens_assembly38.fasta \
+ *   -V gendb://my_database \
+ *   -L 20 \
+ *   --use-variant-site-index \
+ *   -O output.vcf.gz
+ * </pre>
+ *
  * <h3>Caveats</h3>
  * <ul>
  *   <li>Only GVCF files produced by HaplotypeCaller (or CombineGVCFs) can be used as input for this tool. Some other
@@ -95,6 +109,8 @@ public final class GenotypeGVCFs extends VariantLocusWalker {
     public static final String ALL_SITES_SHORT_NAME = "all-sites";
     public static final String KEEP_COMBINED_LONG_NAME = "keep-combined-raw-annotations";
     public static final String KEEP_COMBINED_SHORT_NAME = "keep-combined";
+    public static final String USE_VARIANT_SITE_INDEX_LONG_NAME = "use-variant-site-index";
+    public static final String VARIANT_SITE_MERGE_DISTANCE_LONG_NAME = "variant-site-merge-distance";
 
     @Argument(fullName = StandardArgumentDefinitions.OUTPUT_LONG_NAME, shortName = StandardArgumentDefinitions.OUTPUT_SHORT_NAME,
             doc="File to which variants should be written", optional=false)
@@ -153,6 +169,29 @@ public final class GenotypeGVCFs extends VariantLocusWalker {
             optional=true)
     private boolean onlyOutputCallsStartingInIntervals = false;
 
+    /**
+     * Query a GenomicsDB workspace only around the variant sites recorded by GenomicsDBImport --build-variant-site-index,
+     * rather than across the whole of the specified intervals.  The calls are the same, since every site at which
+     * GenotypeGVCFs could call a variant is in the index, but for cohorts with sparse variants this avoids reading and
+     * merging the reference blocks of every sample between the variants.  This option requires intervals, and cannot
+     * be used with --include-non-variant-sites.
+     */
+    @Argument(fullName = USE_VARIANT_SITE_INDEX_LONG_NAME,
+            doc = "Genotype only the variant sites recorded in the variant site index of the GenomicsDB workspace",
+            optional = true)
+    private boolean useVariantSiteIndex = false;
+
+    /**
+     * When using the variant site index, variant sites no more than this many bases apart are fetched from GenomicsDB
+     * by a single query.
+     */
+    @Advanced
+    @Argument(fullName = VARIANT_SITE_MERGE_DISTANCE_LONG_NAME,
+            doc = "Maximum distance between variant sites that are queried together when using the variant site index",
+            optional = true,
+            minValue = 0)
+    private int variantSiteMergeDistance = 500;
+
     /**
      * The rsIDs from this file are used to populate the ID column of the output.  Also, the DB INFO flag will be set
      * when appropriate. Note that dbSNP is not used in any way for the genotyping calculations themselves.
@@ -173,18 +212,42 @@ public final class GenotypeGVCFs extends VariantLocusWalker {
     private GenotypeGVCFsEngine gvcfEngine;
 
     /**
-     * Get the largest interval per contig that contains the intervals specified on the command line.
+     * Get the largest interval per contig that contains the intervals specified on the command line,
+     * and/or restrict the intervals to the variant sites of a GenomicsDB workspace.
      * @param getIntervals intervals to be transformed
      * @param sequenceDictionary used to validate intervals
      * @return a list of one interval per contig spanning the input intervals after processing and validation
      */
     @Override
     protected List<SimpleInterval> transformTraversalIntervals(final List<SimpleInterval> getIntervals, final SAMSequenceDictionary sequenceDictionary) {
-        if (mergeInputIntervals) {
-            return IntervalUtils.getSpanningIntervals(getIntervals, sequenceDictionary);
-        } else {
-            return getIntervals;
+        final List<SimpleInterval> traversalIntervals =
+                mergeInputIntervals ? IntervalUtils.getSpanningIntervals(getIntervals, sequenceDictionary) : getIntervals;
+        return useVariantSiteIndex ? restrictToVariantSites(traversalIntervals) : traversalIntervals;
+    }
+
+    private List<SimpleInterval> restrictToVariantSites(final List<SimpleInterval> traversalIntervals) {
+        if (includeNonVariants) {
+            throw new CommandLineException("--" + USE_VARIANT_SITE_INDEX_LONG_NAME + " cannot be used with --" + ALL_SITES_LONG_NAME);
+        }
+        final String workspace = IOUtils.getGenomicsDBAbsolutePath(new GATKPathSpecifier(drivingVariantFile));
+        if (workspace == null) {
+            throw new CommandLineException.BadArgumentValue(StandardArgumentDefinitions.VARIANT_LONG_NAME, drivingVariantFile,
+                    "--" + USE_VARIANT_SITE_INDEX_LONG_NAME + " requires a GenomicsDB workspace (gendb://) as input");
         }
+        if (!GenomicsDBVariantSiteIndex.exists(workspace)) {
+            throw new UserException("The GenomicsDB workspace " + workspace + " has no variant site index. " +
+                    "Create it with GenomicsDBImport --" + GenomicsDBImport.BUILD_VARIANT_SITE_INDEX_LONG_NAME);
+        }
+        final List<SimpleInterval> siteIntervals = GenomicsDBVariantSiteIndex.read(workspace).getSiteIntervals(traversalIntervals, variantSiteMergeDistance);
+        logger.info(String.format("Querying %d intervals around the variant sites in the workspace (%.1f Mb of %.1f Mb)",
+                siteIntervals.size(), totalSize(siteIntervals) / 1e6, totalSize(traversalIntervals) / 1e6));
+        // an empty list of traversal intervals would mean the whole workspace, so query a single base instead
+        return siteIntervals.isEmpty() ? Collections.singletonList(new SimpleInterval(traversalIntervals.get(0).getContig(),
+                traversalIntervals.get(0).getStart(), traversalIntervals.get(0).getStart())) : siteIntervals;
+    }
+
+    private static long totalSize(final List<SimpleInterval> intervals) {
+        return intervals.stream().mapToLong(SimpleInterval::size).sum();
     }
 
     @Override
@@ -219,6 +282,10 @@ public final class GenotypeGVCFs extends VariantLocusWalker {
             }
         }
 
+        if (useVariantSiteIndex && !hasUserSuppliedIntervals()) {
+            throw new CommandLineException.MissingArgument("-L or -XL", "Intervals are required if --" + USE_VARIANT_SITE_INDEX_LONG_NAME + " was specified.");
+        }
+
         intervals = hasUserSuppliedIntervals() ? intervalArgumentCollection.getIntervals(getBestAvailableSequenceDictionary()) :
                 Collections.emptyList();
 
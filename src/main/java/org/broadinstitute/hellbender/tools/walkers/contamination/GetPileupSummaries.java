@@ -16,6 +16,8 @@ import org.broadinstitute.hellbender.engine.filters.ReadFilterLibrary;
 import org.broadinstitute.hellbender.engine.filters.WellformedReadFilter;
 import org.broadinstitute.hellbender.exceptions.UserException;
 import org.broadinstitute.hellbender.utils.GATKProtectedVariantContextUtils;
+import org.broadinstitute.hellbender.utils.SimpleInterval;
+import org.broadinstitute.hellbender.utils.locusiterator.KnownSitesBaseCounter;
 import org.broadinstitute.hellbender.utils.pileup.ReadPileup;
 import org.broadinstitute.hellbender.utils.read.ReadUtils;
 
@@ -140,10 +142,16 @@ public class GetPileupSummaries extends LocusWalker {
     @Argument(fullName = MIN_MAPPING_QUALITY_LONG_NAME, shortName = MIN_MAPPING_QUALITY_SHORT_NAME, doc = "Minimum read mapping quality", optional = true)
     private int minMappingQuality = DEFAULT_MINIMUM_MAPPING_QUALITY;
 
+    @Argument(fullName = LocusWalker.COUNT_KNOWN_SITES_ONLY_LONG_NAME,
+            doc = "Count bases at the sites in a single pass over the reads instead of building pileups at every locus.  " +
+                    "Much faster for large site lists; memory use is proportional to the total size of the intervals.", optional = true)
+    private boolean countKnownSitesOnly = false;
+
     private final List<PileupSummary> pileupSummaries = new ArrayList<>();
 
-    private boolean sawVariantsWithoutAlleleFrequency = false;
-    private boolean sawVariantsWithAlleleFrequency = false;
+    // volatile because shards of a multi-threaded traversal may set these concurrently
+    private volatile boolean sawVariantsWithoutAlleleFrequency = false;
+    private volatile boolean sawVariantsWithAlleleFrequency = false;
 
     @Override
     public boolean requiresReads() {
@@ -165,6 +173,16 @@ public class GetPileupSummaries extends LocusWalker {
         return true;
     }
 
+    @Override
+    public boolean countKnownSitesOnly() {
+        return countKnownSitesOnly;
+    }
+
+    @Override
+    public boolean reusePileups() {
+        return true;
+    }
+
     @Override
     public List<ReadFilter> getDefaultReadFilters() {
         final List<ReadFilter> filters = new ArrayList<>();
@@ -192,19 +210,62 @@ public class GetPileupSummaries extends LocusWalker {
 
     @Override
     public void apply(AlignmentContext alignmentContext, ReferenceContext referenceContext, FeatureContext featureContext) {
-        final List<VariantContext> vcs = featureContext.getValues(variants);
-        if (vcs.isEmpty()) {
-            return;
+        summarizeLocus(alignmentContext, featureContext, pileupSummaries);
+    }
+
+    /**
+     * Each shard summarizes into its own list, which is appended to the output when the shard is reduced.
+     */
+    @Override
+    protected ShardProcessor makeShardProcessor() {
+        final List<PileupSummary> shardSummaries = new ArrayList<>();
+        return new ShardProcessor() {
+            @Override
+            public void apply(final AlignmentContext alignmentContext, final ReferenceContext referenceContext, final FeatureContext featureContext) {
+                summarizeLocus(alignmentContext, featureContext, shardSummaries);
+            }
+
+            @Override
+            public void reduce() {
+                pileupSummaries.addAll(shardSummaries);
+            }
+        };
+    }
+
+    @Override
+    protected KnownSitesBaseCounter makeKnownSitesBaseCounter(final List<SimpleInterval> sites) {
+        return new KnownSitesBaseCounter(sites, 0, minMappingQuality);
+    }
+
+    @Override
+    protected void applyKnownSite(final SimpleInterval locus, final int[] baseCounts, final ReferenceContext referenceContext, final FeatureContext featureContext) {
+        final VariantContext vc = getSiteToSummarize(featureContext);
+        if (vc != null) {
+            pileupSummaries.add(new PileupSummary(vc, baseCounts));
         }
-        final VariantContext vc = vcs.get(0);
+    }
 
-        if ( vc.isBiallelic() && vc.isSNP() && alleleFrequencyInRange(vc) ) {
+    private void summarizeLocus(final AlignmentContext alignmentContext, final FeatureContext featureContext, final List<PileupSummary> summaries) {
+        final VariantContext vc = getSiteToSummarize(featureContext);
+        if (vc != null) {
             final ReadPileup pileup = alignmentContext.getBasePileup()
                     .makeFilteredPileup(pe -> pe.getRead().getMappingQuality() >= minMappingQuality);
-            pileupSummaries.add(new PileupSummary(vc, pileup));
+            summaries.add(new PileupSummary(vc, pileup));
         }
     }
 
+    /**
+     * @return the biallelic SNP with allele frequency in range at the current locus, or null if there is none
+     */
+    private VariantContext getSiteToSummarize(final FeatureContext featureContext) {
+        final List<VariantContext> vcs = featureContext.getValues(variants);
+        if (vcs.isEmpty()) {
+            return null;
+        }
+        final VariantContext vc = vcs.get(0);
+        return vc.isBiallelic() && vc.isSNP() && alleleFrequencyInRange(vc) ? vc : null;
+    }
+
     @Override
     public Object onTraversalSuccess() {
         if (sawVariantsWithoutAlleleFrequency && !sawVariantsWithAlleleFrequency) {
@@ -51,6 +51,11 @@ public class CollectF1R2Counts extends LocusWalker {
         return true;
     }
 
+    @Override
+    public boolean reusePileups() {
+        return true;
+    }
+
     @Override
     public List<ReadFilter> getDefaultReadFilters() {
         return Mutect2Engine.makeStandardMutect2ReadFilters();
@@ -1,9 +1,12 @@
 package org.broadinstitute.hellbender.tools.walkers.vqsr;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import htsjdk.samtools.SAMSequenceDictionary;
 import htsjdk.variant.variantcontext.Allele;
 import htsjdk.variant.vcf.*;
 import htsjdk.variant.variantcontext.VariantContext;
 import htsjdk.variant.variantcontext.VariantContextBuilder;
+import htsjdk.variant.variantcontext.writer.AsyncVariantContextWriter;
 import htsjdk.variant.variantcontext.writer.VariantContextWriter;
 
 import org.broadinstitute.barclay.argparser.Argument;
@@ -13,10 +16,12 @@ import org.broadinstitute.barclay.help.DocumentedFeature;
 import org.broadinstitute.hellbender.cmdline.StandardArgumentDefinitions;
 import picard.cmdline.programgroups.VariantFilteringProgramGroup;
 import org.broadinstitute.hellbender.engine.FeatureContext;
+import org.broadinstitute.hellbender.engine.FeatureDataSource;
 import org.broadinstitute.hellbender.engine.FeatureInput;
 import org.broadinstitute.hellbender.engine.ReadsContext;
 import org.broadinstitute.hellbender.engine.ReferenceContext;
 import org.broadinstitute.hellbender.engine.MultiVariantWalker;
+import org.broadinstitute.hellbender.exceptions.GATKException;
 import org.broadinstitute.hellbender.exceptions.UserException;
 import org.broadinstitute.hellbender.tools.walkers.annotator.AnnotationUtils;
 import org.broadinstitute.hellbender.utils.variant.GATKVCFConstants;
@@ -24,6 +29,10 @@ import org.broadinstitute.hellbender.utils.variant.GATKVCFConstants;
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -110,6 +119,23 @@ import java.util.regex.Pattern;
  * the allele filters. That is, if one allele passes, the whole site will be PASS. If no alleles pass, the site-level
  * filter will be set to the lowest sensitivity tranche among all the alleles.</p>
  *
+ * <h4>Applying recalibration to a large callset</h4>
+ * <pre>
+ * gatk ApplyVQSR \
+ *   -R Homo_sapiens_assembly38.fasta \
+ *   -V input.vcf.gz \
+ *   -O output.vcf.gz \
+ *   --truth-sensitivity-filter-level 99.0 \
+ *   --tranches-file output.tranches \
+ *   --recal-file output.recal \
+ *   -mode SNP \
+ *   --stream-recal-file \
+ *   --encoding-threads 4
+ * </pre>
+ * <p>With --stream-recal-file, the recal file is read sequentially alongside the input variants, rather than being
+ * queried for each variant. With --encoding-threads, the output records are built on a pool of threads and encoded
+ * and written on another thread, while the input is read. The output is the same as without these arguments.</p>
+ *
  * <h3>Caveats</h3>
  *
  * <ul>
@@ -185,6 +211,24 @@ public class ApplyVQSR extends MultiVariantWalker {
     @Argument(fullName = "mode", shortName = "mode", doc = "Recalibration mode to employ: 1.) SNP for recalibrating only SNPs (emitting indels untouched in the output VCF); 2.) INDEL for indels; and 3.) BOTH for recalibrating both SNPs and indels simultaneously.", optional=true)
     private VariantRecalibratorArgumentCollection.Mode MODE = VariantRecalibratorArgumentCollection.Mode.SNP;
 
+    /**
+     * Read the recal file sequentially, in lock-step with the input variants (a merge join), instead of querying its
+     * index for every variant. The recal file must be sorted in the same order as the input variants, as it is when
+     * written by VariantRecalibrator from the same input.
+     */
+    @Advanced
+    @Argument(fullName="stream-recal-file", doc="Read the recal file alongside the input variants instead of querying it for each variant", optional=true)
+    private boolean streamRecalFile = false;
+
+    /**
+     * If greater than zero, the recalibrated records are built on this many threads, in batches of consecutive
+     * variants, and are encoded and written to the output on another thread, so that these steps overlap with
+     * reading the input. The records are written in input order.
+     */
+    @Advanced
+    @Argument(fullName="encoding-threads", doc="Number of threads on which to build the output records (0 to build and write them on the traversal thread)", minValue = 0, optional=true)
+    private int encodingThreads = 0;
+
     /////////////////////////////
     // Private Member Variables
     /////////////////////////////
@@ -197,6 +241,22 @@ public class ApplyVQSR extends MultiVariantWalker {
     final static private String emptyStringValue = "NA";
     final static private String emptyFloatValue = "NaN";
 
+    // the number of consecutive variants recalibrated as one task when encodingThreads > 0
+    final static private int ENCODING_BATCH_SIZE = 1000;
+
+    // the recal file, read as a stream when streamRecalFile is set (null otherwise)
+    private RecalFileStream recalFileStream;
+
+    // the threads on which records are recalibrated when encodingThreads > 0 (null otherwise)
+    private ExecutorService encodingExecutor;
+
+    // the variants (and their recal records) waiting to be submitted to encodingExecutor as one batch
+    private List<VariantContext> currentBatch = new ArrayList<>();
+    private List<List<VariantContext>> currentBatchRecals = new ArrayList<>();
+
+    // the batches being recalibrated, in input order
+    private final Deque<Future<List<VariantContext>>> pendingBatches = new ArrayDeque<>();
+
 
     //---------------------------------------------------------------------------------------------------------------
     //
@@ -273,7 +333,28 @@ public class ApplyVQSR extends MultiVariantWalker {
         hInfo.addAll(getDefaultToolVCFHeaderLines());
         final VCFHeader vcfHeader = new VCFHeader(hInfo, samples);
         vcfWriter = createVCFWriter(new File(output));
+        if ( encodingThreads > 0 ) {
+            // encode, compress and index the output on a separate thread
+            vcfWriter = new AsyncVariantContextWriter(vcfWriter);
+            encodingExecutor = Executors.newFixedThreadPool(encodingThreads, new ThreadFactoryBuilder()
+                    .setNameFormat("apply-vqsr-thread-%d")
+                    .setDaemon(true)
+                    .build());
+        }
         vcfWriter.writeHeader(vcfHeader);
+
+        if ( streamRecalFile ) {
+            final SAMSequenceDictionary dictionary = getBestAvailableSequenceDictionary();
+            if ( dictionary == null ) {
+                throw new UserException("A sequence dictionary, from the reference or from the input VCF header, is required to stream the recal file.");
+            }
+            final FeatureDataSource<VariantContext> recalDataSource = new FeatureDataSource<>(recal, 0, VariantContext.class,
+                    cloudPrefetchBuffer, cloudIndexPrefetchBuffer, referenceArguments.getReferencePath());
+            if ( hasUserSuppliedIntervals() ) {
+                recalDataSource.setIntervalsForTraversal(getTraversalIntervals());
+            }
+            recalFileStream = new RecalFileStream(recalDataSource, dictionary);
+        }
     }
 
     private boolean trancheIntervalIsValid(final String sensitivityLimits) {
@@ -328,7 +409,78 @@ public class ApplyVQSR extends MultiVariantWalker {
     @Override
     public void apply(final VariantContext vc, final ReadsContext readsContext, final ReferenceContext ref, final FeatureContext featureContext) {
 
-        final List<VariantContext> recals =  featureContext.getValues(recal, vc.getStart());
+        // the recal records are always read on this thread, since the feature data sources are not thread-safe
+        final List<VariantContext> recals = recalFileStream != null ? recalFileStream.getStartingAt(vc) : featureContext.getValues(recal, vc.getStart());
+        if ( encodingExecutor == null ) {
+            final VariantContext outputVC = recalibrate(vc, recals);
+            if ( outputVC != null ) {
+                vcfWriter.add( outputVC );
+            }
+            return;
+        }
+
+        currentBatch.add(vc);
+        currentBatchRecals.add(recals);
+        if ( currentBatch.size() >= ENCODING_BATCH_SIZE ) {
+            submitCurrentBatch();
+        }
+        // keep a bounded number of batches in flight, so that memory use does not depend on the input size
+        while ( pendingBatches.size() > 2 * encodingThreads ) {
+            writeOldestBatch();
+        }
+    }
+
+    /**
+     * Submits the variants collected so far to be recalibrated on {@link #encodingExecutor}.
+     */
+    private void submitCurrentBatch() {
+        if ( currentBatch.isEmpty() ) {
+            return;
+        }
+        final List<VariantContext> batch = currentBatch;
+        final List<List<VariantContext>> batchRecals = currentBatchRecals;
+        pendingBatches.add(encodingExecutor.submit(() -> {
+            final List<VariantContext> outputVCs = new ArrayList<>(batch.size());
+            for ( int i = 0; i < batch.size(); i++ ) {
+                outputVCs.add(recalibrate(batch.get(i), batchRecals.get(i)));
+            }
+            return outputVCs;
+        }));
+        currentBatch = new ArrayList<>();
+        currentBatchRecals = new ArrayList<>();
+    }
+
+    /**
+     * Waits for the oldest batch being recalibrated and writes its records, so that the output is in input order.
+     */
+    private void writeOldestBatch() {
+        final List<VariantContext> outputVCs;
+        try {
+            outputVCs = pendingBatches.poll().get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GATKException("Interrupted while recalibrating variants", e);
+        } catch (final ExecutionException e) {
+            if ( e.getCause() instanceof RuntimeException ) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new GATKException("Failure while recalibrating variants", e.getCause());
+        }
+        for ( final VariantContext outputVC : outputVCs ) {
+            if ( outputVC != null ) {
+                vcfWriter.add( outputVC );
+            }
+        }
+    }
+
+    /**
+     * Applies the recalibration to a variant.  Only reads the state set up in {@link #onTraversalStart}, and does
+     * not decode the genotypes of the variant, so may be called from several threads at once.
+     * @param vc the input variant
+     * @param recals the recal records that start at the start of the variant
+     * @return the record to write, or null if it is filtered and filtered records are excluded
+     */
+    private VariantContext recalibrate(final VariantContext vc, final List<VariantContext> recals) {
         final boolean evaluateThisVariant = useASannotations || VariantDataManager.checkVariationClass( vc, MODE );
 
         //vc.isNotFiltered is true for PASS; vc.filtersHaveBeenApplied covers PASS and filters
@@ -355,11 +507,9 @@ public class ApplyVQSR extends MultiVariantWalker {
             }
 
             final VariantContext outputVC = builder.make();
-            if( !EXCLUDE_FILTERED || outputVC.isNotFiltered() ) {
-                vcfWriter.add( outputVC );
-            }
+            return !EXCLUDE_FILTERED || outputVC.isNotFiltered() ? outputVC : null;
         } else { // valid VC but not compatible with this mode, so just emit the variant untouched
-            vcfWriter.add( vc );
+            return vc;
         }
     }
 
@@ -622,8 +772,26 @@ public class ApplyVQSR extends MultiVariantWalker {
         return generateFilterString(lod);
     }
 
+    @Override
+    public Object onTraversalSuccess() {
+        // write out the variants that are still being recalibrated
+        if ( encodingExecutor != null ) {
+            submitCurrentBatch();
+            while ( !pendingBatches.isEmpty() ) {
+                writeOldestBatch();
+            }
+        }
+        return null;
+    }
+
     @Override
     public void closeTool() {
+        if (encodingExecutor != null) {
+            encodingExecutor.shutdownNow();
+        }
+        if (recalFileStream != null) {
+            recalFileStream.close();
+        }
         if (vcfWriter != null) {
             vcfWriter.close();
         }
@@ -23,11 +23,17 @@ class GaussianMixtureModel {
     private final double priorCounts;
     private final double[] empiricalMu;
     private final Matrix empiricalSigma;
+    private final int numThreads;
     public boolean isModelReadyForEvaluation;
     public boolean failedToConverge = false;
 
+    /**
+     * @param numThreads the number of threads over which the training data are split by the steps of the EM algorithm
+     *                   (which must be called from a task of a fork-join pool with that many threads)
+     */
     public GaussianMixtureModel( final int numGaussians, final int numVariantData, final int numAnnotations,
-                                 final double shrinkage, final double dirichletParameter, final double priorCounts ) {
+                                 final double shrinkage, final double dirichletParameter, final double priorCounts,
+                                 final int numThreads ) {
 
         gaussians = new ArrayList<>( numGaussians );
         for( int iii = 0; iii < numGaussians; iii++ ) {
@@ -37,6 +43,7 @@ class GaussianMixtureModel {
         this.shrinkage = shrinkage;
         this.dirichletParameter = dirichletParameter;
         this.priorCounts = priorCounts;
+        this.numThreads = numThreads;
         empiricalMu = new double[numAnnotations];
         empiricalSigma = new Matrix(numAnnotations, numAnnotations);
         isModelReadyForEvaluation = false;
@@ -51,6 +58,7 @@ class GaussianMixtureModel {
         this.shrinkage = shrinkage;
         this.dirichletParameter = dirichletParameter;
         this.priorCounts = priorCounts;
+        this.numThreads = 1;
         empiricalMu = new double[numAnnotations];
         empiricalSigma = new Matrix(numAnnotations, numAnnotations);
         isModelReadyForEvaluation = false;
@@ -59,6 +67,10 @@ class GaussianMixtureModel {
 
     }
 
+    private TrainingDataChunks getChunks( final List<VariantDatum> data ) {
+        return new TrainingDataChunks( data.size(), numThreads );
+    }
+
     public void initializeRandomModel( final List<VariantDatum> data, final int numKMeansIterations ) {
 
         // initialize random Gaussian means // BUGBUG: this is broken up this way to match the order of calls to rand.nextDouble() in the old code
@@ -82,37 +94,56 @@ class GaussianMixtureModel {
     }
 
     private void initializeMeansUsingKMeans( final List<VariantDatum> data, final int numIterations ) {
+        final int numAnnotations = empiricalMu.length;
+        final TrainingDataChunks chunks = getChunks( data );
+        final int[] assignment = new int[chunks.getNumData()]; // index of the nearest gaussian to each datum
 
         int ttt = 0;
         while( ttt++ < numIterations ) {
             // E step: assign each variant to the nearest cluster
-            for( final VariantDatum datum : data ) {
-                double minDistance = Double.MAX_VALUE;
-                MultivariateGaussian minGaussian = null;
-                datum.assignment = minGaussian;
-                for( final MultivariateGaussian gaussian : gaussians ) {
-                    final double dist = gaussian.calculateDistanceFromMeanSquared( datum );
-                    if( dist < minDistance ) {
-                        minDistance = dist;
-                        minGaussian = gaussian;
+            chunks.forEach((start, end) -> {
+                for( int datumIndex = start; datumIndex < end; datumIndex++ ) {
+                    double minDistance = Double.MAX_VALUE;
+                    int minGaussian = -1;
+                    for( int gaussianIndex = 0; gaussianIndex < gaussians.size(); gaussianIndex++ ) {
+                        final double dist = gaussians.get(gaussianIndex).calculateDistanceFromMeanSquared( data.get(datumIndex) );
+                        if( dist < minDistance ) {
+                            minDistance = dist;
+                            minGaussian = gaussianIndex;
+                        }
                     }
+                    assignment[datumIndex] = minGaussian;
                 }
-                datum.assignment = minGaussian;
-            }
+            });
 
             // M step: update gaussian means based on assigned variants
-            for( final MultivariateGaussian gaussian : gaussians ) {
+            final List<double[][]> partialSums = chunks.map((start, end) -> {
+                // the sum of the data assigned to each gaussian, followed by their number
+                final double[][] sums = new double[gaussians.size()][numAnnotations + 1];
+                for( int datumIndex = start; datumIndex < end; datumIndex++ ) {
+                    if( assignment[datumIndex] >= 0 ) {
+                        final double[] annotations = data.get(datumIndex).annotations;
+                        final double[] gaussianSums = sums[assignment[datumIndex]];
+                        for( int jjj = 0; jjj < numAnnotations; jjj++ ) {
+                            gaussianSums[jjj] += annotations[jjj];
+                        }
+                        gaussianSums[numAnnotations]++;
+                    }
+                }
+                return sums;
+            });
+            for( int gaussianIndex = 0; gaussianIndex < gaussians.size(); gaussianIndex++ ) {
+                final MultivariateGaussian gaussian = gaussians.get(gaussianIndex);
                 gaussian.zeroOutMu();
-                int numAssigned = 0;
-
-                for( final VariantDatum datum : data ) {
-                    if( datum.assignment.equals(gaussian) ) {
-                        numAssigned++;
-                        gaussian.incrementMu( datum );
+                double numAssigned = 0;
+                for( final double[][] sums : partialSums ) {
+                    for( int jjj = 0; jjj < numAnnotations; jjj++ ) {
+                        gaussian.mu[jjj] += sums[gaussianIndex][jjj];
                     }
+                    numAssigned += sums[gaussianIndex][numAnnotations];
                 }
                 if( numAssigned != 0 ) {
-                    gaussian.divideEqualsMu( ((double) numAssigned) );
+                    gaussian.divideEqualsMu( numAssigned );
                 } else {
                     gaussian.initializeRandomMu( Utils.getRandomGenerator() );
                 }
@@ -126,18 +157,23 @@ class GaussianMixtureModel {
             gaussian.precomputeDenominatorForVariationalBayes( getSumHyperParameterLambda() );
         }
 
-        for( final VariantDatum datum : data ) {
-            final double[] pVarInGaussianLog10 = gaussians.stream().mapToDouble(g -> g.evaluateDatumLog10(datum)).toArray();
-            final double[] pVarInGaussianNormalized = MathUtils.normalizeLog10DeleteMePlease( pVarInGaussianLog10, false);
-            int gaussianIndex = 0;
-            for( final MultivariateGaussian gaussian : gaussians ) {
-                gaussian.assignPVarInGaussian( pVarInGaussianNormalized[gaussianIndex++] );
+        getChunks( data ).forEach((start, end) -> {
+            final double[] pVarInGaussianLog10 = new double[gaussians.size()];
+            for( int datumIndex = start; datumIndex < end; datumIndex++ ) {
+                for( int gaussianIndex = 0; gaussianIndex < gaussians.size(); gaussianIndex++ ) {
+                    pVarInGaussianLog10[gaussianIndex] = gaussians.get(gaussianIndex).evaluateDatumLog10( data.get(datumIndex) );
+                }
+                final double[] pVarInGaussianNormalized = MathUtils.normalizeLog10DeleteMePlease( pVarInGaussianLog10, false);
+                for( int gaussianIndex = 0; gaussianIndex < gaussians.size(); gaussianIndex++ ) {
+                    gaussians.get(gaussianIndex).assignPVarInGaussian( datumIndex, pVarInGaussianNormalized[gaussianIndex] );
+                }
             }
-        }
+        });
     }
 
     public void maximizationStep( final List<VariantDatum> data ) {
-        gaussians.forEach(g -> g.maximizeGaussian( data, empiricalMu, empiricalSigma, shrinkage, dirichletParameter, priorCounts));
+        final TrainingDataChunks chunks = getChunks( data );
+        gaussians.forEach(g -> g.maximizeGaussian( data, chunks, empiricalMu, empiricalSigma, shrinkage, dirichletParameter, priorCounts));
     }
 
     private double getSumHyperParameterLambda() {
@@ -145,10 +181,19 @@ class GaussianMixtureModel {
     }
 
     public void evaluateFinalModelParameters( final List<VariantDatum> data ) {
-        gaussians.forEach(g -> g.evaluateFinalModelParameters(data));
+        final TrainingDataChunks chunks = getChunks( data );
+        gaussians.forEach(g -> g.evaluateFinalModelParameters(data, chunks));
         normalizePMixtureLog10();
     }
 
+    /**
+     * Releases the per-datum state of the fit (one probability per training datum and Gaussian), which is no longer
+     * needed once the final model parameters have been evaluated, so that it is not kept alongside the fitted model.
+     */
+    public void releaseTrainingState() {
+        gaussians.forEach(MultivariateGaussian::releasePVarInGaussian);
+    }
+
     public double normalizePMixtureLog10() {
         double sumDiff = 0.0;
         final double sumPK = gaussians.stream().mapToDouble(g -> g.sumProb).sum();
@@ -21,14 +21,12 @@ class MultivariateGaussian {
     public double hyperParameter_lambda;
     private double cachedDenomLog10;
     private Matrix cachedSigmaInverse;
-    final private double[] pVarInGaussian;
-    int pVarInGaussianIndex;
+    private double[] pVarInGaussian;
 
     public MultivariateGaussian( final int numVariants, final int numAnnotations  ) {
         mu = new double[numAnnotations];
         sigma = new Matrix(numAnnotations, numAnnotations);
         pVarInGaussian = new double[numVariants];
-        pVarInGaussianIndex = 0;
     }
 
     public void zeroOutMu() {
@@ -70,16 +68,6 @@ class MultivariateGaussian {
         return MathUtils.distanceSquared( datum.annotations, mu );
     }
 
-    public void incrementMu( final VariantDatum datum ) {
-        incrementMu( datum, 1.0 );
-    }
-
-    public void incrementMu( final VariantDatum datum, final double prob ) {
-        for( int jjj = 0; jjj < mu.length; jjj++ ) {
-            mu[jjj] += prob * datum.annotations[jjj];
-        }
-    }
-
     public void divideEqualsMu( final double x ) {
         for( int jjj = 0; jjj < mu.length; jjj++ ) {
             mu[jjj] /= x;
@@ -123,45 +111,99 @@ class MultivariateGaussian {
         cachedDenomLog10 = (pi / Math.log(10.0)) + (lambda / Math.log(10.0)) + (beta / Math.log(10.0));
     }
 
+    /**
+     * May be called from several threads at once.
+     */
     public double evaluateDatumLog10( final VariantDatum datum ) {
+        final double[] annotations = datum.annotations;
+        final double[][] sigmaInverse = cachedSigmaInverse.getArray();
         double sumKernel = 0.0;
-        final double[] crossProdTmp = new double[mu.length];
-        Arrays.fill(crossProdTmp, 0.0);
         for( int iii = 0; iii < mu.length; iii++ ) {
+            double crossProd = 0.0;
             for( int jjj = 0; jjj < mu.length; jjj++ ) {
-                crossProdTmp[iii] += (datum.annotations[jjj] - mu[jjj]) * cachedSigmaInverse.get(jjj, iii);
+                crossProd += (annotations[jjj] - mu[jjj]) * sigmaInverse[jjj][iii];
             }
-        }
-        for( int iii = 0; iii < mu.length; iii++ ) {
-            sumKernel += crossProdTmp[iii] * (datum.annotations[iii] - mu[iii]);
+            sumKernel += crossProd * (annotations[iii] - mu[iii]);
         }
 
         return (( -0.5 * sumKernel ) / Math.log(10.0)) + cachedDenomLog10; // This is the definition of a Gaussian PDF Log10
     }
 
-    public void assignPVarInGaussian( final double pVar ) {
-        pVarInGaussian[pVarInGaussianIndex++] = pVar;
+    public void assignPVarInGaussian( final int datumIndex, final double pVar ) {
+        pVarInGaussian[datumIndex] = pVar;
     }
 
     public void resetPVarInGaussian() {
         Arrays.fill(pVarInGaussian, 0.0);
-        pVarInGaussianIndex = 0;
     }
 
-    public void maximizeGaussian(final List<VariantDatum> data, final double[] empiricalMu, final Matrix empiricalSigma,
-                                 final double SHRINKAGE, final double DIRICHLET_PARAMETER, final double DEGREES_OF_FREEDOM ) {
-        sumProb = 1E-10;
-        final Matrix wishart = new Matrix(mu.length, mu.length);
-        zeroOutMu();
-        zeroOutSigma();
+    /**
+     * Releases the probabilities of the training data, which are only needed while the model is being fit.
+     */
+    public void releasePVarInGaussian() {
+        pVarInGaussian = null;
+    }
+
+    /**
+     * Sets the mean to the responsibility-weighted mean of the training data, summing over the chunks and
+     * starting the sum of the responsibilities from {@code initialSumProb}.
+     */
+    private void computeWeightedMean( final List<VariantDatum> data, final TrainingDataChunks chunks, final double initialSumProb ) {
+        // each partial sum holds the sum of the responsibilities, followed by the weighted sum of the data
+        final List<double[]> partialSums = chunks.map((start, end) -> {
+            final double[] sums = new double[mu.length + 1];
+            sums[0] = start == 0 ? initialSumProb : 0.0;
+            for( int datumIndex = start; datumIndex < end; datumIndex++ ) {
+                final double prob = pVarInGaussian[datumIndex];
+                final double[] annotations = data.get(datumIndex).annotations;
+                sums[0] += prob;
+                for( int jjj = 0; jjj < mu.length; jjj++ ) {
+                    sums[jjj + 1] += prob * annotations[jjj];
+                }
+            }
+            return sums;
+        });
 
-        int datumIndex = 0;
-        for( final VariantDatum datum : data ) {
-            final double prob = pVarInGaussian[datumIndex++];
-            sumProb += prob;
-            incrementMu( datum, prob );
+        sumProb = 0.0;
+        zeroOutMu();
+        for( final double[] sums : partialSums ) {
+            sumProb += sums[0];
+            for( int jjj = 0; jjj < mu.length; jjj++ ) {
+                mu[jjj] += sums[jjj + 1];
+            }
         }
         divideEqualsMu( sumProb );
+    }
+
+    /**
+     * Sets sigma to the responsibility-weighted scatter matrix of the training data about the current mean.
+     */
+    private void computeWeightedScatter( final List<VariantDatum> data, final TrainingDataChunks chunks ) {
+        final List<double[][]> partialSums = chunks.map((start, end) -> {
+            final double[][] sums = new double[mu.length][mu.length];
+            for( int datumIndex = start; datumIndex < end; datumIndex++ ) {
+                final double prob = pVarInGaussian[datumIndex];
+                final double[] annotations = data.get(datumIndex).annotations;
+                for( int iii = 0; iii < mu.length; iii++ ) {
+                    final double deltaMu = prob * (annotations[iii] - mu[iii]);
+                    for( int jjj = 0; jjj < mu.length; jjj++ ) {
+                        sums[iii][jjj] += deltaMu * (annotations[jjj] - mu[jjj]);
+                    }
+                }
+            }
+            return sums;
+        });
+
+        zeroOutSigma();
+        for( final double[][] sums : partialSums ) {
+            sigma.plusEquals( new Matrix(sums) );
+        }
+    }
+
+    public void maximizeGaussian(final List<VariantDatum> data, final TrainingDataChunks chunks, final double[] empiricalMu, final Matrix empiricalSigma,
+                                 final double SHRINKAGE, final double DIRICHLET_PARAMETER, final double DEGREES_OF_FREEDOM ) {
+        final Matrix wishart = new Matrix(mu.length, mu.length);
+        computeWeightedMean( data, chunks, 1E-10 );
 
         final double shrinkageFactor = (SHRINKAGE * sumProb) / (SHRINKAGE + sumProb);
         for( int iii = 0; iii < mu.length; iii++ ) {
@@ -171,19 +213,7 @@ class MultivariateGaussian {
             }
         }
 
-        datumIndex = 0;
-        final Matrix pVarSigma = new Matrix(mu.length, mu.length);
-        for( final VariantDatum datum : data ) {
-            final double prob = pVarInGaussian[datumIndex++];
-            for( int iii = 0; iii < mu.length; iii++ ) {
-                double deltaMu = prob * (datum.annotations[iii]-mu[iii]);
-                for( int jjj = 0; jjj < mu.length; jjj++ ) {
-                    pVarSigma.set(iii, jjj, deltaMu * (datum.annotations[jjj]-mu[jjj]));
-                }
-            }
-            sigma.plusEquals( pVarSigma );
-        }
-
+        computeWeightedScatter( data, chunks );
         sigma.plusEquals( empiricalSigma );
         sigma.plusEquals( wishart );
 
@@ -198,30 +228,9 @@ class MultivariateGaussian {
         resetPVarInGaussian(); // clean up some memory
     }
 
-    public void evaluateFinalModelParameters( final List<VariantDatum> data ) {
-        sumProb = 0.0;
-        zeroOutMu();
-        zeroOutSigma();
-
-        int datumIndex = 0;
-        for( final VariantDatum datum : data ) {
-            final double prob = pVarInGaussian[datumIndex++];
-            sumProb += prob;
-            incrementMu( datum, prob );
-        }
-        divideEqualsMu( sumProb );
-
-        datumIndex = 0;
-        final Matrix pVarSigma = new Matrix(mu.length, mu.length);
-        for( final VariantDatum datum : data ) {
-            final double prob = pVarInGaussian[datumIndex++];
-            for( int iii = 0; iii < mu.length; iii++ ) {
-                for( int jjj = 0; jjj < mu.length; jjj++ ) {
-                    pVarSigma.set(iii, jjj, prob * (datum.annotations[iii]-mu[iii]) * (datum.annotations[jjj]-mu[jjj]));
-                }
-            }
-            sigma.plusEquals( pVarSigma );
-        }
+    public void evaluateFinalModelParameters( final List<VariantDatum> data, final TrainingDataChunks chunks ) {
+        computeWeightedMean( data, chunks, 0.0 );
+        computeWeightedScatter( data, chunks );
         sigma.timesEquals( 1.0 / sumProb );
 
         resetPVarInGaussian(); // clean up some memory
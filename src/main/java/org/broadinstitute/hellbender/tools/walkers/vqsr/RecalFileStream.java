@@ -0,0 +1,76 @@
+package org.broadinstitute.hellbender.tools.walkers.vqsr;
+
+import htsjdk.samtools.SAMSequenceDictionary;
+import htsjdk.samtools.util.Locatable;
+import htsjdk.samtools.util.PeekableIterator;
+import htsjdk.variant.variantcontext.VariantContext;
+import org.broadinstitute.hellbender.engine.FeatureDataSource;
+import org.broadinstitute.hellbender.exceptions.UserException;
+import org.broadinstitute.hellbender.utils.Utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Reads the records of a recal file in lock-step with the variants being recalibrated, as a merge join, rather than
+ * querying the recal file's index for each variant.  The variants must be visited in coordinate order, and the recal
+ * file must be sorted in the same order (as it is when written by VariantRecalibrator).
+ */
+final class RecalFileStream implements AutoCloseable {
+
+    private final FeatureDataSource<VariantContext> dataSource;
+    private final PeekableIterator<VariantContext> iterator;
+    private final SAMSequenceDictionary dictionary;
+
+    // records read so far that start at the position of the last variant, which may also be that of the next one
+    private final List<VariantContext> buffered = new ArrayList<>();
+
+    /**
+     * @param dataSource the recal file, restricted to the traversal intervals (if any)
+     * @param dictionary the dictionary that gives the order of the contigs
+     */
+    RecalFileStream( final FeatureDataSource<VariantContext> dataSource, final SAMSequenceDictionary dictionary ) {
+        this.dataSource = Utils.nonNull(dataSource);
+        this.dictionary = Utils.nonNull(dictionary);
+        this.iterator = new PeekableIterator<>(dataSource.iterator());
+    }
+
+    /**
+     * Returns the recal records that start at the start of the given variant, in file order (i.e., the records that a
+     * FeatureContext query for the recal file at that start position returns).  Records that start before the
+     * variant are discarded, so a variant must not start before the previous one.
+     */
+    List<VariantContext> getStartingAt( final Locatable variant ) {
+        final String contig = variant.getContig();
+        final int contigIndex = getContigIndex(contig);
+        final int start = variant.getStart();
+
+        buffered.removeIf(record -> !record.getContig().equals(contig) || record.getStart() != start);
+        while ( iterator.hasNext() ) {
+            final VariantContext record = iterator.peek();
+            final int recordContigIndex = getContigIndex(record.getContig());
+            if ( recordContigIndex > contigIndex || (recordContigIndex == contigIndex && record.getStart() > start) ) {
+                break;
+            }
+            iterator.next();
+            if ( recordContigIndex == contigIndex && record.getStart() == start ) {
+                buffered.add(record);
+            }
+        }
+        return new ArrayList<>(buffered);
+    }
+
+    private int getContigIndex( final String contig ) {
+        final int contigIndex = dictionary.getSequenceIndex(contig);
+        if ( contigIndex == -1 ) {
+            throw new UserException("Contig " + contig + " is not in the sequence dictionary, so the recal file cannot be read alongside the input variants.");
+        }
+        return contigIndex;
+    }
+
+    @Override
+    public void close() {
+        iterator.close();
+        dataSource.close();
+    }
+}
@@ -0,0 +1,69 @@
+package org.broadinstitute.hellbender.tools.walkers.vqsr;
+
+import org.broadinstitute.hellbender.utils.param.ParamUtils;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/*
+ * Splits the indices of the training data into chunks, over which the steps of the EM algorithm compute partial sums.
+ * Results are returned in chunk order, so that sums combined from them are the same for any number of threads greater
+ * than one.  When single-threaded, there is only one chunk, so that the sums are those of a plain sequential pass over
+ * the data; these can differ from the multi-threaded sums by floating-point rounding.  Parallel streams run in the
+ * fork-join pool of the calling task (see VariantRecalibratorEngine.generateModel).
+ */
+final class TrainingDataChunks {
+
+    static final int PARALLEL_CHUNK_SIZE = 10000;
+
+    @FunctionalInterface
+    interface ChunkFunction<T> {
+        T apply( final int start, final int end );
+    }
+
+    @FunctionalInterface
+    interface ChunkConsumer {
+        void accept( final int start, final int end );
+    }
+
+    private final int numData;
+    private final int chunkSize;
+    private final boolean parallel;
+
+    TrainingDataChunks( final int numData, final int numThreads ) {
+        ParamUtils.isPositiveOrZero(numData, "Number of data must not be negative.");
+        ParamUtils.isPositive(numThreads, "Number of threads must be positive.");
+        this.numData = numData;
+        this.parallel = numThreads > 1;
+        this.chunkSize = parallel ? PARALLEL_CHUNK_SIZE : Math.max(numData, 1);
+    }
+
+    int getNumData() {
+        return numData;
+    }
+
+    int getNumChunks() {
+        return (numData + chunkSize - 1) / chunkSize;
+    }
+
+    /**
+     * Applies a function to the [start, end) row range of each chunk; the first chunk always starts at 0.
+     */
+    <T> List<T> map( final ChunkFunction<T> function ) {
+        return chunkStarts().mapToObj(start -> function.apply(start, Math.min(numData, start + chunkSize)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Applies a function to the [start, end) row range of each chunk, in no particular order.
+     */
+    void forEach( final ChunkConsumer consumer ) {
+        chunkStarts().forEach(start -> consumer.accept(start, Math.min(numData, start + chunkSize)));
+    }
+
+    private IntStream chunkStarts() {
+        final IntStream starts = IntStream.range(0, getNumChunks()).map(chunk -> chunk * chunkSize);
+        return parallel ? starts.parallel() : starts;
+    }
+}
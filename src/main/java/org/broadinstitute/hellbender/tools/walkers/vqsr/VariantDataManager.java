@@ -6,7 +6,6 @@ import htsjdk.variant.variantcontext.Allele;
 import htsjdk.variant.variantcontext.VariantContext;
 import htsjdk.variant.variantcontext.VariantContextBuilder;
 import htsjdk.variant.vcf.VCFConstants;
-import org.apache.commons.lang.ArrayUtils;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 
@@ -108,11 +107,12 @@ public class VariantDataManager {
             theOrder = calculateSortOrder(meanVector);
         }
         annotationKeys = reorderList(annotationKeys, theOrder);
-        varianceVector = ArrayUtils.toPrimitive(reorderArray(ArrayUtils.toObject(varianceVector), theOrder));
-        meanVector = ArrayUtils.toPrimitive(reorderArray(ArrayUtils.toObject(meanVector), theOrder));
+        final int[] order = theOrder.stream().mapToInt(Integer::intValue).toArray();
+        varianceVector = reorderArray(varianceVector, order);
+        meanVector = reorderArray(meanVector, order);
         for( final VariantDatum datum : data ) {
-            datum.annotations = ArrayUtils.toPrimitive(reorderArray(ArrayUtils.toObject(datum.annotations), theOrder));
-            datum.isNull = ArrayUtils.toPrimitive(reorderArray(ArrayUtils.toObject(datum.isNull), theOrder));
+            datum.annotations = reorderArray(datum.annotations, order);
+            datum.isNull = reorderArray(datum.isNull, order);
         }
         logger.info("Annotation order is: " + annotationKeys.toString());
     }
@@ -161,10 +161,22 @@ public class VariantDataManager {
     }
 
     /**
-     * Convenience connector method to work with arrays instead of lists. See ##reorderList##
+     * Reorder the given array to be in the specified order. See ##reorderList##
      */
-    private <T> T[] reorderArray(final T[] data, final List<Integer> order) {
-        return reorderList(Arrays.asList(data), order).toArray(data);
+    private static double[] reorderArray(final double[] data, final int[] order) {
+        final double[] reordered = new double[order.length];
+        for( int iii = 0; iii < order.length; iii++ ) {
+            reordered[iii] = data[order[iii]];
+        }
+        return reordered;
+    }
+
+    private static boolean[] reorderArray(final boolean[] data, final int[] order) {
+        final boolean[] reordered = new boolean[order.length];
+        for( int iii = 0; iii < order.length; iii++ ) {
+            reordered[iii] = data[order[iii]];
+        }
+        return reordered;
     }
 
     /**
@@ -85,6 +85,17 @@ final class VariantRecalibratorArgumentCollection {
     @Argument(fullName = "prior-counts", doc = "The number of prior counts to use in the variational Bayes algorithm.", optional = true)
     public double PRIOR_COUNTS = 20.0;
 
+    /**
+     * The number of threads used to fit the Gaussian mixture models. With more than one thread, the training data are
+     * split into chunks whose contributions to each step of the EM algorithm are computed in parallel and then combined
+     * in a fixed order, so the models are the same for any number of threads greater than one. Due to floating-point
+     * rounding, they may differ very slightly from the models fit by a single thread. Each thread only adds a small
+     * buffer per chunk of training data.
+     */
+    @Advanced
+    @Argument(fullName = "gmm-threads", doc = "Number of threads to use to fit the Gaussian mixture models", minValue = 1, optional = true)
+    public int NUM_GMM_THREADS = 1;
+
     /**
      * The number of variants to use in building the Gaussian mixture model. Training sets larger than this will be randomly downsampled.
      */
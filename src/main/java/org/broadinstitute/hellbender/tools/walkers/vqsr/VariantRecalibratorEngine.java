@@ -3,9 +3,12 @@ package org.broadinstitute.hellbender.tools.walkers.vqsr;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 
+import org.broadinstitute.hellbender.exceptions.GATKException;
 import org.broadinstitute.hellbender.utils.Utils;
 
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 
 public class VariantRecalibratorEngine {
 
@@ -43,8 +46,27 @@ public class VariantRecalibratorEngine {
                 data.get(0).annotations.length,
                 VRAC.SHRINKAGE,
                 VRAC.DIRICHLET_PARAMETER,
-                VRAC.PRIOR_COUNTS );
-        variationalBayesExpectationMaximization( model, data );
+                VRAC.PRIOR_COUNTS,
+                VRAC.NUM_GMM_THREADS );
+        if( VRAC.NUM_GMM_THREADS == 1 ) {
+            variationalBayesExpectationMaximization( model, data );
+            return model;
+        }
+        final ForkJoinPool pool = new ForkJoinPool( VRAC.NUM_GMM_THREADS );
+        try {
+            // the parallel streams over the chunks of training data started by the model run in this pool
+            pool.submit(() -> variationalBayesExpectationMaximization( model, data )).get();
+        } catch( final InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new GATKException("Interrupted while fitting the Gaussian mixture model.", e);
+        } catch( final ExecutionException e ) {
+            if( e.getCause() instanceof RuntimeException ) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new GATKException("Failure while fitting the Gaussian mixture model.", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
         return model;
     }
 
@@ -124,6 +146,7 @@ public class VariantRecalibratorEngine {
         }
 
         model.evaluateFinalModelParameters( data );
+        model.releaseTrainingState();
     }
 
     /////////////////////////////
@@ -13,6 +13,15 @@ import java.util.stream.Stream;
  * Utils to move data from a BwaMemAlignment into a GATKRead, or into a SAM tag.
  */
 public class BwaMemAlignmentUtils {
+    // binary tags, so that records can be tagged without parsing a tag name for each attribute
+    private static final short NM_TAG = SAMTag.NM.getBinaryTag();
+    private static final short AS_TAG = SAMTag.AS.getBinaryTag();
+    private static final short MD_TAG = SAMTag.MD.getBinaryTag();
+    private static final short RG_TAG = SAMTag.RG.getBinaryTag();
+    private static final short SA_TAG = SAMTag.SA.getBinaryTag();
+    private static final short XS_TAG = makeBinaryTag("XS");
+    private static final short XA_TAG = makeBinaryTag("XA");
+
     /**
      * Builds a SAMRecord from unaligned read data and an alignment.
      * qualsArg can be null.
@@ -64,15 +73,15 @@ public class BwaMemAlignmentUtils {
                     quals = Arrays.copyOfRange(quals, alignment.getSeqStart(), alignment.getSeqEnd());
             }
             samRecord.setCigar(tmpCigar);
-            samRecord.setAttribute("NM", alignment.getNMismatches());
-            samRecord.setAttribute("AS", alignment.getAlignerScore());
-            samRecord.setAttribute("XS", alignment.getSuboptimalScore());
-            samRecord.setAttribute("MD", alignment.getMDTag());
-            samRecord.setAttribute("XA", alignment.getXATag());
+            samRecord.setAttribute(NM_TAG, alignment.getNMismatches());
+            samRecord.setAttribute(AS_TAG, alignment.getAlignerScore());
+            samRecord.setAttribute(XS_TAG, alignment.getSuboptimalScore());
+            samRecord.setAttribute(MD_TAG, alignment.getMDTag());
+            samRecord.setAttribute(XA_TAG, alignment.getXATag());
         }
         else if ( alwaysGenerateASandXS ) {
-            samRecord.setAttribute("AS", 0);
-            samRecord.setAttribute("XS", 0);
+            samRecord.setAttribute(AS_TAG, 0);
+            samRecord.setAttribute(XS_TAG, 0);
         }
         if ( SAMFlag.READ_PAIRED.isSet(samFlag) ) {
             if ( alignment.getMateRefId() >= 0 ) samRecord.setMateReferenceName(refNames.get(alignment.getMateRefId()));
@@ -89,38 +98,59 @@ public class BwaMemAlignmentUtils {
             samRecord.setBaseQualities(SAMRecord.NULL_QUALS);
         }
         //TODO: there ought to be a way to indicate a set of tag names that ought to be copied -- we're just doing RG
-        if ( readGroup != null ) samRecord.setAttribute(SAMTag.RG.name(), readGroup);
+        if ( readGroup != null ) samRecord.setAttribute(RG_TAG, readGroup);
         return samRecord;
     }
 
     /**
-     * Produces an SA tag for each primary line and supplemental alignment as a map from alignment to tag value.
+     * Sets the SA tag of a record produced by {@link #applyAlignment}.  A null tag value removes the attribute.
      */
-    public static Map<BwaMemAlignment,String> createSATags( final List<BwaMemAlignment> alignments,
-                                                            final List<String> refNames ) {
+    public static void setSATag( final SAMRecord samRecord, final String saTag ) {
+        samRecord.setAttribute(SA_TAG, saTag);
+    }
+
+    /**
+     * Produces an SA tag for each primary line and supplemental alignment, as an array parallel to the list of
+     * alignments.  The array element is null for secondary alignments, and the array is empty if there are fewer
+     * than two alignments.  Each alignment is described only once, however many SA tags it appears in.
+     */
+    public static String[] createSATagArray( final List<BwaMemAlignment> alignments, final List<String> refNames ) {
         final int nAlignments = alignments.size();
-        if ( nAlignments < 2 ) return Collections.emptyMap();
+        if ( nAlignments < 2 ) return new String[0];
 
-        final String[] selfTags = new String[nAlignments];
+        final StringBuilder allTags = new StringBuilder();
+        final int[] tagEnds = new int[nAlignments];
         for ( int idx = 0; idx != nAlignments; ++idx ) {
             final BwaMemAlignment alignment = alignments.get(idx);
             if ( SAMFlag.SECONDARY_ALIGNMENT.isUnset(alignment.getSamFlag()) ) {
-                selfTags[idx] = asTag(alignment, refNames);
+                appendTag(allTags, alignment, refNames);
             }
+            tagEnds[idx] = allTags.length();
         }
 
-        final Map<BwaMemAlignment,String> saTags = new HashMap<>(SVUtils.hashMapCapacity(nAlignments));
+        // the SA tag for an alignment is the concatenation of the other alignments' descriptions
+        final String[] saTags = new String[nAlignments];
         for ( int idx = 0; idx != nAlignments; ++idx ) {
-            final BwaMemAlignment alignment = alignments.get(idx);
-            if ( SAMFlag.SECONDARY_ALIGNMENT.isSet(alignment.getSamFlag()) ) continue;
+            final int tagStart = idx == 0 ? 0 : tagEnds[idx - 1];
+            final int tagEnd = tagEnds[idx];
+            if ( tagStart == tagEnd ) continue;
+            saTags[idx] = allTags.substring(0, tagStart) + allTags.substring(tagEnd);
+        }
+        return saTags;
+    }
 
-            final StringBuilder saTag = new StringBuilder();
-            for ( int idx2 = 0; idx2 != nAlignments; ++idx2 ) {
-                if ( idx2 == idx ) continue;
-                final String tag = selfTags[idx2];
-                if ( tag != null ) saTag.append(tag);
-            }
-            saTags.put(alignment, saTag.toString());
+    /**
+     * Produces an SA tag for each primary line and supplemental alignment as a map from alignment to tag value.
+     */
+    public static Map<BwaMemAlignment,String> createSATags( final List<BwaMemAlignment> alignments,
+                                                            final List<String> refNames ) {
+        final int nAlignments = alignments.size();
+        if ( nAlignments < 2 ) return Collections.emptyMap();
+
+        final String[] saTagArray = createSATagArray(alignments, refNames);
+        final Map<BwaMemAlignment,String> saTags = new HashMap<>(SVUtils.hashMapCapacity(nAlignments));
+        for ( int idx = 0; idx != nAlignments; ++idx ) {
+            if ( saTagArray[idx] != null ) saTags.put(alignments.get(idx), saTagArray[idx]);
         }
         return saTags;
     }
@@ -129,9 +159,24 @@ public class BwaMemAlignmentUtils {
      * Describes an alignment as a string for use in an SA tag, for example.
      */
     public static String asTag( final BwaMemAlignment alignment, final List<String> refNames ) {
-        return refNames.get(alignment.getRefId())+","+(alignment.getRefStart()+1)+","+
-                (SAMFlag.READ_REVERSE_STRAND.isSet(alignment.getSamFlag())?"-":"+")+","+
-                alignment.getCigar().replace('H','S')+","+alignment.getMapQual()+","+alignment.getNMismatches()+";";
+        return appendTag(new StringBuilder(), alignment, refNames).toString();
+    }
+
+    private static StringBuilder appendTag( final StringBuilder sb, final BwaMemAlignment alignment,
+                                            final List<String> refNames ) {
+        sb.append(refNames.get(alignment.getRefId())).append(',').append(alignment.getRefStart()+1).append(',')
+                .append(SAMFlag.READ_REVERSE_STRAND.isSet(alignment.getSamFlag())?'-':'+').append(',');
+        final String cigar = alignment.getCigar();
+        for ( int idx = 0; idx != cigar.length(); ++idx ) {
+            final char c = cigar.charAt(idx);
+            sb.append(c == 'H' ? 'S' : c);
+        }
+        return sb.append(',').append(alignment.getMapQual()).append(',').append(alignment.getNMismatches()).append(';');
+    }
+
+    // the two-character tag packed into a short, as by htsjdk
+    private static short makeBinaryTag( final String tag ) {
+        return (short)(tag.charAt(1) << 8 | tag.charAt(0));
     }
 
     public static Stream<SAMRecord> toSAMStreamForRead(final String readName, final byte[] contigSequence,
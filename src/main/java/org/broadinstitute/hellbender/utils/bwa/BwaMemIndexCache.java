@@ -1,29 +1,127 @@
 package org.broadinstitute.hellbender.utils.bwa;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.spark.SparkFiles;
 import org.apache.spark.api.java.JavaSparkContext;
 import org.broadinstitute.hellbender.exceptions.GATKException;
 import org.broadinstitute.hellbender.utils.Utils;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Manage a global collection of {@link BwaMemIndex} instances.
+ * <p>
+ *     There is one instance per index image file per JVM, shared by all of the threads (e.g., Spark tasks) that use
+ *     it: the native library memory-maps the image, so its pages are also shared with any other process on the same
+ *     host that has the image open.  Looking up an index that has already been loaded takes no lock, so concurrent
+ *     tasks can create their own {@link BwaMemAligner}s on the shared index without contending; tasks that ask
+ *     for an index while it is being loaded wait for that load rather than starting another.
+ * </p>
+ * <p>
+ *     The time taken to load each index and the length of its image file are logged, and are available from
+ *     {@link #getLoadMetrics}.  {@link #warmUpDistributedInstances} loads an index on the executors ahead of the
+ *     first alignment task and reports these metrics on the driver.
+ * </p>
  */
 public class BwaMemIndexCache {
+    private static final Logger logger = LogManager.getLogger(BwaMemIndexCache.class);
 
-    private final static Map<String, BwaMemIndex> instances = new HashMap<>();
+    private static final int PREFETCH_BUFFER_SIZE = 8 << 20;
+
+    private final static ConcurrentMap<String, BwaMemIndex> instances = new ConcurrentHashMap<>();
+    private final static ConcurrentMap<String, IndexLoadMetrics> loadMetrics = new ConcurrentHashMap<>();
+    private final static Set<String> warmedUpInstances = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Load time and image file length for an index instance.  The length is that of the image file on disk, not the
+     * memory the index occupies once loaded, as only the pages that alignment touches are made resident.
+     */
+    public static final class IndexLoadMetrics implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String indexImageFile;
+        private final long imageSize;
+        private final long loadTimeMillis;
+
+        public IndexLoadMetrics( final String indexImageFile, final long imageSize, final long loadTimeMillis ) {
+            this.indexImageFile = indexImageFile;
+            this.imageSize = imageSize;
+            this.loadTimeMillis = loadTimeMillis;
+        }
+
+        public String getIndexImageFile() { return indexImageFile; }
+
+        /** Length in bytes of the index image file. */
+        public long getImageSize() { return imageSize; }
+
+        public long getLoadTimeMillis() { return loadTimeMillis; }
+
+        @Override
+        public String toString() {
+            return String.format("%s (%.1f MB) loaded in %.2f s", indexImageFile, imageSize / 1e6, loadTimeMillis / 1e3);
+        }
+    }
 
     /**
      * Returns a {@link BwaMemIndex} instance that corresponds to  given index image file.
      * @param indexImageFile the target image file.
      * @return never {@code null}.
      */
-    public static synchronized BwaMemIndex getInstance( final String indexImageFile ) {
+    public static BwaMemIndex getInstance( final String indexImageFile ) {
+        Utils.nonNull(indexImageFile, "the index image file name provided cannot be null");
+        final BwaMemIndex instance = instances.get(indexImageFile);
+        return instance != null ? instance : instances.computeIfAbsent(indexImageFile, BwaMemIndexCache::loadInstance);
+    }
+
+    /**
+     * Returns the load time and image size of the instance for the given index image file, or {@code null} if
+     * it has not been loaded in this VM.
+     */
+    public static IndexLoadMetrics getLoadMetrics( final String indexImageFile ) {
         Utils.nonNull(indexImageFile, "the index image file name provided cannot be null");
-        if (!instances.containsKey(indexImageFile)) {
-            instances.put(indexImageFile, new BwaMemIndex(indexImageFile));
+        return loadMetrics.get(indexImageFile);
+    }
+
+    private static BwaMemIndex loadInstance( final String indexImageFile ) {
+        final long startTime = System.currentTimeMillis();
+        final BwaMemIndex instance = new BwaMemIndex(indexImageFile);
+        final IndexLoadMetrics metrics =
+                new IndexLoadMetrics(indexImageFile, new File(indexImageFile).length(), System.currentTimeMillis() - startTime);
+        loadMetrics.put(indexImageFile, metrics);
+        logger.info("BWA index image " + metrics);
+        return instance;
+    }
+
+    /**
+     * Loads an index instance, if necessary, and reads through its image so that its pages are resident before
+     * the first alignment.  The image is read at most once per instance in this VM, however many tasks ask for it.
+     * @return the metrics for the instance.
+     */
+    public static IndexLoadMetrics warmUpInstance( final String indexImageFile ) {
+        getInstance(indexImageFile);
+        if ( !warmedUpInstances.add(indexImageFile) ) {
+            return getLoadMetrics(indexImageFile);
+        }
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(PREFETCH_BUFFER_SIZE);
+        try ( final FileChannel channel = FileChannel.open(Paths.get(indexImageFile), StandardOpenOption.READ) ) {
+            while ( channel.read(buffer) >= 0 ) {
+                buffer.clear();
+            }
+        } catch ( final IOException e ) {
+            warmedUpInstances.remove(indexImageFile);
+            throw new GATKException("Unable to read the index image file " + indexImageFile, e);
         }
-        return instances.get(indexImageFile);
+        return getLoadMetrics(indexImageFile);
     }
 
     /**
@@ -37,11 +135,13 @@ public class BwaMemIndexCache {
      *
      * @param indexImageFile the index file name of the instance to close.
      */
-    public static synchronized void closeInstance(final String indexImageFile) {
+    public static void closeInstance(final String indexImageFile) {
         Utils.nonNull(indexImageFile, "the input image file cannot be null");
-        if (instances.containsKey(indexImageFile)) {
-            instances.get(indexImageFile).close();
-            instances.remove(indexImageFile);
+        final BwaMemIndex instance = instances.remove(indexImageFile);
+        if (instance != null) {
+            loadMetrics.remove(indexImageFile);
+            warmedUpInstances.remove(indexImageFile);
+            instance.close();
         }
     }
 
@@ -53,22 +153,23 @@ public class BwaMemIndexCache {
      * </p>
      * @param instance the instance ot close.
      */
-    public static synchronized void closeInstance(final BwaMemIndex instance) {
+    public static void closeInstance(final BwaMemIndex instance) {
         Utils.nonNull(instance, "the input index cannot be null");
-        if (instances.values().contains(instance)) {
-            instance.close();
-            instances.values().remove(instance);
+        for ( final Map.Entry<String, BwaMemIndex> entry : instances.entrySet() ) {
+            if ( entry.getValue() == instance && instances.remove(entry.getKey(), instance) ) {
+                loadMetrics.remove(entry.getKey());
+                warmedUpInstances.remove(entry.getKey());
+                instance.close();
+            }
         }
     }
 
     /**
      * Closes all instances in the VM.
      */
-    public static synchronized void closeInstances() {
-        final Iterator<BwaMemIndex> it = instances.values().iterator();
-        while (it.hasNext()) {
-            it.next().close();
-            it.remove();
+    public static void closeInstances() {
+        for ( final String indexImageFile : new ArrayList<>(instances.keySet()) ) {
+            closeInstance(indexImageFile);
         }
     }
 
@@ -78,9 +179,32 @@ public class BwaMemIndexCache {
      */
     public static void closeAllDistributedInstances( final JavaSparkContext ctx ) {
         Utils.nonNull(ctx, "the context provided cannot be null");
-        int nJobs = ctx.defaultParallelism();
+        ctx.parallelize(makeJobList(ctx), ctx.defaultParallelism()).foreach(idx -> closeInstances());
+    }
+
+    /**
+     * Loads an index instance in all the VMs involved in the spark context provided (see {@link #warmUpInstance}),
+     * and logs the load times and image size.
+     * @param ctx the spark context.
+     * @param indexImageFile the index image file name.
+     * @param isSparkFile whether the image was distributed by {@link JavaSparkContext#addFile}, so that its local
+     *                    path must be resolved by {@link SparkFiles#get}.
+     */
+    public static void warmUpDistributedInstances( final JavaSparkContext ctx, final String indexImageFile,
+                                                   final boolean isSparkFile ) {
+        Utils.nonNull(ctx, "the context provided cannot be null");
+        Utils.nonNull(indexImageFile, "the index image file name provided cannot be null");
+        final List<IndexLoadMetrics> metrics = ctx.parallelize(makeJobList(ctx), ctx.defaultParallelism())
+                .map(idx -> warmUpInstance(isSparkFile ? SparkFiles.get(indexImageFile) : indexImageFile))
+                .collect();
+        final IndexLoadMetrics slowest = Collections.max(metrics, Comparator.comparingLong(IndexLoadMetrics::getLoadTimeMillis));
+        logger.info("Warmed up BWA index on executors; slowest load: " + slowest);
+    }
+
+    private static List<Integer> makeJobList( final JavaSparkContext ctx ) {
+        final int nJobs = ctx.defaultParallelism();
         final List<Integer> jobList = new ArrayList<>(nJobs);
         for ( int idx = 0; idx != nJobs; ++idx ) jobList.add(idx);
-        ctx.parallelize(jobList, nJobs).foreach(idx -> closeInstances());
+        return jobList;
     }
 }
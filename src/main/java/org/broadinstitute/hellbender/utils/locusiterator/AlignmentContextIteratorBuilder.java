@@ -30,6 +30,7 @@ public class AlignmentContextIteratorBuilder {
     private boolean isKeepUniqueReadListInLibs;
     private boolean isIncludeDeletions;
     private boolean isIncludeNs;
+    private boolean isReusePileups;
     private LIBSDownsamplingInfo downsamplingInfo;
 
     public boolean isEmitEmptyLoci() {
@@ -64,6 +65,19 @@ public class AlignmentContextIteratorBuilder {
         isIncludeNs = includeNs;
     }
 
+    public boolean isReusePileups() {
+        return isReusePileups;
+    }
+
+    /**
+     * If true, pileup elements are recycled between alignment contexts (see
+     * {@link LocusIteratorByState#LocusIteratorByState(Iterator, LIBSDownsamplingInfo, boolean, java.util.Collection, SAMFileHeader, boolean, boolean, boolean)}),
+     * so each context is only valid until the next call to next() on the built iterator.
+     */
+    public void setReusePileups(boolean reusePileups) {
+        isReusePileups = reusePileups;
+    }
+
     public LIBSDownsamplingInfo getDownsamplingInfo() {
         return downsamplingInfo;
     }
@@ -77,6 +91,7 @@ public class AlignmentContextIteratorBuilder {
         isKeepUniqueReadListInLibs = false;
         isIncludeDeletions = true;
         isIncludeNs = false;
+        isReusePileups = false;
         downsamplingInfo = LocusIteratorByState.NO_DOWNSAMPLING;
     }
 
@@ -95,7 +110,7 @@ public class AlignmentContextIteratorBuilder {
         Utils.nonNull(readIterator, "Read iterator cannot be null");
         final boolean isDefinitelyReference = (dictionary != null) && isReference ;
         return createAlignmentContextIterator(intervalsForTraversal, header, readIterator, dictionary, downsamplingInfo,
-                isDefinitelyReference, isEmitEmptyLoci, isKeepUniqueReadListInLibs, isIncludeDeletions, isIncludeNs);
+                isDefinitelyReference, isEmitEmptyLoci, isKeepUniqueReadListInLibs, isIncludeDeletions, isIncludeNs, isReusePileups);
     }
 
     /**
@@ -114,6 +129,7 @@ public class AlignmentContextIteratorBuilder {
      *                                       available via the transferReadsFromAllPreviousPileups interface (this parameter is specific to {@link LocusIteratorByState})
      * @param isIncludeDeletions include reads with deletion on the loci in question
      * @param isIncludeNs include reads with N on the loci in question
+     * @param isReusePileups recycle pileup elements between alignment contexts (this parameter is specific to {@link LocusIteratorByState})
      * @return iterator that produces AlignmentContexts ready for consumption (e.g. by a {@link org.broadinstitute.hellbender.engine.LocusWalker})
      */
     private static Iterator<AlignmentContext> createAlignmentContextIterator(final List<SimpleInterval> intervalsForTraversal,
@@ -125,7 +141,8 @@ public class AlignmentContextIteratorBuilder {
                                                                                boolean emitEmptyLoci,
                                                                                boolean isKeepUniqueReadListInLibs,
                                                                                boolean isIncludeDeletions,
-                                                                               boolean isIncludeNs) {
+                                                                               boolean isIncludeNs,
+                                                                               boolean isReusePileups) {
 
         // get the samples from the read groups
         final Set<String> samples = header.getReadGroups().stream()
@@ -133,7 +150,7 @@ public class AlignmentContextIteratorBuilder {
                 .collect(Collectors.toSet());
 
         // get the LIBS
-        final LocusIteratorByState libs = new LocusIteratorByState(readIterator, downsamplingInfo, isKeepUniqueReadListInLibs, samples, header, isIncludeDeletions, isIncludeNs);
+        final LocusIteratorByState libs = new LocusIteratorByState(readIterator, downsamplingInfo, isKeepUniqueReadListInLibs, samples, header, isIncludeDeletions, isIncludeNs, isReusePileups);
 
         List<SimpleInterval> finalIntervals = intervalsForTraversal;
         validateEmitEmptyLociParameters(emitEmptyLoci, dictionary, intervalsForTraversal, isReference);
@@ -144,15 +161,39 @@ public class AlignmentContextIteratorBuilder {
                 finalIntervals = IntervalUtils.getAllIntervalsForReference(dictionary);
             }
             final IntervalLocusIterator intervalLocusIterator = new IntervalLocusIterator(finalIntervals.iterator());
-            return new IntervalAlignmentContextIterator(libs, intervalLocusIterator, header.getSequenceDictionary());
+            return releasePileupsOnNext(new IntervalAlignmentContextIterator(libs, intervalLocusIterator, header.getSequenceDictionary()), libs, isReusePileups);
         } else if (areIntervalsSpecified(finalIntervals)) {
-            return new IntervalOverlappingIterator<>(libs, finalIntervals, header.getSequenceDictionary());
+            return releasePileupsOnNext(new IntervalOverlappingIterator<>(libs, finalIntervals, header.getSequenceDictionary()), libs, isReusePileups);
         } else {
             // prepare the iterator
             return libs;
         }
     }
 
+    /**
+     * The interval iterators read ahead of their consumer, so when pileups are reused the LIBS must be told when the
+     * consumer moves on to the next context, as only then may the pileup it was given be recycled.
+     */
+    private static Iterator<AlignmentContext> releasePileupsOnNext(final Iterator<AlignmentContext> intervalIterator,
+                                                                   final LocusIteratorByState libs,
+                                                                   final boolean isReusePileups) {
+        if (!isReusePileups) {
+            return intervalIterator;
+        }
+        return new Iterator<AlignmentContext>() {
+            @Override
+            public boolean hasNext() {
+                return intervalIterator.hasNext();
+            }
+
+            @Override
+            public AlignmentContext next() {
+                libs.releaseConsumedPileups();
+                return intervalIterator.next();
+            }
+        };
+    }
+
     private static boolean areIntervalsSpecified(final List<SimpleInterval> finalIntervals) {
         return finalIntervals != null;
     }
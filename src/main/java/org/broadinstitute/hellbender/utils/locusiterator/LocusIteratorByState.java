@@ -11,6 +11,7 @@ import org.broadinstitute.hellbender.utils.SimpleInterval;
 import org.broadinstitute.hellbender.utils.Utils;
 import org.broadinstitute.hellbender.utils.downsampling.DownsamplingMethod;
 import org.broadinstitute.hellbender.utils.pileup.PileupElement;
+import org.broadinstitute.hellbender.utils.pileup.PileupElementPool;
 import org.broadinstitute.hellbender.utils.pileup.ReadPileup;
 import org.broadinstitute.hellbender.utils.read.GATKRead;
 import org.broadinstitute.hellbender.utils.read.ReadUtils;
@@ -86,6 +87,28 @@ public final class LocusIteratorByState implements Iterator<AlignmentContext> {
      */
     private AlignmentContext nextAlignmentContext;
 
+    /**
+     * If non-null, the pileup elements (and the lists holding them) are recycled between pileups, and these are the
+     * pools that no pileup still in use is built from
+     */
+    private final Deque<PileupElementPool> freePileupElementPools;
+
+    /**
+     * The pool holding the pileup of nextAlignmentContext, if pileups are reused
+     */
+    private PileupElementPool nextPileupElementPool;
+
+    /**
+     * The pool holding the pileup most recently returned by next(), if pileups are reused
+     */
+    private PileupElementPool returnedPileupElementPool;
+
+    /**
+     * The pool holding the pileup that the consumer at the end of the iterator chain is working on, if pileups are
+     * reused and the consumer reports when it moves on (see {@link #releaseConsumedPileups()})
+     */
+    private PileupElementPool consumedPileupElementPool;
+
     // -----------------------------------------------------------------------------------------------------------------
     //
     // constructors and other basic operations
@@ -209,6 +232,47 @@ public final class LocusIteratorByState implements Iterator<AlignmentContext> {
                                 final SAMFileHeader header,
                                 final boolean includeReadsWithDeletionAtLoci,
                                 final boolean includeReadsWithNsAtLoci) {
+        this(samIterator,
+                downsamplingInfo,
+                keepUniqueReadListInLIBS,
+                samples,
+                header,
+                includeReadsWithDeletionAtLoci,
+                includeReadsWithNsAtLoci,
+                false
+        );
+    }
+
+    /**
+     * Create a new LocusIteratorByState
+     *
+     * @param samIterator                    the iterator of reads to process into pileups.  Reads must be ordered
+     *                                       according to standard coordinate-sorted BAM conventions
+     * @param downsamplingInfo               meta-information about how to downsample the reads
+     * @param keepUniqueReadListInLIBS       if true, we will keep the unique reads from the samIterator and make them
+     *                                       available via the transferReadsFromAllPreviousPileups interface
+     * @param samples                        a complete list of samples present in the read groups for the reads coming from samIterator.
+     *                                       This is generally just the set of read group sample fields in the SAMFileHeader.  This
+     *                                       list of samples may contain a null element, and all reads without read groups will
+     *                                       be mapped to this null sample
+     * @param header                         header from the reads
+     * @param includeReadsWithDeletionAtLoci Include reads with deletion at loci
+     * @param includeReadsWithNsAtLoci       Include reads with Ns at loci (usually it is not needed)
+     * @param reusePileups                   if true, recycle the {@link PileupElement} objects and element lists of
+     *                                       previous pileups instead of allocating new ones.  The pileup of an
+     *                                       AlignmentContext returned by next() is then only valid until the following
+     *                                       call to next(), or, if this iterator is wrapped by iterators that read ahead,
+     *                                       until the following call to {@link #releaseConsumedPileups()}, and its
+     *                                       elements must not be retained
+     */
+    public LocusIteratorByState(final Iterator<GATKRead> samIterator,
+                                final LIBSDownsamplingInfo downsamplingInfo,
+                                final boolean keepUniqueReadListInLIBS,
+                                final Collection<String> samples,
+                                final SAMFileHeader header,
+                                final boolean includeReadsWithDeletionAtLoci,
+                                final boolean includeReadsWithNsAtLoci,
+                                final boolean reusePileups) {
         Utils.nonNull(samIterator, "samIterator cannot be null");
         Utils.nonNull(downsamplingInfo, "downsamplingInfo cannot be null");
         Utils.nonNull(samples, "Samples cannot be null");
@@ -224,6 +288,7 @@ public final class LocusIteratorByState implements Iterator<AlignmentContext> {
         this.includeReadsWithNsAtLoci = includeReadsWithNsAtLoci;
         this.samples = new ArrayList<>(samples);
         this.readStates = new ReadStateManager(samIterator, this.samples, downsamplingInfo, keepUniqueReadListInLIBS, header);
+        this.freePileupElementPools = reusePileups ? new ArrayDeque<>() : null;
     }
 
     /**
@@ -267,9 +332,34 @@ public final class LocusIteratorByState implements Iterator<AlignmentContext> {
         }
         AlignmentContext currentAlignmentContext = nextAlignmentContext;
         nextAlignmentContext = null;
+        if (freePileupElementPools != null) {
+            // the previously returned pileup was either passed on to the consumer or skipped by a wrapping iterator
+            if (returnedPileupElementPool != consumedPileupElementPool) {
+                releasePileupElementPool(returnedPileupElementPool);
+            }
+            returnedPileupElementPool = nextPileupElementPool;
+            nextPileupElementPool = null;
+        }
         return currentAlignmentContext;
     }
 
+    /**
+     * When pileups are reused and this iterator is wrapped by iterators that read ahead of their consumer (such as
+     * {@link IntervalAlignmentContextIterator}), this must be called each time that consumer asks for the next
+     * context, before the request is passed down the chain.  The pileup the consumer was working on is then recycled,
+     * while the pileup most recently returned by next(), which the wrapping iterators may hold for their next
+     * context, is kept until the following call.  Does nothing if pileups are not reused.
+     */
+    public void releaseConsumedPileups() {
+        if (freePileupElementPools == null) {
+            return;
+        }
+        if (consumedPileupElementPool != returnedPileupElementPool) {
+            releasePileupElementPool(consumedPileupElementPool);
+        }
+        consumedPileupElementPool = returnedPileupElementPool;
+    }
+
     /**
      * Move this LIBS until we are over position
      *
@@ -320,7 +410,8 @@ public final class LocusIteratorByState implements Iterator<AlignmentContext> {
             // since they are just going to get combined into one monolithic pileup anyway
             // when we construct the final ReadPileup below. This optimization speeds up the
             // HaplotypeCaller by quite a bit!
-            final List<PileupElement> allPileupElements = new ArrayList<>(100);
+            final PileupElementPool pool = takeFreePileupElementPool();
+            final List<PileupElement> allPileupElements = pool == null ? new ArrayList<>(100) : pool.getElements();
 
             for (final Map.Entry<String, PerSampleReadStateManager> sampleStatePair : readStates) {
                 final PerSampleReadStateManager readState = sampleStatePair.getValue();
@@ -341,7 +432,11 @@ public final class LocusIteratorByState implements Iterator<AlignmentContext> {
                             continue;
                         }
 
-                        allPileupElements.add(state.makePileupElement());
+                        if (pool == null) {
+                            allPileupElements.add(state.makePileupElement());
+                        } else {
+                            state.makePileupElement(pool);
+                        }
                     }
                 }
             }
@@ -349,10 +444,31 @@ public final class LocusIteratorByState implements Iterator<AlignmentContext> {
             readStates.updateReadStates(); // critical - must be called after we get the current state offsets and location
             if (!allPileupElements.isEmpty()) { // if we got reads with non-D/N over the current position, we are done
                 nextAlignmentContext = new AlignmentContext(location, new ReadPileup(location, allPileupElements));
+                nextPileupElementPool = pool;
+            } else {
+                releasePileupElementPool(pool);
             }
         }
     }
 
+    /**
+     * @return an empty pool to build the next pileup in, or null if pileups are not being reused
+     */
+    private PileupElementPool takeFreePileupElementPool() {
+        if (freePileupElementPools == null) {
+            return null;
+        }
+        final PileupElementPool pool = freePileupElementPools.isEmpty() ? new PileupElementPool() : freePileupElementPools.pop();
+        pool.clear();
+        return pool;
+    }
+
+    private void releasePileupElementPool(final PileupElementPool pool) {
+        if (pool != null) {
+            freePileupElementPools.push(pool);
+        }
+    }
+
     /**
      * Should this read be excluded from the pileup?
      *
@@ -5,13 +5,17 @@ import org.apache.commons.math3.random.RandomGenerator;
 import org.apache.commons.math3.random.RandomGeneratorFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.broadinstitute.hellbender.exceptions.GATKException;
 import org.broadinstitute.hellbender.utils.Utils;
 import org.broadinstitute.hellbender.utils.param.ParamUtils;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Implements Gibbs sampling of a multivariate probability density function.
@@ -21,13 +25,13 @@ import java.util.stream.Collectors;
  */
 public final class GibbsSampler<V extends Enum<V> & ParameterEnum, S extends ParameterizedState<V>, T extends DataCollection> {
     private static final int RANDOM_SEED = 42;
-    private static final RandomGenerator rng =
-            RandomGeneratorFactory.createRandomGenerator(new Random(RANDOM_SEED));
 
     private static final Logger logger = LogManager.getLogger(GibbsSampler.class);
     private static final int NUMBER_OF_SAMPLES_PER_LOG_ENTRY = 25;
 
     private final int numSamples;
+    private final long seed;
+    private final RandomGenerator rng;
     private int numSamplesPerLogEntry;
 
     private final ParameterizedModel<V, S, T> model;
@@ -44,10 +48,23 @@ public final class GibbsSampler<V extends Enum<V> & ParameterEnum, S extends Par
      * @param model         {@link ParameterizedModel} to be sampled
      */
     public GibbsSampler(final int numSamples, final ParameterizedModel<V, S, T> model) {
+        this(numSamples, model, RANDOM_SEED);
+    }
+
+    /**
+     * Constructs a GibbsSampler as above, but with a specified seed for the {@link RandomGenerator} passed to the
+     * {@link ParameterSampler}s.  Samplers with different seeds can be used to run independent chains.
+     * @param numSamples    total number of samples; must be positive
+     * @param model         {@link ParameterizedModel} to be sampled
+     * @param seed          seed for the random number generator, which is reset at the start of each run
+     */
+    public GibbsSampler(final int numSamples, final ParameterizedModel<V, S, T> model, final long seed) {
         ParamUtils.isPositive(numSamples, "Number of samples must be positive.");
         Utils.validateArg(model.getUpdateMethod() == ParameterizedModel.UpdateMethod.GIBBS, "ParameterizedModel must be constructed to update using Gibbs sampling.");
         this.numSamples = numSamples;
         this.model = model;
+        this.seed = seed;
+        rng = RandomGeneratorFactory.createRandomGenerator(new Random(seed));
         numSamplesPerLogEntry = NUMBER_OF_SAMPLES_PER_LOG_ENTRY;
         samples = new ArrayList<>(numSamples);
         samples.add(model.state());
@@ -67,7 +84,7 @@ public final class GibbsSampler<V extends Enum<V> & ParameterEnum, S extends Par
      * Progress is logged according to {@code numSamplesPerLogEntry}.
      */
     public void runMCMC() {
-        rng.setSeed(RANDOM_SEED);
+        rng.setSeed(seed);
         logger.info("Starting MCMC sampling.");
         for (int sample = 1; sample < numSamples; sample++) {
             if (sample % numSamplesPerLogEntry == 0) {
@@ -98,4 +115,55 @@ public final class GibbsSampler<V extends Enum<V> & ParameterEnum, S extends Par
         return samples.stream().map(s -> s.get(parameterName, parameterValueClass)).collect(Collectors.toList())
                 .subList(numBurnIn, numSamples);
     }
-}
\ No newline at end of file
+
+    /**
+     * Runs {@code numChains} independent Monte Carlo Markov Chains of a model, each with {@code numSamples} samples.
+     * The first chain is initialized with the state of {@code model} and uses the default seed, so a single chain
+     * is equivalent to running a {@link GibbsSampler} constructed with {@link #GibbsSampler(int, ParameterizedModel)};
+     * the other chains are initialized with copies of that state and use different seeds.
+     * As with a single chain, {@code model} is left in the final state of the first chain.
+     *
+     * <p>
+     *     If {@code numThreads} is greater than one, the chains are run in parallel in a {@link ForkJoinPool},
+     *     in which {@link ParameterSampler}s may also sample independent parameters in parallel.
+     * </p>
+     * @param numSamples    total number of samples per chain; must be positive
+     * @param model         {@link ParameterizedModel} to be sampled
+     * @param numChains     number of chains; must be positive
+     * @param numThreads    number of threads; must be positive
+     * @return              the {@link GibbsSampler} of each chain, in chain order, with all chains run
+     */
+    public static <V extends Enum<V> & ParameterEnum, S extends ParameterizedState<V>, T extends DataCollection>
+    List<GibbsSampler<V, S, T>> runChains(final int numSamples,
+                                          final ParameterizedModel<V, S, T> model,
+                                          final int numChains,
+                                          final int numThreads) {
+        Utils.nonNull(model);
+        ParamUtils.isPositive(numChains, "Number of chains must be positive.");
+        ParamUtils.isPositive(numThreads, "Number of threads must be positive.");
+        final List<GibbsSampler<V, S, T>> chains = IntStream.range(0, numChains)
+                .mapToObj(chain -> chain == 0
+                        ? new GibbsSampler<>(numSamples, model)
+                        : new GibbsSampler<>(numSamples, model.copy(), RANDOM_SEED + chain))
+                .collect(Collectors.toList());
+        if (numThreads == 1) {
+            chains.forEach(GibbsSampler::runMCMC);
+            return chains;
+        }
+        final ForkJoinPool pool = new ForkJoinPool(numThreads);
+        try {
+            pool.submit(() -> chains.parallelStream().forEach(GibbsSampler::runMCMC)).get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GATKException("Interrupted during MCMC sampling.", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new GATKException("Failure during MCMC sampling.", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return chains;
+    }
+}
@@ -100,10 +100,17 @@ public final class ParameterizedModel<V1 extends Enum<V1> & ParameterEnum, S1 ex
 
     //Constructor for GibbsBuilder
     private ParameterizedModel(final GibbsBuilder<V1, S1, T1> builder) {
-        state = builder.state;
-        dataCollection = builder.dataCollection;
-        samplerMap = builder.samplerMap;
-        updateMethod = UpdateMethod.GIBBS;
+        this(builder.state, builder.dataCollection, builder.samplerMap, UpdateMethod.GIBBS);
+    }
+
+    private ParameterizedModel(final S1 state,
+                               final T1 dataCollection,
+                               final Map<V1, ParameterSampler<?, V1, S1, T1>> samplerMap,
+                               final UpdateMethod updateMethod) {
+        this.state = state;
+        this.dataCollection = dataCollection;
+        this.samplerMap = samplerMap;
+        this.updateMethod = updateMethod;
     }
 
     /**
@@ -125,6 +132,14 @@ public final class ParameterizedModel<V1 extends Enum<V1> & ParameterEnum, S1 ex
         }
     }
 
+    /**
+     * Returns a model with a copy of the {@link ParameterizedState} held internally and the same
+     * {@link DataCollection} and {@link ParameterSampler}s, which can be updated independently of this model.
+     */
+    ParameterizedModel<V1, S1, T1> copy() {
+        return new ParameterizedModel<>(state.copy(), dataCollection, samplerMap, updateMethod);
+    }
+
     protected UpdateMethod getUpdateMethod() {
         return updateMethod;
     }
@@ -8,6 +8,7 @@ import org.apache.commons.math3.optim.univariate.SearchInterval;
 import org.apache.commons.math3.optim.univariate.UnivariateObjectiveFunction;
 import org.apache.commons.math3.stat.descriptive.moment.Mean;
 import org.apache.commons.math3.stat.descriptive.moment.StandardDeviation;
+import org.apache.commons.math3.stat.descriptive.moment.Variance;
 import org.apache.spark.api.java.JavaSparkContext;
 import org.apache.spark.mllib.stat.KernelDensity;
 import org.broadinstitute.hellbender.utils.Utils;
@@ -145,4 +146,32 @@ public class PosteriorSummaryUtils {
         final SearchInterval searchInterval = new SearchInterval(sampleMin, sampleMax, sampleMean);
         return optimizer.optimize(objective, GoalType.MAXIMIZE, searchInterval, BRENT_MAX_EVAL).getPoint();
     }
+
+    /**
+     * Given posterior samples of a univariate parameter from several independent chains, returns the Gelman-Rubin
+     * potential scale reduction factor (see Gelman and Rubin, Statistical Science 7, 1992), which compares the
+     * variance between chains to the variance within chains.  Values close to 1 indicate that the chains have
+     * converged to the same distribution.  If all samples are identical, 1 is returned; if the samples within
+     * each chain are identical but the chains differ, {@link Double#POSITIVE_INFINITY} is returned.
+     * If the samples contain {@link Double#NaN}, {@link Double#NaN} will be returned.
+     * @param chains    posterior samples from each chain, cannot be {@code null};
+     *                  there must be at least two chains, each with the same number of samples (at least two)
+     */
+    public static double calculateGelmanRubinStatistic(final List<List<Double>> chains) {
+        Utils.nonNull(chains);
+        Utils.validateArg(chains.size() >= 2, "Number of chains must be at least two.");
+        final int numSamples = Utils.nonNull(chains.get(0)).size();
+        Utils.validateArg(numSamples >= 2, "Number of samples per chain must be at least two.");
+        Utils.validateArg(chains.stream().allMatch(c -> c != null && c.size() == numSamples),
+                "All chains must have the same number of samples.");
+
+        final double[] chainMeans = chains.stream().mapToDouble(c -> new Mean().evaluate(Doubles.toArray(c))).toArray();
+        final double withinChainVariance = chains.stream().mapToDouble(c -> new Variance().evaluate(Doubles.toArray(c))).average().getAsDouble();
+        final double betweenChainVariance = numSamples * new Variance().evaluate(chainMeans);
+        if (withinChainVariance == 0.) {
+            return betweenChainVariance == 0. ? 1. : Double.POSITIVE_INFINITY;
+        }
+        final double pooledVariance = (numSamples - 1.) / numSamples * withinChainVariance + betweenChainVariance / numSamples;
+        return Math.sqrt(pooledVariance / withinChainVariance);
+    }
 }
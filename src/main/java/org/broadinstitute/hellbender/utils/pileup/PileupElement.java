@@ -29,12 +29,13 @@ public final class PileupElement {
     public static final byte T_FOLLOWED_BY_INSERTION_BASE = (byte) 89;
     public static final byte G_FOLLOWED_BY_INSERTION_BASE = (byte) 90;
 
-    private final GATKRead read;         // the read this base belongs to
-    private final int offset;            // the offset in the bases array for this base
+    // not final so that a PileupElementPool can recycle its elements (see reset()); all other elements are never modified
+    private GATKRead read;         // the read this base belongs to
+    private int offset;            // the offset in the bases array for this base
 
-    private final CigarElement currentCigarElement;
-    private final int currentCigarOffset;
-    private final int offsetInCurrentCigar;
+    private CigarElement currentCigarElement;
+    private int currentCigarOffset;
+    private int offsetInCurrentCigar;
 
     /**
      * Create a new pileup element
@@ -62,6 +63,26 @@ public final class PileupElement {
         this.offsetInCurrentCigar = offsetInCurrentCigar;
     }
 
+    /**
+     * Repoint this element at a new read and offset, with the same meaning for the arguments as in the constructor.
+     *
+     * This exists only so that a {@link PileupElementPool} can recycle the elements it owns.
+     *
+     * @return this element
+     */
+    PileupElement reset(final GATKRead read,
+                               final int baseOffset,
+                               final CigarElement currentElement,
+                               final int currentCigarOffset,
+                               final int offsetInCurrentCigar) {
+        this.read = read;
+        this.offset = baseOffset;
+        this.currentCigarElement = currentElement;
+        this.currentCigarOffset = currentCigarOffset;
+        this.offsetInCurrentCigar = offsetInCurrentCigar;
+        return this;
+    }
+
     /**
      * Create a new PileupElement that's a copy of toCopy
      * @param toCopy the element we want to copy
@@ -0,0 +1,61 @@
+package org.broadinstitute.hellbender.utils.pileup;
+
+import htsjdk.samtools.CigarElement;
+import org.broadinstitute.hellbender.utils.read.GATKRead;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A reusable list of pileup elements, backed by a pool of elements that grows to the maximum depth seen so far.
+ *
+ * Clearing the list and adding new elements overwrites the elements previously handed out, so this is only for
+ * producers (such as {@link org.broadinstitute.hellbender.utils.locusiterator.LocusIteratorByState}) that know when
+ * their consumers are done with a pileup.
+ */
+public final class PileupElementPool {
+    private final List<PileupElement> elements = new ArrayList<>(100);
+    private final List<PileupElement> pool = new ArrayList<>(100);
+
+    /**
+     * @return the elements added since the last call to {@link #clear()}, in order of addition
+     */
+    public List<PileupElement> getElements() {
+        return Collections.unmodifiableList(elements);
+    }
+
+    public boolean isEmpty() {
+        return elements.isEmpty();
+    }
+
+    /**
+     * Empty the list, making all of its elements available for reuse
+     */
+    public void clear() {
+        elements.clear();
+    }
+
+    /**
+     * Add an element to the list, recycling a pooled element if there is one.  The arguments have the same meaning
+     * as in {@link PileupElement#PileupElement(GATKRead, int, CigarElement, int, int)}.
+     *
+     * @return the added element
+     */
+    public PileupElement add(final GATKRead read,
+                             final int baseOffset,
+                             final CigarElement currentElement,
+                             final int currentCigarOffset,
+                             final int offsetInCurrentCigar) {
+        final int index = elements.size();
+        final PileupElement element;
+        if (index == pool.size()) {
+            element = new PileupElement(read, baseOffset, currentElement, currentCigarOffset, offsetInCurrentCigar);
+            pool.add(element);
+        } else {
+            element = pool.get(index).reset(read, baseOffset, currentElement, currentCigarOffset, offsetInCurrentCigar);
+        }
+        elements.add(element);
+        return element;
+    }
+}
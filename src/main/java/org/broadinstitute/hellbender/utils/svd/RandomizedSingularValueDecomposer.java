@@ -0,0 +1,253 @@
+package org.broadinstitute.hellbender.utils.svd;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.EigenDecomposition;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.random.RandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.broadinstitute.hellbender.utils.Utils;
+import org.broadinstitute.hellbender.utils.param.ParamUtils;
+
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Truncated SVD by randomized range finding (Halko, Martinsson and Tropp, SIAM Review 53, 2011), intended for
+ * matrices with many more columns than rows (e.g. samples x intervals read counts).
+ *
+ * The matrix is only ever read, in blocks of columns, and is neither copied nor transposed.  Apart from the result,
+ * only matrices with as many rows or columns as the number of singular values sought (plus oversampling) are
+ * allocated: the random test matrix is generated block by block, and the projection of the matrix onto its estimated
+ * range is reduced to its (small) Gram matrix as it is computed.
+ *
+ * Singular values smaller than {@link #RELATIVE_TOLERANCE} times the largest one are dropped, along with their
+ * singular vectors (the largest one is always kept, even if it is zero).  The pseudoinverse is not computed (it would
+ * be as large as the matrix), so {@link SVD#getPinv()} returns {@code null}.
+ */
+public final class RandomizedSingularValueDecomposer implements SingularValueDecomposer {
+
+    private static final Logger logger = LogManager.getLogger(RandomizedSingularValueDecomposer.class);
+
+    public static final int DEFAULT_NUM_OVERSAMPLES = 10;
+    public static final int DEFAULT_NUM_POWER_ITERATIONS = 2;
+    public static final int DEFAULT_BLOCK_SIZE = 10000;
+
+    static final double RELATIVE_TOLERANCE = 1E-9;
+
+    private final int numSingularValues;
+    private final int numOversamples;
+    private final int numPowerIterations;
+    private final int blockSize;
+    private final long seed;
+
+    /**
+     * @param numSingularValues number of singular values (and vectors) to compute; must be positive
+     * @param numOversamples number of additional random directions used to estimate the range of the matrix; must be non-negative
+     * @param numPowerIterations number of power iterations, which improve the accuracy when the singular values decay slowly; must be non-negative
+     * @param blockSize number of columns processed at a time; must be positive
+     * @param seed seed for the random test matrix
+     */
+    public RandomizedSingularValueDecomposer(final int numSingularValues,
+                                             final int numOversamples,
+                                             final int numPowerIterations,
+                                             final int blockSize,
+                                             final long seed) {
+        this.numSingularValues = ParamUtils.isPositive(numSingularValues, "Number of singular values must be positive.");
+        this.numOversamples = ParamUtils.isPositiveOrZero(numOversamples, "Number of oversamples must be non-negative.");
+        this.numPowerIterations = ParamUtils.isPositiveOrZero(numPowerIterations, "Number of power iterations must be non-negative.");
+        this.blockSize = ParamUtils.isPositive(blockSize, "Block size must be positive.");
+        this.seed = seed;
+    }
+
+    /**
+     * Create a truncated SVD instance.  U has dimensions rows x k and V has dimensions columns x k, where k is at most
+     * the number of singular values requested.
+     *
+     * @param m matrix that is not {@code null}
+     * @return SVD instance that is never {@code null}
+     */
+    @Override
+    public SVD createSVD(final RealMatrix m) {
+        Utils.nonNull(m, "Cannot create SVD on a null matrix.");
+
+        //avoid copying the matrix if we can get a reference to its rows
+        final double[][] a = m instanceof Array2DRowRealMatrix ? ((Array2DRowRealMatrix) m).getDataRef() : m.getData();
+        final int numRows = m.getRowDimension();
+        final int numColumns = m.getColumnDimension();
+        final int rank = Math.min(numSingularValues + numOversamples, Math.min(numRows, numColumns));
+
+        logger.info(String.format("Estimating range of %d x %d matrix with %d random directions...", numRows, numColumns, rank));
+        final RandomGenerator rng = new Well19937c(seed);
+        double[][] y = new double[numRows][rank];
+        for (int start = 0; start < numColumns; start += blockSize) {
+            final int end = Math.min(start + blockSize, numColumns);
+            final double[][] omega = new double[end - start][rank];
+            for (final double[] row : omega) {
+                for (int c = 0; c < rank; c++) {
+                    row[c] = rng.nextGaussian();
+                }
+            }
+            multiplyBlockAndAdd(a, start, end, omega, y);
+        }
+
+        for (int iteration = 0; iteration < numPowerIterations; iteration++) {
+            logger.info(String.format("Performing power iteration %d of %d...", iteration + 1, numPowerIterations));
+            final double[][] q = orthonormalizeColumns(y);
+            y = new double[numRows][rank];
+            for (int start = 0; start < numColumns; start += blockSize) {
+                final int end = Math.min(start + blockSize, numColumns);
+                multiplyBlockAndAdd(a, start, end, multiplyTransposedBlock(a, start, end, q), y);
+            }
+        }
+        final double[][] q = orthonormalizeColumns(y);
+
+        //the singular values and left singular vectors of Q^T A follow from its Gram matrix (Q^T A) (Q^T A)^T,
+        //which is accumulated over the blocks so that Q^T A itself is never held in memory
+        logger.info("Decomposing projection onto estimated range...");
+        final double[][] gram = new double[rank][rank];
+        for (int start = 0; start < numColumns; start += blockSize) {
+            final int end = Math.min(start + blockSize, numColumns);
+            final double[][] projectedBlock = multiplyTransposedBlock(a, start, end, q);  //(Q^T A_block)^T
+            for (final double[] row : projectedBlock) {
+                for (int i = 0; i < rank; i++) {
+                    for (int j = 0; j <= i; j++) {
+                        gram[i][j] += row[i] * row[j];
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < rank; i++) {
+            for (int j = 0; j < i; j++) {
+                gram[j][i] = gram[i][j];
+            }
+        }
+        final EigenDecomposition eigenDecomposition = new EigenDecomposition(new Array2DRowRealMatrix(gram, false));
+        final double[] eigenvalues = eigenDecomposition.getRealEigenvalues();
+        final int[] order = IntStream.range(0, rank).boxed()
+                .sorted(Comparator.comparingDouble(i -> -eigenvalues[i]))
+                .mapToInt(Integer::intValue).toArray();
+        final double largestSingularValue = Math.sqrt(Math.max(eigenvalues[order[0]], 0.));
+        //the largest singular value is always kept, so that the result is never empty
+        final double[] singularValues = IntStream.range(0, Math.min(numSingularValues, rank))
+                .filter(k -> k == 0 || Math.sqrt(Math.max(eigenvalues[order[k]], 0.)) > RELATIVE_TOLERANCE * largestSingularValue)
+                .mapToDouble(k -> Math.sqrt(Math.max(eigenvalues[order[k]], 0.)))
+                .toArray();
+        final int numComputed = singularValues.length;
+
+        //U = Q W
+        final double[][] u = new double[numRows][numComputed];
+        for (int k = 0; k < numComputed; k++) {
+            final double[] w = eigenDecomposition.getEigenvector(order[k]).toArray();
+            for (int r = 0; r < numRows; r++) {
+                double sum = 0.;
+                for (int c = 0; c < rank; c++) {
+                    sum += q[r][c] * w[c];
+                }
+                u[r][k] = sum;
+            }
+        }
+
+        //V = A^T U S^-1, computed block by block
+        logger.info("Computing right singular vectors...");
+        final double[][] v = new double[numColumns][];
+        for (int start = 0; start < numColumns; start += blockSize) {
+            final int end = Math.min(start + blockSize, numColumns);
+            final double[][] vBlock = multiplyTransposedBlock(a, start, end, u);
+            for (int j = start; j < end; j++) {
+                final double[] row = vBlock[j - start];
+                for (int k = 0; k < numComputed; k++) {
+                    row[k] = singularValues[k] > 0. ? row[k] / singularValues[k] : 0.;
+                }
+                v[j] = row;
+            }
+        }
+
+        return new SimpleSVD(new Array2DRowRealMatrix(u, false), singularValues, new Array2DRowRealMatrix(v, false), null);
+    }
+
+    /**
+     * Adds A[:, start:end] B to {@code result}, where B has {@code end - start} rows.
+     */
+    private static void multiplyBlockAndAdd(final double[][] a, final int start, final int end,
+                                            final double[][] b, final double[][] result) {
+        for (int r = 0; r < a.length; r++) {
+            final double[] aRow = a[r];
+            final double[] resultRow = result[r];
+            for (int j = start; j < end; j++) {
+                final double value = aRow[j];
+                if (value != 0.) {
+                    final double[] bRow = b[j - start];
+                    for (int c = 0; c < resultRow.length; c++) {
+                        resultRow[c] += value * bRow[c];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns A[:, start:end]^T B, which has {@code end - start} rows.
+     */
+    private static double[][] multiplyTransposedBlock(final double[][] a, final int start, final int end,
+                                                      final double[][] b) {
+        final int numColumns = b.length == 0 ? 0 : b[0].length;
+        final double[][] result = new double[end - start][numColumns];
+        for (int r = 0; r < a.length; r++) {
+            final double[] aRow = a[r];
+            final double[] bRow = b[r];
+            for (int j = start; j < end; j++) {
+                final double value = aRow[j];
+                if (value != 0.) {
+                    final double[] resultRow = result[j - start];
+                    for (int c = 0; c < numColumns; c++) {
+                        resultRow[c] += value * bRow[c];
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a matrix whose columns are an orthonormal basis of the span of the columns of {@code y}, computed by
+     * modified Gram-Schmidt with reorthogonalization.  Columns that are (numerically) dependent on the previous ones
+     * are set to zero.
+     */
+    private static double[][] orthonormalizeColumns(final double[][] y) {
+        final int numRows = y.length;
+        final int numColumns = numRows == 0 ? 0 : y[0].length;
+        final double[][] q = new double[numRows][];
+        for (int r = 0; r < numRows; r++) {
+            q[r] = y[r].clone();
+        }
+        for (int c = 0; c < numColumns; c++) {
+            final double originalNorm = columnNorm(q, c);
+            for (int pass = 0; pass < 2; pass++) {
+                for (int previous = 0; previous < c; previous++) {
+                    double dot = 0.;
+                    for (int r = 0; r < numRows; r++) {
+                        dot += q[r][previous] * q[r][c];
+                    }
+                    for (int r = 0; r < numRows; r++) {
+                        q[r][c] -= dot * q[r][previous];
+                    }
+                }
+            }
+            final double norm = columnNorm(q, c);
+            for (int r = 0; r < numRows; r++) {
+                q[r][c] = norm > RELATIVE_TOLERANCE * originalNorm ? q[r][c] / norm : 0.;
+            }
+        }
+        return q;
+    }
+
+    private static double columnNorm(final double[][] q, final int c) {
+        double sumOfSquares = 0.;
+        for (final double[] row : q) {
+            sumOfSquares += row[c] * row[c];
+        }
+        return Math.sqrt(sumOfSquares);
+    }
+}
@@ -34,4 +34,23 @@ public final class SVDFactory {
         }
         return new SparkSingularValueDecomposer(ctx).createSVD(m);
     }
+
+    /**
+     * Create a truncated SVD instance using {@link RandomizedSingularValueDecomposer}, which reads the matrix in blocks
+     * of columns without copying it.  Intended for large matrices with many more columns than rows.
+     * The pseudoinverse is not computed.
+     *
+     * @param m matrix that is not {@code null}
+     * @param numSingularValues maximum number of singular values (and vectors) to compute; must be positive
+     * @param seed seed for the random projection
+     * @return SVD instance that is never {@code null}
+     */
+    public static SVD createTruncatedSVD(final RealMatrix m, final int numSingularValues, final long seed) {
+        Utils.nonNull(m, "Cannot create SVD from a null matrix.");
+        return new RandomizedSingularValueDecomposer(numSingularValues,
+                RandomizedSingularValueDecomposer.DEFAULT_NUM_OVERSAMPLES,
+                RandomizedSingularValueDecomposer.DEFAULT_NUM_POWER_ITERATIONS,
+                RandomizedSingularValueDecomposer.DEFAULT_BLOCK_SIZE,
+                seed).createSVD(m);
+    }
 }
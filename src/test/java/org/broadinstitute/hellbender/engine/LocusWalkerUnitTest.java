@@ -1,16 +1,22 @@
 package org.broadinstitute.hellbender.engine;
 
+import htsjdk.samtools.SAMSequenceDictionary;
+import htsjdk.samtools.SAMSequenceRecord;
 import org.broadinstitute.barclay.argparser.CommandLineProgramProperties;
 import org.broadinstitute.hellbender.CommandLineProgramTest;
 import org.broadinstitute.hellbender.cmdline.TestProgramGroup;
 import org.broadinstitute.hellbender.engine.filters.CountingReadFilter;
 import org.broadinstitute.hellbender.engine.filters.ReadFilter;
 import org.broadinstitute.hellbender.transformers.ReadTransformer;
+import org.broadinstitute.hellbender.utils.SimpleInterval;
 import org.broadinstitute.hellbender.utils.read.GATKRead;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * @author Daniel Gomez-Sanchez (magicDGS)
@@ -133,4 +139,25 @@ public class LocusWalkerUnitTest extends CommandLineProgramTest {
         Assert.assertEquals(tool.totalApplyCalls, 10);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testMakeTraversalShards() {
+        final SAMSequenceDictionary dictionary = new SAMSequenceDictionary(Arrays.asList(
+                new SAMSequenceRecord("1", 1000), new SAMSequenceRecord("2", 1000)));
+        final List<SimpleInterval> intervals = Arrays.asList(
+                new SimpleInterval("1", 1, 250),
+                new SimpleInterval("1", 301, 320),
+                new SimpleInterval("1", 330, 340),
+                new SimpleInterval("1", 390, 420),
+                new SimpleInterval("2", 1, 10));
+
+        final List<List<SimpleInterval>> shards = LocusWalker.makeTraversalShards(intervals, 100, dictionary);
+
+        Assert.assertEquals(shards, Arrays.asList(
+                Collections.singletonList(new SimpleInterval("1", 1, 100)),
+                Collections.singletonList(new SimpleInterval("1", 101, 200)),
+                Collections.singletonList(new SimpleInterval("1", 201, 250)),
+                Arrays.asList(new SimpleInterval("1", 301, 320), new SimpleInterval("1", 330, 340)),
+                Collections.singletonList(new SimpleInterval("1", 390, 420)),
+                Collections.singletonList(new SimpleInterval("2", 1, 10))));
+    }
+}
@@ -435,6 +435,53 @@ public class SparkSharderUnitTest extends GATKBaseTest implements Serializable {
                 ));
     }
 
+    @Test
+    public void testSplitShardBoundariesByLoad() {
+        List<ShardBoundary> shards = Shard.divideIntervalIntoShards(new SimpleInterval("1", 1, 100), 20, 5, sequenceDictionary);
+        long[] estimatedCounts = new long[] {0, 50, 5, 0, 0};
+
+        // shard 21-40 is split into five pieces of four bases, each keeping the original padding
+        List<ShardBoundary> expected = new ArrayList<>();
+        expected.add(shards.get(0));
+        expected.addAll(Shard.divideIntervalIntoShards(new SimpleInterval("1", 21, 40), 4, 5, sequenceDictionary));
+        expected.addAll(shards.subList(2, 5));
+        assertEquals(SparkSharder.splitShardBoundariesByLoad(shards, estimatedCounts, 10, 4, sequenceDictionary), expected);
+
+        // a larger minimum shard size limits the number of pieces
+        expected = new ArrayList<>();
+        expected.add(shards.get(0));
+        expected.add(new ShardBoundary(new SimpleInterval("1", 21, 30), new SimpleInterval("1", 16, 35)));
+        expected.add(new ShardBoundary(new SimpleInterval("1", 31, 40), new SimpleInterval("1", 26, 45)));
+        expected.addAll(shards.subList(2, 5));
+        assertEquals(SparkSharder.splitShardBoundariesByLoad(shards, estimatedCounts, 10, 10, sequenceDictionary), expected);
+
+        // no shard exceeds the cap
+        assertEquals(SparkSharder.splitShardBoundariesByLoad(shards, estimatedCounts, 50, 1, sequenceDictionary), shards);
+    }
+
+    @Test
+    public void testAdaptiveShardBoundaries() {
+        JavaSparkContext ctx = SparkContextFactory.getTestSparkContext();
+
+        List<TestRead> reads = new ArrayList<>();
+        reads.add(new TestRead("1", 5, 7));
+        for (int i = 0; i < 30; i++) {
+            reads.add(new TestRead("1", 25, 27));
+        }
+        reads.add(new TestRead("2", 10, 12));
+
+        List<ShardBoundary> shards = Shard.divideIntervalIntoShards(new SimpleInterval("1", 1, 100), 20, 0, sequenceDictionary);
+        List<ShardBoundary> expected = new ArrayList<>();
+        expected.add(shards.get(0));
+        expected.add(new ShardBoundary(new SimpleInterval("1", 21, 27), new SimpleInterval("1", 21, 27)));
+        expected.add(new ShardBoundary(new SimpleInterval("1", 28, 34), new SimpleInterval("1", 28, 34)));
+        expected.add(new ShardBoundary(new SimpleInterval("1", 35, 40), new SimpleInterval("1", 35, 40)));
+        expected.addAll(shards.subList(2, 5));
+
+        // sample all of the reads so the result is deterministic
+        assertEquals(SparkSharder.adaptiveShardBoundaries(ctx, ctx.parallelize(reads, 2), shards, sequenceDictionary, 10, 1.0, 5), expected);
+    }
+
     private static class TestRead implements Locatable {
         private static final long serialVersionUID = 1L;
         private final String contig;
@@ -0,0 +1,64 @@
+package org.broadinstitute.hellbender.engine.spark.datasources;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.broadinstitute.hellbender.GATKBaseTest;
+import org.broadinstitute.hellbender.utils.SimpleInterval;
+import org.broadinstitute.hellbender.utils.reference.ReferenceBases;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+public class ReferenceSharedTwoBitSparkSourceUnitTest extends GATKBaseTest {
+    private static String twoBitRefURL = publicTestDir + "large/human_g1k_v37.20.21.2bit";
+
+    @DataProvider(name = "intervals")
+    public Object[][] intervals() {
+        final int chr20End = 63025520;
+        return new Object[][]{
+                {new SimpleInterval("20", 2, 10)},                         // N block at the start of the contig
+                {new SimpleInterval("20", 59990, 60010)},                  // end of the first N block
+                {new SimpleInterval("20", 4000, 5000)},
+                {new SimpleInterval("20", 10_000_001, 10_001_003)},
+                {new SimpleInterval("21", 9_411_193, 9_412_000)},
+                {new SimpleInterval("20", chr20End - 100, chr20End + 100)}, // cropped at the contig end
+        };
+    }
+
+    @Test(dataProvider = "intervals")
+    public void testMatchesTwoBitSource(final SimpleInterval interval) throws IOException {
+        final ReferenceSparkSource expectedSource = new ReferenceTwoBitSparkSource(twoBitRefURL);
+        final ReferenceSharedTwoBitSparkSource sharedSource = new ReferenceSharedTwoBitSparkSource(twoBitRefURL);
+
+        final ReferenceBases expected = expectedSource.getReferenceBases(interval);
+        Assert.assertEquals(sharedSource.getReferenceBases(interval), expected);
+
+        final byte[] buffer = new byte[expected.getBases().length + 2];
+        final int count = sharedSource.copyBases(interval, buffer, 1);
+        Assert.assertEquals(count, expected.getBases().length);
+        Assert.assertEquals(Arrays.copyOfRange(buffer, 1, count + 1), expected.getBases());
+    }
+
+    @Test
+    public void testSequenceDictionary() throws IOException {
+        Assert.assertEquals(new ReferenceSharedTwoBitSparkSource(twoBitRefURL).getReferenceSequenceDictionary(null),
+                new ReferenceTwoBitSparkSource(twoBitRefURL).getReferenceSequenceDictionary(null));
+    }
+
+    @Test
+    public void testSerializationRoundTrip() {
+        final ReferenceSharedTwoBitSparkSource source = new ReferenceSharedTwoBitSparkSource(twoBitRefURL);
+        final SimpleInterval interval = new SimpleInterval("20", 10_000_001, 10_000_100);
+        final ReferenceBases expected = source.getReferenceBases(interval);
+        final ReferenceSharedTwoBitSparkSource copy = SerializationUtils.roundtrip(source);
+        Assert.assertTrue(copy.isCompatibleWithSparkBroadcast());
+        Assert.assertEquals(copy.getReferenceBases(interval), expected);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testRejectsNonTwoBit() {
+        new ReferenceSharedTwoBitSparkSource(publicTestDir + "large/human_g1k_v37.20.21.fasta");
+    }
+}
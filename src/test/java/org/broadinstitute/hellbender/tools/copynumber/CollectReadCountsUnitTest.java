@@ -0,0 +1,91 @@
+package org.broadinstitute.hellbender.tools.copynumber;
+
+import org.broadinstitute.hellbender.GATKBaseTest;
+import org.broadinstitute.hellbender.utils.SimpleInterval;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Unit tests for {@link CollectReadCounts.SortedBins}.
+ */
+public final class CollectReadCountsUnitTest extends GATKBaseTest {
+    private static final List<SimpleInterval> INTERVALS = Arrays.asList(
+            new SimpleInterval("1", 301, 400),
+            new SimpleInterval("1", 1, 100),
+            new SimpleInterval("1", 1001, 1001),
+            new SimpleInterval("1", 151, 200),
+            new SimpleInterval("1", 501, 900));
+
+    private static int findIntervalIndex(final int position) {
+        return IntStream.range(0, INTERVALS.size())
+                .filter(i -> INTERVALS.get(i).getStart() <= position && position <= INTERVALS.get(i).getEnd())
+                .findFirst().orElse(-1);
+    }
+
+    @Test
+    public void testSortedPositions() {
+        final CollectReadCounts.SortedBins bins = new CollectReadCounts.SortedBins(INTERVALS, Arrays.asList(0, 1, 2, 3, 4));
+        final int[] counts = new int[INTERVALS.size()];
+        final int[] expectedCounts = new int[INTERVALS.size()];
+        for (int position = 1; position <= 1100; position++) {
+            final int intervalIndex = bins.getIntervalIndex(position);
+            Assert.assertEquals(intervalIndex, findIntervalIndex(position));
+            if (intervalIndex >= 0) {
+                counts[intervalIndex]++;
+            }
+        }
+        for (int i = 0; i < INTERVALS.size(); i++) {
+            expectedCounts[i] = INTERVALS.get(i).size();
+        }
+        Assert.assertEquals(counts, expectedCounts);
+    }
+
+    @Test
+    public void testUnsortedPositions() {
+        //unsorted intervals and positions, so that the cursor repeatedly has to fall back to binary search
+        final CollectReadCounts.SortedBins bins = new CollectReadCounts.SortedBins(INTERVALS, Arrays.asList(4, 2, 0, 3, 1));
+        final List<Integer> positions = IntStream.rangeClosed(1, 1100).boxed().collect(Collectors.toList());
+        Collections.shuffle(positions, new Random(13));
+        positions.addAll(Arrays.asList(1100, 1001, 1000, 1, 0, 901, 900, 500, 101, 100, 151));
+
+        final int[] counts = new int[INTERVALS.size()];
+        final int[] expectedCounts = new int[INTERVALS.size()];
+        for (final int position : positions) {
+            final int intervalIndex = bins.getIntervalIndex(position);
+            Assert.assertEquals(intervalIndex, findIntervalIndex(position), "position " + position);
+            if (intervalIndex >= 0) {
+                counts[intervalIndex]++;
+            }
+            final int expectedIntervalIndex = findIntervalIndex(position);
+            if (expectedIntervalIndex >= 0) {
+                expectedCounts[expectedIntervalIndex]++;
+            }
+        }
+        Assert.assertEquals(counts, expectedCounts);
+    }
+
+    @Test
+    public void testSubsetOfIntervals() {
+        //the bins for a contig hold only some of the intervals, but return indices into the full list
+        final CollectReadCounts.SortedBins bins = new CollectReadCounts.SortedBins(INTERVALS, Arrays.asList(3, 0));
+        Assert.assertEquals(bins.getIntervalIndex(350), 0);
+        Assert.assertEquals(bins.getIntervalIndex(160), 3);
+        Assert.assertEquals(bins.getIntervalIndex(50), -1);
+        Assert.assertEquals(bins.getIntervalIndex(600), -1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testOverlappingIntervals() {
+        final List<SimpleInterval> intervals = new ArrayList<>(INTERVALS);
+        intervals.add(new SimpleInterval("1", 351, 450));
+        new CollectReadCounts.SortedBins(intervals, Arrays.asList(5, 0, 1));
+    }
+}
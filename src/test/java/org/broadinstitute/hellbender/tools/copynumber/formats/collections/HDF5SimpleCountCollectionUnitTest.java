@@ -8,10 +8,12 @@ import org.broadinstitute.hellbender.tools.copynumber.formats.metadata.SampleLoc
 import org.broadinstitute.hellbender.tools.copynumber.formats.metadata.SimpleSampleLocatableMetadata;
 import org.broadinstitute.hellbender.utils.SimpleInterval;
 import org.testng.Assert;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -35,4 +37,55 @@ public final class HDF5SimpleCountCollectionUnitTest extends GATKBaseTest {
         Assert.assertEquals(rcc.getCounts().getRowDimension(), 1);
         Assert.assertFalse(rcc.getCounts().getRow(0) == counts);
     }
+
+    @Test
+    public void testDefaultLayout() {
+        final File outputFile = createTempFile("HDF5ReadCountCollection", ".hdf5");
+        final SampleLocatableMetadata metadata = new SimpleSampleLocatableMetadata(
+                "test-sample",
+                new SAMSequenceDictionary(Collections.singletonList(
+                        new SAMSequenceRecord("1", 10000))));
+        HDF5SimpleCountCollection.write(outputFile, metadata, Collections.singletonList(new SimpleInterval("1", 1000, 2000)), new double[]{3});
+
+        //other consumers of read-count files expect the single-row matrix of counts
+        try (final HDF5File file = new HDF5File(outputFile)) {
+            Assert.assertEquals(file.readDoubleMatrix("/counts/values"), new double[][]{{3}});
+            Assert.assertFalse(file.isPresent("/counts/blocked_values_version"));
+        }
+    }
+
+    @DataProvider(name = "writeBlockedCounts")
+    public Object[][] writeBlockedCounts() {
+        return new Object[][]{{false}, {true}};
+    }
+
+    @Test(dataProvider = "writeBlockedCounts")
+    public void testGetCountsInRange(final boolean writeBlockedCounts) {
+        final File outputFile = createTempFile("HDF5ReadCountCollection", ".hdf5");
+        final SampleLocatableMetadata metadata = new SimpleSampleLocatableMetadata(
+                "test-sample",
+                new SAMSequenceDictionary(Collections.singletonList(
+                        new SAMSequenceRecord("1", 100000000))));
+        //span several blocks, some of which contain only zero counts
+        final int numIntervals = 3 * HDF5SimpleCountCollection.COUNTS_BLOCK_SIZE + 17;
+        final List<SimpleInterval> intervals = new ArrayList<>(numIntervals);
+        final double[] counts = new double[numIntervals];
+        for (int i = 0; i < numIntervals; i++) {
+            intervals.add(new SimpleInterval("1", 100 * i + 1, 100 * (i + 1)));
+            counts[i] = i / HDF5SimpleCountCollection.COUNTS_BLOCK_SIZE == 1 ? 0 : i % 7;
+        }
+        HDF5SimpleCountCollection.write(outputFile, metadata, intervals, counts, writeBlockedCounts);
+
+        try (final HDF5File file = new HDF5File(outputFile)) {
+            Assert.assertEquals(file.isPresent("/counts/values"), !writeBlockedCounts);
+            final HDF5SimpleCountCollection rcc = new HDF5SimpleCountCollection(file);
+            Assert.assertEquals(rcc.getIntervals(), intervals);
+            Assert.assertEquals(rcc.getCounts(0, numIntervals), counts);
+            Assert.assertEquals(rcc.getCounts(5, 5).length, 0);
+            final int start = HDF5SimpleCountCollection.COUNTS_BLOCK_SIZE - 3;
+            final int end = 3 * HDF5SimpleCountCollection.COUNTS_BLOCK_SIZE + 5;
+            Assert.assertEquals(rcc.getCounts(start, end), Arrays.copyOfRange(counts, start, end));
+            Assert.assertEquals(rcc.getCounts().getRow(0), counts);
+        }
+    }
 }
@@ -32,19 +32,52 @@ public final class AlleleFractionModellerUnitTest extends GATKBaseTest {
     // more hets -- most of the error is the sampling error of a finite simulated data set, not numerical error of MCMC
     private static final double ABSOLUTE_TOLERANCE = 0.01;
 
+    private static final AlleleFractionPrior PRIOR = new AlleleFractionPrior(1.);
+
     @Test
     public void testMCMC() {
+        final int numSamples = 150;
+        final int numBurnIn = 50;
+        final AlleleFractionSimulatedData simulatedData = simulateData();
+
+        final AlleleFractionModeller modeller = new AlleleFractionModeller(simulatedData.getData().getAllelicCounts(), simulatedData.getData().getSegments(), PRIOR);
+        modeller.fitMCMC(numSamples, numBurnIn);
+
+        assertAlleleFractionPosteriorCenters(modeller, simulatedData);
+    }
+
+    /**
+     * Tests that chains after the first, which are initialized from a copy of the model, can be sampled and
+     * that the pooled samples do not depend on the number of threads.
+     */
+    @Test
+    public void testMCMCWithMultipleChains() {
+        final int numSamples = 100;
+        final int numBurnIn = 50;
+        final int numChains = 2;
+        final AlleleFractionSimulatedData simulatedData = simulateData();
+
+        final AlleleFractionModeller singleThreadedModeller = new AlleleFractionModeller(simulatedData.getData().getAllelicCounts(), simulatedData.getData().getSegments(), PRIOR);
+        singleThreadedModeller.fitMCMC(numSamples, numBurnIn, numChains, 1);
+        final AlleleFractionModeller multiThreadedModeller = new AlleleFractionModeller(simulatedData.getData().getAllelicCounts(), simulatedData.getData().getSegments(), PRIOR);
+        multiThreadedModeller.fitMCMC(numSamples, numBurnIn, numChains, numChains);
+
+        Assert.assertEquals(singleThreadedModeller.getMeanBiasSamples().size(), numChains * (numSamples - numBurnIn));
+        Assert.assertEquals(multiThreadedModeller.getMeanBiasSamples(), singleThreadedModeller.getMeanBiasSamples());
+        Assert.assertEquals(multiThreadedModeller.getBiasVarianceSamples(), singleThreadedModeller.getBiasVarianceSamples());
+        Assert.assertEquals(multiThreadedModeller.getOutlierProbabilitySamples(), singleThreadedModeller.getOutlierProbabilitySamples());
+        Assert.assertEquals(multiThreadedModeller.getMinorFractionsSamples(), singleThreadedModeller.getMinorFractionsSamples());
+        assertAlleleFractionPosteriorCenters(singleThreadedModeller, simulatedData);
+    }
+
+    private static AlleleFractionSimulatedData simulateData() {
         final double meanBias = 1.2;
         final double biasVariance = 0.04;
         final double outlierProbability = 0.02;
         final AlleleFractionGlobalParameters globalParameters = new AlleleFractionGlobalParameters(meanBias, biasVariance, outlierProbability);
-        final double minorAlleleFractionPriorAlpha = 1.;
-        final AlleleFractionPrior prior = new AlleleFractionPrior(minorAlleleFractionPriorAlpha);
         final int numSegments = 50;
         final double averageHetsPerSegment = 50.;
         final double averageDepth = 50.;
-        final int numSamples = 150;
-        final int numBurnIn = 50;
         final RandomGenerator rng = RandomGeneratorFactory.createRandomGenerator(new Random(RANDOM_SEED));
 
         final SampleLocatableMetadata metadata = new SimpleSampleLocatableMetadata(
@@ -52,13 +85,8 @@ public final class AlleleFractionModellerUnitTest extends GATKBaseTest {
                 new SAMSequenceDictionary(IntStream.range(0, numSegments)
                         .mapToObj(i -> new SAMSequenceRecord("chr" + i + 1, 10000))
                         .collect(Collectors.toList())));
-        final AlleleFractionSimulatedData simulatedData = new AlleleFractionSimulatedData(
+        return new AlleleFractionSimulatedData(
                 metadata, globalParameters, numSegments, averageHetsPerSegment, averageDepth, rng);
-
-        final AlleleFractionModeller modeller = new AlleleFractionModeller(simulatedData.getData().getAllelicCounts(), simulatedData.getData().getSegments(), prior);
-        modeller.fitMCMC(numSamples, numBurnIn);
-
-        assertAlleleFractionPosteriorCenters(modeller, simulatedData);
     }
 
     static void assertAlleleFractionPosteriorCenters(final AlleleFractionModeller modeller,
@@ -34,12 +34,44 @@ public final class CopyRatioModellerUnitTest extends GATKBaseTest {
 
     @Test
     public void testMCMC() {
+        final int numSamples = 150;
+        final int numBurnIn = 50;
+        final CopyRatioSimulatedData simulatedData = simulateData();
+
+        final CopyRatioModeller modeller = new CopyRatioModeller(simulatedData.getData().getCopyRatios(), simulatedData.getData().getSegments());
+        modeller.fitMCMC(numSamples, numBurnIn);
+
+        assertCopyRatioPosteriorCenters(modeller, simulatedData);
+    }
+
+    /**
+     * Tests that chains after the first, which are initialized from a copy of the model, can be sampled and
+     * that the pooled samples do not depend on the number of threads.
+     */
+    @Test
+    public void testMCMCWithMultipleChains() {
+        final int numSamples = 100;
+        final int numBurnIn = 50;
+        final int numChains = 2;
+        final CopyRatioSimulatedData simulatedData = simulateData();
+
+        final CopyRatioModeller singleThreadedModeller = new CopyRatioModeller(simulatedData.getData().getCopyRatios(), simulatedData.getData().getSegments());
+        singleThreadedModeller.fitMCMC(numSamples, numBurnIn, numChains, 1);
+        final CopyRatioModeller multiThreadedModeller = new CopyRatioModeller(simulatedData.getData().getCopyRatios(), simulatedData.getData().getSegments());
+        multiThreadedModeller.fitMCMC(numSamples, numBurnIn, numChains, numChains);
+
+        Assert.assertEquals(singleThreadedModeller.getVarianceSamples().size(), numChains * (numSamples - numBurnIn));
+        Assert.assertEquals(multiThreadedModeller.getVarianceSamples(), singleThreadedModeller.getVarianceSamples());
+        Assert.assertEquals(multiThreadedModeller.getOutlierProbabilitySamples(), singleThreadedModeller.getOutlierProbabilitySamples());
+        Assert.assertEquals(multiThreadedModeller.getSegmentMeansSamples(), singleThreadedModeller.getSegmentMeansSamples());
+        assertCopyRatioPosteriorCenters(singleThreadedModeller, simulatedData);
+    }
+
+    private static CopyRatioSimulatedData simulateData() {
         final double variance = 0.01;
         final double outlierProbability = 0.05;
         final int numSegments = 100;
         final double averageIntervalsPerSegment = 100.;
-        final int numSamples = 150;
-        final int numBurnIn = 50;
         final RandomGenerator rng = RandomGeneratorFactory.createRandomGenerator(new Random(RANDOM_SEED));
 
         final SampleLocatableMetadata metadata = new SimpleSampleLocatableMetadata(
@@ -47,13 +79,8 @@ public final class CopyRatioModellerUnitTest extends GATKBaseTest {
                 new SAMSequenceDictionary(IntStream.range(0, numSegments)
                         .mapToObj(i -> new SAMSequenceRecord("chr" + i + 1, 10000))
                         .collect(Collectors.toList())));
-        final CopyRatioSimulatedData simulatedData = new CopyRatioSimulatedData(
+        return new CopyRatioSimulatedData(
                 metadata, variance, outlierProbability, numSegments, averageIntervalsPerSegment, rng);
-
-        final CopyRatioModeller modeller = new CopyRatioModeller(simulatedData.getData().getCopyRatios(), simulatedData.getData().getSegments());
-        modeller.fitMCMC(numSamples, numBurnIn);
-
-        assertCopyRatioPosteriorCenters(modeller, simulatedData);
     }
 
     static void assertCopyRatioPosteriorCenters(final CopyRatioModeller modeller,
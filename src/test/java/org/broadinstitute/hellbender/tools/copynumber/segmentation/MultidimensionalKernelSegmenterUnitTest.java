@@ -162,4 +162,27 @@ public final class MultidimensionalKernelSegmenterUnitTest extends GATKBaseTest
                         windowSizes, numChangepointsPenaltyLinearFactor, numChangepointsPenaltyLogLinearFactor);
         Assert.assertEquals(segments, segmentsExpected);
     }
-}
\ No newline at end of file
+
+    @Test(dataProvider = "dataMultidimensionalKernelSegmenter")
+    public void testMultidimensionalKernelSegmenterInParallel(final CopyRatioCollection denoisedCopyRatios,
+                                                              final AllelicCountCollection allelicCounts,
+                                                              final MultidimensionalSegmentCollection segmentsExpected) {
+        final int maxNumChangepointsPerChromosome = 25;
+        final double kernelVarianceCopyRatio = 0.;
+        final double kernelVarianceAlleleFraction = 0.025;
+        final double kernelScalingAlleleFraction = 1.;
+        final int kernelApproximationDimension = 20;
+        final List<Integer> windowSizes = Arrays.asList(8, 16, 32, 64);
+        final double numChangepointsPenaltyLinearFactor = 2.;
+        final double numChangepointsPenaltyLogLinearFactor = 2.;
+
+        //segments (and their order) should not depend on the number of threads
+        for (final int numThreads : Arrays.asList(2, 4)) {
+            final MultidimensionalSegmentCollection segments = new MultidimensionalKernelSegmenter(denoisedCopyRatios, allelicCounts)
+                    .findSegmentation(maxNumChangepointsPerChromosome, kernelVarianceCopyRatio, kernelVarianceAlleleFraction,
+                            kernelScalingAlleleFraction, kernelApproximationDimension,
+                            windowSizes, numChangepointsPenaltyLinearFactor, numChangepointsPenaltyLogLinearFactor, numThreads);
+            Assert.assertEquals(segments, segmentsExpected);
+        }
+    }
+}
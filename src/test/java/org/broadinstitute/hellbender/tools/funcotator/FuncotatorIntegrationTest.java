@@ -1469,6 +1469,35 @@ public class FuncotatorIntegrationTest extends CommandLineProgramTest {
         maf.getRecords().forEach(r -> Assert.assertEquals(Sets.intersection(r.getAnnotations().keySet(), excludedFields).size(), 0));
     }
 
+    @Test
+    public void testMultiThreadedMatchesSingleThreaded() throws IOException {
+        final FuncotatorArgumentDefinitions.OutputFormatType outputFormatType = FuncotatorArgumentDefinitions.OutputFormatType.VCF;
+        final List<List<String>> outputRecords = new ArrayList<>();
+        for (final int threads : new int[]{1, 3}) {
+            final File outputFile = getOutputFile(outputFormatType);
+            final ArgumentsBuilder arguments = createBaselineArgumentsForFuncotator(
+                    PIK3CA_VCF_HG19,
+                    outputFile,
+                    b37Chr3Ref,
+                    DS_PIK3CA_DIR,
+                    FuncotatorTestConstants.REFERENCE_VERSION_HG19,
+                    outputFormatType,
+                    false);
+            arguments.addBooleanArgument(FuncotatorArgumentDefinitions.FORCE_B37_TO_HG19_REFERENCE_CONTIG_CONVERSION, true);
+            arguments.addArgument(FuncotatorArgumentDefinitions.FUNCOTATOR_THREADS_LONG_NAME, String.valueOf(threads));
+            // Small batches, so that several batches are in flight at once:
+            arguments.addArgument(FuncotatorArgumentDefinitions.FUNCOTATOR_BATCH_SIZE_LONG_NAME, "2");
+
+            runCommandLine(arguments);
+
+            outputRecords.add(Files.readAllLines(outputFile.toPath()).stream()
+                    .filter(line -> !line.startsWith("#"))
+                    .collect(Collectors.toList()));
+        }
+        Assert.assertFalse(outputRecords.get(0).isEmpty());
+        Assert.assertEquals(outputRecords.get(1), outputRecords.get(0));
+    }
+
     @Test
     public void testVCFToVCFPreservesFields() {
 
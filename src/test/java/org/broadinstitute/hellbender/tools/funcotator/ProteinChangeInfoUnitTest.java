@@ -502,4 +502,34 @@ public class ProteinChangeInfoUnitTest extends GATKBaseTest {
         );
     }
 
+    @Test(dataProvider = "provideForTestCreateProteinChangeInfo")
+    void testCreateProteinChangeInfoWithReferenceProteinSequence( final Allele refAllele,
+                                                                  final Allele altAllele,
+                                                                  final int codingSequenceAlleleStart,
+                                                                  final int alignedCodingSequenceAlleleStart,
+                                                                  final String codingSequence,
+                                                                  final Strand strand,
+                                                                  final boolean isMitochondria,
+                                                                  final ProteinChangeInfo expected ) {
+
+        final String wholeCodons = codingSequence.substring(0, codingSequence.length() - codingSequence.length() % AminoAcid.CODON_LENGTH);
+        final String referenceProteinSequence = isMitochondria
+                ? FuncotatorUtils.createMitochondrialAminoAcidSequence(wholeCodons, false, "")
+                : FuncotatorUtils.createAminoAcidSequence(wholeCodons, false, "");
+
+        Assert.assertEquals(
+                ProteinChangeInfo.create(
+                        refAllele,
+                        altAllele,
+                        codingSequenceAlleleStart,
+                        alignedCodingSequenceAlleleStart,
+                        codingSequence,
+                        strand,
+                        isMitochondria,
+                        codingSequence,
+                        referenceProteinSequence),
+                expected
+        );
+    }
+
 }
@@ -286,6 +286,32 @@ public class CosmicFuncotationFactoryUnitTest extends GATKBaseTest {
         );
     }
 
+    @Test(dataProvider = "provideForTestCreateFuncotations")
+    public void testCreateFuncotationsWithInMemoryRecords(final VariantContext variant,
+                                                         final ReferenceContext referenceContext,
+                                                         final List<Feature> featureList,
+                                                         final List<GencodeFuncotation> gencodeFuncotations,
+                                                         final List<Funcotation> expected) {
+        // Preloaded records, and a cache so small that every gene after the first evicts the previous one:
+        for ( final boolean preload : new boolean[] {true, false} ) {
+            final CosmicFuncotationFactory cosmicFuncotationFactory =
+                    new CosmicFuncotationFactory(PATH_TO_TEST_DB, new LinkedHashMap<>(), CosmicFuncotationFactory.DEFAULT_VERSION_STRING, false, preload, 1);
+
+            for ( int i = 0; i < 2; ++i ) {
+                Assert.assertEquals(
+                    cosmicFuncotationFactory.createFuncotationsOnVariant(
+                        variant,
+                        referenceContext,
+                        featureList,
+                        gencodeFuncotations
+                    ),
+                    expected
+                );
+            }
+            cosmicFuncotationFactory.close();
+        }
+    }
+
     @Test
     public void testNoSupportOfSegments() {
         final CosmicFuncotationFactory factory = new CosmicFuncotationFactory(PATH_TO_TEST_DB);
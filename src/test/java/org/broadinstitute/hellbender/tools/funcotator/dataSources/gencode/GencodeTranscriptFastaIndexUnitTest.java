@@ -0,0 +1,86 @@
+package org.broadinstitute.hellbender.tools.funcotator.dataSources.gencode;
+
+import htsjdk.samtools.SAMSequenceRecord;
+import org.broadinstitute.hellbender.GATKBaseTest;
+import org.broadinstitute.hellbender.engine.ReferenceDataSource;
+import org.broadinstitute.hellbender.exceptions.UserException;
+import org.broadinstitute.hellbender.tools.funcotator.FuncotatorTestConstants;
+import org.broadinstitute.hellbender.utils.SimpleInterval;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+
+public class GencodeTranscriptFastaIndexUnitTest extends GATKBaseTest {
+
+    @Test
+    public void testMatchesTranscriptFasta() {
+        final Path indexPath = createTempFile("transcripts", GencodeTranscriptFastaIndex.INDEX_EXTENSION).toPath();
+
+        final Path transcriptFastaPath = Paths.get(FuncotatorTestConstants.PIK3CA_ALL_TRANSCRIPTS_GENCODE_TRANSCRIPT_FASTA_FILE);
+        try ( final ReferenceDataSource transcriptFasta = ReferenceDataSource.of(transcriptFastaPath) ) {
+            GencodeTranscriptFastaIndex.write(transcriptFasta, transcriptFastaPath, indexPath);
+            final GencodeTranscriptFastaIndex index = GencodeTranscriptFastaIndex.load(indexPath, transcriptFastaPath);
+
+            Assert.assertEquals(index.getSequenceDictionary().getSequences().size(), transcriptFasta.getSequenceDictionary().getSequences().size());
+            for ( final SAMSequenceRecord record : transcriptFasta.getSequenceDictionary().getSequences() ) {
+                final SimpleInterval wholeSequence = new SimpleInterval(record.getSequenceName(), 1, record.getSequenceLength());
+                Assert.assertEquals(index.queryAndPrefetch(wholeSequence).getBaseString(), transcriptFasta.queryAndPrefetch(wholeSequence).getBaseString());
+                final SimpleInterval subsequence = new SimpleInterval(record.getSequenceName(), 2, Math.min(10, record.getSequenceLength()));
+                Assert.assertEquals(index.queryAndPrefetch(subsequence).getBaseString(), transcriptFasta.queryAndPrefetch(subsequence).getBaseString());
+            }
+
+            final Map<String, GencodeFuncotationFactory.MappedTranscriptIdInfo> expectedIdMap = GencodeFuncotationFactory.createTranscriptIdMap(transcriptFasta);
+            final Map<String, GencodeFuncotationFactory.MappedTranscriptIdInfo> idMap = index.getTranscriptIdMap();
+            Assert.assertEquals(idMap.keySet(), expectedIdMap.keySet());
+            for ( final Map.Entry<String, GencodeFuncotationFactory.MappedTranscriptIdInfo> entry : expectedIdMap.entrySet() ) {
+                final GencodeFuncotationFactory.MappedTranscriptIdInfo expected = entry.getValue();
+                final GencodeFuncotationFactory.MappedTranscriptIdInfo actual = idMap.get(entry.getKey());
+                Assert.assertEquals(actual.mapKey, expected.mapKey);
+                Assert.assertEquals(actual.codingSequenceStart, expected.codingSequenceStart);
+                Assert.assertEquals(actual.codingSequenceEnd, expected.codingSequenceEnd);
+                Assert.assertEquals(actual.has5pUtr, expected.has5pUtr);
+                Assert.assertEquals(actual.fivePrimeUtrStart, expected.fivePrimeUtrStart);
+                Assert.assertEquals(actual.fivePrimeUtrEnd, expected.fivePrimeUtrEnd);
+                Assert.assertEquals(actual.has3pUtr, expected.has3pUtr);
+                Assert.assertEquals(actual.threePrimeUtrStart, expected.threePrimeUtrStart);
+                Assert.assertEquals(actual.threePrimeUtrEnd, expected.threePrimeUtrEnd);
+            }
+        }
+    }
+
+    @Test
+    public void testStaleIndexIsIgnored() throws IOException {
+        final Path transcriptFastaPath = Paths.get(FuncotatorTestConstants.PIK3CA_ALL_TRANSCRIPTS_GENCODE_TRANSCRIPT_FASTA_FILE);
+        final Path indexPath = createTempFile("transcripts", GencodeTranscriptFastaIndex.INDEX_EXTENSION).toPath();
+        final Path sourcePath = createTempFile("transcripts", ".fasta").toPath();
+        Files.copy(transcriptFastaPath, sourcePath, StandardCopyOption.REPLACE_EXISTING);
+
+        try ( final ReferenceDataSource transcriptFasta = ReferenceDataSource.of(transcriptFastaPath) ) {
+            GencodeTranscriptFastaIndex.write(transcriptFasta, sourcePath, indexPath);
+        }
+        Assert.assertNotNull(GencodeTranscriptFastaIndex.load(indexPath, sourcePath));
+
+        Files.setLastModifiedTime(sourcePath, FileTime.fromMillis(Files.getLastModifiedTime(sourcePath).toMillis() - 10000));
+        Assert.assertNull(GencodeTranscriptFastaIndex.load(indexPath, sourcePath));
+    }
+
+    @Test
+    public void testGetIndexPath() {
+        Assert.assertEquals(GencodeTranscriptFastaIndex.getIndexPath(Paths.get("/a/b/transcripts.fa")), Paths.get("/a/b/transcripts.fa" + GencodeTranscriptFastaIndex.INDEX_EXTENSION));
+    }
+
+    @Test(expectedExceptions = UserException.MalformedFile.class)
+    public void testRejectsOtherFiles() throws Exception {
+        final File notAnIndex = createTempFile("notAnIndex", GencodeTranscriptFastaIndex.INDEX_EXTENSION);
+        Files.write(notAnIndex.toPath(), new byte[64]);
+        GencodeTranscriptFastaIndex.load(notAnIndex.toPath(), Paths.get(FuncotatorTestConstants.PIK3CA_ALL_TRANSCRIPTS_GENCODE_TRANSCRIPT_FASTA_FILE));
+    }
+}
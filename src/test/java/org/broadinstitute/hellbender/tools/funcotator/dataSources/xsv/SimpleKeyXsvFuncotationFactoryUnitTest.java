@@ -20,6 +20,8 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 
@@ -441,6 +443,34 @@ public class SimpleKeyXsvFuncotationFactoryUnitTest extends GATKBaseTest {
         Assert.assertEquals(tableFuncotation.get(defaultName + "_Beatle"), "Harrison", "Wrong value for the Beatle column in returned funcotation");
     }
 
+    @Test
+    public void testOnDiskIndexMatchesInMemoryTable() throws IOException {
+        // Copy the table so that the index is not written next to the test resources:
+        final Path xsvPath = createTempDir("onDiskIndex").toPath().resolve("table.csv");
+        Files.copy(IOUtils.getPath(FuncotatorTestConstants.XSV_CSV_FILE_PATH), xsvPath);
+
+        final SimpleKeyXsvFuncotationFactory inMemoryFactory = new SimpleKeyXsvFuncotationFactory(
+                defaultName, xsvPath, "VERSION", ",", 3, SimpleKeyXsvFuncotationFactory.XsvDataKeyType.GENE_NAME,
+                new LinkedHashMap<>(), 1, false, false, false, SimpleKeyXsvFuncotationFactory.DEFAULT_KEY_CACHE_SIZE);
+
+        final List<GencodeFuncotation> gencodeFuncotations = new ArrayList<>();
+        for ( final List<String> dataRow : dataTable ) {
+            gencodeFuncotations.add(new GencodeFuncotationBuilder().setHugoSymbol(dataRow.get(3)).build());
+        }
+        gencodeFuncotations.add(new GencodeFuncotationBuilder().setHugoSymbol("NOT THE RIGHT GENE NAME").build());
+        final List<Funcotation> expected = inMemoryFactory.createFuncotationsOnVariant(defaultVariantContext, defaultReferenceContext, Collections.emptyList(), gencodeFuncotations);
+
+        // The first factory builds the index and the second one reuses it:
+        for ( int i = 0; i < 2; i++ ) {
+            final SimpleKeyXsvFuncotationFactory onDiskFactory = new SimpleKeyXsvFuncotationFactory(
+                    defaultName, xsvPath, "VERSION", ",", 3, SimpleKeyXsvFuncotationFactory.XsvDataKeyType.GENE_NAME,
+                    new LinkedHashMap<>(), 1, false, false, true, 2);
+            Assert.assertTrue(Files.exists(xsvPath.resolveSibling("table.csv" + SimpleKeyXsvIndex.INDEX_EXTENSION)));
+            Assert.assertEquals(onDiskFactory.getSupportedFuncotationFields(), inMemoryFactory.getSupportedFuncotationFields());
+            Assert.assertEquals(onDiskFactory.createFuncotationsOnVariant(defaultVariantContext, defaultReferenceContext, Collections.emptyList(), gencodeFuncotations), expected);
+        }
+    }
+
     @Test
     public void testRequiresFeatures() {
         final SimpleKeyXsvFuncotationFactory simpleKeyXsvFuncotationFactory = new SimpleKeyXsvFuncotationFactory(
@@ -0,0 +1,87 @@
+package org.broadinstitute.hellbender.tools.funcotator.dataSources.xsv;
+
+import org.broadinstitute.hellbender.GATKBaseTest;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SimpleKeyXsvIndexUnitTest extends GATKBaseTest {
+
+    private static final String DESCRIPTION = "test";
+
+    private static Path createXsv() throws IOException {
+        final Path xsvPath = createTempFile("table", ".csv").toPath();
+        Files.write(xsvPath, Collections.singletonList("key,a,b"));
+        return xsvPath;
+    }
+
+    private static Map<String, List<String>> writeIndex(final Path indexPath, final Path xsvPath, final int numRows, final int segmentSize) {
+        final Map<String, List<String>> rows = new LinkedHashMap<>();
+        try ( final SimpleKeyXsvIndex.Writer writer = new SimpleKeyXsvIndex.Writer(indexPath, xsvPath, DESCRIPTION, Arrays.asList("a", "b"), segmentSize) ) {
+            for ( int i = 0; i < numRows; i++ ) {
+                final List<String> row = Arrays.asList("value" + i, i % 3 == 0 ? "" : "é" + i);
+                writer.add("GENE" + i, row);
+                rows.put("GENE" + i, row);
+            }
+            // The last row for a key wins:
+            final List<String> replacement = Arrays.asList("replaced", "row");
+            writer.add("GENE0", replacement);
+            rows.put("GENE0", replacement);
+            writer.finish();
+        }
+        return rows;
+    }
+
+    @Test
+    public void testLookUp() throws IOException {
+        final Path xsvPath = createXsv();
+        final Path indexPath = createTempFile("table", SimpleKeyXsvIndex.INDEX_EXTENSION).toPath();
+
+        // Small segments, so that rows have to be moved to the start of the next segment:
+        final Map<String, List<String>> rows = writeIndex(indexPath, xsvPath, 500, 64);
+
+        final SimpleKeyXsvIndex index = SimpleKeyXsvIndex.open(indexPath, xsvPath, DESCRIPTION, 10);
+        Assert.assertNotNull(index);
+        Assert.assertEquals(index.getColumnNames(), Arrays.asList("a", "b"));
+        for ( int pass = 0; pass < 2; pass++ ) {
+            for ( final Map.Entry<String, List<String>> row : rows.entrySet() ) {
+                Assert.assertEquals(index.get(row.getKey()), row.getValue());
+            }
+            Assert.assertNull(index.get("NOT_A_GENE"));
+            Assert.assertNull(index.get(""));
+        }
+    }
+
+    @Test
+    public void testStaleIndexIsIgnored() throws IOException {
+        final Path xsvPath = createXsv();
+        final Path indexPath = createTempFile("table", SimpleKeyXsvIndex.INDEX_EXTENSION).toPath();
+        writeIndex(indexPath, xsvPath, 10, SimpleKeyXsvIndex.DEFAULT_SEGMENT_SIZE);
+
+        Assert.assertNotNull(SimpleKeyXsvIndex.open(indexPath, xsvPath, DESCRIPTION, 10));
+        Assert.assertNull(SimpleKeyXsvIndex.open(indexPath, xsvPath, "other settings", 10));
+
+        Files.setLastModifiedTime(xsvPath, FileTime.fromMillis(Files.getLastModifiedTime(xsvPath).toMillis() - 10000));
+        Assert.assertNull(SimpleKeyXsvIndex.open(indexPath, xsvPath, DESCRIPTION, 10));
+    }
+
+    @Test
+    public void testUnfinishedIndexIsDiscarded() throws IOException {
+        final Path xsvPath = createXsv();
+        final Path indexPath = xsvPath.resolveSibling(xsvPath.getFileName() + SimpleKeyXsvIndex.INDEX_EXTENSION);
+        try ( final SimpleKeyXsvIndex.Writer writer = new SimpleKeyXsvIndex.Writer(indexPath, xsvPath, DESCRIPTION, Arrays.asList("a", "b")) ) {
+            writer.add("GENE", Arrays.asList("1", "2"));
+        }
+        Assert.assertFalse(Files.exists(indexPath));
+        Assert.assertNull(SimpleKeyXsvIndex.open(indexPath, xsvPath, DESCRIPTION, 10));
+    }
+}
@@ -1,11 +1,13 @@
 package org.broadinstitute.hellbender.tools.genomicsdb;
 
+import com.google.common.util.concurrent.Uninterruptibles;
 import htsjdk.tribble.FeatureReader;
 import htsjdk.variant.variantcontext.VariantContext;
 import org.broadinstitute.hellbender.exceptions.UserException;
 import org.broadinstitute.hellbender.utils.io.IOUtils;
 import org.broadinstitute.hellbender.GATKBaseTest;
 import org.genomicsdb.importer.GenomicsDBImporter;
+import org.mockito.Mockito;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
@@ -18,6 +20,10 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 public class GenomicsDBImportUnitTest extends GATKBaseTest {
 
@@ -108,4 +114,45 @@ public class GenomicsDBImportUnitTest extends GATKBaseTest {
         Assert.assertEquals(actual, expected);
         Assert.assertEquals(actual.keySet().iterator().next(), "Sample1");
     }
+
+    @Test(timeOut = 60000)
+    public void testReaderOfInitializationCancelledWhileRunningIsClosed() throws Exception {
+        final FeatureReader<VariantContext> reader = mockFeatureReader();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final GenomicsDBImport.ReaderInitializationTask task = new GenomicsDBImport.ReaderInitializationTask(() -> {
+            started.countDown();
+            Uninterruptibles.awaitUninterruptibly(release);
+            return reader;
+        });
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.execute(task);
+            started.await();
+            // as when the prefetched next batch is discarded (or on shutdown) while its readers are being opened:
+            // cancelling a running task succeeds, but the task still goes on to open its reader
+            Assert.assertTrue(task.cancel(true));
+            release.countDown();
+        } finally {
+            executor.shutdown();
+            Assert.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+        Mockito.verify(reader).close();
+    }
+
+    @Test
+    public void testReaderOfCompletedInitializationIsNotClosed() throws Exception {
+        final FeatureReader<VariantContext> reader = mockFeatureReader();
+        final GenomicsDBImport.ReaderInitializationTask task = new GenomicsDBImport.ReaderInitializationTask(() -> reader);
+        task.run();
+        // a completed task cannot be cancelled, so whoever discards the batch gets the reader and closes it
+        Assert.assertFalse(task.cancel(true));
+        Assert.assertSame(task.get(), reader);
+        Mockito.verify(reader, Mockito.never()).close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static FeatureReader<VariantContext> mockFeatureReader() {
+        return Mockito.mock(FeatureReader.class);
+    }
 }
@@ -0,0 +1,139 @@
+package org.broadinstitute.hellbender.tools.genomicsdb;
+
+import htsjdk.variant.variantcontext.Allele;
+import htsjdk.variant.variantcontext.VariantContext;
+import htsjdk.variant.variantcontext.VariantContextBuilder;
+import org.broadinstitute.hellbender.GATKBaseTest;
+import org.broadinstitute.hellbender.utils.SimpleInterval;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+public class GenomicsDBVariantSiteIndexUnitTest extends GATKBaseTest {
+    private static final Allele REF = Allele.create("A", true);
+    private static final Allele ALT = Allele.create("C");
+
+    private static VariantContext makeRecord( final String contig, final int start, final Allele... alts ) {
+        final List<Allele> alleles = new ArrayList<>();
+        alleles.add(REF);
+        alleles.addAll(Arrays.asList(alts));
+        return new VariantContextBuilder("test", contig, start, start, alleles).make();
+    }
+
+    private static GenomicsDBVariantSiteIndex makeIndex() {
+        final GenomicsDBVariantSiteIndex.Builder builder = new GenomicsDBVariantSiteIndex.Builder(Arrays.asList(
+                new SimpleInterval("20", 1000, 2000),
+                new SimpleInterval("20", 5000, 6000),
+                new SimpleInterval("21", 1, 100)));
+        builder.add(makeRecord("20", 1500, ALT, Allele.NON_REF_ALLELE));
+        builder.add(makeRecord("20", 1100, Allele.NON_REF_ALLELE));      // reference block
+        builder.add(makeRecord("20", 1010, ALT));
+        builder.add(makeRecord("20", 1500, ALT));                        // same site in another sample
+        builder.add(makeRecord("20", 3000, ALT));                        // outside of the intervals
+        builder.add(makeRecord("20", 5900, Allele.SPAN_DEL, Allele.NON_REF_ALLELE));
+        builder.add(makeRecord("21", 50, ALT));
+        builder.add(makeRecord("22", 50, ALT));                          // no interval on contig
+        builder.add(new VariantContextBuilder("test", "20", 4990, 5005,   // deletion extending into an interval
+                Arrays.asList(Allele.create("AAAAAAAAAAAAAAAA", true), REF)).make());
+        return builder.build();
+    }
+
+    @Test
+    public void testIsVariantSite() {
+        Assert.assertTrue(GenomicsDBVariantSiteIndex.isVariantSite(makeRecord("20", 1, ALT)));
+        Assert.assertTrue(GenomicsDBVariantSiteIndex.isVariantSite(makeRecord("20", 1, ALT, Allele.NON_REF_ALLELE)));
+        Assert.assertFalse(GenomicsDBVariantSiteIndex.isVariantSite(makeRecord("20", 1, Allele.NON_REF_ALLELE)));
+        Assert.assertFalse(GenomicsDBVariantSiteIndex.isVariantSite(makeRecord("20", 1)));
+    }
+
+    @Test
+    public void testBuild() {
+        final GenomicsDBVariantSiteIndex index = makeIndex();
+        Assert.assertEquals(index.size(), 5);
+        for ( final int site : new int[]{1010, 1500, 5000, 5900} ) {
+            Assert.assertTrue(index.containsSite("20", site));
+        }
+        Assert.assertTrue(index.containsSite("21", 50));
+        Assert.assertFalse(index.containsSite("20", 1100));
+        Assert.assertFalse(index.containsSite("20", 3000));
+        Assert.assertFalse(index.containsSite("22", 50));
+    }
+
+    @Test
+    public void testBuildWithManySamples() {
+        // enough records that each interval's sites are de-duplicated several times before being built
+        final GenomicsDBVariantSiteIndex.Builder builder = new GenomicsDBVariantSiteIndex.Builder(Arrays.asList(
+                new SimpleInterval("20", 1, 100_000_000),
+                new SimpleInterval("20", 200_000_000, 200_001_000)));
+        for ( int sample = 0; sample != 20; ++sample ) {
+            for ( int site = 99_990_000 - 3000 * sample; site <= 100_000_000; site += 3 ) {
+                builder.add(makeRecord("20", site, ALT));
+            }
+            builder.add(makeRecord("20", 200_000_000 + sample, ALT));
+        }
+        final GenomicsDBVariantSiteIndex index = builder.build();
+        final int[] expectedSites = IntStream.concat(
+                IntStream.rangeClosed(99_933_000, 100_000_000).filter(site -> (site - 99_933_000) % 3 == 0),
+                IntStream.range(200_000_000, 200_000_020)).toArray();
+        Assert.assertEquals(index.size(), expectedSites.length);
+        for ( final int site : expectedSites ) {
+            Assert.assertTrue(index.containsSite("20", site));
+        }
+        Assert.assertFalse(index.containsSite("20", 99_932_999));
+        Assert.assertFalse(index.containsSite("20", 99_933_001));
+    }
+
+    @Test
+    public void testGetSiteIntervals() {
+        final GenomicsDBVariantSiteIndex index = makeIndex();
+        final List<SimpleInterval> intervals = Arrays.asList(new SimpleInterval("20", 1, 10000), new SimpleInterval("21", 1, 100));
+        Assert.assertEquals(index.getSiteIntervals(intervals, 0), Arrays.asList(
+                new SimpleInterval("20", 1010, 1010),
+                new SimpleInterval("20", 1500, 1500),
+                new SimpleInterval("20", 5000, 5000),
+                new SimpleInterval("20", 5900, 5900),
+                new SimpleInterval("21", 50, 50)));
+        Assert.assertEquals(index.getSiteIntervals(intervals, 900), Arrays.asList(
+                new SimpleInterval("20", 1010, 1500),
+                new SimpleInterval("20", 5000, 5900),
+                new SimpleInterval("21", 50, 50)));
+        Assert.assertEquals(index.getSiteIntervals(Collections.singletonList(new SimpleInterval("20", 1011, 5900)), 10000),
+                Collections.singletonList(new SimpleInterval("20", 1500, 5900)));
+        Assert.assertEquals(index.getSiteIntervals(Collections.singletonList(new SimpleInterval("20", 2000, 4999)), 0),
+                Collections.emptyList());
+    }
+
+    @Test
+    public void testWriteAndRead() {
+        final File workspace = createTempDir("variantSiteIndex");
+        final String workspacePath = workspace.getAbsolutePath();
+        Assert.assertFalse(GenomicsDBVariantSiteIndex.exists(workspacePath));
+
+        final GenomicsDBVariantSiteIndex.Builder builder =
+                new GenomicsDBVariantSiteIndex.Builder(Collections.singletonList(new SimpleInterval("1", 1, 200_000_000)));
+        IntStream.range(0, 10000).forEach(idx -> builder.add(makeRecord("1", 1 + idx * idx, ALT)));
+        final GenomicsDBVariantSiteIndex index = builder.build();
+        index.write(workspacePath);
+        Assert.assertTrue(GenomicsDBVariantSiteIndex.exists(workspacePath));
+
+        final GenomicsDBVariantSiteIndex index2 = GenomicsDBVariantSiteIndex.read(workspacePath);
+        Assert.assertEquals(index2.size(), index.size());
+        final List<SimpleInterval> intervals = Collections.singletonList(new SimpleInterval("1", 1, 200_000_000));
+        Assert.assertEquals(index2.getSiteIntervals(intervals, 0), index.getSiteIntervals(intervals, 0));
+
+        // adding the sites of an existing index (as when adding samples to a workspace)
+        final GenomicsDBVariantSiteIndex.Builder builder2 = new GenomicsDBVariantSiteIndex.Builder(intervals);
+        builder2.addAll(index2);
+        builder2.add(makeRecord("1", 3, ALT));
+        final GenomicsDBVariantSiteIndex index3 = builder2.build();
+        Assert.assertEquals(index3.size(), index.size() + 1);
+        Assert.assertTrue(index3.containsSite("1", 3));
+        Assert.assertTrue(index3.containsSite("1", 1 + 9999 * 9999));
+    }
+}
@@ -0,0 +1,121 @@
+package org.broadinstitute.hellbender.tools.spark.bwa;
+
+import htsjdk.samtools.SAMFileHeader;
+import htsjdk.samtools.SAMSequenceDictionary;
+import htsjdk.samtools.SAMSequenceRecord;
+import org.broadinstitute.hellbender.GATKBaseTest;
+import org.broadinstitute.hellbender.utils.bwa.BwaMemIndexCache;
+import org.broadinstitute.hellbender.utils.read.ArtificialReadUtils;
+import org.broadinstitute.hellbender.utils.read.GATKRead;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class BwaSparkEngineUnitTest extends GATKBaseTest {
+    private static final File REF_DIR = new File(toolsTestDir, "spark/bwa/BwaSpark");
+    private static final String IMAGE_PATH = new File(REF_DIR, "ref.fa.img").getAbsolutePath();
+    private static final int READ_LENGTH = 50;
+
+    private static SAMFileHeader makeHeader() {
+        final SAMFileHeader header = new SAMFileHeader(new SAMSequenceDictionary(
+                Collections.singletonList(new SAMSequenceRecord("rotavirus", 1074))));
+        header.setSortOrder(SAMFileHeader.SortOrder.queryname);
+        return header;
+    }
+
+    private static List<GATKRead> makeReads( final SAMFileHeader header, final int nReads, final boolean paired ) throws IOException {
+        final String refSeq = Files.readAllLines(new File(REF_DIR, "ref.fa").toPath()).stream()
+                .filter(line -> !line.startsWith(">"))
+                .collect(Collectors.joining());
+        final byte[] quals = new byte[READ_LENGTH];
+        Arrays.fill(quals, (byte)30);
+        final List<GATKRead> reads = new ArrayList<>(nReads);
+        for ( int idx = 0; idx != nReads; ++idx ) {
+            final int start = (idx * 37) % (refSeq.length() - READ_LENGTH);
+            final GATKRead read = ArtificialReadUtils.createArtificialUnmappedRead(header,
+                    refSeq.substring(start, start + READ_LENGTH).getBytes(), quals);
+            read.setName("read" + (paired ? idx / 2 : idx));
+            reads.add(read);
+        }
+        return reads;
+    }
+
+    @AfterClass
+    public void closeIndex() {
+        BwaMemIndexCache.closeInstance(IMAGE_PATH);
+    }
+
+    @Test
+    public void testBatchesAreSizedByBasesAndKeepPairsTogether() throws IOException {
+        final SAMFileHeader header = makeHeader();
+
+        final BwaSparkEngine.ReadAligner unpairedAligner =
+                new BwaSparkEngine.ReadAligner(IMAGE_PATH, header, false, 1, 3 * READ_LENGTH);
+        final Iterator<GATKRead> unpairedItr = makeReads(header, 7, false).iterator();
+        Assert.assertEquals(unpairedAligner.nextBatch(unpairedItr).size(), 3);
+        Assert.assertEquals(unpairedAligner.nextBatch(unpairedItr).size(), 3);
+        Assert.assertEquals(unpairedAligner.nextBatch(unpairedItr).size(), 1);
+        Assert.assertFalse(unpairedItr.hasNext());
+
+        final BwaSparkEngine.ReadAligner pairedAligner =
+                new BwaSparkEngine.ReadAligner(IMAGE_PATH, header, true, 1, 3 * READ_LENGTH);
+        final Iterator<GATKRead> pairedItr = makeReads(header, 8, true).iterator();
+        Assert.assertEquals(pairedAligner.nextBatch(pairedItr).size(), 4);
+        Assert.assertEquals(pairedAligner.nextBatch(pairedItr).size(), 4);
+        Assert.assertFalse(pairedItr.hasNext());
+    }
+
+    @Test
+    public void testUnpairedAlignmentDoesNotDependOnBatchSize() throws IOException {
+        final SAMFileHeader header = makeHeader();
+        final List<GATKRead> reads = makeReads(header, 25, false);
+
+        final List<String> oneBatch = new ArrayList<>();
+        new BwaSparkEngine.ReadAligner(IMAGE_PATH, header, false, 1)
+                .apply(reads.iterator()).forEachRemaining(read -> oneBatch.add(read.getSAMString()));
+        final List<String> smallBatches = new ArrayList<>();
+        new BwaSparkEngine.ReadAligner(IMAGE_PATH, header, false, 1, 4 * READ_LENGTH)
+                .apply(reads.iterator()).forEachRemaining(read -> smallBatches.add(read.getSAMString()));
+
+        Assert.assertTrue(oneBatch.size() >= reads.size());
+        Assert.assertEquals(smallBatches, oneBatch);
+        Assert.assertFalse(new BwaSparkEngine.ReadAligner(IMAGE_PATH, header, false, 1)
+                .apply(Collections.emptyIterator()).hasNext());
+    }
+
+    @Test
+    public void testPairedAlignmentDoesNotDependOnNumberOfThreads() throws IOException {
+        final SAMFileHeader header = makeHeader();
+        final List<GATKRead> reads = makeReads(header, 40, true);
+
+        //batches of several pairs each, so that the insert size distribution is estimated from each batch
+        final long basesPerBatch = 10 * READ_LENGTH;
+        final List<String> oneThread = new ArrayList<>();
+        new BwaSparkEngine.ReadAligner(IMAGE_PATH, header, true, 1, basesPerBatch)
+                .apply(reads.iterator()).forEachRemaining(read -> oneThread.add(read.getSAMString()));
+        final List<String> twoThreads = new ArrayList<>();
+        new BwaSparkEngine.ReadAligner(IMAGE_PATH, header, true, 2, basesPerBatch)
+                .apply(reads.iterator()).forEachRemaining(read -> twoThreads.add(read.getSAMString()));
+        Assert.assertTrue(oneThread.size() >= reads.size());
+        Assert.assertEquals(twoThreads, oneThread);
+
+        //with the default batch size, the number of threads does not change the batches either
+        final List<String> defaultOneThread = new ArrayList<>();
+        new BwaSparkEngine.ReadAligner(IMAGE_PATH, header, true, 1)
+                .apply(reads.iterator()).forEachRemaining(read -> defaultOneThread.add(read.getSAMString()));
+        final List<String> defaultFourThreads = new ArrayList<>();
+        new BwaSparkEngine.ReadAligner(IMAGE_PATH, header, true, 4)
+                .apply(reads.iterator()).forEachRemaining(read -> defaultFourThreads.add(read.getSAMString()));
+        Assert.assertEquals(defaultFourThreads, defaultOneThread);
+    }
+}
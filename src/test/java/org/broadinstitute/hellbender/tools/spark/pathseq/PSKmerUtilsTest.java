@@ -5,8 +5,10 @@ import com.esotericsoftware.kryo.io.Input;
 import org.apache.commons.io.FileUtils;
 import org.broadinstitute.hellbender.CommandLineProgramTest;
 import org.broadinstitute.hellbender.engine.spark.datasources.ReferenceFileSparkSource;
+import org.broadinstitute.hellbender.exceptions.UserException;
 import org.broadinstitute.hellbender.tools.spark.sv.utils.SVKmerShort;
 import org.broadinstitute.hellbender.tools.spark.utils.LargeLongHopscotchSet;
+import org.broadinstitute.hellbender.tools.spark.utils.LongBlockedBloomFilter;
 import org.broadinstitute.hellbender.tools.spark.utils.LongBloomFilter;
 import org.broadinstitute.hellbender.tools.spark.utils.LongIterator;
 import org.testng.Assert;
@@ -167,6 +169,46 @@ public class PSKmerUtilsTest extends CommandLineProgramTest {
             final long val = rand.nextLong() >>> 2;
             Assert.assertEquals(bloomIn.contains(new SVKmerShort(val)), bfOut.contains(PSKmerCollection.canonicalizeAndMask(new SVKmerShort(val), kSize, mask)), "Bloom filter changed after writing/reading");
         }
+
+        final LongBlockedBloomFilter bbfOut = new LongBlockedBloomFilter(numElements, bloomFPP);
+        hssIter = hssMasked.iterator();
+        while (hssIter.hasNext()) {
+            bbfOut.add(hssIter.next());
+        }
+
+        final File bbfFile = createTempFile("set", ".bin");
+        PSKmerUtils.writeKmerBlockedBloomFilter(bbfFile.getPath(), new PSKmerBlockedBloomFilter(bbfOut, kSize, mask, 1000));
+
+        final PSKmerCollection blockedBloomIn = PSKmerUtils.readKmerFilter(bbfFile.getPath() + PSKmerUtils.BLOCKED_BLOOM_FILTER_EXTENSION);
+        Assert.assertTrue(blockedBloomIn instanceof PSKmerBlockedBloomFilter);
+        hssIter = hssMasked.iterator();
+        while (hssIter.hasNext()) {
+            Assert.assertTrue(blockedBloomIn.contains(new SVKmerShort(hssIter.next())), "Blocked Bloom filter changed after writing/reading");
+        }
+        final long[] rawKmers = new long[10000];
+        int numContained = 0;
+        for (int i = 0; i < rawKmers.length; i++) {
+            rawKmers[i] = rand.nextLong() >>> 2;
+            final boolean contained = bbfOut.contains(PSKmerCollection.canonicalizeAndMask(new SVKmerShort(rawKmers[i]), kSize, mask));
+            Assert.assertEquals(blockedBloomIn.contains(new SVKmerShort(rawKmers[i])), contained, "Blocked Bloom filter changed after writing/reading");
+            numContained += contained ? 1 : 0;
+        }
+        Assert.assertTrue(blockedBloomIn.containsAtLeast(rawKmers, rawKmers.length, numContained));
+        Assert.assertFalse(blockedBloomIn.containsAtLeast(rawKmers, rawKmers.length, numContained + 1));
+    }
+
+    @Test(expectedExceptions = UserException.MalformedFile.class)
+    public void testReadTruncatedBlockedBloomFilter() throws IOException {
+        final File file = createTempFile("truncated", PSKmerUtils.BLOCKED_BLOOM_FILTER_EXTENSION);
+        FileUtils.writeByteArrayToFile(file, new byte[10]);
+        PSKmerUtils.readKmerFilter(file.getPath());
+    }
+
+    @Test(expectedExceptions = UserException.MalformedFile.class)
+    public void testReadBlockedBloomFilterWithBadMagic() throws IOException {
+        final File file = createTempFile("badMagic", PSKmerUtils.BLOCKED_BLOOM_FILTER_EXTENSION);
+        FileUtils.writeByteArrayToFile(file, new byte[LongBlockedBloomFilter.MAPPABLE_HEADER_SIZE]);
+        PSKmerUtils.readKmerFilter(file.getPath());
     }
 
 }
\ No newline at end of file
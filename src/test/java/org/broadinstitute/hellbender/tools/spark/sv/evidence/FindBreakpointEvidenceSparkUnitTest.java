@@ -4,6 +4,7 @@ import htsjdk.samtools.SAMFileHeader;
 import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.api.java.JavaSparkContext;
 import org.apache.spark.broadcast.Broadcast;
+import org.apache.spark.storage.StorageLevel;
 import org.broadinstitute.hellbender.engine.spark.SparkContextFactory;
 import org.broadinstitute.hellbender.engine.spark.datasources.ReadsSparkSource;
 import org.broadinstitute.hellbender.exceptions.GATKException;
@@ -50,7 +51,7 @@ public final class FindBreakpointEvidenceSparkUnitTest extends GATKBaseTest {
                         { new ReadMetadata.PartitionBounds(0, 1, 1, 10000, 9999)},
                     100, 10, 30);
     private final Broadcast<ReadMetadata> broadcastMetadata = ctx.broadcast(readMetadataExpected);
-    private final Broadcast<SVIntervalTree<SVInterval>> broadcastRegionsToIgnore = ctx.broadcast(new SVIntervalTree<>());
+    private final Broadcast<SVIntervalIndex> broadcastRegionsToIgnore = ctx.broadcast(new SVIntervalIndex(Collections.emptyList()));
     private final List<List<BreakpointEvidence>> externalEvidence =
             FindBreakpointEvidenceSpark.readExternalEvidence(null, readMetadataExpected,
                                                     params.externalEvidenceWeight, params.externalEvidenceUncertainty);
@@ -84,6 +85,25 @@ public final class FindBreakpointEvidenceSparkUnitTest extends GATKBaseTest {
         Assert.assertEquals(actualQNames, expectedQNames);
     }
 
+    @Test(groups = "sv")
+    public void getQNamesFromPersistedInformativeReadsTest() {
+        final JavaRDD<GATKRead> informativeReads = reads.filter(filter::isInformative);
+        informativeReads.persist(StorageLevel.MEMORY_ONLY_SER());
+        try {
+            // the second scan is served from the persisted reads, and both must match a scan of the input
+            for ( int pass = 0; pass != 2; ++pass ) {
+                final Set<String> actualQNames = new HashSet<>();
+                FindBreakpointEvidenceSpark.getQNames(params, ctx, broadcastMetadata, expectedIntervalList, informativeReads, filter, broadcastRegionsToIgnore)
+                        .stream()
+                        .map(QNameAndInterval::getKey)
+                        .forEach(actualQNames::add);
+                Assert.assertEquals(actualQNames, expectedQNames);
+            }
+        } finally {
+            informativeReads.unpersist();
+        }
+    }
+
     @Test(groups = "sv")
     public void getKmerIntervalsTest() {
         final SVKmer kmer = new SVKmerLong(params.kSize);
@@ -0,0 +1,127 @@
+package org.broadinstitute.hellbender.tools.spark.sv.utils;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.broadinstitute.hellbender.GATKBaseTest;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+public class SVIntervalIndexTest extends GATKBaseTest {
+    private static final SVInterval[] intervals = {
+            new SVInterval(0, 100, 200),
+            new SVInterval(0, 150, 250),
+            new SVInterval(0, 160, 170),
+            new SVInterval(0, 200, 1000),
+            new SVInterval(0, 300, 400),
+            new SVInterval(0, 1200, 1300),
+            new SVInterval(1, 0, 100),
+            new SVInterval(3, 50, 50)
+    };
+
+    private static SVIntervalTree<SVInterval> randomTree( final Random random, final int nIntervals ) {
+        final SVIntervalTree<SVInterval> tree = new SVIntervalTree<>();
+        while ( tree.size() < nIntervals ) {
+            final int start = random.nextInt(10000);
+            final SVInterval interval = new SVInterval(random.nextInt(3), start, start + 1 + random.nextInt(500));
+            tree.put(interval, interval);
+        }
+        return tree;
+    }
+
+    @Test(groups = "sv")
+    public void orderTest() {
+        final List<SVInterval> shuffled = new ArrayList<>(Arrays.asList(intervals));
+        Collections.shuffle(shuffled, new Random(47));
+        final SVIntervalIndex index = new SVIntervalIndex(shuffled);
+        Assert.assertEquals(index.size(), intervals.length);
+        for ( int idx = 0; idx != intervals.length; ++idx ) {
+            Assert.assertEquals(index.getInterval(idx), intervals[idx]);
+            Assert.assertEquals(index.getContig(idx), intervals[idx].getContig());
+            Assert.assertEquals(index.getStart(idx), intervals[idx].getStart());
+            Assert.assertEquals(index.getEnd(idx), intervals[idx].getEnd());
+        }
+    }
+
+    @Test(groups = "sv")
+    public void overlapperTest() {
+        final SVIntervalIndex index = new SVIntervalIndex(Arrays.asList(intervals));
+        Assert.assertTrue(index.hasOverlapper(new SVInterval(0, 900, 1100)));
+        Assert.assertFalse(index.hasOverlapper(new SVInterval(0, 1000, 1200)));
+        Assert.assertFalse(index.hasOverlapper(new SVInterval(0, 0, 100)));
+        Assert.assertFalse(index.hasOverlapper(new SVInterval(2, 0, 100)));
+        Assert.assertFalse(index.hasOverlapper(new SVInterval(4, 0, 100)));
+        Assert.assertTrue(index.hasOverlapper(new SVInterval(0, 165, 165)));
+
+        Assert.assertTrue(index.hasContainingOverlapper(new SVInterval(0, 500, 600)));
+        Assert.assertTrue(index.hasContainingOverlapper(new SVInterval(0, 1200, 1300)));
+        Assert.assertFalse(index.hasContainingOverlapper(new SVInterval(0, 1250, 1350)));
+        Assert.assertFalse(index.hasContainingOverlapper(new SVInterval(1, 100, 200)));
+
+        final List<Integer> overlappers = new ArrayList<>();
+        index.forEachOverlapper(new SVInterval(0, 165, 310), overlappers::add);
+        Assert.assertEquals(overlappers, Arrays.asList(0, 1, 2, 3, 4));
+        overlappers.clear();
+        index.forEachOverlapper(new SVInterval(0, 250, 1250), overlappers::add);
+        Assert.assertEquals(overlappers, Arrays.asList(3, 4, 5));
+
+        final SVIntervalIndex emptyIndex = new SVIntervalIndex(Collections.emptyList());
+        Assert.assertEquals(emptyIndex.size(), 0);
+        Assert.assertFalse(emptyIndex.hasOverlapper(intervals[0]));
+        Assert.assertFalse(emptyIndex.hasContainingOverlapper(intervals[0]));
+    }
+
+    @Test(groups = "sv")
+    public void agreesWithTreeTest() {
+        final Random random = new Random(47L);
+        final SVIntervalTree<SVInterval> tree = randomTree(random, 1000);
+        final SVIntervalIndex index = new SVIntervalIndex(tree);
+        Assert.assertEquals(index.size(), tree.size());
+
+        for ( int query = 0; query != 10000; ++query ) {
+            final int start = random.nextInt(11000);
+            final SVInterval interval = new SVInterval(random.nextInt(4), start, start + 1 + random.nextInt(200));
+
+            final List<SVInterval> expectedOverlappers = new ArrayList<>();
+            boolean expectedContained = false;
+            final Iterator<SVIntervalTree.Entry<SVInterval>> itr = tree.overlappers(interval);
+            while ( itr.hasNext() ) {
+                final SVInterval overlapper = itr.next().getInterval();
+                expectedOverlappers.add(overlapper);
+                expectedContained |= overlapper.overlapLen(interval) == interval.getLength();
+            }
+
+            final List<SVInterval> actualOverlappers = new ArrayList<>();
+            index.forEachOverlapper(interval, idx -> actualOverlappers.add(index.getInterval(idx)));
+            Assert.assertEquals(actualOverlappers, expectedOverlappers);
+            Assert.assertEquals(index.hasOverlapper(interval), tree.hasOverlapper(interval));
+            Assert.assertEquals(index.hasContainingOverlapper(interval), expectedContained);
+        }
+    }
+
+    @Test(groups = "sv")
+    public void serializationTest() {
+        final SVIntervalIndex index = new SVIntervalIndex(randomTree(new Random(47L), 1000));
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final Output out = new Output(bos);
+        final Kryo kryo = new Kryo();
+        kryo.writeObject(out, index);
+        out.flush();
+
+        final ByteArrayInputStream bis = new ByteArrayInputStream(bos.toByteArray());
+        final Input in = new Input(bis);
+        final SVIntervalIndex index2 = kryo.readObject(in, SVIntervalIndex.class);
+        Assert.assertEquals(index2, index);
+        Assert.assertTrue(index2.hasOverlapper(index.getInterval(0)));
+    }
+}
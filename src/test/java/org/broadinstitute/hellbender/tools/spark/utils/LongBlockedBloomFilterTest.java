@@ -0,0 +1,210 @@
+package org.broadinstitute.hellbender.tools.spark.utils;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.broadinstitute.hellbender.exceptions.UserException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
+public final class LongBlockedBloomFilterTest {
+
+    private static final long[] testVals = {0, 1, 2, 8, 16, 42, 97, 100, 2894765};
+    private static final long[] notAllTestVals = {0, 1, 2, 3, 7, 22, 61};
+    private static final long notInTestVals = 6;
+    private static final int RAND_SEED = 0xdeadf00;
+    private static final int HHASH_NVALS = 1000000;
+    private static final int FPR_NVALS = 100000;
+    private static final float FPP = 0.01F;
+
+    private static long randomLong(Random rng) {
+        return (((long) rng.nextInt()) | (((long) rng.nextInt()) << 31)) & ~Long.MIN_VALUE;
+    }
+
+    @Test
+    void containsTest() {
+        final LongBlockedBloomFilter bloomFilter = new LongBlockedBloomFilter(testVals.length, FPP);
+        bloomFilter.addAll(testVals);
+        Assert.assertTrue(bloomFilter.containsAll(testVals));
+        Assert.assertFalse(bloomFilter.contains(notInTestVals));
+        Assert.assertFalse(bloomFilter.containsAll(notAllTestVals));
+    }
+
+    @Test
+    void countContainedTest() {
+        final LongBlockedBloomFilter bloomFilter = new LongBlockedBloomFilter(testVals.length, FPP);
+        bloomFilter.addAll(testVals);
+        final long[] keys = {0, 3, 1, 7, 2, 22, 61};
+        Assert.assertEquals(bloomFilter.countContained(keys, keys.length, keys.length), 3);
+        Assert.assertEquals(bloomFilter.countContained(keys, keys.length, 2), 2);
+        Assert.assertEquals(bloomFilter.countContained(keys, 2, keys.length), 1);
+        Assert.assertEquals(bloomFilter.countContained(keys, 0, keys.length), 0);
+    }
+
+    @Test
+    void countContainedOverSeveralBatchesTest() {
+        final long[] vals = new long[100];
+        for (int i = 0; i < vals.length; i++) {
+            vals[i] = 2L * i;
+        }
+        final LongBlockedBloomFilter bloomFilter = new LongBlockedBloomFilter(vals.length, FPP);
+        bloomFilter.addAll(vals);
+        final long[] keys = new long[vals.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i;
+        }
+        final int expectedCount = (int) Arrays.stream(keys).filter(bloomFilter::contains).count();
+        Assert.assertEquals(bloomFilter.countContained(keys, keys.length, keys.length), expectedCount);
+        Assert.assertEquals(bloomFilter.countContained(keys, keys.length, 40), 40);
+        Assert.assertEquals(bloomFilter.countContained(keys, 37, keys.length), (int) Arrays.stream(keys, 0, 37).filter(bloomFilter::contains).count());
+    }
+
+    @Test
+    void clearTest() {
+        final LongBlockedBloomFilter bloomFilter = new LongBlockedBloomFilter(testVals.length, FPP);
+        bloomFilter.addAll(testVals);
+        bloomFilter.clear();
+        Assert.assertFalse(bloomFilter.contains(1L));
+        Assert.assertTrue(bloomFilter.isEmpty());
+    }
+
+    @Test
+    void equalsAndHashcodeTest() {
+        final LongBlockedBloomFilter bloomFilter1 = new LongBlockedBloomFilter(testVals.length, FPP);
+        final LongBlockedBloomFilter bloomFilter2 = new LongBlockedBloomFilter(testVals.length, FPP);
+        final LongBlockedBloomFilter bloomFilter3 = new LongBlockedBloomFilter(testVals.length, FPP);
+        bloomFilter1.addAll(testVals);
+        bloomFilter2.addAll(testVals);
+        bloomFilter3.addAll(notAllTestVals);
+        Assert.assertEquals(bloomFilter1.hashCode(), bloomFilter2.hashCode());
+        Assert.assertEquals(bloomFilter1, bloomFilter2);
+        Assert.assertNotEquals(bloomFilter1.hashCode(), bloomFilter3.hashCode());
+        Assert.assertNotEquals(bloomFilter1, bloomFilter3);
+    }
+
+    @Test
+    void testRandomLongs() {
+        final Random rng = new Random(RAND_SEED);
+        final HashSet<Long> hashSet = new HashSet<>();
+        final LongBlockedBloomFilter bloomFilter = new LongBlockedBloomFilter(HHASH_NVALS, FPP);
+        for (int valNo = 0; valNo != HHASH_NVALS; ++valNo) {
+            final long randLong = randomLong(rng);
+            hashSet.add(randLong);
+            bloomFilter.add(randLong);
+        }
+        for (final Long val : hashSet) {
+            Assert.assertTrue(bloomFilter.contains(val), "testVal=" + val);
+        }
+        int num_false_pos = 0;
+        int num_total = 0;
+        for (int valNo = 0; valNo != FPR_NVALS; ++valNo) {
+            final long randLong = randomLong(rng);
+            if (!hashSet.contains(randLong)) {
+                num_total++;
+                if (bloomFilter.contains(randLong)) {
+                    num_false_pos++;
+                }
+            }
+        }
+        final double theoreticalFpp = bloomFilter.getTheoreticalFPP(HHASH_NVALS);
+        Assert.assertTrue(theoreticalFpp <= FPP);
+        Assert.assertTrue(num_false_pos >= num_total * theoreticalFpp * 0.8);
+        Assert.assertTrue(num_false_pos <= num_total * theoreticalFpp * 1.2);
+    }
+
+    @Test
+    void serializationTest() {
+        final Random rng = new Random(RAND_SEED);
+        final LongBlockedBloomFilter bloomFilter = new LongBlockedBloomFilter(HHASH_NVALS, FPP);
+        final HashSet<Long> hashSet = new HashSet<>(HHASH_NVALS);
+        for (int valNo = 0; valNo != HHASH_NVALS; ++valNo) {
+            final long randLong = randomLong(rng);
+            bloomFilter.add(randLong);
+            hashSet.add(randLong);
+        }
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final Output out = new Output(bos);
+        final Kryo kryo = new Kryo();
+        kryo.writeObject(out, bloomFilter);
+        out.flush();
+
+        final ByteArrayInputStream bis = new ByteArrayInputStream(bos.toByteArray());
+        final Input in = new Input(bis);
+        final LongBlockedBloomFilter bloomFilter2 = kryo.readObject(in, LongBlockedBloomFilter.class);
+
+        Assert.assertEquals(bloomFilter, bloomFilter2);
+        for (Long val : hashSet) {
+            Assert.assertTrue(bloomFilter2.contains(val));
+        }
+    }
+
+    @Test(expectedExceptions = UserException.MalformedFile.class)
+    void mappedTruncatedTest() throws IOException {
+        final LongBlockedBloomFilter bloomFilter = new LongBlockedBloomFilter(1000, FPP);
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        bloomFilter.writeMappable(bos);
+
+        final File file = File.createTempFile("filter", ".bbf");
+        file.deleteOnExit();
+        try (final OutputStream out = new FileOutputStream(file)) {
+            out.write(bos.toByteArray(), 0, bos.size() - Long.BYTES);
+        }
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            LongBlockedBloomFilter.map(channel, 0);
+        }
+    }
+
+    @Test(expectedExceptions = UserException.MalformedFile.class)
+    void mappedNotAFilterTest() throws IOException {
+        final File file = File.createTempFile("filter", ".bbf");
+        file.deleteOnExit();
+        try (final OutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[LongBlockedBloomFilter.MAPPABLE_HEADER_SIZE]);
+        }
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            LongBlockedBloomFilter.map(channel, 0);
+        }
+    }
+
+    @Test
+    void mappedTest() throws IOException {
+        final Random rng = new Random(RAND_SEED);
+        final LongBlockedBloomFilter bloomFilter = new LongBlockedBloomFilter(HHASH_NVALS, FPP);
+        final HashSet<Long> hashSet = new HashSet<>(HHASH_NVALS);
+        for (int valNo = 0; valNo != HHASH_NVALS; ++valNo) {
+            final long randLong = randomLong(rng);
+            bloomFilter.add(randLong);
+            hashSet.add(randLong);
+        }
+
+        final File file = File.createTempFile("filter", ".bbf");
+        file.deleteOnExit();
+        final int offset = 16;
+        try (final OutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[offset]);
+            bloomFilter.writeMappable(out);
+        }
+
+        final LongBlockedBloomFilter bloomFilter2;
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            bloomFilter2 = LongBlockedBloomFilter.map(channel, offset);
+        }
+        Assert.assertEquals(bloomFilter, bloomFilter2);
+        for (Long val : hashSet) {
+            Assert.assertTrue(bloomFilter2.contains(val));
+        }
+    }
+}
@@ -275,6 +275,55 @@ public class GenotypeGVCFsIntegrationTest extends CommandLineProgramTest {
 
     }
 
+    @Test
+    public void testVariantSiteIndexMatchesFullTraversal() throws IOException {
+        final SimpleInterval interval = new SimpleInterval("20", 10_000_000, 10_200_000);
+        final File workspace = new File(createTempDir("genomicsDBWorkspace"), "workspace");
+        final ArgumentsBuilder importArgs = new ArgumentsBuilder()
+                .addVCF(CEUTRIO_20_21_GATK3_4_G_VCF)
+                .addArgument(GenomicsDBImport.WORKSPACE_ARG_LONG_NAME, workspace.getAbsolutePath())
+                .addInterval(interval)
+                .addBooleanArgument(GenomicsDBImport.BUILD_VARIANT_SITE_INDEX_LONG_NAME, true);
+        runCommandLine(importArgs, GenomicsDBImport.class.getSimpleName());
+        final String genomicsDBUri = GenomicsDBTestUtils.makeGenomicsDBUri(workspace);
+
+        final List<VariantContext> expectedVC = VariantContextTestUtils.getVariantContexts(
+                runGenotypeGVCFsOnInterval(genomicsDBUri, interval, Collections.emptyList()));
+        Assert.assertFalse(expectedVC.isEmpty());
+        for (final int mergeDistance : new int[]{0, 500}) {
+            final List<VariantContext> actualVC = VariantContextTestUtils.getVariantContexts(
+                    runGenotypeGVCFsOnInterval(genomicsDBUri, interval, Arrays.asList(
+                            "--" + GenotypeGVCFs.USE_VARIANT_SITE_INDEX_LONG_NAME,
+                            "--" + GenotypeGVCFs.VARIANT_SITE_MERGE_DISTANCE_LONG_NAME, String.valueOf(mergeDistance))));
+            assertForEachElementInLists(actualVC, expectedVC, VariantContextTestUtils::assertVariantContextsHaveSameGenotypes);
+        }
+    }
+
+    @Test
+    public void testVariantSiteIndexRequiresIndexedWorkspace() {
+        final SimpleInterval interval = new SimpleInterval("20", 10_000_000, 10_010_000);
+        final String genomicsDBUri = GenomicsDBTestUtils.makeGenomicsDBUri(GenomicsDBTestUtils.createTempGenomicsDB(CEUTRIO_20_21_GATK3_4_G_VCF, interval));
+        Assert.assertThrows(UserException.class, () -> runGenotypeGVCFsOnInterval(genomicsDBUri, interval,
+                Collections.singletonList("--" + GenotypeGVCFs.USE_VARIANT_SITE_INDEX_LONG_NAME)));
+        Assert.assertThrows(CommandLineException.BadArgumentValue.class, () -> runGenotypeGVCFsOnInterval(
+                CEUTRIO_20_21_GATK3_4_G_VCF.getAbsolutePath(), interval,
+                Collections.singletonList("--" + GenotypeGVCFs.USE_VARIANT_SITE_INDEX_LONG_NAME)));
+    }
+
+    private File runGenotypeGVCFsOnInterval(final String input, final Locatable interval, final List<String> additionalArguments) {
+        final File output = createTempFile("genotypegvcf", ".vcf");
+        final ArgumentsBuilder args = new ArgumentsBuilder();
+        args.addReference(new File(b37_reference_20_21))
+                .addArgument("V", input)
+                .addInterval(interval)
+                .addOutput(output);
+        additionalArguments.forEach(args::add);
+
+        Utils.resetRandomGenerator();
+        runCommandLine(args);
+        return output;
+    }
+
     //this tests single-sample with new MQ format
     @Test (dataProvider = "singleSampleGVCFWithNewMQFormat")
     public void assertMatchingAnnotationsFromGenomicsDB_newMQformat(File input, File expected, Locatable interval, String reference) throws IOException {
@@ -1,12 +1,21 @@
 package org.broadinstitute.hellbender.tools.walkers.qc;
 
 import org.broadinstitute.hellbender.CommandLineProgramTest;
+import org.broadinstitute.hellbender.cmdline.argumentcollections.IntervalArgumentCollection;
 import org.broadinstitute.hellbender.exceptions.UserException;
+import org.broadinstitute.hellbender.utils.IntervalMergingRule;
 import org.broadinstitute.hellbender.testutils.IntegrationTestSpec;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * @author Daniel Gomez-Sanchez (magicDGS)
@@ -72,6 +81,27 @@ public class PileupIntegrationTest extends CommandLineProgramTest {
         testSpec.executeTest("testInsertLengthPileup", this);
     }
 
+    @Test
+    public void testPileupAtAdjacentSites() throws IOException {
+        // Pileup reuses pileup elements between loci while the interval iterator reads ahead, so the output at
+        // separate adjacent and nearby sites must match the (unpooled) expected output over the whole range
+        final List<Integer> positions = Arrays.asList(9999905, 9999906, 9999907, 9999912, 9999913, 9999930, 9999931);
+        final File output = createTempFile("adjacentSitesPileup", ".txt");
+        final List<String> args = new ArrayList<>(Arrays.asList(
+                "-R", b37_reference_20_21,
+                "-I", NA12878_20_21_WGS_bam,
+                "--" + IntervalArgumentCollection.INTERVAL_MERGING_RULE_LONG_NAME, IntervalMergingRule.OVERLAPPING_ONLY.name(),
+                "-O", output.getAbsolutePath()));
+        positions.forEach(position -> args.addAll(Arrays.asList("-L", "20:" + position)));
+        runCommandLine(args);
+
+        final List<String> expectedLines = Files.readAllLines(Paths.get(TEST_OUTPUT_DIRECTORY + "expectedSimplePileup.txt")).stream()
+                .filter(line -> positions.contains(Integer.parseInt(line.split(" ")[1])))
+                .collect(Collectors.toList());
+        Assert.assertEquals(expectedLines.size(), positions.size());
+        Assert.assertEquals(Files.readAllLines(output.toPath()), expectedLines);
+    }
+
     @Test(expectedExceptions = UserException.CouldNotCreateOutputFile.class)
     public void testInvalidOutputFile() throws IOException {
         // GATK 3.5 code have a the last line with a REDUCE RESULT that was removed in this implementation
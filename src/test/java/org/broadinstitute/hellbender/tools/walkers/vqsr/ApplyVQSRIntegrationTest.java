@@ -57,6 +57,25 @@ public class ApplyVQSRIntegrationTest extends CommandLineProgramTest {
         spec.executeTest("testApplyRecalibrationSNP", this);
     }
 
+    @Test
+    public void testApplySNPRecalibrationStreamedAndThreaded() throws IOException {
+        final String inputFile = getLargeVQSRTestDataDir() + "phase1.projectConsensus.chr20.1M-10M.raw.snps.vcf";
+
+        final IntegrationTestSpec spec = new IntegrationTestSpec(
+                " -L 20:1,000,000-10,000,000" +
+                    " --variant " + inputFile +
+                    " --lenient" +
+                    " --output %s" +
+                    " -mode SNP" +
+                    " --tranches-file " + getLargeVQSRTestDataDir() + "expected/SNPTranches.txt" +
+                    " --recal-file " + getLargeVQSRTestDataDir() + "snpRecal.vcf" +
+                    " --stream-recal-file" +
+                    " --encoding-threads 2" +
+                    " --" + StandardArgumentDefinitions.ADD_OUTPUT_VCF_COMMANDLINE +" false",
+                Arrays.asList(getLargeVQSRTestDataDir() + "expected/snpApplyResult.vcf"));
+        spec.executeTest("testApplySNPRecalibrationStreamedAndThreaded", this);
+    }
+
     @Test
     public void testApplyIndelRecalibration() throws IOException {
         final String inputFile = getLargeVQSRTestDataDir() + "combined.phase1.chr20.raw.indels.filtered.sites.1M-10M.vcf";
@@ -76,6 +95,24 @@ public class ApplyVQSRIntegrationTest extends CommandLineProgramTest {
         spec.executeTest("testApplyRecalibrationIndel", this);
     }
 
+    @Test
+    public void testApplyIndelRecalibrationStreamed() throws IOException {
+        final String inputFile = getLargeVQSRTestDataDir() + "combined.phase1.chr20.raw.indels.filtered.sites.1M-10M.vcf";
+
+        final IntegrationTestSpec spec = new IntegrationTestSpec(
+                " -L 20:1,000,000-10,000,000" +
+                    " -mode INDEL" +
+                    " --lenient" +
+                    " --variant " + inputFile +
+                    " --output %s" +
+                    " --tranches-file " + getLargeVQSRTestDataDir() + "expected/indelTranches.txt" +
+                    " --recal-file " + getLargeVQSRTestDataDir() + "indelRecal.vcf" +
+                    " --stream-recal-file" +
+                    " --" + StandardArgumentDefinitions.ADD_OUTPUT_VCF_COMMANDLINE +" false",
+                Arrays.asList(getLargeVQSRTestDataDir() + "expected/indelApplyResult.vcf"));
+        spec.executeTest("testApplyIndelRecalibrationStreamed", this);
+    }
+
     @Test
     public void testApplyRecalibrationSnpAndIndelTogether() throws IOException {
         final IntegrationTestSpec spec = new IntegrationTestSpec(
@@ -138,6 +175,26 @@ public class ApplyVQSRIntegrationTest extends CommandLineProgramTest {
         spec.executeTest("testApplyRecalibrationAlleleSpecificSNPmode", this);
     }
 
+    @Test
+    public void testApplyRecalibrationAlleleSpecificSNPmodeStreamed() throws IOException {
+        final String base =
+                " -L 3:113005755-195507036" +
+                " -mode SNP -AS" +
+                " -ts-filter-level 99.7" +
+                " --variant " + getToolTestDataDir() + "VQSR.AStest.input.vcf" +
+                " --output %s" +
+                " --tranches-file " + getToolTestDataDir() + "VQSR.AStest.snps.tranches" +
+                " --recal-file " + getToolTestDataDir() + "VQSR.AStest.snps.recal.vcf" +
+                " --stream-recal-file" +
+                " --encoding-threads 3" +
+                " --" + StandardArgumentDefinitions.ADD_OUTPUT_VCF_COMMANDLINE +" false";
+
+        final IntegrationTestSpec spec = new IntegrationTestSpec(
+                base,
+                Arrays.asList(getToolTestDataDir() + "expected/applySNPAlleleSpecificResult.vcf"));
+        spec.executeTest("testApplyRecalibrationAlleleSpecificSNPmodeStreamed", this);
+    }
+
     @Test
     public void testApplyRecalibrationAlleleSpecificINDELmode() throws IOException {
         final String base =
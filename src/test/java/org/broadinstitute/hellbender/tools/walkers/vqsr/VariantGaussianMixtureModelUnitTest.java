@@ -98,4 +98,57 @@ public final class VariantGaussianMixtureModelUnitTest extends GATKBaseTest {
         ArrayList<VariantDatum> vd = readData();
         findMyTranches(vd, new ArrayList<Double>(Arrays.asList(-1.0)));
     }
+
+    // three well-separated clusters, with enough data to be split into several chunks when fit in parallel
+    private static List<VariantDatum> makeClusteredData() {
+        final Random random = new Random(13);
+        final double[][] centers = {{-3.0, 0.0, 1.0}, {2.0, 2.0, -1.0}, {0.0, -3.0, 0.0}};
+        final List<VariantDatum> data = new ArrayList<>();
+        for( int iii = 0; iii < 3 * TrainingDataChunks.PARALLEL_CHUNK_SIZE + 123; iii++ ) {
+            final double[] center = centers[iii % centers.length];
+            final VariantDatum datum = new VariantDatum();
+            datum.annotations = new double[center.length];
+            datum.isNull = new boolean[center.length];
+            for( int jjj = 0; jjj < center.length; jjj++ ) {
+                datum.annotations[jjj] = center[jjj] + 0.5 * random.nextGaussian();
+            }
+            data.add(datum);
+        }
+        return data;
+    }
+
+    private static GaussianMixtureModel fitModel( final List<VariantDatum> data, final int numThreads ) {
+        final VariantRecalibratorArgumentCollection VRAC = new VariantRecalibratorArgumentCollection();
+        VRAC.NUM_GMM_THREADS = numThreads;
+        Utils.resetRandomGenerator();
+        return new VariantRecalibratorEngine(VRAC).generateModel(data, 4);
+    }
+
+    private static void assertModelsAreTheSame( final GaussianMixtureModel model1, final GaussianMixtureModel model2, final double tolerance ) {
+        final List<MultivariateGaussian> gaussians1 = model1.getModelGaussians();
+        final List<MultivariateGaussian> gaussians2 = model2.getModelGaussians();
+        Assert.assertEquals(gaussians1.size(), gaussians2.size());
+        for( int iii = 0; iii < gaussians1.size(); iii++ ) {
+            final MultivariateGaussian gaussian1 = gaussians1.get(iii);
+            final MultivariateGaussian gaussian2 = gaussians2.get(iii);
+            Assert.assertEquals(gaussian1.pMixtureLog10, gaussian2.pMixtureLog10, tolerance);
+            assertEqualsDoubleArray(gaussian1.mu, gaussian2.mu, tolerance);
+            for( int jjj = 0; jjj < gaussian1.mu.length; jjj++ ) {
+                assertEqualsDoubleArray(gaussian1.sigma.getArray()[jjj], gaussian2.sigma.getArray()[jjj], tolerance);
+            }
+        }
+    }
+
+    @Test
+    public final void testParallelModelFit() {
+        final List<VariantDatum> data = makeClusteredData();
+        final GaussianMixtureModel singleThreaded = fitModel(data, 1);
+        final GaussianMixtureModel twoThreads = fitModel(data, 2);
+        final GaussianMixtureModel fourThreads = fitModel(data, 4);
+
+        // the partial sums are combined in chunk order, so the fit is the same for any number of threads above one...
+        assertModelsAreTheSame(twoThreads, fourThreads, 0.0);
+        // ...and differs from the sequential fit only by rounding
+        assertModelsAreTheSame(singleThreaded, fourThreads, 1e-6);
+    }
 }
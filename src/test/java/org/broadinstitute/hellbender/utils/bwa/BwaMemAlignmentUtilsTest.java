@@ -36,5 +36,15 @@ public class BwaMemAlignmentUtilsTest {
         for ( int idx = 0; idx != expectedTags.length; ++idx ) {
             Assert.assertEquals(actualTagMap.get(alignments.get(idx)), expectedTags[idx]);
         }
+        Assert.assertEquals(BwaMemAlignmentUtils.createSATagArray(alignments, refNames), expectedTags);
+        Assert.assertEquals(BwaMemAlignmentUtils.createSATagArray(alignments.subList(0, 1), refNames).length, 0);
+
+        // secondary alignments are not described, and get no SA tag
+        final List<BwaMemAlignment> withSecondary = new ArrayList<>(alignments.subList(0, 2));
+        withSecondary.add(new BwaMemAlignment(256,3,31231128,31231162,345,379,0,0,34,34,"345S34M257S","34",null,-1,0,0));
+        final String[] actualTags = BwaMemAlignmentUtils.createSATagArray(withSecondary, refNames);
+        Assert.assertEquals(actualTags[0], "chr4,49146597,-,517S82M37S,0,2;");
+        Assert.assertEquals(actualTags[1], "chrUn_KI270442v1,71181,+,404S94M3I10M5I54M66S,40,20;");
+        Assert.assertNull(actualTags[2]);
     }
 }
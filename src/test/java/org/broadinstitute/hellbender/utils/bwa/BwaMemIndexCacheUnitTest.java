@@ -0,0 +1,55 @@
+package org.broadinstitute.hellbender.utils.bwa;
+
+import org.broadinstitute.hellbender.GATKBaseTest;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class BwaMemIndexCacheUnitTest extends GATKBaseTest {
+    private static final String IMAGE_PATH = publicTestDir + "hg19mini.fasta.img";
+
+    @Test
+    public void testConcurrentGetInstanceLoadsOnce() throws Exception {
+        BwaMemIndexCache.closeInstance(IMAGE_PATH);
+        Assert.assertNull(BwaMemIndexCache.getLoadMetrics(IMAGE_PATH));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<BwaMemIndex>> futures = new ArrayList<>();
+            for ( int idx = 0; idx != 8; ++idx ) {
+                futures.add(executor.submit(() -> BwaMemIndexCache.getInstance(IMAGE_PATH)));
+            }
+            final BwaMemIndex instance = futures.get(0).get();
+            for ( final Future<BwaMemIndex> future : futures ) {
+                Assert.assertSame(future.get(), instance);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        final BwaMemIndexCache.IndexLoadMetrics metrics = BwaMemIndexCache.getLoadMetrics(IMAGE_PATH);
+        Assert.assertNotNull(metrics);
+        Assert.assertEquals(metrics.getIndexImageFile(), IMAGE_PATH);
+        Assert.assertEquals(metrics.getImageSize(), new File(IMAGE_PATH).length());
+        Assert.assertTrue(metrics.getLoadTimeMillis() >= 0);
+
+        BwaMemIndexCache.closeInstance(IMAGE_PATH);
+        Assert.assertNull(BwaMemIndexCache.getLoadMetrics(IMAGE_PATH));
+    }
+
+    @Test
+    public void testWarmUpInstance() {
+        final BwaMemIndexCache.IndexLoadMetrics metrics = BwaMemIndexCache.warmUpInstance(IMAGE_PATH);
+        Assert.assertEquals(metrics.getImageSize(), new File(IMAGE_PATH).length());
+        final BwaMemIndex instance = BwaMemIndexCache.getInstance(IMAGE_PATH);
+        Assert.assertFalse(instance.getReferenceContigNames().isEmpty());
+        BwaMemIndexCache.closeInstance(instance);
+        Assert.assertNull(BwaMemIndexCache.getLoadMetrics(IMAGE_PATH));
+    }
+}
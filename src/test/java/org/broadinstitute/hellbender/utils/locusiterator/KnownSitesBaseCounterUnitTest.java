@@ -0,0 +1,72 @@
+package org.broadinstitute.hellbender.utils.locusiterator;
+
+import htsjdk.samtools.SAMFileHeader;
+import org.broadinstitute.hellbender.GATKBaseTest;
+import org.broadinstitute.hellbender.utils.SimpleInterval;
+import org.broadinstitute.hellbender.utils.read.ArtificialReadUtils;
+import org.broadinstitute.hellbender.utils.read.GATKRead;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public final class KnownSitesBaseCounterUnitTest extends GATKBaseTest {
+    private static final SAMFileHeader HEADER = ArtificialReadUtils.createArtificialSamHeader(2, 1, 1000);
+
+    private static GATKRead makeRead(final String contig, final int start, final String bases, final byte[] quals, final String cigar, final int mappingQuality) {
+        final GATKRead read = ArtificialReadUtils.createArtificialRead(HEADER, "read", contig, start, bases.getBytes(), quals, cigar);
+        read.setMappingQuality(mappingQuality);
+        return read;
+    }
+
+    @Test
+    public void testCounts() {
+        final List<SimpleInterval> sites = Arrays.asList(
+                new SimpleInterval("1", 10, 12),
+                new SimpleInterval("1", 20, 20),
+                new SimpleInterval("2", 5, 5));
+        final KnownSitesBaseCounter counter = new KnownSitesBaseCounter(sites, 10, 20);
+        Assert.assertEquals(counter.getNumLoci(), 5);
+
+        final byte[] q30 = {30, 30, 30, 30, 30, 30, 30, 30};
+        counter.addRead(makeRead("1", 8, "ACGTACGT", q30, "8M", 60));                                // G, T, A at 1:10-12
+        counter.addRead(makeRead("1", 9, "ACGTA", Arrays.copyOf(q30, 5), "2M2D3M", 60));             // C at 1:10, deletions at 1:11-12
+        counter.addRead(makeRead("1", 18, "TTTTT", new byte[]{30, 30, 5, 30, 30}, "5M", 60));         // low base quality at 1:20
+        counter.addRead(makeRead("1", 19, "GAACC", Arrays.copyOf(q30, 5), "1M2I2M", 60));            // C at 1:20 after an insertion
+        counter.addRead(makeRead("2", 1, "AAAAA", Arrays.copyOf(q30, 5), "5M", 5));                  // low mapping quality at 2:5
+        counter.addRead(makeRead("1", 100, "AAAAA", Arrays.copyOf(q30, 5), "5M", 60));               // overlaps no site
+
+        Assert.assertEquals(counter.getBaseCounts(0), new int[]{0, 1, 1, 0});
+        Assert.assertEquals(counter.getBaseCounts(1), new int[]{0, 0, 0, 1});
+        Assert.assertEquals(counter.getBaseCounts(2), new int[]{1, 0, 0, 0});
+        Assert.assertEquals(counter.getBaseCounts(3), new int[]{0, 1, 0, 0});
+        Assert.assertEquals(counter.getBaseCounts(4), new int[]{0, 0, 0, 0});
+
+        Assert.assertEquals(counter.getDepth(0, true), 2);
+        Assert.assertEquals(counter.getDepth(1, false), 1);
+        Assert.assertEquals(counter.getDepth(1, true), 2);
+        Assert.assertEquals(counter.getDepth(2, true), 2);
+        Assert.assertEquals(counter.getDepth(3, true), 2);
+        Assert.assertEquals(counter.getDepth(4, true), 1);
+    }
+
+    @Test
+    public void testSiteSpanningCigarElements() {
+        final KnownSitesBaseCounter counter = new KnownSitesBaseCounter(Arrays.asList(new SimpleInterval("1", 1, 10)), 0, 0);
+        counter.addRead(makeRead("1", 3, "ACGTAC", new byte[]{30, 30, 30, 30, 30, 30}, "2M3N2M2S", 60));
+
+        final int[] depths = new int[counter.getNumLoci()];
+        for (int i = 0; i < depths.length; i++) {
+            depths[i] = counter.getDepth(i, true);
+        }
+        Assert.assertEquals(depths, new int[]{0, 0, 1, 1, 0, 0, 0, 1, 1, 0});
+        Assert.assertEquals(counter.getBaseCounts(2), new int[]{1, 0, 0, 0});
+        Assert.assertEquals(counter.getBaseCounts(8), new int[]{0, 0, 0, 1});
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testUnsortedSites() {
+        new KnownSitesBaseCounter(Arrays.asList(new SimpleInterval("1", 10, 20), new SimpleInterval("1", 15, 30)), 0, 0);
+    }
+}
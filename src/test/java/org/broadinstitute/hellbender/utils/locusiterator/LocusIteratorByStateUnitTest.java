@@ -6,6 +6,7 @@ import htsjdk.samtools.SAMReadGroupRecord;
 import org.broadinstitute.hellbender.engine.AlignmentContext;
 import org.broadinstitute.hellbender.utils.NGSPlatform;
 import org.broadinstitute.hellbender.utils.QualityUtils;
+import org.broadinstitute.hellbender.utils.SimpleInterval;
 import org.broadinstitute.hellbender.utils.Utils;
 import org.broadinstitute.hellbender.utils.downsampling.DownsampleType;
 import org.broadinstitute.hellbender.utils.downsampling.DownsamplingMethod;
@@ -19,6 +20,7 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import java.util.*;
+import java.util.stream.Collectors;
 
 public final class LocusIteratorByStateUnitTest extends LocusIteratorByStateBaseTest {
 
@@ -451,6 +453,90 @@ public final class LocusIteratorByStateUnitTest extends LocusIteratorByStateBase
     //
     // ------------------------------------------------------------
 
+    @Test
+    public void testReusePileupsMatchesNewPileups() {
+        final ArtificialBAMBuilder bamBuilder = new ArtificialBAMBuilder(header.getSequenceDictionary(), 5, 20);
+        bamBuilder.createAndSetHeader(2).setReadLength(10).setAlignmentStart(1);
+        final List<GATKRead> reads = bamBuilder.makeReads();
+
+        final LocusIteratorByState expectedLibs = new LocusIteratorByState(new FakeCloseableIterator<>(reads.iterator()),
+                LocusIteratorByState.NO_DOWNSAMPLING, false, bamBuilder.getSamples(), bamBuilder.getHeader(), true, false, false);
+        final LocusIteratorByState pooledLibs = new LocusIteratorByState(new FakeCloseableIterator<>(reads.iterator()),
+                LocusIteratorByState.NO_DOWNSAMPLING, false, bamBuilder.getSamples(), bamBuilder.getHeader(), true, false, true);
+
+        final Set<PileupElement> distinctElements = Collections.newSetFromMap(new IdentityHashMap<>());
+        int maxDepth = 0;
+        while ( expectedLibs.hasNext() ) {
+            Assert.assertTrue(pooledLibs.hasNext());
+            final AlignmentContext expected = expectedLibs.next();
+            final AlignmentContext actual = pooledLibs.next();
+            final List<GATKRead> actualReads = actual.getBasePileup().getReads();
+            final List<Integer> actualOffsets = actual.getBasePileup().getOffsets();
+
+            // looking ahead by one context must not invalidate the current one
+            pooledLibs.hasNext();
+
+            Assert.assertEquals(actual.getLocation(), expected.getLocation());
+            Assert.assertEquals(actual.getBasePileup().getReads(), expected.getBasePileup().getReads());
+            Assert.assertEquals(actual.getBasePileup().getOffsets(), expected.getBasePileup().getOffsets());
+            Assert.assertEquals(actualReads, expected.getBasePileup().getReads());
+            Assert.assertEquals(actualOffsets, expected.getBasePileup().getOffsets());
+
+            actual.getBasePileup().forEach(distinctElements::add);
+            maxDepth = Math.max(maxDepth, actual.size());
+        }
+        Assert.assertFalse(pooledLibs.hasNext());
+
+        // elements are recycled, so at most two pileups' worth are ever allocated
+        Assert.assertTrue(distinctElements.size() <= 2 * maxDepth);
+    }
+
+    @DataProvider(name = "ReusePileupsWithIntervals")
+    public Object[][] makeReusePileupsWithIntervals() {
+        return new Object[][] {{false}, {true}};
+    }
+
+    @Test(dataProvider = "ReusePileupsWithIntervals")
+    public void testReusePileupsWithIntervalsMatchesNewPileups(final boolean emitEmptyLoci) {
+        final ArtificialBAMBuilder bamBuilder = new ArtificialBAMBuilder(header.getSequenceDictionary(), 5, 20);
+        bamBuilder.createAndSetHeader(2).setReadLength(10).setAlignmentStart(1);
+        final List<GATKRead> reads = bamBuilder.makeReads();
+        final String contig = bamBuilder.getHeader().getSequenceDictionary().getSequence(0).getSequenceName();
+
+        // adjacent sites, and sites separated by loci that the interval iterators read and skip
+        final List<SimpleInterval> intervals = Arrays.asList(5, 6, 7, 10, 11, 15, 40).stream()
+                .map(position -> new SimpleInterval(contig, position, position))
+                .collect(Collectors.toList());
+
+        final List<List<String>> expected = collectPileups(reads, bamBuilder.getHeader(), intervals, emitEmptyLoci, false);
+        final List<List<String>> actual = collectPileups(reads, bamBuilder.getHeader(), intervals, emitEmptyLoci, true);
+        Assert.assertEquals(actual, expected);
+        Assert.assertFalse(expected.isEmpty());
+    }
+
+    /**
+     * @return the locus and the read names and offsets of each pileup, as seen once next() has returned it, by which
+     *         time the interval iterators have already read ahead
+     */
+    private static List<List<String>> collectPileups(final List<GATKRead> reads, final SAMFileHeader header,
+                                                     final List<SimpleInterval> intervals, final boolean emitEmptyLoci,
+                                                     final boolean reusePileups) {
+        final AlignmentContextIteratorBuilder builder = new AlignmentContextIteratorBuilder();
+        builder.setEmitEmptyLoci(emitEmptyLoci);
+        builder.setReusePileups(reusePileups);
+        final Iterator<AlignmentContext> iterator = builder.build(reads.iterator(), header, intervals, header.getSequenceDictionary(), true);
+
+        final List<List<String>> pileups = new ArrayList<>();
+        while (iterator.hasNext()) {
+            final AlignmentContext context = iterator.next();
+            final List<String> pileup = new ArrayList<>();
+            pileup.add(context.getLocation().toString());
+            context.getBasePileup().forEach(element -> pileup.add(element.getRead().getName() + "@" + element.getOffset()));
+            pileups.add(pileup);
+        }
+        return pileups;
+    }
+
     @DataProvider(name = "LIBS_ComplexPileupTests")
     public Object[][] makeLIBS_ComplexPileupTests() {
         final List<Object[]> tests = new LinkedList<>();
@@ -12,6 +12,7 @@ import org.testng.annotations.Test;
 
 import java.util.*;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Unit test for {@link GibbsSampler}.  Demonstrates application of {@link GibbsSampler} to a {@link ParameterizedModel}
@@ -198,4 +199,44 @@ public final class GibbsSamplerSingleGaussianUnitTest extends GATKBaseTest {
                 relativeError(meanPosteriorStandardDeviation, MEAN_POSTERIOR_STANDARD_DEVIATION_TRUTH),
                 0., RELATIVE_ERROR_THRESHOLD_FOR_STANDARD_DEVIATIONS);
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that independent chains run in parallel give the same samples as chains run in turn, that the first chain
+     * is identical to a single chain, and that the chains converge to the same posterior.
+     */
+    @Test
+    public void testRunChainsOnSingleGaussianModel() {
+        final int numChains = 3;
+        final GibbsSampler<GaussianParameter, ParameterizedState<GaussianParameter>, GaussianDataCollection> gibbsSampler =
+                new GibbsSampler<>(NUM_SAMPLES, new GaussianModeller(VARIANCE_INITIAL, MEAN_INITIAL, datapointsList).model);
+        gibbsSampler.runMCMC();
+        final List<GibbsSampler<GaussianParameter, ParameterizedState<GaussianParameter>, GaussianDataCollection>> chains =
+                GibbsSampler.runChains(NUM_SAMPLES, new GaussianModeller(VARIANCE_INITIAL, MEAN_INITIAL, datapointsList).model, numChains, 1);
+        final List<GibbsSampler<GaussianParameter, ParameterizedState<GaussianParameter>, GaussianDataCollection>> parallelChains =
+                GibbsSampler.runChains(NUM_SAMPLES, new GaussianModeller(VARIANCE_INITIAL, MEAN_INITIAL, datapointsList).model, numChains, numChains);
+
+        Assert.assertEquals(chains.size(), numChains);
+        Assert.assertEquals(chains.get(0).getSamples(GaussianParameter.MEAN, Double.class, NUM_BURN_IN),
+                gibbsSampler.getSamples(GaussianParameter.MEAN, Double.class, NUM_BURN_IN));
+        for (int chain = 0; chain < numChains; chain++) {
+            Assert.assertEquals(parallelChains.get(chain).getSamples(GaussianParameter.MEAN, Double.class, NUM_BURN_IN),
+                    chains.get(chain).getSamples(GaussianParameter.MEAN, Double.class, NUM_BURN_IN));
+            Assert.assertEquals(parallelChains.get(chain).getSamples(GaussianParameter.VARIANCE, Double.class, NUM_BURN_IN),
+                    chains.get(chain).getSamples(GaussianParameter.VARIANCE, Double.class, NUM_BURN_IN));
+        }
+        Assert.assertNotEquals(chains.get(1).getSamples(GaussianParameter.MEAN, Double.class, NUM_BURN_IN),
+                chains.get(0).getSamples(GaussianParameter.MEAN, Double.class, NUM_BURN_IN));
+
+        for (final GaussianParameter parameter : GaussianParameter.values()) {
+            final double gelmanRubinStatistic = PosteriorSummaryUtils.calculateGelmanRubinStatistic(chains.stream()
+                    .map(c -> c.getSamples(parameter, Double.class, NUM_BURN_IN))
+                    .collect(Collectors.toList()));
+            Assert.assertTrue(gelmanRubinStatistic < 1.1);
+        }
+        final double[] pooledMeanSamples = Doubles.toArray(chains.stream()
+                .flatMap(c -> c.getSamples(GaussianParameter.MEAN, Double.class, NUM_BURN_IN).stream())
+                .collect(Collectors.toList()));
+        Assert.assertEquals(relativeError(new Mean().evaluate(pooledMeanSamples), MEAN_TRUTH),
+                0., RELATIVE_ERROR_THRESHOLD_FOR_CENTERS);
+    }
+}
@@ -85,6 +85,33 @@ public final class PosteriorSummaryUtilsUnitTest extends GATKBaseTest {
 
     }
 
+    @Test
+    public void testCalculateGelmanRubinStatistic() {
+        //chains drawn from the same distribution
+        final List<List<Double>> convergedChains = Arrays.asList(
+                toList(new NormalDistribution(rng, 10., 1).sample(1000)),
+                toList(new NormalDistribution(rng, 10., 1).sample(1000)),
+                toList(new NormalDistribution(rng, 10., 1).sample(1000)));
+        Assert.assertEquals(PosteriorSummaryUtils.calculateGelmanRubinStatistic(convergedChains), 1., 0.01);
+
+        //chains drawn from distributions with different means
+        final List<List<Double>> unconvergedChains = Arrays.asList(
+                toList(new NormalDistribution(rng, 10., 1).sample(1000)),
+                toList(new NormalDistribution(rng, 15., 1).sample(1000)));
+        Assert.assertTrue(PosteriorSummaryUtils.calculateGelmanRubinStatistic(unconvergedChains) > 2.);
+
+        Assert.assertEquals(PosteriorSummaryUtils.calculateGelmanRubinStatistic(Arrays.asList(identicalSamples, identicalSamples)), 1.);
+        Assert.assertEquals(PosteriorSummaryUtils.calculateGelmanRubinStatistic(
+                Arrays.asList(Collections.nCopies(10, 1.), Collections.nCopies(10, 2.))), Double.POSITIVE_INFINITY);
+        Assert.assertTrue(Double.isNaN(PosteriorSummaryUtils.calculateGelmanRubinStatistic(
+                Arrays.asList(toList(new double[]{Double.NaN, 0., 1.}), toList(new double[]{0., 1., 2.})))));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testCalculateGelmanRubinStatisticUnequalChains() {
+        PosteriorSummaryUtils.calculateGelmanRubinStatistic(Arrays.asList(normalSamples, normalSamplesSmall));
+    }
+
     private static boolean withinRelativeError(final double x, final double xTrue, final double relativeError) {
         if (Double.isNaN(xTrue)) {
             return Double.isNaN(x);
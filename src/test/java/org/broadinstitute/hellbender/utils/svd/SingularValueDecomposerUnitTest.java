@@ -10,6 +10,7 @@ import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.util.Random;
 import java.util.stream.IntStream;
 
 
@@ -30,6 +31,39 @@ public final class SingularValueDecomposerUnitTest extends GATKBaseTest {
         assertSVD(svd, m);
     }
 
+    @Test
+    public void testRandomizedTruncatedSVD() {
+        //a wide matrix of rank 3, with columns spread over several blocks
+        final int numRows = 8;
+        final int numColumns = 250;
+        final Random random = new Random(13);
+        final RealMatrix left = new Array2DRowRealMatrix(numRows, 3);
+        final RealMatrix right = new Array2DRowRealMatrix(3, numColumns);
+        IntStream.range(0, numRows).forEach(i -> IntStream.range(0, 3).forEach(k -> left.setEntry(i, k, random.nextGaussian())));
+        IntStream.range(0, 3).forEach(k -> IntStream.range(0, numColumns).forEach(j -> right.setEntry(k, j, random.nextGaussian())));
+        final RealMatrix m = left.multiply(right);
+
+        final SVD expected = new ApacheSingularValueDecomposer().createSVD(m);
+        final SVD svd = new RandomizedSingularValueDecomposer(5, 2, 1, 40, 1L).createSVD(m);
+
+        //the zero singular values beyond the rank are dropped
+        final double[] s = svd.getSingularValues();
+        Assert.assertEquals(s.length, 3);
+        IntStream.range(0, 3).forEach(k -> Assert.assertEquals(s[k], expected.getSingularValues()[k], 1E-8));
+        Assert.assertEquals(svd.getU().getRowDimension(), numRows);
+        Assert.assertEquals(svd.getV().getRowDimension(), numColumns);
+        Assert.assertNull(svd.getPinv());
+
+        final RealMatrix S = MatrixUtils.createRealDiagonalMatrix(s);
+        final RealMatrix reconstructed = svd.getU().multiply(S).multiply(svd.getV().transpose());
+        Assert.assertTrue(reconstructed.subtract(m).getNorm() < 1E-8 * m.getNorm());
+        Assert.assertTrue(svd.getU().transpose().multiply(svd.getU()).subtract(MatrixUtils.createRealIdentityMatrix(3)).getNorm() < 1E-8);
+        Assert.assertTrue(svd.getV().transpose().multiply(svd.getV()).subtract(MatrixUtils.createRealIdentityMatrix(3)).getNorm() < 1E-8);
+
+        //the same as through the factory, which uses the same decomposer
+        Assert.assertEquals(SVDFactory.createTruncatedSVD(m, 3, 1L).getSingularValues().length, 3);
+    }
+
     /**
      * Check that the given matrix is unitary.
      */